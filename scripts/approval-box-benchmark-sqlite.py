@@ -0,0 +1,107 @@
+# 결재함 조회 벤치마크의 SQLite 참조 실행 (scripts/approval-box-benchmark.sql 과 같은 데이터·쿼리).
+# MariaDB 를 쓸 수 없는 환경에서 OFFSET 과 키셋 방식의 페이지 깊이별 응답 시간을 비교한다.
+# 사용: python3 scripts/approval-box-benchmark-sqlite.py [결재 건수, 기본 1000000]
+# 결과: scripts/approval-box-benchmark-results.md
+import datetime
+import os
+import sqlite3
+import statistics
+import sys
+import tempfile
+import time
+
+path = os.path.join(tempfile.mkdtemp(), 'approval-box-bench.db')
+db = sqlite3.connect(path)
+c = db.cursor()
+c.executescript("""
+PRAGMA journal_mode=OFF; PRAGMA synchronous=OFF; PRAGMA cache_size=-512000;
+CREATE TABLE approval (company_id CHAR(5), approval_id CHAR(10), title VARCHAR(100), status VARCHAR(10),
+  ref_entity VARCHAR(64), ref_id CHAR(10), submitted_at TIMESTAMP, completed_at TIMESTAMP, created_at TIMESTAMP,
+  created_by VARCHAR(10), updated_at TIMESTAMP, updated_by VARCHAR(10), PRIMARY KEY (company_id, approval_id));
+CREATE TABLE approval_step (company_id CHAR(5), approval_id CHAR(10), step_no INTEGER, member_id CHAR(5),
+  decision VARCHAR(10), result VARCHAR(10), decided_at TIMESTAMP, PRIMARY KEY (company_id, approval_id, step_no));
+CREATE TABLE approval_inbox (company_id CHAR(5), inbox_id CHAR(10), member_id CHAR(5), approval_id CHAR(10),
+  step_no INTEGER, inbox_type VARCHAR(10), is_read CHAR(1), title VARCHAR(100), ref_entity VARCHAR(64), ref_id CHAR(10),
+  submitted_by VARCHAR(10), submitted_at TIMESTAMP, created_at TIMESTAMP NOT NULL, PRIMARY KEY (company_id, inbox_id));
+""")
+N = int(sys.argv[1]) if len(sys.argv) > 1 else 1000000
+now = datetime.datetime(2025, 10, 20, 12, 0, 0)
+fmt = lambda d: d.strftime('%Y-%m-%d %H:%M:%S')
+co, me = 'BENCH', 'M0001'
+statuses = ['SUBMT', 'PROC', 'APPRV', 'REJCT']
+apps, steps = [], []
+for seq in range(1, N + 1):
+    aid = 'A%09d' % seq
+    st = statuses[seq % 4]
+    sub = now - datetime.timedelta(days=seq % 1095, seconds=seq % 86400)
+    comp = fmt(now - datetime.timedelta(days=seq % 1095)) if seq % 4 >= 2 else None
+    apps.append((co, aid, 'bench %d' % seq, st, 'WORK', '%010d' % seq, fmt(sub), comp, fmt(sub), 'M%04d' % (1 + seq % 200), fmt(now), 'bench'))
+    for s in (1, 2):
+        mem = me if (s == 2 and aid[-1] in '05') else 'M%04d' % (1 + (seq + s * 7) % 200)
+        if st == 'APPRV': res = 'APPRV'
+        elif st == 'REJCT': res = 'REJCT' if s == 2 else 'APPRV'
+        elif st == 'PROC' and s == 1: res = 'APPRV'
+        else: res = None
+        dec = fmt(sub + datetime.timedelta(hours=s)) if res else None
+        steps.append((co, aid, s, mem, 'APPRL', res, dec))
+c.executemany('INSERT INTO approval VALUES (?,?,?,?,?,?,?,?,?,?,?,?)', apps)
+c.executemany('INSERT INTO approval_step VALUES (?,?,?,?,?,?,?)', steps)
+c.execute("""INSERT INTO approval_inbox
+SELECT st.company_id, printf('I%09d', ROW_NUMBER() OVER (ORDER BY st.approval_id, st.step_no)), st.member_id, st.approval_id, st.step_no,
+  CASE st.result WHEN 'APPRV' THEN 'APPRV' WHEN 'REJCT' THEN 'REJCT' ELSE 'SUBMT' END,
+  CASE WHEN st.result IS NULL THEN 'N' ELSE 'Y' END, a.title, a.ref_entity, a.ref_id, a.created_by, a.submitted_at, a.created_at
+FROM approval_step st JOIN approval a ON a.company_id = st.company_id AND a.approval_id = st.approval_id""")
+c.executescript("""
+CREATE INDEX ix_approval_sent_box ON approval(company_id, created_by, created_at, approval_id);
+CREATE INDEX ix_approval_step_member_box ON approval_step(company_id, member_id, result, decided_at, approval_id);
+CREATE INDEX ix_approval_inbox_member ON approval_inbox(company_id, member_id, inbox_type, submitted_at, approval_id);
+ANALYZE;
+""")
+db.commit()
+
+def t(sql, params, runs=7):
+    rows = None; ts = []
+    for _ in range(runs):
+        s = time.perf_counter(); rows = c.execute(sql, params).fetchall(); ts.append((time.perf_counter() - s) * 1000)
+    return statistics.median(ts), len(rows)
+
+OFFSET_DECIDED = """SELECT DISTINCT a.* FROM approval a WHERE a.company_id = ? AND EXISTS (SELECT 1 FROM approval_step s
+ WHERE s.company_id = a.company_id AND s.approval_id = a.approval_id AND s.member_id = ? AND s.decided_at IS NOT NULL AND s.result = 'APPRV')
+ ORDER BY a.created_at DESC LIMIT 20 OFFSET ?"""
+KEYSET_DECIDED = """SELECT a.*, s.decided_at FROM approval_step s JOIN approval a ON a.company_id = s.company_id AND a.approval_id = s.approval_id
+ WHERE s.company_id = ? AND s.member_id = ? AND s.result = 'APPRV' AND s.decided_at <= ? AND (s.decided_at < ? OR s.approval_id < ?)
+ ORDER BY s.decided_at DESC, s.approval_id DESC LIMIT 21"""
+KEYSET_PENDING = """SELECT a.*, i.submitted_at FROM approval_inbox i JOIN approval a ON a.company_id = i.company_id AND a.approval_id = i.approval_id
+ WHERE i.company_id = ? AND i.member_id = ? AND i.inbox_type = 'SUBMT' AND i.submitted_at <= ? AND (i.submitted_at < ? OR i.approval_id < ?)
+ AND a.status IN ('SUBMT','PROC') ORDER BY i.submitted_at DESC, i.approval_id DESC LIMIT 21"""
+KEYSET_SENT = """SELECT a.* FROM approval a WHERE a.company_id = ? AND a.created_by = ? AND a.created_at <= ? AND (a.created_at < ? OR a.approval_id < ?)
+ AND a.status IN ('SUBMT','PROC','APPRV','REJCT') ORDER BY a.created_at DESC, a.approval_id DESC LIMIT 21"""
+FIRST = '9999-12-31 23:59:59'
+def cursor_at(sql, off):
+    return c.execute(sql, (co, me, off)).fetchone()
+decided_total = c.execute("SELECT COUNT(*) FROM approval_step WHERE company_id=? AND member_id=? AND result='APPRV'", (co, me)).fetchone()[0]
+sent_total = c.execute("SELECT COUNT(*) FROM approval WHERE company_id=? AND created_by=?", (co, me)).fetchone()[0]
+print('rows: approval=%d step=%d inbox=%d; member decided=%d sent=%d' % (
+    c.execute('select count(*) from approval').fetchone()[0], c.execute('select count(*) from approval_step').fetchone()[0],
+    c.execute('select count(*) from approval_inbox').fetchone()[0], decided_total, sent_total))
+print('| 쿼리 | 위치 | 중앙값(ms) | 반환 행 |')
+print('|---|---|---:|---:|')
+for off in (0, 2000, 20000):
+    ms, n = t(OFFSET_DECIDED, (co, me, off), runs=3)
+    print('| 기결함 OFFSET + EXISTS | OFFSET %d | %.1f | %d |' % (off, ms, n))
+for off in (0, 2000, 20000):
+    if off == 0: at, aid = FIRST, ''
+    else: at, aid = cursor_at("SELECT decided_at, approval_id FROM approval_step WHERE company_id=? AND member_id=? AND result='APPRV' ORDER BY decided_at DESC, approval_id DESC LIMIT 1 OFFSET ?", off - 1)
+    ms, n = t(KEYSET_DECIDED, (co, me, at, at, aid))
+    print('| 기결함 키셋 | %d행 이후 | %.2f | %d |' % (off, ms, n))
+ms, n = t(KEYSET_PENDING, (co, me, FIRST, FIRST, ''))
+print('| 미결함 키셋 | 첫 페이지 | %.2f | %d |' % (ms, n))
+for off in (0, sent_total - 20):
+    if off == 0: at, aid = FIRST, ''
+    else: at, aid = cursor_at("SELECT created_at, approval_id FROM approval WHERE company_id=? AND created_by=? ORDER BY created_at DESC, approval_id DESC LIMIT 1 OFFSET ?", off - 1)
+    ms, n = t(KEYSET_SENT, (co, me, at, at, aid))
+    print('| 상신함 키셋 | %d행 이후 | %.2f | %d |' % (off, ms, n))
+for name, sql, p in (('기결함 키셋', KEYSET_DECIDED, (co, me, FIRST, FIRST, '')), ('OFFSET', OFFSET_DECIDED, (co, me, 0))):
+    print(name, [r[3] for r in c.execute('EXPLAIN QUERY PLAN ' + sql, p).fetchall()])
+db.close()
+os.remove(path)
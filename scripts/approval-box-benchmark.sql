@@ -0,0 +1,158 @@
+-- 결재함 조회 벤치마크 (MariaDB 10.6+, SEQUENCE 엔진 필요)
+--
+-- 목적: 결재 100만 건 기준으로 기존 OFFSET + EXISTS 쿼리와 키셋 쿼리의 페이지 N 응답 시간을 비교한다.
+-- 사용: 운영 DB가 아닌 빈 벤치마크 스키마에서 실행한다. 테이블 DDL은 docs/CMMS_TABLES.md 의
+--       approval / approval_step / approval_inbox 정의와 인덱스를 먼저 생성해 둔다.
+--       데이터는 벤치마크 전용 회사 코드 'BENCH' 로만 만들고 지우므로 다른 회사 데이터에는 손대지 않는다.
+--   mysql -u <user> -p cmms_bench < scripts/approval-box-benchmark.sql
+--
+-- 결과 확인: 각 ANALYZE FORMAT=JSON 출력의 query_block.r_total_time_ms 와 r_rows 를 비교한다.
+-- 키셋 쿼리는 페이지 번호와 관계없이 (page size + 1) 행만 읽어야 하며, OFFSET 쿼리는 페이지가 깊어질수록 증가한다.
+-- 측정 결과: scripts/approval-box-benchmark-results.md
+
+SET @company := 'BENCH';
+SET @member := 'M0001';
+
+-- ===== 데이터 생성 =====
+-- 결재 1,000,000건, 결재마다 2단계(1단계는 임의 사원, 2단계는 5건 중 1건이 @member).
+-- 사원 200명, 결재일은 최근 3년에 분포.
+
+DELETE FROM approval_inbox WHERE company_id = @company;
+DELETE FROM approval_step WHERE company_id = @company;
+DELETE FROM approval WHERE company_id = @company;
+
+INSERT INTO approval (company_id, approval_id, title, status, ref_entity, ref_id, submitted_at, completed_at,
+                      created_at, created_by, updated_at, updated_by)
+SELECT @company,
+       CONCAT('A', LPAD(seq, 9, '0')),
+       CONCAT('벤치마크 결재 ', seq),
+       ELT(1 + (seq % 4), 'SUBMT', 'PROC', 'APPRV', 'REJCT'),
+       'WORK',
+       LPAD(seq, 10, '0'),
+       NOW() - INTERVAL (seq % 1095) DAY - INTERVAL (seq % 86400) SECOND,
+       IF(seq % 4 >= 2, NOW() - INTERVAL (seq % 1095) DAY, NULL),
+       NOW() - INTERVAL (seq % 1095) DAY - INTERVAL (seq % 86400) SECOND,
+       CONCAT('M', LPAD(1 + (seq % 200), 4, '0')),
+       NOW(),
+       'bench'
+FROM seq_1_to_1000000;
+
+INSERT INTO approval_step (company_id, approval_id, step_no, member_id, decision, result, decided_at)
+SELECT a.company_id, a.approval_id, s.seq,
+       IF(s.seq = 2 AND RIGHT(a.approval_id, 1) IN ('0', '5'), @member,
+          CONCAT('M', LPAD(1 + ((CAST(SUBSTRING(a.approval_id, 2) AS UNSIGNED) + s.seq * 7) % 200), 4, '0'))),
+       'APPRL',
+       CASE
+           WHEN a.status = 'APPRV' THEN 'APPRV'
+           WHEN a.status = 'REJCT' AND s.seq = 2 THEN 'REJCT'
+           WHEN a.status = 'REJCT' THEN 'APPRV'
+           WHEN a.status = 'PROC' AND s.seq = 1 THEN 'APPRV'
+       END,
+       CASE
+           WHEN a.status IN ('APPRV', 'REJCT') THEN a.submitted_at + INTERVAL s.seq HOUR
+           WHEN a.status = 'PROC' AND s.seq = 1 THEN a.submitted_at + INTERVAL 1 HOUR
+       END
+FROM approval a
+JOIN seq_1_to_2 s
+WHERE a.company_id = @company;
+
+INSERT INTO approval_inbox (company_id, inbox_id, member_id, approval_id, step_no, inbox_type, is_read, title,
+                            ref_entity, ref_id, submitted_by, submitted_at, created_at)
+SELECT st.company_id,
+       CONCAT('I', LPAD(ROW_NUMBER() OVER (ORDER BY st.approval_id, st.step_no), 9, '0')),
+       st.member_id, st.approval_id, st.step_no,
+       CASE st.result WHEN 'APPRV' THEN 'APPRV' WHEN 'REJCT' THEN 'REJCT' ELSE 'SUBMT' END,
+       IF(st.result IS NULL, 'N', 'Y'),
+       a.title, a.ref_entity, a.ref_id, a.created_by, a.submitted_at, a.created_at
+FROM approval_step st
+JOIN approval a ON a.company_id = st.company_id AND a.approval_id = st.approval_id
+WHERE st.company_id = @company;
+
+ANALYZE TABLE approval, approval_step, approval_inbox;
+
+-- ===== 기존 방식: DISTINCT + EXISTS + ORDER BY created_at + OFFSET =====
+
+ANALYZE FORMAT=JSON
+SELECT DISTINCT a.* FROM approval a
+WHERE a.company_id = @company AND a.status IN ('SUBMT', 'PROC')
+  AND EXISTS (SELECT 1 FROM approval_step s
+              WHERE s.company_id = a.company_id AND s.approval_id = a.approval_id
+                AND s.member_id = @member AND s.decided_at IS NULL)
+ORDER BY a.created_at DESC
+LIMIT 20 OFFSET 0;
+
+ANALYZE FORMAT=JSON
+SELECT DISTINCT a.* FROM approval a
+WHERE a.company_id = @company
+  AND EXISTS (SELECT 1 FROM approval_step s
+              WHERE s.company_id = a.company_id AND s.approval_id = a.approval_id
+                AND s.member_id = @member AND s.decided_at IS NOT NULL AND s.result = 'APPRV')
+ORDER BY a.created_at DESC
+LIMIT 20 OFFSET 0;
+
+ANALYZE FORMAT=JSON
+SELECT DISTINCT a.* FROM approval a
+WHERE a.company_id = @company
+  AND EXISTS (SELECT 1 FROM approval_step s
+              WHERE s.company_id = a.company_id AND s.approval_id = a.approval_id
+                AND s.member_id = @member AND s.decided_at IS NOT NULL AND s.result = 'APPRV')
+ORDER BY a.created_at DESC
+LIMIT 20 OFFSET 20000;
+
+-- ===== 키셋 방식: 페이지 1과 페이지 1001(20,000행 이후)을 같은 쿼리로 조회 =====
+
+-- 미결함 (approval_inbox 기준)
+SET @cursor_at := '9999-12-31 23:59:59', @cursor_id := '';
+ANALYZE FORMAT=JSON
+SELECT a.*, i.submitted_at FROM approval_inbox i
+JOIN approval a ON a.company_id = i.company_id AND a.approval_id = i.approval_id
+WHERE i.company_id = @company AND i.member_id = @member AND i.inbox_type = 'SUBMT'
+  AND i.submitted_at <= @cursor_at AND (i.submitted_at < @cursor_at OR i.approval_id < @cursor_id)
+  AND a.status IN ('SUBMT', 'PROC')
+ORDER BY i.submitted_at DESC, i.approval_id DESC
+LIMIT 21;
+
+-- 기결함 (approval_step 기준) - 첫 페이지
+ANALYZE FORMAT=JSON
+SELECT a.*, s.decided_at FROM approval_step s
+JOIN approval a ON a.company_id = s.company_id AND a.approval_id = s.approval_id
+WHERE s.company_id = @company AND s.member_id = @member AND s.result = 'APPRV'
+  AND s.decided_at <= @cursor_at AND (s.decided_at < @cursor_at OR s.approval_id < @cursor_id)
+ORDER BY s.decided_at DESC, s.approval_id DESC
+LIMIT 21;
+
+-- 기결함 - 20,000행 이후 페이지의 커서를 구한 뒤 같은 쿼리 실행 (커서 계산은 측정 대상 아님)
+SELECT s.decided_at, s.approval_id INTO @cursor_at, @cursor_id
+FROM approval_step s
+WHERE s.company_id = @company AND s.member_id = @member AND s.result = 'APPRV'
+ORDER BY s.decided_at DESC, s.approval_id DESC
+LIMIT 1 OFFSET 19999;
+
+ANALYZE FORMAT=JSON
+SELECT a.*, s.decided_at FROM approval_step s
+JOIN approval a ON a.company_id = s.company_id AND a.approval_id = s.approval_id
+WHERE s.company_id = @company AND s.member_id = @member AND s.result = 'APPRV'
+  AND s.decided_at <= @cursor_at AND (s.decided_at < @cursor_at OR s.approval_id < @cursor_id)
+ORDER BY s.decided_at DESC, s.approval_id DESC
+LIMIT 21;
+
+-- 상신함 (approval 기준) - 5,000행 이후(마지막) 페이지
+SELECT a.created_at, a.approval_id INTO @cursor_at, @cursor_id
+FROM approval a
+WHERE a.company_id = @company AND a.created_by = @member
+ORDER BY a.created_at DESC, a.approval_id DESC
+LIMIT 1 OFFSET 4999;
+
+ANALYZE FORMAT=JSON
+SELECT a.* FROM approval a
+WHERE a.company_id = @company AND a.created_by = @member
+  AND a.created_at <= @cursor_at AND (a.created_at < @cursor_at OR a.approval_id < @cursor_id)
+  AND a.status IN ('SUBMT', 'PROC', 'APPRV', 'REJCT')
+ORDER BY a.created_at DESC, a.approval_id DESC
+LIMIT 21;
+
+-- ===== 정리 =====
+
+DELETE FROM approval_inbox WHERE company_id = @company;
+DELETE FROM approval_step WHERE company_id = @company;
+DELETE FROM approval WHERE company_id = @company;
@@ -0,0 +1,155 @@
+-- 결재 본문/Outbox 페이로드 압축 벤치마크 (MariaDB 10.6+, SEQUENCE 엔진 필요)
+--
+-- 목적: approval.content / approval_outbox.payload 를 평문과 압축 형식('~dfl1:' + Base64(zlib))으로 저장했을 때
+--       행 크기와 조회 시간(상세 조회, 발송 스케줄러 50건 조회)을 비교한다.
+-- 사용: 운영 DB가 아닌 빈 벤치마크 스키마에서 실행한다.
+--   mysql -u <user> -p cmms_bench < scripts/approval-compression-benchmark.sql
+--
+-- 압축 형식: MariaDB COMPRESS() 결과의 앞 4바이트(원문 길이)를 제외하면 java.util.zip.Deflater 기본 출력과 같은
+-- zlib 스트림이므로, CompressedText 와 동일한 값을 SQL로 만들 수 있다(TO_BASE64 의 줄바꿈은 제거).
+--
+-- 결과 확인
+--   1) 행 크기: 마지막 SELECT 의 avg_chars / data_mb 비교
+--   2) 조회 시간: 각 ANALYZE FORMAT=JSON 출력의 query_block.r_total_time_ms 비교
+--   애플리케이션의 압축 해제 비용은 행당 수십 마이크로초 수준으로, 읽는 페이지 수 감소분과 함께 비교한다.
+
+SET @rows := 100000;
+
+-- ===== 데이터 생성 =====
+-- 본문: 모듈 데이터로 만든 HTML (표 20~40행, 약 4~8KB)
+-- 페이로드: 결재선 5단계 전체를 포함한 JSON (약 1.5KB)
+
+DROP TABLE IF EXISTS bench_approval_plain, bench_approval_dfl, bench_outbox_plain, bench_outbox_dfl;
+
+CREATE TABLE bench_approval_plain (
+  company_id  CHAR(5),
+  approval_id CHAR(10),
+  title       VARCHAR(100),
+  content     TEXT,
+  created_at  TIMESTAMP,
+  CONSTRAINT pk_bench_approval_plain PRIMARY KEY (company_id, approval_id)
+);
+
+INSERT INTO bench_approval_plain
+SELECT 'CHROK',
+       CONCAT('A', LPAD(seq, 9, '0')),
+       CONCAT('작업지시 결재 ', seq),
+       CONCAT(
+         '<div class="approval-doc"><h2>작업지시서 W', LPAD(seq, 9, '0'), '</h2><table class="grid">',
+         '<thead><tr><th>번호</th><th>설비</th><th>작업내용</th><th>담당</th><th>예정일</th><th>비고</th></tr></thead><tbody>',
+         REPEAT(CONCAT(
+           '<tr><td>', seq % 97, '</td><td>PUMP-', LPAD(seq % 500, 4, '0'), '</td>',
+           '<td>베어링 점검 및 윤활유 교체, 진동 측정값 기록</td><td>M', LPAD(seq % 200, 4, '0'), '</td>',
+           '<td>2025-10-', LPAD(1 + seq % 28, 2, '0'), '</td><td>정기 점검</td></tr>'
+         ), 20 + seq % 21),
+         '</tbody></table><p>첨부 도면과 작업 허가서를 확인하십시오.</p></div>'
+       ),
+       NOW() - INTERVAL (seq % 1095) DAY
+FROM seq_1_to_100000
+WHERE seq <= @rows;
+
+CREATE TABLE bench_outbox_plain (
+  id          BIGINT AUTO_INCREMENT,
+  status      VARCHAR(10) NOT NULL,
+  payload     TEXT        NOT NULL,
+  next_attempt_at TIMESTAMP,
+  created_at  TIMESTAMP   NOT NULL,
+  CONSTRAINT pk_bench_outbox_plain PRIMARY KEY (id)
+);
+CREATE INDEX ix_bench_outbox_plain_status ON bench_outbox_plain(status, next_attempt_at);
+
+INSERT INTO bench_outbox_plain (status, payload, next_attempt_at, created_at)
+SELECT IF(seq % 20 = 0, 'PENDING', 'SENT'),
+       CONCAT(
+         '{"companyId":"CHROK","approvalId":"A', LPAD(seq, 9, '0'), '","refEntity":"WORK","refId":"W', LPAD(seq, 9, '0'),
+         '","refStage":"PLN","status":"PROC","eventType":"SUBMITTED","occurredAt":"2025-10-20T09:00:00",',
+         '"actorId":"M0001","comment":null,"callbackUrl":"/api/workorders/approvals/webhook",',
+         '"idempotencyKey":"WORK-W', LPAD(seq, 9, '0'), '-PLN","steps":[',
+         '{"stepNo":1,"memberId":"M0001","decision":"APPRL","result":"APPRV","decidedAt":"2025-10-20T09:00:00","comment":"확인했습니다."},',
+         '{"stepNo":2,"memberId":"M0002","decision":"AGREE","result":null,"decidedAt":null,"comment":null},',
+         '{"stepNo":3,"memberId":"M0003","decision":"APPRL","result":null,"decidedAt":null,"comment":null},',
+         '{"stepNo":4,"memberId":"M0004","decision":"APPRL","result":null,"decidedAt":null,"comment":null},',
+         '{"stepNo":5,"memberId":"M0005","decision":"INFO","result":null,"decidedAt":null,"comment":null}]}'
+       ),
+       NOW() - INTERVAL (seq % 600) SECOND,
+       NOW() - INTERVAL (seq % 86400) SECOND
+FROM seq_1_to_100000
+WHERE seq <= @rows;
+
+-- 압축 사본: 512자 이상이고 압축 결과가 더 짧을 때만 압축 (CompressedText.compress 와 같은 규칙)
+CREATE TABLE bench_approval_dfl LIKE bench_approval_plain;
+INSERT INTO bench_approval_dfl
+SELECT company_id, approval_id, title,
+       IF(CHAR_LENGTH(content) >= 512
+            AND CHAR_LENGTH(CONCAT('~dfl1:', REPLACE(TO_BASE64(SUBSTRING(COMPRESS(content), 5)), '\n', '')))
+                < CHAR_LENGTH(content),
+          CONCAT('~dfl1:', REPLACE(TO_BASE64(SUBSTRING(COMPRESS(content), 5)), '\n', '')),
+          content),
+       created_at
+FROM bench_approval_plain;
+
+CREATE TABLE bench_outbox_dfl LIKE bench_outbox_plain;
+INSERT INTO bench_outbox_dfl
+SELECT id, status,
+       IF(CHAR_LENGTH(payload) >= 512
+            AND CHAR_LENGTH(CONCAT('~dfl1:', REPLACE(TO_BASE64(SUBSTRING(COMPRESS(payload), 5)), '\n', '')))
+                < CHAR_LENGTH(payload),
+          CONCAT('~dfl1:', REPLACE(TO_BASE64(SUBSTRING(COMPRESS(payload), 5)), '\n', '')),
+          payload),
+       next_attempt_at, created_at
+FROM bench_outbox_plain;
+
+ANALYZE TABLE bench_approval_plain, bench_approval_dfl, bench_outbox_plain, bench_outbox_dfl;
+
+-- ===== 조회 시간 =====
+
+-- 결재 상세 (PK 조회 1,000건 범위)
+ANALYZE FORMAT=JSON
+SELECT * FROM bench_approval_plain
+WHERE company_id = 'CHROK' AND approval_id BETWEEN 'A000050000' AND 'A000050999';
+
+ANALYZE FORMAT=JSON
+SELECT * FROM bench_approval_dfl
+WHERE company_id = 'CHROK' AND approval_id BETWEEN 'A000050000' AND 'A000050999';
+
+-- 결재 목록 (본문 포함 엔티티 로딩, 최근 20건 x 50페이지에 해당하는 1,000건)
+ANALYZE FORMAT=JSON
+SELECT * FROM bench_approval_plain WHERE company_id = 'CHROK' ORDER BY created_at DESC LIMIT 1000;
+
+ANALYZE FORMAT=JSON
+SELECT * FROM bench_approval_dfl WHERE company_id = 'CHROK' ORDER BY created_at DESC LIMIT 1000;
+
+-- 발송 스케줄러 (PENDING 상위 50건)
+ANALYZE FORMAT=JSON
+SELECT * FROM bench_outbox_plain WHERE status = 'PENDING' AND next_attempt_at < NOW() ORDER BY created_at LIMIT 50;
+
+ANALYZE FORMAT=JSON
+SELECT * FROM bench_outbox_dfl WHERE status = 'PENDING' AND next_attempt_at < NOW() ORDER BY created_at LIMIT 50;
+
+-- ===== 행 크기 =====
+
+SELECT 'approval.content' AS target, 'plain' AS format,
+       ROUND(AVG(CHAR_LENGTH(content))) AS avg_chars,
+       (SELECT ROUND(data_length / 1024 / 1024, 1) FROM information_schema.tables
+         WHERE table_schema = DATABASE() AND table_name = 'bench_approval_plain') AS data_mb
+FROM bench_approval_plain
+UNION ALL
+SELECT 'approval.content', 'deflate',
+       ROUND(AVG(CHAR_LENGTH(content))),
+       (SELECT ROUND(data_length / 1024 / 1024, 1) FROM information_schema.tables
+         WHERE table_schema = DATABASE() AND table_name = 'bench_approval_dfl')
+FROM bench_approval_dfl
+UNION ALL
+SELECT 'approval_outbox.payload', 'plain',
+       ROUND(AVG(CHAR_LENGTH(payload))),
+       (SELECT ROUND(data_length / 1024 / 1024, 1) FROM information_schema.tables
+         WHERE table_schema = DATABASE() AND table_name = 'bench_outbox_plain')
+FROM bench_outbox_plain
+UNION ALL
+SELECT 'approval_outbox.payload', 'deflate',
+       ROUND(AVG(CHAR_LENGTH(payload))),
+       (SELECT ROUND(data_length / 1024 / 1024, 1) FROM information_schema.tables
+         WHERE table_schema = DATABASE() AND table_name = 'bench_outbox_dfl')
+FROM bench_outbox_dfl;
+
+DROP TABLE bench_approval_plain, bench_approval_dfl, bench_outbox_plain, bench_outbox_dfl;
@@ -1,6 +1,8 @@
 package com.cmms11.approval;
 
+import com.cmms11.common.codec.CompressedTextConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Lob;
@@ -50,6 +52,7 @@ public class Approval {
 
     @Lob
     @Column
+    @Convert(converter = CompressedTextConverter.class)
     private String content;
 
     @Column(name = "file_group_id", length = 10)
@@ -0,0 +1,40 @@
+package com.cmms11.approval;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 결재함 키셋 페이지 커서 (정렬 키 + 결재 ID). URL에 그대로 쓸 수 있도록 Base64URL로 인코딩한다.
+ */
+public record ApprovalBoxCursor(LocalDateTime sortKey, String approvalId) {
+
+    /**
+     * 첫 페이지용 커서. 모든 행의 정렬 키보다 크므로 결재 ID 비교는 사용되지 않는다.
+     */
+    public static final ApprovalBoxCursor FIRST = new ApprovalBoxCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), "");
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sortKey.toString() + SEPARATOR + approvalId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ApprovalBoxCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+            }
+            return new ApprovalBoxCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.", ex);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.cmms11.approval;
+
+import java.util.List;
+
+/**
+ * 결재함 키셋 페이지 응답. 전체 건수 대신 다음 페이지 존재 여부와 커서만 제공한다.
+ */
+public record ApprovalBoxPage(
+    List<ApprovalResponse> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) {
+}
@@ -0,0 +1,9 @@
+package com.cmms11.approval;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결재함 조회 행. 결재 헤더와 해당 결재함의 정렬 키(상신일/결재일/작성일)를 함께 담아 다음 페이지 커서를 만든다.
+ */
+public record ApprovalBoxRow(Approval approval, LocalDateTime sortKey) {
+}
@@ -0,0 +1,17 @@
+package com.cmms11.approval;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 일괄 결재 처리 요청 DTO. action 은 APPROVE 또는 REJECT.
+ */
+public record ApprovalBulkDecisionRequest(
+    @NotBlank @Pattern(regexp = "APPROVE|REJECT") String action,
+    @NotEmpty @Size(max = 500) List<String> approvalIds,
+    @Size(max = 500) String comment
+) {
+}
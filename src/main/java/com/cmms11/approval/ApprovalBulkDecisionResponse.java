@@ -0,0 +1,37 @@
+package com.cmms11.approval;
+
+import java.util.List;
+
+/**
+ * 일괄 결재 처리 결과. 문서별 처리 결과를 돌려주어 실패한 문서만 다시 처리할 수 있게 한다.
+ */
+public record ApprovalBulkDecisionResponse(int total, int succeeded, int failed, List<Result> results) {
+
+    public static final String OK = "OK";
+    public static final String FAILED = "FAILED";
+    public static final String ERROR = "ERROR";
+
+    public static ApprovalBulkDecisionResponse of(List<Result> results) {
+        int succeeded = (int) results.stream().filter(result -> OK.equals(result.status())).count();
+        return new ApprovalBulkDecisionResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    /**
+     * FAILED: 문서 상태/권한/순서 검증 실패(다른 문서 처리에는 영향 없음).
+     * ERROR: 청크 처리 중 오류로 같은 청크 전체가 롤백됨.
+     */
+    public record Result(String approvalId, String status, String approvalStatus, String message) {
+
+        public static Result ok(String approvalId, String approvalStatus) {
+            return new Result(approvalId, OK, approvalStatus, null);
+        }
+
+        public static Result failed(String approvalId, String approvalStatus, String message) {
+            return new Result(approvalId, FAILED, approvalStatus, message);
+        }
+
+        public static Result error(String approvalId, String message) {
+            return new Result(approvalId, ERROR, null, message);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cmms11.approval;
+
+import com.cmms11.security.MemberUserDetailsService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 일괄 결재 처리.
+ *
+ * 요청 문서를 청크로 나누어 청크마다 {@link ApprovalService#decideChunk}를 독립 트랜잭션으로 호출한다.
+ * 한 청크에서 예기치 않은 오류가 나도 이미 커밋된 청크는 유지되고, 해당 청크 문서만 ERROR로 반환된다.
+ */
+@Service
+public class ApprovalBulkDecisionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalBulkDecisionService.class);
+
+    private static final String ACTION_APPROVE = "APPROVE";
+    private static final String ACTION_REJECT = "REJECT";
+
+    private final ApprovalService approvalService;
+    private final int chunkSize;
+
+    public ApprovalBulkDecisionService(
+        ApprovalService approvalService,
+        @Value("${app.approval.bulk-decision.chunk-size:50}") int chunkSize
+    ) {
+        this.approvalService = approvalService;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public ApprovalBulkDecisionResponse decide(ApprovalBulkDecisionRequest request) {
+        ApprovalEventType eventType = toEventType(request.action());
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        String memberId = MemberUserDetailsService.getCurrentMemberId();
+
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String approvalId : request.approvalIds()) {
+            if (approvalId != null && !approvalId.isBlank()) {
+                distinct.add(approvalId.trim());
+            }
+        }
+        List<String> approvalIds = new ArrayList<>(distinct);
+
+        List<ApprovalBulkDecisionResponse.Result> results = new ArrayList<>(approvalIds.size());
+        for (int from = 0; from < approvalIds.size(); from += chunkSize) {
+            List<String> chunk = approvalIds.subList(from, Math.min(from + chunkSize, approvalIds.size()));
+            try {
+                results.addAll(approvalService.decideChunk(companyId, memberId, chunk, request.comment(), eventType));
+            } catch (RuntimeException ex) {
+                log.warn("일괄 결재 청크 처리 실패 - size={}, error={}", chunk.size(), ex.getMessage());
+                for (String approvalId : chunk) {
+                    results.add(ApprovalBulkDecisionResponse.Result.error(approvalId, ex.getMessage()));
+                }
+            }
+        }
+        return ApprovalBulkDecisionResponse.of(results);
+    }
+
+    private ApprovalEventType toEventType(String action) {
+        if (ACTION_APPROVE.equals(action)) {
+            return ApprovalEventType.APPROVED;
+        }
+        if (ACTION_REJECT.equals(action)) {
+            return ApprovalEventType.REJECTED;
+        }
+        throw new IllegalArgumentException("지원하지 않는 결재 처리 유형입니다: " + action);
+    }
+}
@@ -24,6 +24,13 @@ public enum ApprovalEventType {
         return statusCode;
     }
 
+    /**
+     * 결재 종료(승인/반려/취소) 이벤트 여부. 종료 이벤트는 코얼레싱 대상에서 제외된다.
+     */
+    public boolean isTerminal() {
+        return this != SUBMITTED;
+    }
+
     /**
      * 공통 코드 타입 식별자.
      */
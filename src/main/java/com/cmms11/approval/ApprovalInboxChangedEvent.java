@@ -0,0 +1,14 @@
+package com.cmms11.approval;
+
+/**
+ * Inbox 행 생성/변경 애플리케이션 이벤트. 트랜잭션 커밋 후 SSE 구독자에게 전달된다.
+ *
+ * @param change CREATED, DECIDED, CANCELLED, READ 중 하나
+ */
+public record ApprovalInboxChangedEvent(
+    String companyId,
+    String memberId,
+    String change,
+    ApprovalInboxResponse inbox
+) {
+}
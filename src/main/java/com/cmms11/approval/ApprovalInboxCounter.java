@@ -0,0 +1,58 @@
+package com.cmms11.approval;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 사용자별 Inbox 건수(미읽음/유형별) 비정규화 카운터. Inbox 변경과 같은 트랜잭션에서 증감한다.
+ */
+@Entity
+@Table(name = "approval_inbox_counter")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ApprovalInboxCounter {
+
+    @EmbeddedId
+    private ApprovalInboxCounterId id;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "submitted_count", nullable = false)
+    private long submittedCount;
+
+    @Column(name = "approved_count", nullable = false)
+    private long approvedCount;
+
+    @Column(name = "rejected_count", nullable = false)
+    private long rejectedCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * inbox_type 코드(SUBMT/APPRV/REJCT/CMPLT)에 해당하는 건수. 알 수 없는 유형은 0.
+     */
+    public long countOf(String inboxType) {
+        if (inboxType == null) {
+            return 0;
+        }
+        return switch (inboxType) {
+            case "SUBMT" -> submittedCount;
+            case "APPRV" -> approvedCount;
+            case "REJCT" -> rejectedCount;
+            case "CMPLT" -> completedCount;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.cmms11.approval;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inbox 카운터 복합 키 (company_id + member_id).
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ApprovalInboxCounterId implements Serializable {
+
+    @Column(name = "company_id", length = 5, nullable = false)
+    private String companyId;
+
+    @Column(name = "member_id", length = 5, nullable = false)
+    private String memberId;
+}
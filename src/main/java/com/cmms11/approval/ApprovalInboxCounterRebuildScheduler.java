@@ -0,0 +1,41 @@
+package com.cmms11.approval;
+
+import com.cmms11.security.MemberUserDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inbox 카운터를 approval_inbox 원본 기준으로 재계산한다.
+ *
+ * 기동 시 한 번(카운터 도입 이전 데이터 반영) 그리고 매일 한 번 실행하여 누적 오차를 바로잡는다.
+ */
+@Component
+public class ApprovalInboxCounterRebuildScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalInboxCounterRebuildScheduler.class);
+
+    private final ApprovalService approvalService;
+
+    public ApprovalInboxCounterRebuildScheduler(ApprovalService approvalService) {
+        this.approvalService = approvalService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.approval.inbox-counter.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        try {
+            int affected = approvalService.rebuildInboxCounters(MemberUserDetailsService.DEFAULT_COMPANY);
+            log.info("Inbox 카운터 재계산 완료: affected={}", affected);
+        } catch (RuntimeException ex) {
+            log.warn("Inbox 카운터 재계산 실패: {}", ex.getMessage());
+        }
+    }
+}
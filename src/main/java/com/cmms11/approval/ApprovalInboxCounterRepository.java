@@ -0,0 +1,80 @@
+package com.cmms11.approval;
+
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Inbox 카운터 레포지토리.
+ */
+public interface ApprovalInboxCounterRepository extends JpaRepository<ApprovalInboxCounter, ApprovalInboxCounterId> {
+
+    /**
+     * 카운터를 원자적으로 증감한다. 행이 없으면 생성하며, 동시 결재 처리 시에도 유실되지 않도록 MariaDB upsert를 사용한다.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO approval_inbox_counter "
+            + "(company_id, member_id, unread_count, submitted_count, approved_count, rejected_count, "
+            + "completed_count, updated_at) "
+            + "VALUES (:companyId, :memberId, GREATEST(:unread, 0), GREATEST(:submitted, 0), GREATEST(:approved, 0), "
+            + "GREATEST(:rejected, 0), GREATEST(:completed, 0), :updatedAt) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "unread_count = GREATEST(unread_count + :unread, 0), "
+            + "submitted_count = GREATEST(submitted_count + :submitted, 0), "
+            + "approved_count = GREATEST(approved_count + :approved, 0), "
+            + "rejected_count = GREATEST(rejected_count + :rejected, 0), "
+            + "completed_count = GREATEST(completed_count + :completed, 0), "
+            + "updated_at = :updatedAt",
+        nativeQuery = true
+    )
+    int applyDelta(
+        @Param("companyId") String companyId,
+        @Param("memberId") String memberId,
+        @Param("unread") long unread,
+        @Param("submitted") long submitted,
+        @Param("approved") long approved,
+        @Param("rejected") long rejected,
+        @Param("completed") long completed,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    @Modifying
+    @Query(
+        value = "UPDATE approval_inbox_counter SET unread_count = 0, submitted_count = 0, approved_count = 0, "
+            + "rejected_count = 0, completed_count = 0, updated_at = :updatedAt WHERE company_id = :companyId",
+        nativeQuery = true
+    )
+    int resetAll(@Param("companyId") String companyId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * approval_inbox 원본을 집계해 카운터를 다시 채운다. {@link #resetAll}과 같은 트랜잭션에서 호출한다.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO approval_inbox_counter "
+            + "(company_id, member_id, unread_count, submitted_count, approved_count, rejected_count, "
+            + "completed_count, updated_at) "
+            + "SELECT i.company_id, i.member_id, "
+            + "SUM(CASE WHEN i.is_read = 'N' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN i.inbox_type = 'SUBMT' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN i.inbox_type = 'APPRV' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN i.inbox_type = 'REJCT' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN i.inbox_type = 'CMPLT' THEN 1 ELSE 0 END), "
+            + ":updatedAt "
+            + "FROM approval_inbox i "
+            + "WHERE i.company_id = :companyId AND i.member_id IS NOT NULL "
+            + "GROUP BY i.company_id, i.member_id "
+            + "ON DUPLICATE KEY UPDATE "
+            + "unread_count = VALUES(unread_count), "
+            + "submitted_count = VALUES(submitted_count), "
+            + "approved_count = VALUES(approved_count), "
+            + "rejected_count = VALUES(rejected_count), "
+            + "completed_count = VALUES(completed_count), "
+            + "updated_at = VALUES(updated_at)",
+        nativeQuery = true
+    )
+    int rebuildFromInbox(@Param("companyId") String companyId, @Param("updatedAt") LocalDateTime updatedAt);
+}
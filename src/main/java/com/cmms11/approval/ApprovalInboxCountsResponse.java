@@ -0,0 +1,26 @@
+package com.cmms11.approval;
+
+/**
+ * Inbox 배지/통계 건수 응답 DTO. 키 이름은 /api/approvals/inbox/stats 응답과 동일하다.
+ */
+public record ApprovalInboxCountsResponse(
+    long unread,
+    long pending,
+    long approved,
+    long rejected,
+    long completed
+) {
+    public static ApprovalInboxCountsResponse empty() {
+        return new ApprovalInboxCountsResponse(0, 0, 0, 0, 0);
+    }
+
+    public static ApprovalInboxCountsResponse from(ApprovalInboxCounter counter) {
+        return new ApprovalInboxCountsResponse(
+            counter.getUnreadCount(),
+            counter.getSubmittedCount(),
+            counter.getApprovedCount(),
+            counter.getRejectedCount(),
+            counter.getCompletedCount()
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.cmms11.approval;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -42,5 +43,11 @@ public interface ApprovalInboxRepository extends JpaRepository<ApprovalInbox, Ap
 
     List<ApprovalInbox> findByIdCompanyIdAndApprovalId(String companyId, String approvalId);
 
+    List<ApprovalInbox> findByIdCompanyIdAndMemberIdAndApprovalIdIn(
+        String companyId,
+        String memberId,
+        Collection<String> approvalIds
+    );
+
     void deleteByIdCompanyIdAndApprovalId(String companyId, String approvalId);
 }
@@ -0,0 +1,11 @@
+package com.cmms11.approval;
+
+/**
+ * SSE로 전송하는 Inbox 변경 메시지. 변경된 Inbox 행과 변경 후 배지 건수를 함께 담는다.
+ */
+public record ApprovalInboxStreamEvent(
+    String change,
+    ApprovalInboxResponse inbox,
+    ApprovalInboxCountsResponse counts
+) {
+}
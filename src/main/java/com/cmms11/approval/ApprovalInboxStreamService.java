@@ -0,0 +1,315 @@
+package com.cmms11.approval;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 결재 Inbox 변경 SSE 푸시.
+ *
+ * 노드별 연결 레지스트리로, 연결은 서블릿 비동기 요청(SseEmitter)이라 대기 중에는 스레드를 점유하지 않는다.
+ * 사용자별로 최근 이벤트를 짧게 보관하여 Last-Event-ID 재연결 시 누락분을 재전송하고,
+ * 재전송할 수 없으면(다른 노드/재기동/보관 범위 초과) resync 이벤트로 목록 재조회를 요청한다.
+ * 배지 건수 조회와 전송은 전용 스레드에서 순서대로 처리하여 커밋한 요청 스레드를 붙잡지 않는다.
+ */
+@Service
+public class ApprovalInboxStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalInboxStreamService.class);
+
+    static final String EVENT_INBOX = "inbox";
+    static final String EVENT_COUNTS = "counts";
+    static final String EVENT_RESYNC = "resync";
+
+    private final ApprovalInboxCounterRepository counterRepository;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerMember;
+    private final int replaySize;
+    private final long replayWindowMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<ApprovalInboxCounterId, Set<SseEmitter>> connections = new ConcurrentHashMap<>();
+    private final Map<ApprovalInboxCounterId, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+
+    public ApprovalInboxStreamService(
+        ApprovalInboxCounterRepository counterRepository,
+        @Value("${app.approval.inbox-stream.timeout-millis:1800000}") long timeoutMillis,
+        @Value("${app.approval.inbox-stream.max-connections-per-member:5}") int maxConnectionsPerMember,
+        @Value("${app.approval.inbox-stream.replay-size:50}") int replaySize,
+        @Value("${app.approval.inbox-stream.replay-window-millis:300000}") long replayWindowMillis,
+        @Value("${app.approval.inbox-stream.queue-size:10000}") int queueSize
+    ) {
+        this.counterRepository = counterRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.maxConnectionsPerMember = Math.max(1, maxConnectionsPerMember);
+        this.replaySize = Math.max(0, replaySize);
+        this.replayWindowMillis = replayWindowMillis;
+        // 한 스레드로 처리해야 사용자별 이벤트 ID 순서와 전송 순서가 일치한다.
+        this.executor = new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "approval-inbox-stream");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 구독을 등록하고 현재 배지 건수를 먼저 전송한다. lastEventId가 있으면 그 이후 이벤트를 재전송한다.
+     * 요청 스레드에서는 DB를 조회하지 않는다. 등록과 초기 전송은 전송 스레드에서 다른 이벤트와 순서대로 처리된다.
+     */
+    public SseEmitter subscribe(String companyId, String memberId, String lastEventId) {
+        ApprovalInboxCounterId key = new ApprovalInboxCounterId(companyId, memberId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        if (replaySize > 0) {
+            // 보관은 이 시점부터 시작한다. 그 이전 ID로 재연결하면 resync 를 보낸다.
+            replayBuffers.computeIfAbsent(key, k -> new ReplayBuffer(sequence.get()));
+        }
+        emitter.onCompletion(() -> unregister(key, emitter));
+        emitter.onTimeout(() -> unregister(key, emitter));
+        emitter.onError(ex -> unregister(key, emitter));
+        try {
+            executor.execute(() -> open(key, emitter, lastEventId));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Inbox SSE 대기열이 가득 찼습니다: member={}", memberId);
+            emitter.completeWithError(ex);
+        }
+        return emitter;
+    }
+
+    private void open(ApprovalInboxCounterId key, SseEmitter emitter, String lastEventId) {
+        register(key, emitter);
+        try {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<StoredEvent> missed = missedSince(key, lastEventId);
+                if (missed == null) {
+                    emitter.send(SseEmitter.event().name(EVENT_RESYNC).data(currentCounts(key)));
+                } else {
+                    for (StoredEvent event : missed) {
+                        emitter.send(SseEmitter.event().id(event.id()).name(EVENT_INBOX).data(event.payload()));
+                    }
+                }
+            }
+            emitter.send(SseEmitter.event().name(EVENT_COUNTS).data(currentCounts(key)));
+        } catch (IOException | RuntimeException ex) {
+            unregister(key, emitter);
+            emitter.completeWithError(ex);
+        }
+    }
+
+    /**
+     * Inbox 변경이 커밋된 뒤에만 전송하여 롤백된 변경이 화면에 나타나지 않게 한다.
+     * 이 노드에 연결도 재전송 보관분도 없는 사용자는 조회 없이 건너뛴다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInboxChanged(ApprovalInboxChangedEvent event) {
+        if (event.companyId() == null || event.memberId() == null) {
+            return;
+        }
+        ApprovalInboxCounterId key = new ApprovalInboxCounterId(event.companyId(), event.memberId());
+        if (!connections.containsKey(key) && !replayBuffers.containsKey(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> push(key, event));
+        } catch (RejectedExecutionException ex) {
+            log.warn("Inbox SSE 대기열이 가득 찼습니다: member={}", key.getMemberId());
+        }
+    }
+
+    private void push(ApprovalInboxCounterId key, ApprovalInboxChangedEvent event) {
+        Set<SseEmitter> emitters = connections.get(key);
+        ReplayBuffer buffer = replayBuffers.get(key);
+        if (emitters == null && buffer == null) {
+            return;
+        }
+        ApprovalInboxStreamEvent payload = new ApprovalInboxStreamEvent(event.change(), event.inbox(), currentCounts(key));
+        String id = nextId();
+        // 연결이 잠시 끊긴 사용자도 재연결 시 받을 수 있도록 보관한다.
+        if (buffer != null) {
+            buffer.add(new StoredEvent(id, sequenceOf(id), payload, System.currentTimeMillis()), replaySize);
+        }
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(key, emitter, SseEmitter.event().id(id).name(EVENT_INBOX).data(payload));
+        }
+    }
+
+    /**
+     * 프록시/로드밸런서의 유휴 연결 종료를 막고 끊어진 연결을 정리하기 위한 하트비트(SSE 주석).
+     * 느린 클라이언트가 공용 스케줄러 스레드를 붙잡지 않도록 전송 스레드에 넘긴다.
+     */
+    @Scheduled(fixedDelayString = "${app.approval.inbox-stream.heartbeat-millis:25000}")
+    public void heartbeat() {
+        try {
+            executor.execute(this::sendHeartbeats);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Inbox SSE 대기열이 가득 차 하트비트를 건너뜁니다.");
+        }
+    }
+
+    private void sendHeartbeats() {
+        connections.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, SseEmitter.event().comment("hb"));
+            }
+        });
+        // 연결이 끊긴 뒤 보관 기간이 지난 사용자의 재전송 보관분을 버린다.
+        long threshold = System.currentTimeMillis() - replayWindowMillis;
+        replayBuffers.entrySet().removeIf(
+            entry -> !connections.containsKey(entry.getKey()) && entry.getValue().lastUpdatedAt() < threshold);
+    }
+
+    int connectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void register(ApprovalInboxCounterId key, SseEmitter emitter) {
+        Set<SseEmitter> emitters = connections.compute(key, (k, current) -> {
+            Set<SseEmitter> target = current != null ? current : new CopyOnWriteArraySet<>();
+            target.add(emitter);
+            return target;
+        });
+
+        // 탭을 여러 개 열어 두고 닫지 않는 경우를 대비해 사용자별 연결 수를 제한한다. 오래된 연결부터 종료.
+        if (emitters.size() > maxConnectionsPerMember) {
+            SseEmitter oldest = emitters.iterator().next();
+            unregister(key, oldest);
+            oldest.complete();
+        }
+    }
+
+    private void unregister(ApprovalInboxCounterId key, SseEmitter emitter) {
+        connections.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            if (!emitters.isEmpty()) {
+                return emitters;
+            }
+            // 보관 기간은 마지막 연결이 끊긴 때부터 센다.
+            ReplayBuffer buffer = replayBuffers.get(key);
+            if (buffer != null) {
+                buffer.touch();
+            }
+            return null;
+        });
+    }
+
+    private void send(ApprovalInboxCounterId key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Inbox SSE 전송 실패-연결 정리: member={}, error={}", key.getMemberId(), ex.getMessage());
+            unregister(key, emitter);
+            emitter.completeWithError(ex);
+        }
+    }
+
+    private ApprovalInboxCountsResponse currentCounts(ApprovalInboxCounterId key) {
+        return counterRepository.findById(key)
+            .map(ApprovalInboxCountsResponse::from)
+            .orElseGet(ApprovalInboxCountsResponse::empty);
+    }
+
+    private String nextId() {
+        return epoch + "-" + sequence.incrementAndGet();
+    }
+
+    private long sequenceOf(String id) {
+        return Long.parseLong(id.substring(id.indexOf('-') + 1));
+    }
+
+    /**
+     * lastEventId 이후 이벤트 목록. 이 노드에서 발급한 ID가 아니거나 보관 범위를 벗어났으면 null.
+     */
+    private List<StoredEvent> missedSince(ApprovalInboxCounterId key, String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator <= 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        ReplayBuffer buffer = replayBuffers.get(key);
+        return buffer != null ? buffer.since(lastSequence) : null;
+    }
+
+    private record StoredEvent(String id, long sequence, ApprovalInboxStreamEvent payload, long storedAt) {
+    }
+
+    private static final class ReplayBuffer {
+
+        private final Deque<StoredEvent> events = new ArrayDeque<>();
+        private long evictedUpTo;
+        private long lastUpdatedAt = System.currentTimeMillis();
+
+        ReplayBuffer(long startedAfter) {
+            this.evictedUpTo = startedAfter;
+        }
+
+        synchronized void add(StoredEvent event, int capacity) {
+            events.addLast(event);
+            while (events.size() > capacity) {
+                evictedUpTo = events.removeFirst().sequence();
+            }
+            lastUpdatedAt = event.storedAt();
+        }
+
+        synchronized List<StoredEvent> since(long lastSequence) {
+            if (lastSequence < evictedUpTo) {
+                return null;
+            }
+            List<StoredEvent> missed = new ArrayList<>();
+            for (StoredEvent event : events) {
+                if (event.sequence() > lastSequence) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+
+        synchronized void touch() {
+            lastUpdatedAt = System.currentTimeMillis();
+        }
+
+        synchronized long lastUpdatedAt() {
+            return lastUpdatedAt;
+        }
+    }
+}
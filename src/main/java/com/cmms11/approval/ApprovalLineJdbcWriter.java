@@ -0,0 +1,113 @@
+package com.cmms11.approval;
+
+import com.cmms11.common.codec.CompressedText;
+import com.cmms11.common.codec.CompressedTextConverter;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결재선(approval_step), Inbox(approval_inbox), Outbox(approval_outbox) 신규 행을 JDBC 배치 INSERT로 저장한다.
+ *
+ * 상신 시점의 단계/Inbox는 항상 신규 행이므로 JPA save(merge)의 선조회 없이 테이블마다 한 번의 배치로 전송한다.
+ * Outbox는 IDENTITY 키라 JPA로는 INSERT 배치가 되지 않으므로 일괄 결재 처리 시 이 경로를 사용한다.
+ * 현재 트랜잭션의 커넥션을 그대로 사용하므로 결재 헤더 저장과 같은 트랜잭션으로 커밋/롤백된다.
+ */
+@Component
+public class ApprovalLineJdbcWriter {
+
+    private static final String INSERT_STEP =
+        "INSERT INTO approval_step (company_id, approval_id, step_no, member_id, decision, result, decided_at, comment) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INBOX =
+        "INSERT INTO approval_inbox (company_id, inbox_id, member_id, approval_id, step_no, inbox_type, is_read, "
+            + "title, ref_entity, ref_id, submitted_by, submitted_at, decision, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_OUTBOX =
+        "INSERT INTO approval_outbox (company_id, approval_id, callback_url, idempotency_key, event_type, status, "
+            + "payload, retry_count, next_attempt_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApprovalLineJdbcWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertSteps(List<ApprovalStep> steps) {
+        if (steps.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_STEP, steps, steps.size(), (ps, step) -> {
+            ps.setString(1, step.getId().getCompanyId());
+            ps.setString(2, step.getId().getApprovalId());
+            ps.setInt(3, step.getId().getStepNo());
+            ps.setString(4, step.getMemberId());
+            ps.setString(5, step.getDecision());
+            ps.setString(6, step.getResult());
+            setTimestamp(ps, 7, step.getDecidedAt());
+            ps.setString(8, step.getComment());
+        });
+    }
+
+    public void insertInboxes(List<ApprovalInbox> inboxes) {
+        if (inboxes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_INBOX, inboxes, inboxes.size(), (ps, inbox) -> {
+            ps.setString(1, inbox.getId().getCompanyId());
+            ps.setString(2, inbox.getId().getInboxId());
+            ps.setString(3, inbox.getMemberId());
+            ps.setString(4, inbox.getApprovalId());
+            if (inbox.getStepNo() != null) {
+                ps.setInt(5, inbox.getStepNo());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            ps.setString(6, inbox.getInboxType());
+            ps.setString(7, inbox.getIsRead());
+            ps.setString(8, inbox.getTitle());
+            ps.setString(9, inbox.getRefEntity());
+            ps.setString(10, inbox.getRefId());
+            ps.setString(11, inbox.getSubmittedBy());
+            setTimestamp(ps, 12, inbox.getSubmittedAt());
+            ps.setString(13, inbox.getDecision());
+            setTimestamp(ps, 14, inbox.getCreatedAt());
+        });
+    }
+
+    public void insertOutboxes(List<ApprovalOutbox> outboxes) {
+        if (outboxes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX, outboxes, outboxes.size(), (ps, outbox) -> {
+            ps.setString(1, outbox.getCompanyId());
+            ps.setString(2, outbox.getApprovalId());
+            ps.setString(3, outbox.getCallbackUrl());
+            ps.setString(4, outbox.getIdempotencyKey());
+            ps.setString(5, outbox.getEventType().name());
+            ps.setString(6, outbox.getStatus().name());
+            // JPA 컨버터를 거치지 않으므로 엔티티 저장과 같은 형식으로 직접 압축한다.
+            ps.setString(7, CompressedText.compress(outbox.getPayload(), CompressedTextConverter.THRESHOLD_CHARS));
+            ps.setInt(8, outbox.getRetryCount());
+            setTimestamp(ps, 9, outbox.getNextAttemptAt());
+            setTimestamp(ps, 10, outbox.getCreatedAt());
+            setTimestamp(ps, 11, outbox.getUpdatedAt());
+        });
+    }
+
+    private void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.cmms11.approval;
 
+import com.cmms11.config.ApprovalWebhookProperties;
+import com.cmms11.security.MemberUserDetailsService;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +17,24 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class ApprovalMonitoringService {
 
+    private static final int MAX_FAILED_PAGE_SIZE = 200;
+    private static final char LIKE_ESCAPE = '!';
+
     private final ApprovalOutboxRepository outboxRepository;
+    private final ApprovalWebhookHourlyStatRepository hourlyStatRepository;
+    private final ApprovalOutboxMetrics outboxMetrics;
+    private final ApprovalWebhookProperties webhookProperties;
 
-    public ApprovalMonitoringService(ApprovalOutboxRepository outboxRepository) {
+    public ApprovalMonitoringService(
+        ApprovalOutboxRepository outboxRepository,
+        ApprovalWebhookHourlyStatRepository hourlyStatRepository,
+        ApprovalOutboxMetrics outboxMetrics,
+        ApprovalWebhookProperties webhookProperties
+    ) {
         this.outboxRepository = outboxRepository;
+        this.hourlyStatRepository = hourlyStatRepository;
+        this.outboxMetrics = outboxMetrics;
+        this.webhookProperties = webhookProperties;
     }
 
     @Transactional(readOnly = true)
@@ -39,17 +58,159 @@ public class ApprovalMonitoringService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * FAILED 이벤트를 필터 조건으로 키셋 페이지 조회한다 (실패 시각 최신순).
+     */
+    @Transactional(readOnly = true)
+    public ApprovalOutboxFailedPage findFailedEvents(ApprovalOutboxFailedFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FAILED_PAGE_SIZE));
+        List<ApprovalOutbox> rows = findFailed(filter, ApprovalOutboxCursor.decode(cursor), pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<ApprovalOutbox> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? ApprovalOutboxCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new ApprovalOutboxFailedPage(
+            page.stream().map(ApprovalOutboxEventResponse::from).collect(Collectors.toList()),
+            pageSize,
+            hasNext,
+            nextCursor
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public long countFailed(ApprovalOutboxFailedFilter filter) {
+        HostPatterns host = hostPatterns(filter.host());
+        return outboxRepository.countFailed(
+            filter.eventType(),
+            filter.from(),
+            filter.to(),
+            host.exact(),
+            host.path(),
+            host.query(),
+            host.includeRelative()
+        );
+    }
+
+    /**
+     * 커서 이후 FAILED 이벤트 최대 chunkSize 건을 PENDING으로 되돌린다.
+     * 재시도 횟수는 초기화하고, next_attempt_at 은 firstSlot 부터 intervalMillis 간격으로 배치하여
+     * 발송 스케줄러가 수신 측에 초당 일정 건수 이상 보내지 않도록 한다.
+     */
+    @Transactional
+    public RequeueChunk requeueFailed(
+        ApprovalOutboxFailedFilter filter,
+        ApprovalOutboxCursor cursor,
+        int chunkSize,
+        LocalDateTime firstSlot,
+        long intervalMillis
+    ) {
+        List<ApprovalOutbox> events = findFailed(filter, cursor, chunkSize);
+        if (events.isEmpty()) {
+            return new RequeueChunk(0, cursor, firstSlot, false);
+        }
+        // 전환한 행은 updatedAt 이 바뀌므로 다음 커서는 변경 전 값으로 만든다.
+        ApprovalOutboxCursor next = ApprovalOutboxCursor.of(events.get(events.size() - 1));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime slot = firstSlot;
+        for (ApprovalOutbox event : events) {
+            resetForRetry(event, slot, now);
+            outboxMetrics.recordRequeued(ApprovalOutboxStatus.FAILED);
+            slot = slot.plus(intervalMillis, ChronoUnit.MILLIS);
+        }
+        outboxRepository.saveAll(events);
+        return new RequeueChunk(events.size(), next, slot, events.size() >= chunkSize);
+    }
+
     @Transactional
     public void retry(Long outboxId) {
         ApprovalOutbox outbox = outboxRepository
             .findById(outboxId)
             .orElseThrow(() -> new IllegalArgumentException("Outbox 이벤트를 찾을 수 없습니다: " + outboxId));
 
-        outbox.setStatus(ApprovalOutboxStatus.PENDING);
-        outbox.setLastErrorMessage(null);
-        outbox.setLastAttemptAt(null);
-        outbox.setNextAttemptAt(LocalDateTime.now());
-        outbox.setUpdatedAt(LocalDateTime.now());
+        ApprovalOutboxStatus previousStatus = outbox.getStatus();
+        LocalDateTime now = LocalDateTime.now();
+        resetForRetry(outbox, now, now);
         outboxRepository.save(outbox);
+        outboxMetrics.recordRequeued(previousStatus);
+    }
+
+    /**
+     * 운영자 재발송(단건/일괄) 공통: PENDING 으로 되돌리고 재시도 횟수를 초기화하여 max-attempts 만큼 다시 시도하게 한다.
+     */
+    private void resetForRetry(ApprovalOutbox event, LocalDateTime nextAttemptAt, LocalDateTime now) {
+        event.setStatus(ApprovalOutboxStatus.PENDING);
+        event.setRetryCount(0);
+        event.setLastErrorMessage(null);
+        event.setLastAttemptAt(null);
+        event.setNextAttemptAt(nextAttemptAt);
+        event.setUpdatedAt(now);
+    }
+
+    /**
+     * 최근 N시간의 Webhook 발송 시도를 시간대/호스트별로 집계해 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public List<ApprovalWebhookHourlyStatResponse> getWebhookHourlyStats(int hours) {
+        LocalDateTime from = LocalDateTime.now()
+            .truncatedTo(ChronoUnit.HOURS)
+            .minusHours(Math.max(0, hours - 1));
+        return hourlyStatRepository.findSince(MemberUserDetailsService.DEFAULT_COMPANY, from)
+            .stream()
+            .map(ApprovalWebhookHourlyStatResponse::from)
+            .collect(Collectors.toList());
+    }
+
+    private List<ApprovalOutbox> findFailed(ApprovalOutboxFailedFilter filter, ApprovalOutboxCursor cursor, int limit) {
+        HostPatterns host = hostPatterns(filter.host());
+        return outboxRepository.findFailedPage(
+            filter.eventType(),
+            filter.from(),
+            filter.to(),
+            host.exact(),
+            host.path(),
+            host.query(),
+            host.includeRelative(),
+            cursor.updatedAt(),
+            cursor.id(),
+            PageRequest.of(0, limit)
+        );
+    }
+
+    /**
+     * 호스트 필터를 callback_url LIKE 패턴으로 만든다. 쿼리는 lower(callback_url) 과 비교하므로 소문자로 맞추고,
+     * 호스트에 들어 있는 LIKE 특수문자는 문자 그대로 비교되도록 이스케이프한다.
+     */
+    private HostPatterns hostPatterns(String host) {
+        if (host == null || host.isBlank()) {
+            return new HostPatterns(null, null, null, false);
+        }
+        String normalized = host.trim().toLowerCase(Locale.ROOT);
+        String literal = escapeLike(normalized);
+        String base = ApprovalWebhookCircuitBreaker.hostOf(webhookProperties.getCallbackBase());
+        return new HostPatterns(
+            "%://" + literal,
+            "%://" + literal + "/%",
+            "%://" + literal + "?%",
+            normalized.equalsIgnoreCase(base)
+        );
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private record HostPatterns(String exact, String path, String query, boolean includeRelative) {
+    }
+
+    /**
+     * 재발송 청크 결과. next 는 다음 청크 조회 커서, nextSlot 은 다음 이벤트에 배치할 발송 시각.
+     */
+    public record RequeueChunk(int requeued, ApprovalOutboxCursor next, LocalDateTime nextSlot, boolean hasMore) {
     }
 }
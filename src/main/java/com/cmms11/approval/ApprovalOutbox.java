@@ -1,6 +1,8 @@
 package com.cmms11.approval;
 
+import com.cmms11.common.codec.CompressedTextConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -50,6 +52,7 @@ public class ApprovalOutbox {
 
     @Lob
     @Column(nullable = false)
+    @Convert(converter = CompressedTextConverter.class)
     private String payload;
 
     @Column(name = "retry_count", nullable = false)
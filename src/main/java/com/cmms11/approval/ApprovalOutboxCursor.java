@@ -0,0 +1,48 @@
+package com.cmms11.approval;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * FAILED Outbox 목록 키셋 페이지 커서 (updatedAt + id). URL에 그대로 쓸 수 있도록 Base64URL로 인코딩한다.
+ */
+public record ApprovalOutboxCursor(LocalDateTime updatedAt, long id) {
+
+    /**
+     * 첫 페이지용 커서. 모든 행의 updatedAt 보다 크므로 id 비교는 사용되지 않는다.
+     */
+    public static final ApprovalOutboxCursor FIRST =
+        new ApprovalOutboxCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '|';
+
+    public static ApprovalOutboxCursor of(ApprovalOutbox outbox) {
+        return new ApprovalOutboxCursor(outbox.getUpdatedAt(), outbox.getId());
+    }
+
+    public String encode() {
+        String raw = updatedAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ApprovalOutboxCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+            }
+            return new ApprovalOutboxCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.", ex);
+        }
+    }
+}
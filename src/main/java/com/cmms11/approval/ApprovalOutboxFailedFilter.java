@@ -0,0 +1,24 @@
+package com.cmms11.approval;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * FAILED Outbox 조회/재발송 필터. 모든 조건은 선택이며, 시간 범위는 실패 시각(updatedAt) 기준 [from, to).
+ *
+ * @param host 수신 호스트 (ApprovalWebhookCircuitBreaker.hostOf 형식, 포트가 있으면 host:port)
+ */
+public record ApprovalOutboxFailedFilter(
+    String host,
+    ApprovalEventType eventType,
+    LocalDateTime from,
+    LocalDateTime to
+) {
+
+    public ApprovalOutboxFailedFilter {
+        host = host == null || host.isBlank() ? null : host.trim().toLowerCase(Locale.ROOT);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 앞서야 합니다.");
+        }
+    }
+}
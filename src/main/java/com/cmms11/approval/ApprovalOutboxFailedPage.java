@@ -0,0 +1,14 @@
+package com.cmms11.approval;
+
+import java.util.List;
+
+/**
+ * FAILED Outbox 키셋 페이지. nextCursor 를 다음 요청의 cursor 로 전달한다.
+ */
+public record ApprovalOutboxFailedPage(
+    List<ApprovalOutboxEventResponse> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) {
+}
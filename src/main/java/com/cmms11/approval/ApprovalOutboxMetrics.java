@@ -0,0 +1,192 @@
+package com.cmms11.approval;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 결재 Outbox/Webhook 파이프라인 Micrometer 지표.
+ *
+ * 큐 깊이 게이지(PENDING/FAILED)는 상태 전이 시 커밋 후 증감으로 유지하고, 기동 시와 주기적으로 COUNT로 보정한다.
+ * 스크레이프 시점에 DB를 조회하지 않으므로 /actuator/prometheus 호출이 Outbox 테이블에 부하를 주지 않는다.
+ */
+@Component
+public class ApprovalOutboxMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalOutboxMetrics.class);
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_CLIENT_ERROR = "client_error";
+    static final String OUTCOME_SERVER_ERROR = "server_error";
+    static final String OUTCOME_IO_ERROR = "io_error";
+
+    private static final String UNKNOWN_HOST = "unknown";
+
+    private final MeterRegistry registry;
+    private final ApprovalOutboxRepository outboxRepository;
+    private final Map<ApprovalOutboxStatus, AtomicLong> depth = new EnumMap<>(ApprovalOutboxStatus.class);
+    private final Timer deliveryLatency;
+    private final DistributionSummary deliveryAttempts;
+    private final Timer dispatchDuration;
+    private final DistributionSummary dispatchBatchSize;
+
+    public ApprovalOutboxMetrics(MeterRegistry registry, ApprovalOutboxRepository outboxRepository) {
+        this.registry = registry;
+        this.outboxRepository = outboxRepository;
+        for (ApprovalOutboxStatus status : new ApprovalOutboxStatus[] {ApprovalOutboxStatus.PENDING, ApprovalOutboxStatus.FAILED}) {
+            AtomicLong value = new AtomicLong();
+            depth.put(status, value);
+            Gauge.builder("approval.outbox.queue.depth", value, AtomicLong::get)
+                .description("Outbox 상태별 이벤트 수")
+                .tag("status", status.name())
+                .register(registry);
+        }
+        this.deliveryLatency = Timer.builder("approval.outbox.delivery.latency")
+            .description("Outbox 적재(createdAt)부터 SENT 전환까지의 시간")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(100))
+            .maximumExpectedValue(Duration.ofHours(6))
+            .register(registry);
+        this.deliveryAttempts = DistributionSummary.builder("approval.outbox.delivery.attempts")
+            .description("SENT/FAILED로 종료된 이벤트의 발송 시도 횟수")
+            .baseUnit("attempts")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(20.0)
+            .register(registry);
+        this.dispatchDuration = Timer.builder("approval.outbox.dispatch.duration")
+            .description("Webhook 발송 스케줄러 1회 실행 시간")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.dispatchBatchSize = DistributionSummary.builder("approval.outbox.dispatch.batch.size")
+            .description("Webhook 발송 스케줄러 1회 처리 이벤트 수")
+            .register(registry);
+    }
+
+    /**
+     * Outbox 적재. 게이지는 트랜잭션 커밋 후에 반영한다.
+     */
+    public void recordEnqueued(ApprovalEventType eventType, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter.builder("approval.outbox.enqueued")
+            .description("Outbox 적재 이벤트 수")
+            .tag("event_type", eventType.name())
+            .register(registry)
+            .increment(count);
+        afterCommit(() -> depth.get(ApprovalOutboxStatus.PENDING).addAndGet(count));
+    }
+
+    public void recordSuperseded(int count) {
+        if (count <= 0) {
+            return;
+        }
+        afterCommit(() -> depth.get(ApprovalOutboxStatus.PENDING).addAndGet(-count));
+    }
+
+    public void recordSent(ApprovalOutbox event, LocalDateTime sentAt) {
+        if (event.getCreatedAt() != null) {
+            deliveryLatency.record(Duration.between(event.getCreatedAt(), sentAt));
+        }
+        deliveryAttempts.record(event.getRetryCount() + 1);
+        afterCommit(() -> depth.get(ApprovalOutboxStatus.PENDING).decrementAndGet());
+    }
+
+    /**
+     * 재시도 중단(FAILED). attempts는 이번 시도를 포함한 총 발송 시도 횟수.
+     */
+    public void recordFailed(int attempts) {
+        deliveryAttempts.record(attempts);
+        afterCommit(() -> {
+            depth.get(ApprovalOutboxStatus.PENDING).decrementAndGet();
+            depth.get(ApprovalOutboxStatus.FAILED).incrementAndGet();
+        });
+    }
+
+    /**
+     * 운영자 재시도로 FAILED 이벤트가 PENDING으로 돌아간 경우.
+     */
+    public void recordRequeued(ApprovalOutboxStatus previousStatus) {
+        if (previousStatus == ApprovalOutboxStatus.PENDING) {
+            return;
+        }
+        afterCommit(() -> {
+            AtomicLong previous = depth.get(previousStatus);
+            if (previous != null) {
+                previous.decrementAndGet();
+            }
+            depth.get(ApprovalOutboxStatus.PENDING).incrementAndGet();
+        });
+    }
+
+    /**
+     * 호스트별 Webhook 요청 결과. outcome: success / client_error / server_error / io_error.
+     */
+    public void recordRequest(String host, String outcome) {
+        Counter.builder("approval.webhook.requests")
+            .description("Webhook 발송 요청 수 (호스트/결과별)")
+            .tag("host", host != null ? host : UNKNOWN_HOST)
+            .tag("outcome", outcome)
+            .register(registry)
+            .increment();
+    }
+
+    public void recordDispatch(long startNanos, int batchSize) {
+        dispatchDuration.record(Duration.ofNanos(System.nanoTime() - startNanos));
+        dispatchBatchSize.record(batchSize);
+    }
+
+    long depthOf(ApprovalOutboxStatus status) {
+        AtomicLong value = depth.get(status);
+        return value != null ? value.get() : 0L;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcileDepth();
+    }
+
+    /**
+     * 증감 누락(다른 노드의 변경, 게이지 반영 전 종료 등)을 COUNT 기준으로 보정한다.
+     */
+    @Scheduled(
+        fixedDelayString = "${app.webhook.metrics.depth-reconcile-millis:300000}",
+        initialDelayString = "${app.webhook.metrics.depth-reconcile-millis:300000}"
+    )
+    public void reconcileDepth() {
+        try {
+            depth.forEach((status, value) -> value.set(outboxRepository.countByStatus(status)));
+        } catch (RuntimeException ex) {
+            log.warn("Outbox 큐 깊이 보정 실패: {}", ex.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.cmms11.approval;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일괄 재발송 작업 진행 현황.
+ *
+ * @param total 작업 시작 시점의 대상 건수
+ * @param requeued 재발송 대기(PENDING)로 전환한 건수
+ * @param scheduledUntil 마지막으로 배치한 next_attempt_at (재발송이 끝나는 예상 시각)
+ */
+public record ApprovalOutboxReplayJobResponse(
+    String jobId,
+    String status,
+    ApprovalOutboxFailedFilter filter,
+    int ratePerSecond,
+    long total,
+    long requeued,
+    LocalDateTime scheduledUntil,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    String message
+) {
+}
@@ -0,0 +1,21 @@
+package com.cmms11.approval;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * FAILED 이벤트 일괄 재발송 요청. ratePerSecond 를 비우면 app.webhook.replay.rate-per-second 를 사용한다.
+ */
+public record ApprovalOutboxReplayRequest(
+    @Size(max = 255) String host,
+    ApprovalEventType eventType,
+    LocalDateTime from,
+    LocalDateTime to,
+    @Min(1) Integer ratePerSecond
+) {
+
+    public ApprovalOutboxFailedFilter toFilter() {
+        return new ApprovalOutboxFailedFilter(host, eventType, from, to);
+    }
+}
@@ -0,0 +1,209 @@
+package com.cmms11.approval;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * FAILED Outbox 이벤트 일괄 재발송 작업.
+ *
+ * 대상은 청크 단위로 PENDING 전환하며, next_attempt_at 을 초당 ratePerSecond 건 간격으로 배치하여
+ * 수신 측 장애 복구 직후 한꺼번에 몰리지 않게 한다. 다음 청크는 앞 청크의 배치 시각이 거의 도래했을 때 전환하므로
+ * 취소하면 아직 전환하지 않은 이벤트는 FAILED로 남는다. 작업 상태는 이 노드 메모리에만 보관한다.
+ */
+@Service
+public class ApprovalOutboxReplayService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalOutboxReplayService.class);
+
+    static final String STATUS_RUNNING = "RUNNING";
+    static final String STATUS_COMPLETED = "COMPLETED";
+    static final String STATUS_CANCELLED = "CANCELLED";
+    static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_JOB_HISTORY = 20;
+    private static final long WAIT_STEP_MILLIS = 500;
+
+    private final ApprovalMonitoringService monitoringService;
+    private final ApprovalWebhookProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, ReplayJob> jobs = new LinkedHashMap<>();
+
+    public ApprovalOutboxReplayService(
+        ApprovalMonitoringService monitoringService,
+        ApprovalWebhookProperties properties
+    ) {
+        this.monitoringService = monitoringService;
+        this.properties = properties;
+    }
+
+    /**
+     * 재발송 작업을 시작한다. 노드당 동시에 하나만 실행한다.
+     */
+    public synchronized ApprovalOutboxReplayJobResponse start(ApprovalOutboxReplayRequest request) {
+        if (jobs.values().stream().anyMatch(ReplayJob::isRunning)) {
+            throw new IllegalStateException("이미 실행 중인 재발송 작업이 있습니다.");
+        }
+        ApprovalWebhookProperties.Replay replay = properties.getReplay();
+        int maxRate = Math.max(1, replay.getMaxRatePerSecond());
+        int rate = request.ratePerSecond() != null ? request.ratePerSecond() : replay.getRatePerSecond();
+        rate = Math.max(1, Math.min(rate, maxRate));
+
+        ApprovalOutboxFailedFilter filter = request.toFilter();
+        ReplayJob job = new ReplayJob(UUID.randomUUID().toString(), filter, rate, monitoringService.countFailed(filter));
+        jobs.put(job.id, job);
+        trimHistory();
+        executor.execute(() -> run(job));
+        log.info("Outbox 일괄 재발송 시작: jobId={}, total={}, rate={}/s, filter={}", job.id, job.total, rate, filter);
+        return job.toResponse();
+    }
+
+    public synchronized ApprovalOutboxReplayJobResponse get(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    public synchronized List<ApprovalOutboxReplayJobResponse> list() {
+        List<ApprovalOutboxReplayJobResponse> responses = new ArrayList<>(jobs.size());
+        jobs.values().forEach(job -> responses.add(0, job.toResponse()));
+        return responses;
+    }
+
+    public synchronized ApprovalOutboxReplayJobResponse cancel(String jobId) {
+        ReplayJob job = findJob(jobId);
+        // 진행 중인 청크 트랜잭션은 끝까지 수행하고, 다음 청크 전환 전에 중단한다.
+        if (job.isRunning()) {
+            job.cancelRequested = true;
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ReplayJob job) {
+        int chunkSize = Math.max(1, properties.getReplay().getChunkSize());
+        long intervalMillis = Math.max(1L, 1000L / job.ratePerSecond);
+        long leadMillis = Math.max(WAIT_STEP_MILLIS, properties.getScheduler().getDelayMillis());
+        ApprovalOutboxCursor cursor = ApprovalOutboxCursor.FIRST;
+        LocalDateTime slot = LocalDateTime.now();
+        try {
+            while (!job.cancelRequested) {
+                ApprovalMonitoringService.RequeueChunk chunk =
+                    monitoringService.requeueFailed(job.filter, cursor, chunkSize, slot, intervalMillis);
+                job.requeued.addAndGet(chunk.requeued());
+                if (chunk.requeued() > 0) {
+                    job.scheduledUntil = chunk.nextSlot().minus(intervalMillis, ChronoUnit.MILLIS);
+                }
+                if (!chunk.hasMore()) {
+                    break;
+                }
+                cursor = chunk.next();
+                slot = chunk.nextSlot();
+                // 앞 청크의 마지막 발송 시각이 발송 주기 이내로 다가오면 다음 청크를 전환한다.
+                waitUntil(job, slot.minus(Duration.ofMillis(leadMillis)));
+            }
+            job.finish(job.cancelRequested ? STATUS_CANCELLED : STATUS_COMPLETED, null);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.finish(STATUS_CANCELLED, null);
+        } catch (RuntimeException ex) {
+            log.warn("Outbox 일괄 재발송 실패: jobId={}, error={}", job.id, ex.getMessage());
+            job.finish(STATUS_FAILED, ex.getMessage());
+        }
+        log.info("Outbox 일괄 재발송 종료: jobId={}, status={}, requeued={}", job.id, job.status, job.requeued.get());
+    }
+
+    private void waitUntil(ReplayJob job, LocalDateTime until) throws InterruptedException {
+        while (!job.cancelRequested) {
+            long remaining = Duration.between(LocalDateTime.now(), until).toMillis();
+            if (remaining <= 0) {
+                return;
+            }
+            Thread.sleep(Math.min(remaining, WAIT_STEP_MILLIS));
+        }
+    }
+
+    private ReplayJob findJob(String jobId) {
+        ReplayJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("재발송 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job;
+    }
+
+    private void trimHistory() {
+        Iterator<ReplayJob> iterator = jobs.values().iterator();
+        while (jobs.size() > MAX_JOB_HISTORY && iterator.hasNext()) {
+            if (!iterator.next().isRunning()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class ReplayJob {
+
+        private final String id;
+        private final ApprovalOutboxFailedFilter filter;
+        private final int ratePerSecond;
+        private final long total;
+        private final AtomicLong requeued = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile String status = STATUS_RUNNING;
+        private volatile boolean cancelRequested;
+        private volatile LocalDateTime scheduledUntil;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        private ReplayJob(String id, ApprovalOutboxFailedFilter filter, int ratePerSecond, long total) {
+            this.id = id;
+            this.filter = filter;
+            this.ratePerSecond = ratePerSecond;
+            this.total = total;
+        }
+
+        boolean isRunning() {
+            return STATUS_RUNNING.equals(status);
+        }
+
+        void finish(String finalStatus, String errorMessage) {
+            this.message = errorMessage;
+            this.finishedAt = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+
+        ApprovalOutboxReplayJobResponse toResponse() {
+            return new ApprovalOutboxReplayJobResponse(
+                id,
+                status,
+                filter,
+                ratePerSecond,
+                total,
+                requeued.get(),
+                scheduledUntil,
+                startedAt,
+                finishedAt,
+                message
+            );
+        }
+    }
+}
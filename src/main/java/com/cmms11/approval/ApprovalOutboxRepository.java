@@ -1,9 +1,15 @@
 package com.cmms11.approval;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Outbox 이벤트 조회/저장 레포지토리.
@@ -22,4 +28,106 @@ public interface ApprovalOutboxRepository extends JpaRepository<ApprovalOutbox,
     Optional<ApprovalOutbox> findTop1ByStatusOrderByCreatedAtAsc(ApprovalOutboxStatus status);
 
     List<ApprovalOutbox> findTop20ByStatusOrderByUpdatedAtDesc(ApprovalOutboxStatus status);
+
+    /**
+     * 아직 발송되지 않은 같은 결재의 이전 이벤트 중 지정 유형을 SUPERSEDED로 전환한다.
+     */
+    @Modifying
+    @Query(
+        "update ApprovalOutbox o set o.status = com.cmms11.approval.ApprovalOutboxStatus.SUPERSEDED, "
+            + "o.updatedAt = :now "
+            + "where o.companyId = :companyId and o.approvalId = :approvalId "
+            + "and o.status = com.cmms11.approval.ApprovalOutboxStatus.PENDING "
+            + "and o.eventType in :eventTypes"
+    )
+    int supersedePending(
+        @Param("companyId") String companyId,
+        @Param("approvalId") String approvalId,
+        @Param("eventTypes") Collection<ApprovalEventType> eventTypes,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * {@link #supersedePending}의 다건 버전. 일괄 결재 처리 시 청크 단위로 한 번 실행한다.
+     */
+    @Modifying
+    @Query(
+        "update ApprovalOutbox o set o.status = com.cmms11.approval.ApprovalOutboxStatus.SUPERSEDED, "
+            + "o.updatedAt = :now "
+            + "where o.companyId = :companyId and o.approvalId in :approvalIds "
+            + "and o.status = com.cmms11.approval.ApprovalOutboxStatus.PENDING "
+            + "and o.eventType in :eventTypes"
+    )
+    int supersedePendingIn(
+        @Param("companyId") String companyId,
+        @Param("approvalIds") Collection<String> approvalIds,
+        @Param("eventTypes") Collection<ApprovalEventType> eventTypes,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 발송 결과를 반영한다. 발송하는 동안 SUPERSEDED 로 전환된 이벤트를 되살리지 않도록 PENDING 인 경우에만 갱신한다.
+     *
+     * @return 갱신 건수 (0 이면 이미 다른 상태로 전환됨)
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "update ApprovalOutbox o set o.status = :status, o.retryCount = :retryCount, "
+            + "o.lastErrorMessage = :lastErrorMessage, o.lastAttemptAt = :lastAttemptAt, "
+            + "o.nextAttemptAt = :nextAttemptAt, o.updatedAt = :now "
+            + "where o.id = :id and o.status = com.cmms11.approval.ApprovalOutboxStatus.PENDING"
+    )
+    int updateIfPending(
+        @Param("id") Long id,
+        @Param("status") ApprovalOutboxStatus status,
+        @Param("retryCount") int retryCount,
+        @Param("lastErrorMessage") String lastErrorMessage,
+        @Param("lastAttemptAt") LocalDateTime lastAttemptAt,
+        @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+        @Param("now") LocalDateTime now
+    );
+
+    // FAILED 이벤트 키셋 조회. (status, updated_at, id) 인덱스 사용.
+    // 호스트 조건은 callback_url 의 '://호스트' 뒤가 '/', '?' 또는 끝인 경우만 일치시키며,
+    // includeRelative 가 true 이면 callback-base 로 해석되는 상대 경로 URL 도 포함한다.
+    // 호스트 패턴은 소문자이며 LIKE 특수문자(%, _, !)를 '!' 로 이스케이프해 전달한다.
+    String FAILED_FILTER =
+        "o.status = com.cmms11.approval.ApprovalOutboxStatus.FAILED "
+            + "and (:eventType is null or o.eventType = :eventType) "
+            + "and (:fromAt is null or o.updatedAt >= :fromAt) "
+            + "and (:toAt is null or o.updatedAt < :toAt) "
+            + "and (:hostExact is null "
+            + "or lower(o.callbackUrl) like :hostExact escape '!' or lower(o.callbackUrl) like :hostPath escape '!' "
+            + "or lower(o.callbackUrl) like :hostQuery escape '!' "
+            + "or (:includeRelative = true and o.callbackUrl not like 'http://%' and o.callbackUrl not like 'https://%')) ";
+
+    @Query(
+        "select o from ApprovalOutbox o where " + FAILED_FILTER
+            + "and o.updatedAt <= :cursorAt and (o.updatedAt < :cursorAt or o.id < :cursorId) "
+            + "order by o.updatedAt desc, o.id desc"
+    )
+    List<ApprovalOutbox> findFailedPage(
+        @Param("eventType") ApprovalEventType eventType,
+        @Param("fromAt") LocalDateTime fromAt,
+        @Param("toAt") LocalDateTime toAt,
+        @Param("hostExact") String hostExact,
+        @Param("hostPath") String hostPath,
+        @Param("hostQuery") String hostQuery,
+        @Param("includeRelative") boolean includeRelative,
+        @Param("cursorAt") LocalDateTime cursorAt,
+        @Param("cursorId") long cursorId,
+        Pageable pageable
+    );
+
+    @Query("select count(o) from ApprovalOutbox o where " + FAILED_FILTER)
+    long countFailed(
+        @Param("eventType") ApprovalEventType eventType,
+        @Param("fromAt") LocalDateTime fromAt,
+        @Param("toAt") LocalDateTime toAt,
+        @Param("hostExact") String hostExact,
+        @Param("hostPath") String hostPath,
+        @Param("hostQuery") String hostQuery,
+        @Param("includeRelative") boolean includeRelative
+    );
 }
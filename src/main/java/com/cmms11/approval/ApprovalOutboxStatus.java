@@ -6,5 +6,9 @@ package com.cmms11.approval;
 public enum ApprovalOutboxStatus {
     PENDING,
     SENT,
-    FAILED
+    FAILED,
+    /**
+     * 같은 결재의 더 최신 스냅샷 이벤트로 대체되어 발송하지 않는 이벤트.
+     */
+    SUPERSEDED
 }
@@ -0,0 +1,15 @@
+package com.cmms11.approval;
+
+/**
+ * 결재 진행 현황 DTO (목록 화면의 "현재 결재자 / 진행 x of y" 표시용).
+ *
+ * 순차 결재 단계(결재/합의)만 집계하며, 참조(INFO) 단계는 제외한다.
+ * 결재가 종료되었으면 currentStepNo, currentApproverId는 null.
+ */
+public record ApprovalProgressResponse(
+    int totalSteps,
+    int decidedSteps,
+    Integer currentStepNo,
+    String currentApproverId
+) {
+}
@@ -1,5 +1,8 @@
 package com.cmms11.approval;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -45,88 +48,80 @@ public interface ApprovalRepository extends JpaRepository<Approval, ApprovalId>
 
     Optional<Approval> findByIdCompanyIdAndIdApprovalId(String companyId, String approvalId);
 
+    List<Approval> findByIdCompanyIdAndIdApprovalIdIn(String companyId, Collection<String> approvalIds);
+
     // 결재함 조회 쿼리
-    
-    /**
-     * 미결함: 내가 결재해야 할 문서
-     */
-    @Query(
-        "SELECT DISTINCT a FROM Approval a " +
-        "WHERE a.id.companyId = :companyId " +
-        "AND a.status IN ('SUBMT', 'PROC') " +
-        "AND EXISTS (" +
-        "  SELECT 1 FROM ApprovalStep s " +
-        "  WHERE s.id.companyId = a.id.companyId " +
-        "  AND s.id.approvalId = a.id.approvalId " +
-        "  AND s.memberId = :memberId " +
-        "  AND s.decidedAt IS NULL" +
-        ") " +
-        "ORDER BY a.createdAt DESC"
-    )
-    Page<Approval> findPendingByMemberId(
-        @Param("companyId") String companyId,
-        @Param("memberId") String memberId,
-        Pageable pageable
-    );
+    // OFFSET 페이징 대신 (정렬 키, 결재 ID) 키셋 조건으로 조회한다. 첫 페이지는 ApprovalBoxCursor.FIRST를 사용하며,
+    // 선행 조건(정렬 키 <= 커서)이 복합 인덱스의 범위 조건으로 쓰이므로 페이지가 깊어져도 읽는 행 수가 일정하다.
 
     /**
-     * 기결함: 내가 승인/합의한 문서
+     * 미결함: 내가 결재해야 할 문서. approval_inbox(company_id, member_id, inbox_type, submitted_at, approval_id) 인덱스 사용.
      */
     @Query(
-        "SELECT DISTINCT a FROM Approval a " +
-        "WHERE a.id.companyId = :companyId " +
-        "AND EXISTS (" +
-        "  SELECT 1 FROM ApprovalStep s " +
-        "  WHERE s.id.companyId = a.id.companyId " +
-        "  AND s.id.approvalId = a.id.approvalId " +
-        "  AND s.memberId = :memberId " +
-        "  AND s.decidedAt IS NOT NULL " +
-        "  AND s.result = 'APPRV'" +
-        ") " +
-        "ORDER BY a.createdAt DESC"
+        "SELECT new com.cmms11.approval.ApprovalBoxRow(a, i.submittedAt) " +
+        "FROM ApprovalInbox i, Approval a " +
+        "WHERE i.id.companyId = :companyId " +
+        "AND i.memberId = :memberId " +
+        "AND i.inboxType = 'SUBMT' " +
+        "AND i.submittedAt <= :cursorAt " +
+        "AND (i.submittedAt < :cursorAt OR i.approvalId < :cursorId) " +
+        "AND a.id.companyId = i.id.companyId " +
+        "AND a.id.approvalId = i.approvalId " +
+        "AND a.status IN ('SUBMT', 'PROC') " +
+        "ORDER BY i.submittedAt DESC, i.approvalId DESC"
     )
-    Page<Approval> findApprovedByMemberId(
+    List<ApprovalBoxRow> findPendingBox(
         @Param("companyId") String companyId,
         @Param("memberId") String memberId,
-        Pageable pageable
+        @Param("cursorAt") LocalDateTime cursorAt,
+        @Param("cursorId") String cursorId,
+        Pageable limit
     );
 
     /**
-     * 반려함: 내가 반려한 문서
+     * 기결함/반려함: 내가 승인(APPRV) 또는 반려(REJCT)한 문서, 결재일 역순.
+     * approval_step(company_id, member_id, result, decided_at, approval_id) 인덱스 사용.
      */
     @Query(
-        "SELECT DISTINCT a FROM Approval a " +
-        "WHERE a.id.companyId = :companyId " +
-        "AND EXISTS (" +
-        "  SELECT 1 FROM ApprovalStep s " +
-        "  WHERE s.id.companyId = a.id.companyId " +
-        "  AND s.id.approvalId = a.id.approvalId " +
-        "  AND s.memberId = :memberId " +
-        "  AND s.decidedAt IS NOT NULL " +
-        "  AND s.result = 'REJCT'" +
-        ") " +
-        "ORDER BY a.createdAt DESC"
+        "SELECT new com.cmms11.approval.ApprovalBoxRow(a, s.decidedAt) " +
+        "FROM ApprovalStep s, Approval a " +
+        "WHERE s.id.companyId = :companyId " +
+        "AND s.memberId = :memberId " +
+        "AND s.result = :result " +
+        "AND s.decidedAt <= :cursorAt " +
+        "AND (s.decidedAt < :cursorAt OR s.id.approvalId < :cursorId) " +
+        "AND a.id.companyId = s.id.companyId " +
+        "AND a.id.approvalId = s.id.approvalId " +
+        "ORDER BY s.decidedAt DESC, s.id.approvalId DESC"
     )
-    Page<Approval> findRejectedByMemberId(
+    List<ApprovalBoxRow> findDecidedBox(
         @Param("companyId") String companyId,
         @Param("memberId") String memberId,
-        Pageable pageable
+        @Param("result") String result,
+        @Param("cursorAt") LocalDateTime cursorAt,
+        @Param("cursorId") String cursorId,
+        Pageable limit
     );
 
     /**
-     * 상신함: 내가 상신한 문서
+     * 상신함: 내가 상신한 문서. approval(company_id, created_by, created_at, approval_id) 인덱스 사용.
      */
     @Query(
-        "SELECT a FROM Approval a " +
+        "SELECT new com.cmms11.approval.ApprovalBoxRow(a, a.createdAt) " +
+        "FROM Approval a " +
         "WHERE a.id.companyId = :companyId " +
         "AND a.createdBy = :memberId " +
+        "AND a.createdAt <= :cursorAt " +
+        "AND (a.createdAt < :cursorAt OR a.id.approvalId < :cursorId) " +
         "AND a.status IN ('SUBMT', 'PROC', 'APPRV', 'REJCT') " +
-        "ORDER BY a.createdAt DESC"
+        "ORDER BY a.createdAt DESC, a.id.approvalId DESC"
     )
-    Page<Approval> findSentByMemberId(
+    List<ApprovalBoxRow> findSentBox(
         @Param("companyId") String companyId,
         @Param("memberId") String memberId,
-        Pageable pageable
+        @Param("cursorAt") LocalDateTime cursorAt,
+        @Param("cursorId") String cursorId,
+        Pageable limit
     );
 
     Optional<Approval> findByIdCompanyIdAndIdempotencyKey(String companyId, String idempotencyKey);
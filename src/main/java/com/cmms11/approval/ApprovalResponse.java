@@ -27,9 +27,18 @@ public record ApprovalResponse(
     String createdBy,
     LocalDateTime updatedAt,
     String updatedBy,
-    List<ApprovalStepResponse> steps
+    List<ApprovalStepResponse> steps,
+    ApprovalProgressResponse progress
 ) {
     public static ApprovalResponse from(Approval approval, List<ApprovalStepResponse> steps) {
+        return from(approval, steps, null);
+    }
+
+    public static ApprovalResponse from(
+        Approval approval,
+        List<ApprovalStepResponse> steps,
+        ApprovalProgressResponse progress
+    ) {
         String approvalId = approval.getId() != null ? approval.getId().getApprovalId() : null;
         return new ApprovalResponse(
             approvalId,
@@ -48,7 +57,8 @@ public record ApprovalResponse(
             approval.getCreatedBy(),
             approval.getUpdatedAt(),
             approval.getUpdatedBy(),
-            steps
+            steps,
+            progress
         );
     }
 }
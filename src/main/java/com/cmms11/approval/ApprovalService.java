@@ -2,22 +2,30 @@ package com.cmms11.approval;
 
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.common.seq.AutoNumberService;
+import com.cmms11.config.ApprovalWebhookProperties;
 import com.cmms11.security.MemberUserDetailsService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -47,30 +55,52 @@ public class ApprovalService {
     private static final String INBOX_REJECTED = "REJCT";
     private static final String INBOX_COMPLETED = "CMPLT";
 
+    private static final int MAX_BOX_PAGE_SIZE = 100;
+
+    private static final String INBOX_CHANGE_CREATED = "CREATED";
+    private static final String INBOX_CHANGE_DECIDED = "DECIDED";
+    private static final String INBOX_CHANGE_CANCELLED = "CANCELLED";
+    private static final String INBOX_CHANGE_READ = "READ";
+
     private static final Pattern IDEMPOTENCY_KEY_PATTERN =
         Pattern.compile("^[A-Z0-9]{2,}_[A-Z0-9]+_[A-Z0-9]+_[A-Z0-9]+_[A-F0-9]{8}$");
 
     private final ApprovalRepository repository;
     private final ApprovalStepRepository stepRepository;
     private final ApprovalInboxRepository inboxRepository;
+    private final ApprovalInboxCounterRepository inboxCounterRepository;
+    private final ApprovalLineJdbcWriter lineWriter;
     private final ApprovalOutboxRepository outboxRepository;
+    private final ApprovalOutboxMetrics outboxMetrics;
     private final AutoNumberService autoNumberService;
     private final ObjectMapper objectMapper;
+    private final ApprovalWebhookProperties webhookProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ApprovalService(
         ApprovalRepository repository,
         ApprovalStepRepository stepRepository,
         ApprovalInboxRepository inboxRepository,
+        ApprovalInboxCounterRepository inboxCounterRepository,
+        ApprovalLineJdbcWriter lineWriter,
         ApprovalOutboxRepository outboxRepository,
+        ApprovalOutboxMetrics outboxMetrics,
         AutoNumberService autoNumberService,
-        ObjectMapper objectMapper
+        ObjectMapper objectMapper,
+        ApprovalWebhookProperties webhookProperties,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.repository = repository;
         this.stepRepository = stepRepository;
         this.inboxRepository = inboxRepository;
+        this.inboxCounterRepository = inboxCounterRepository;
+        this.lineWriter = lineWriter;
         this.outboxRepository = outboxRepository;
+        this.outboxMetrics = outboxMetrics;
         this.autoNumberService = autoNumberService;
         this.objectMapper = objectMapper;
+        this.webhookProperties = webhookProperties;
+        this.eventPublisher = eventPublisher;
     }
 
     // ===== 목록/조회 =====
@@ -90,6 +120,14 @@ public class ApprovalService {
 
     @Transactional(readOnly = true)
     public Page<ApprovalResponse> listByStatus(String status, Pageable pageable) {
+        return listByStatus(status, pageable, false);
+    }
+
+    /**
+     * includeProgress가 true이면 페이지 내 결재의 단계를 IN 조회 한 번으로 가져와 진행 현황을 함께 채운다.
+     */
+    @Transactional(readOnly = true)
+    public Page<ApprovalResponse> listByStatus(String status, Pageable pageable, boolean includeProgress) {
         String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
         Page<Approval> page;
         if (status == null || status.isBlank()) {
@@ -97,7 +135,15 @@ public class ApprovalService {
         } else {
             page = repository.findByFilters(companyId, null, null, status, pageable);
         }
-        return page.map(this::toResponseWithoutSteps);
+        if (!includeProgress) {
+            return page.map(this::toResponseWithoutSteps);
+        }
+        Map<String, ApprovalProgressResponse> progress = loadProgress(companyId, page.getContent());
+        return page.map(approval -> ApprovalResponse.from(
+            approval,
+            Collections.emptyList(),
+            progress.get(approval.getApprovalId())
+        ));
     }
 
     @Transactional(readOnly = true)
@@ -140,31 +186,88 @@ public class ApprovalService {
     // ===== Inbox =====
 
     @Transactional(readOnly = true)
-    public Page<ApprovalResponse> findPendingApprovals(String memberId, Pageable pageable) {
-        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
-        Page<Approval> page = repository.findPendingByMemberId(companyId, memberId, pageable);
-        return page.map(this::toResponseWithoutSteps);
+    public ApprovalBoxPage findPendingApprovals(String memberId, String cursor, int size) {
+        ApprovalBoxCursor position = ApprovalBoxCursor.decode(cursor);
+        return toBoxPage(
+            repository.findPendingBox(
+                MemberUserDetailsService.DEFAULT_COMPANY,
+                memberId,
+                position.sortKey(),
+                position.approvalId(),
+                boxLimit(size)
+            ),
+            size
+        );
     }
 
     @Transactional(readOnly = true)
-    public Page<ApprovalResponse> findApprovedApprovals(String memberId, Pageable pageable) {
-        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
-        Page<Approval> page = repository.findApprovedByMemberId(companyId, memberId, pageable);
-        return page.map(this::toResponseWithoutSteps);
+    public ApprovalBoxPage findApprovedApprovals(String memberId, String cursor, int size) {
+        return findDecidedApprovals(memberId, STATUS_APPROVED, cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public Page<ApprovalResponse> findRejectedApprovals(String memberId, Pageable pageable) {
-        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
-        Page<Approval> page = repository.findRejectedByMemberId(companyId, memberId, pageable);
-        return page.map(this::toResponseWithoutSteps);
+    public ApprovalBoxPage findRejectedApprovals(String memberId, String cursor, int size) {
+        return findDecidedApprovals(memberId, STATUS_REJECTED, cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public Page<ApprovalResponse> findSentApprovals(String memberId, Pageable pageable) {
-        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
-        Page<Approval> page = repository.findSentByMemberId(companyId, memberId, pageable);
-        return page.map(this::toResponseWithoutSteps);
+    public ApprovalBoxPage findSentApprovals(String memberId, String cursor, int size) {
+        ApprovalBoxCursor position = ApprovalBoxCursor.decode(cursor);
+        return toBoxPage(
+            repository.findSentBox(
+                MemberUserDetailsService.DEFAULT_COMPANY,
+                memberId,
+                position.sortKey(),
+                position.approvalId(),
+                boxLimit(size)
+            ),
+            size
+        );
+    }
+
+    private ApprovalBoxPage findDecidedApprovals(String memberId, String result, String cursor, int size) {
+        ApprovalBoxCursor position = ApprovalBoxCursor.decode(cursor);
+        return toBoxPage(
+            repository.findDecidedBox(
+                MemberUserDetailsService.DEFAULT_COMPANY,
+                memberId,
+                result,
+                position.sortKey(),
+                position.approvalId(),
+                boxLimit(size)
+            ),
+            size
+        );
+    }
+
+    /**
+     * 다음 페이지 존재 여부를 COUNT 없이 판단하기 위해 한 건 더 조회한다.
+     */
+    private Pageable boxLimit(int size) {
+        return PageRequest.of(0, normalizeBoxSize(size) + 1);
+    }
+
+    private ApprovalBoxPage toBoxPage(List<ApprovalBoxRow> rows, int size) {
+        int pageSize = normalizeBoxSize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<ApprovalBoxRow> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        // 한 사용자가 같은 결재의 여러 단계에 지정된 경우 같은 문서가 중복되지 않도록 한다.
+        Map<String, ApprovalResponse> content = new LinkedHashMap<>();
+        for (ApprovalBoxRow row : pageRows) {
+            content.putIfAbsent(row.approval().getApprovalId(), toResponseWithoutSteps(row.approval()));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            ApprovalBoxRow last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new ApprovalBoxCursor(last.sortKey(), last.approval().getApprovalId()).encode();
+        }
+        return new ApprovalBoxPage(new ArrayList<>(content.values()), pageSize, hasNext, nextCursor);
+    }
+
+    private int normalizeBoxSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_BOX_PAGE_SIZE);
     }
 
     // ===== 상신/처리 =====
@@ -282,6 +385,8 @@ public class ApprovalService {
         inbox.setReadAt(now);
         inbox.setUpdatedAt(now);
         inboxRepository.save(inbox);
+        adjustInboxCounter(companyId, memberId, inbox.getInboxType(), "N", inbox.getInboxType(), "Y", now);
+        publishInboxChange(companyId, inbox, INBOX_CHANGE_READ);
     }
 
     public long getUnreadInboxCount() {
@@ -291,8 +396,11 @@ public class ApprovalService {
         );
     }
 
+    @Transactional(readOnly = true)
     public long getUnreadInboxCount(String companyId, String memberId) {
-        return inboxRepository.countByIdCompanyIdAndMemberIdAndIsRead(companyId, memberId, "N");
+        return inboxCounterRepository.findById(new ApprovalInboxCounterId(companyId, memberId))
+            .map(ApprovalInboxCounter::getUnreadCount)
+            .orElse(0L);
     }
 
     public long countInboxByType(String inboxType) {
@@ -303,8 +411,20 @@ public class ApprovalService {
         );
     }
 
+    @Transactional(readOnly = true)
     public long countInboxByType(String companyId, String memberId, String inboxType) {
-        return inboxRepository.countByIdCompanyIdAndMemberIdAndInboxType(companyId, memberId, inboxType);
+        return inboxCounterRepository.findById(new ApprovalInboxCounterId(companyId, memberId))
+            .map(counter -> counter.countOf(inboxType))
+            .orElse(0L);
+    }
+
+    /**
+     * approval_inbox 원본 기준으로 Inbox 카운터를 재계산한다. 카운터 누락/불일치 복구용.
+     */
+    public int rebuildInboxCounters(String companyId) {
+        LocalDateTime now = LocalDateTime.now();
+        inboxCounterRepository.resetAll(companyId, now);
+        return inboxCounterRepository.rebuildFromInbox(companyId, now);
     }
 
     @Transactional(readOnly = true)
@@ -352,6 +472,56 @@ public class ApprovalService {
             .orElseThrow(() -> new NotFoundException("Approval not found: " + approvalId));
     }
 
+    private Map<String, ApprovalProgressResponse> loadProgress(String companyId, List<Approval> approvals) {
+        if (approvals.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Approval> byId = new LinkedHashMap<>();
+        for (Approval approval : approvals) {
+            byId.put(approval.getApprovalId(), approval);
+        }
+
+        Map<String, List<ApprovalStep>> stepsByApproval = stepRepository
+            .findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(companyId, byId.keySet())
+            .stream()
+            .collect(Collectors.groupingBy(step -> step.getId().getApprovalId()));
+
+        Map<String, ApprovalProgressResponse> progress = new HashMap<>();
+        byId.forEach((approvalId, approval) -> progress.put(
+            approvalId,
+            toProgress(approval, stepsByApproval.getOrDefault(approvalId, Collections.emptyList()))
+        ));
+        return progress;
+    }
+
+    /**
+     * 단계 목록(step_no 순)에서 진행 현황을 계산한다. 현재 결재자는 결재가 진행 중일 때 미결인 첫 순차 단계.
+     */
+    private ApprovalProgressResponse toProgress(Approval approval, List<ApprovalStep> steps) {
+        boolean inProgress = STATUS_SUBMITTED.equals(approval.getStatus())
+            || STATUS_IN_PROGRESS.equals(approval.getStatus());
+        int total = 0;
+        int decided = 0;
+        ApprovalStep current = null;
+        for (ApprovalStep step : steps) {
+            if (!isSequentialDecision(step.getDecision())) {
+                continue;
+            }
+            total++;
+            if (step.getDecidedAt() != null) {
+                decided++;
+            } else if (current == null && inProgress) {
+                current = step;
+            }
+        }
+        return new ApprovalProgressResponse(
+            total,
+            decided,
+            current != null ? current.getId().getStepNo() : null,
+            current != null ? current.getMemberId() : null
+        );
+    }
+
     private ApprovalResponse toResponseWithoutSteps(Approval approval) {
         return ApprovalResponse.from(approval, Collections.emptyList());
     }
@@ -375,6 +545,9 @@ public class ApprovalService {
         }
     }
 
+    /**
+     * 결재선과 Inbox를 메모리에서 구성한 뒤 테이블마다 한 번의 JDBC 배치로 저장한다.
+     */
     private List<ApprovalStep> persistSteps(
         Approval approval,
         List<ApprovalStepRequest> stepRequests,
@@ -387,7 +560,7 @@ public class ApprovalService {
 
         String companyId = approval.getCompanyId();
         String approvalId = approval.getApprovalId();
-        List<ApprovalStep> steps = new ArrayList<>();
+        List<ApprovalStep> steps = new ArrayList<>(stepRequests.size());
 
         for (int i = 0; i < stepRequests.size(); i++) {
             ApprovalStepRequest request = stepRequests.get(i);
@@ -400,44 +573,66 @@ public class ApprovalService {
             step.setResult(null);
             step.setDecidedAt(null);
             step.setComment(null);
-            ApprovalStep savedStep = stepRepository.save(step);
-            steps.add(savedStep);
-
-            createInboxEntry(approval, savedStep, createdAt, submittedBy);
+            steps.add(step);
         }
 
+        lineWriter.insertSteps(steps);
+        createInboxEntries(approval, steps, createdAt, submittedBy);
         return steps;
     }
 
-    private void createInboxEntry(
+    private void createInboxEntries(
         Approval approval,
-        ApprovalStep step,
+        List<ApprovalStep> steps,
         LocalDateTime createdAt,
         String submittedBy
     ) {
-        if (step.getMemberId() == null) {
+        List<ApprovalStep> assigned = steps.stream()
+            .filter(step -> step.getMemberId() != null)
+            .collect(Collectors.toList());
+        if (assigned.isEmpty()) {
             return;
         }
 
         String companyId = approval.getCompanyId();
         String approvalId = approval.getApprovalId();
-        String inboxId = autoNumberService.generateTxId(companyId, INBOX_MODULE_CODE, LocalDate.now());
-
-        ApprovalInbox inbox = new ApprovalInbox();
-        inbox.setId(new ApprovalInboxId(companyId, inboxId));
-        inbox.setMemberId(step.getMemberId());
-        inbox.setApprovalId(approvalId);
-        inbox.setStepNo(step.getId() != null ? step.getId().getStepNo() : null);
-        inbox.setInboxType(INBOX_SUBMITTED);
-        inbox.setIsRead("N");
-        inbox.setDecision(step.getDecision());
-        inbox.setTitle(approval.getTitle());
-        inbox.setRefEntity(approval.getRefEntity());
-        inbox.setRefId(approval.getRefId());
-        inbox.setSubmittedBy(submittedBy);
-        inbox.setSubmittedAt(approval.getSubmittedAt());
-        inbox.setCreatedAt(createdAt);
-        inboxRepository.save(inbox);
+        List<String> inboxIds = autoNumberService.generateTxIds(
+            companyId,
+            INBOX_MODULE_CODE,
+            LocalDate.now(),
+            assigned.size()
+        );
+
+        List<ApprovalInbox> inboxes = new ArrayList<>(assigned.size());
+        Map<String, Long> newInboxCounts = new LinkedHashMap<>();
+        for (int i = 0; i < assigned.size(); i++) {
+            ApprovalStep step = assigned.get(i);
+            ApprovalInbox inbox = new ApprovalInbox();
+            inbox.setId(new ApprovalInboxId(companyId, inboxIds.get(i)));
+            inbox.setMemberId(step.getMemberId());
+            inbox.setApprovalId(approvalId);
+            inbox.setStepNo(step.getId() != null ? step.getId().getStepNo() : null);
+            inbox.setInboxType(INBOX_SUBMITTED);
+            inbox.setIsRead("N");
+            inbox.setDecision(step.getDecision());
+            inbox.setTitle(approval.getTitle());
+            inbox.setRefEntity(approval.getRefEntity());
+            inbox.setRefId(approval.getRefId());
+            inbox.setSubmittedBy(submittedBy);
+            inbox.setSubmittedAt(approval.getSubmittedAt());
+            inbox.setCreatedAt(createdAt);
+            inboxes.add(inbox);
+            newInboxCounts.merge(step.getMemberId(), 1L, Long::sum);
+        }
+
+        lineWriter.insertInboxes(inboxes);
+
+        newInboxCounts.forEach((memberId, count) ->
+            inboxCounterRepository.applyDelta(companyId, memberId, count, count, 0, 0, 0, createdAt)
+        );
+        for (ApprovalInbox inbox : inboxes) {
+            publishInboxChange(companyId, inbox, INBOX_CHANGE_CREATED);
+        }
     }
 
     private ApprovalResponse processApproval(
@@ -450,15 +645,165 @@ public class ApprovalService {
         LocalDateTime now = LocalDateTime.now();
         String currentMemberId = MemberUserDetailsService.getCurrentMemberId();
 
+        List<ApprovalStep> steps = stepRepository
+            .findByIdCompanyIdAndIdApprovalIdOrderByIdStepNo(approval.getCompanyId(), approvalId);
+
+        ApprovalStep targetStep = applyDecision(
+            approval,
+            steps,
+            currentMemberId,
+            comment,
+            finalStatusWhenCompleted,
+            eventType,
+            now
+        );
+        stepRepository.save(targetStep);
+        Approval saved = repository.save(approval);
+
+        updateInboxAfterDecision(saved, targetStep, now);
+
+        if (isTerminal(saved)) {
+            enqueueOutbox(saved, steps, eventType, now, currentMemberId, comment);
+        } else {
+            enqueueOutbox(saved, steps, ApprovalEventType.SUBMITTED, now, currentMemberId, null);
+        }
+
+        List<ApprovalStepResponse> stepResponses = steps.stream()
+            .map(ApprovalStepResponse::from)
+            .collect(Collectors.toList());
+        return ApprovalResponse.from(saved, stepResponses);
+    }
+
+    /**
+     * 일괄 결재 처리의 한 청크. 결재/단계/Inbox는 IN 조회로 한 번씩 읽고, Outbox는 배치 INSERT로 저장한다.
+     * 문서별 검증 실패는 해당 문서만 FAILED로 반환하며, 그 외 예외는 청크 전체를 롤백한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<ApprovalBulkDecisionResponse.Result> decideChunk(
+        String companyId,
+        String memberId,
+        List<String> approvalIds,
+        String comment,
+        ApprovalEventType eventType
+    ) {
+        String finalStatusWhenCompleted = ApprovalEventType.REJECTED.equals(eventType)
+            ? STATUS_REJECTED
+            : STATUS_APPROVED;
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Approval> approvals = repository.findByIdCompanyIdAndIdApprovalIdIn(companyId, approvalIds)
+            .stream()
+            .collect(Collectors.toMap(Approval::getApprovalId, approval -> approval));
+        Map<String, List<ApprovalStep>> stepsByApproval = approvals.isEmpty()
+            ? Collections.emptyMap()
+            : stepRepository
+                .findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(companyId, approvals.keySet())
+                .stream()
+                .collect(Collectors.groupingBy(step -> step.getId().getApprovalId()));
+        // 한 사용자가 같은 결재의 여러 단계에 지정되었거나 Inbox 행이 중복된 경우를 위해 결재별 목록으로 묶는다.
+        Map<String, List<ApprovalInbox>> inboxes = approvals.isEmpty()
+            ? Collections.emptyMap()
+            : inboxRepository.findByIdCompanyIdAndMemberIdAndApprovalIdIn(companyId, memberId, approvals.keySet())
+                .stream()
+                .collect(Collectors.groupingBy(ApprovalInbox::getApprovalId));
+
+        List<ApprovalBulkDecisionResponse.Result> results = new ArrayList<>(approvalIds.size());
+        List<String> decidedIds = new ArrayList<>();
+        List<ApprovalOutbox> outboxes = new ArrayList<>();
+        List<ApprovalInbox> changedInboxes = new ArrayList<>();
+        InboxCounterDelta counterDelta = new InboxCounterDelta();
+
+        for (String approvalId : approvalIds) {
+            Approval approval = approvals.get(approvalId);
+            if (approval == null) {
+                results.add(ApprovalBulkDecisionResponse.Result.failed(approvalId, null, "결재를 찾을 수 없습니다."));
+                continue;
+            }
+            List<ApprovalStep> steps = stepsByApproval.getOrDefault(approvalId, Collections.emptyList());
+            ApprovalStep targetStep;
+            try {
+                targetStep = applyDecision(approval, steps, memberId, comment, finalStatusWhenCompleted, eventType, now);
+            } catch (IllegalStateException ex) {
+                results.add(ApprovalBulkDecisionResponse.Result.failed(approvalId, approval.getStatus(), ex.getMessage()));
+                continue;
+            }
+
+            for (ApprovalInbox inbox : inboxes.getOrDefault(approvalId, Collections.emptyList())) {
+                if (!isInboxForStep(inbox, targetStep)) {
+                    continue;
+                }
+                String previousType = inbox.getInboxType();
+                String previousRead = inbox.getIsRead();
+                applyInboxDecision(inbox, targetStep, now);
+                counterDelta.add(previousType, previousRead, inbox.getInboxType(), inbox.getIsRead());
+                changedInboxes.add(inbox);
+            }
+
+            boolean terminal = isTerminal(approval);
+            outboxes.add(toOutbox(
+                approval,
+                steps,
+                terminal ? eventType : ApprovalEventType.SUBMITTED,
+                now,
+                memberId,
+                terminal ? comment : null
+            ));
+            decidedIds.add(approvalId);
+            results.add(ApprovalBulkDecisionResponse.Result.ok(approvalId, approval.getStatus()));
+        }
+
+        if (decidedIds.isEmpty()) {
+            return results;
+        }
+
+        // 결재/단계/Inbox는 영속 상태이므로 커밋 시 변경 감지로 UPDATE 된다.
+        if (!counterDelta.isEmpty()) {
+            inboxCounterRepository.applyDelta(
+                companyId,
+                memberId,
+                counterDelta.unread,
+                counterDelta.submitted,
+                counterDelta.approved,
+                counterDelta.rejected,
+                counterDelta.completed,
+                now
+            );
+        }
+        if (webhookProperties.getCoalescing().isEnabled()) {
+            outboxMetrics.recordSuperseded(
+                outboxRepository.supersedePendingIn(companyId, decidedIds, coalescableEventTypes(), now)
+            );
+        }
+        lineWriter.insertOutboxes(outboxes);
+        outboxes.stream()
+            .collect(Collectors.groupingBy(ApprovalOutbox::getEventType, Collectors.counting()))
+            .forEach((type, count) -> outboxMetrics.recordEnqueued(type, count.intValue()));
+        for (ApprovalInbox inbox : changedInboxes) {
+            publishInboxChange(companyId, inbox, INBOX_CHANGE_DECIDED);
+        }
+        log.debug("일괄 결재 처리 - member={}, decided={}, requested={}", memberId, decidedIds.size(), approvalIds.size());
+        return results;
+    }
+
+    /**
+     * 결재자 한 명의 결정을 단계와 결재 헤더에 반영한다(저장은 호출 측).
+     * 검증은 변경 전에 모두 수행하므로 예외가 발생하면 엔티티는 변경되지 않는다.
+     */
+    private ApprovalStep applyDecision(
+        Approval approval,
+        List<ApprovalStep> steps,
+        String memberId,
+        String comment,
+        String finalStatusWhenCompleted,
+        ApprovalEventType eventType,
+        LocalDateTime now
+    ) {
         if (!STATUS_SUBMITTED.equals(approval.getStatus()) && !STATUS_IN_PROGRESS.equals(approval.getStatus())) {
             throw new IllegalStateException("결재 대기 중인 문서만 처리할 수 있습니다. 현재 상태: " + approval.getStatus());
         }
 
-        List<ApprovalStep> steps = stepRepository
-            .findByIdCompanyIdAndIdApprovalIdOrderByIdStepNo(approval.getCompanyId(), approvalId);
-
         ApprovalStep targetStep = steps.stream()
-            .filter(step -> currentMemberId.equals(step.getMemberId()))
+            .filter(step -> memberId.equals(step.getMemberId()))
             .findFirst()
             .orElseThrow(() -> new IllegalStateException("결재 권한이 없습니다."));
 
@@ -471,7 +816,6 @@ public class ApprovalService {
         targetStep.setDecidedAt(now);
         targetStep.setComment(comment);
         targetStep.setResult(ApprovalEventType.REJECTED.equals(eventType) ? STATUS_REJECTED : STATUS_APPROVED);
-        stepRepository.save(targetStep);
 
         boolean isReject = ApprovalEventType.REJECTED.equals(eventType) && !DECISION_INFO.equals(targetStep.getDecision());
         boolean allCompleted = checkAllApproversCompleted(steps);
@@ -488,21 +832,12 @@ public class ApprovalService {
         }
 
         approval.setUpdatedAt(now);
-        approval.setUpdatedBy(currentMemberId);
-        Approval saved = repository.save(approval);
-
-        updateInboxAfterDecision(saved, targetStep, now);
-
-        if (isReject || allCompleted) {
-            enqueueOutbox(saved, steps, eventType, now, currentMemberId, comment);
-        } else {
-            enqueueOutbox(saved, steps, ApprovalEventType.SUBMITTED, now, currentMemberId, null);
-        }
+        approval.setUpdatedBy(memberId);
+        return targetStep;
+    }
 
-        List<ApprovalStepResponse> stepResponses = steps.stream()
-            .map(ApprovalStepResponse::from)
-            .collect(Collectors.toList());
-        return ApprovalResponse.from(saved, stepResponses);
+    private boolean isTerminal(Approval approval) {
+        return !STATUS_IN_PROGRESS.equals(approval.getStatus());
     }
 
     private void enforceStepOrder(List<ApprovalStep> steps, ApprovalStep targetStep) {
@@ -558,7 +893,31 @@ public class ApprovalService {
         }
 
         ApprovalInbox inbox = inboxOptional.get();
+        String previousType = inbox.getInboxType();
+        String previousRead = inbox.getIsRead();
+        applyInboxDecision(inbox, step, decidedAt);
+        inboxRepository.save(inbox);
+        adjustInboxCounter(
+            approval.getCompanyId(),
+            inbox.getMemberId(),
+            previousType,
+            previousRead,
+            inbox.getInboxType(),
+            inbox.getIsRead(),
+            decidedAt
+        );
+        publishInboxChange(approval.getCompanyId(), inbox, INBOX_CHANGE_DECIDED);
+    }
 
+    /**
+     * 처리한 단계의 Inbox 행인지 판단한다. 단계 번호가 없는 행은 결재 단위 행으로 보고 함께 갱신한다.
+     * 같은 사용자의 다른(아직 차례가 오지 않은) 단계 행은 미결로 남긴다.
+     */
+    private boolean isInboxForStep(ApprovalInbox inbox, ApprovalStep step) {
+        return inbox.getStepNo() == null || inbox.getStepNo().equals(step.getId().getStepNo());
+    }
+
+    private void applyInboxDecision(ApprovalInbox inbox, ApprovalStep step, LocalDateTime decidedAt) {
         if (DECISION_INFO.equals(step.getDecision())) {
             inbox.setInboxType(INBOX_COMPLETED);
         } else if (STATUS_REJECTED.equals(step.getResult())) {
@@ -570,7 +929,6 @@ public class ApprovalService {
         inbox.setIsRead("Y");
         inbox.setReadAt(decidedAt);
         inbox.setUpdatedAt(decidedAt);
-        inboxRepository.save(inbox);
     }
 
     private void updateInboxAfterCancel(Approval approval, LocalDateTime cancelledAt) {
@@ -578,14 +936,70 @@ public class ApprovalService {
             .findByIdCompanyIdAndApprovalId(approval.getCompanyId(), approval.getApprovalId());
 
         for (ApprovalInbox inbox : inboxes) {
+            String previousType = inbox.getInboxType();
+            String previousRead = inbox.getIsRead();
             inbox.setInboxType(INBOX_COMPLETED);
             inbox.setIsRead("Y");
             inbox.setReadAt(cancelledAt);
             inbox.setUpdatedAt(cancelledAt);
             inboxRepository.save(inbox);
+            adjustInboxCounter(
+                approval.getCompanyId(),
+                inbox.getMemberId(),
+                previousType,
+                previousRead,
+                INBOX_COMPLETED,
+                "Y",
+                cancelledAt
+            );
+            publishInboxChange(approval.getCompanyId(), inbox, INBOX_CHANGE_CANCELLED);
         }
     }
 
+    /**
+     * Inbox 한 건의 유형/읽음 상태 변경을 카운터에 반영한다. 신규 생성이면 previous 값은 null.
+     */
+    private void adjustInboxCounter(
+        String companyId,
+        String memberId,
+        String previousType,
+        String previousRead,
+        String currentType,
+        String currentRead,
+        LocalDateTime now
+    ) {
+        if (companyId == null || memberId == null) {
+            return;
+        }
+        InboxCounterDelta delta = new InboxCounterDelta();
+        delta.add(previousType, previousRead, currentType, currentRead);
+        if (delta.isEmpty()) {
+            return;
+        }
+        inboxCounterRepository.applyDelta(
+            companyId,
+            memberId,
+            delta.unread,
+            delta.submitted,
+            delta.approved,
+            delta.rejected,
+            delta.completed,
+            now
+        );
+    }
+
+    /**
+     * 커밋 후 SSE 구독자에게 전달할 Inbox 변경 이벤트를 발행한다.
+     */
+    private void publishInboxChange(String companyId, ApprovalInbox inbox, String change) {
+        if (inbox.getMemberId() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(
+            new ApprovalInboxChangedEvent(companyId, inbox.getMemberId(), change, ApprovalInboxResponse.from(inbox))
+        );
+    }
+
     private void enqueueOutbox(
         Approval approval,
         List<ApprovalStep> steps,
@@ -593,6 +1007,30 @@ public class ApprovalService {
         LocalDateTime occurredAt,
         String actorId,
         String comment
+    ) {
+        ApprovalOutbox outbox = toOutbox(approval, steps, eventType, occurredAt, actorId, comment);
+
+        if (webhookProperties.getCoalescing().isEnabled()) {
+            supersedePendingSnapshots(approval, occurredAt);
+        }
+
+        outboxRepository.save(outbox);
+        outboxMetrics.recordEnqueued(eventType, 1);
+        log.debug(
+            "Outbox 이벤트 등록 - approvalId={}, eventType={}, outboxId={}",
+            approval.getApprovalId(),
+            eventType,
+            outbox.getId()
+        );
+    }
+
+    private ApprovalOutbox toOutbox(
+        Approval approval,
+        List<ApprovalStep> steps,
+        ApprovalEventType eventType,
+        LocalDateTime occurredAt,
+        String actorId,
+        String comment
     ) {
         ApprovalEventPayload payload = new ApprovalEventPayload(
             approval.getCompanyId(),
@@ -633,14 +1071,30 @@ public class ApprovalService {
         outbox.setCreatedAt(occurredAt);
         outbox.setUpdatedAt(occurredAt);
         outbox.setNextAttemptAt(occurredAt);
+        return outbox;
+    }
 
-        outboxRepository.save(outbox);
-        log.debug(
-            "Outbox 이벤트 등록 - approvalId={}, eventType={}, outboxId={}",
+    /**
+     * 새 이벤트는 항상 전체 결재선 스냅샷을 담으므로, 아직 발송되지 않은 이전 중간(SUBMITTED) 이벤트는 대체한다.
+     * 종료 이벤트(APPROVED/REJECTED/CANCELLED)는 대체하지 않는다.
+     */
+    private void supersedePendingSnapshots(Approval approval, LocalDateTime now) {
+        int superseded = outboxRepository.supersedePending(
+            approval.getCompanyId(),
             approval.getApprovalId(),
-            eventType,
-            outbox.getId()
+            coalescableEventTypes(),
+            now
         );
+        outboxMetrics.recordSuperseded(superseded);
+        if (superseded > 0) {
+            log.debug("Outbox 이벤트 코얼레싱 - approvalId={}, superseded={}", approval.getApprovalId(), superseded);
+        }
+    }
+
+    private List<ApprovalEventType> coalescableEventTypes() {
+        return Arrays.stream(ApprovalEventType.values())
+            .filter(type -> !type.isTerminal())
+            .collect(Collectors.toList());
     }
 
     private String toJson(Object value) {
@@ -650,4 +1104,32 @@ public class ApprovalService {
             throw new IllegalStateException("Outbox 페이로드 직렬화에 실패했습니다.", e);
         }
     }
+
+    /**
+     * Inbox 유형/읽음 상태 변경에 따른 카운터 증감 누적.
+     */
+    private static final class InboxCounterDelta {
+
+        private long unread;
+        private long submitted;
+        private long approved;
+        private long rejected;
+        private long completed;
+
+        void add(String previousType, String previousRead, String currentType, String currentRead) {
+            unread += ("N".equals(currentRead) ? 1 : 0) - ("N".equals(previousRead) ? 1 : 0);
+            submitted += typeDelta(INBOX_SUBMITTED, previousType, currentType);
+            approved += typeDelta(INBOX_APPROVED, previousType, currentType);
+            rejected += typeDelta(INBOX_REJECTED, previousType, currentType);
+            completed += typeDelta(INBOX_COMPLETED, previousType, currentType);
+        }
+
+        boolean isEmpty() {
+            return unread == 0 && submitted == 0 && approved == 0 && rejected == 0 && completed == 0;
+        }
+
+        private static long typeDelta(String type, String previousType, String currentType) {
+            return (type.equals(currentType) ? 1 : 0) - (type.equals(previousType) ? 1 : 0);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.cmms11.approval;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -14,5 +15,13 @@ public interface ApprovalStepRepository extends JpaRepository<ApprovalStep, Appr
 
     List<ApprovalStep> findByIdCompanyIdAndIdApprovalIdOrderByIdStepNo(String companyId, String approvalId);
 
+    /**
+     * 목록 화면용: 한 페이지의 결재 단계를 IN 조회 한 번으로 가져온다.
+     */
+    List<ApprovalStep> findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(
+        String companyId,
+        Collection<String> approvalIds
+    );
+
     void deleteByIdCompanyIdAndIdApprovalId(String companyId, String approvalId);
 }
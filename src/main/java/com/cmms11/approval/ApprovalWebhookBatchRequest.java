@@ -0,0 +1,17 @@
+package com.cmms11.approval;
+
+import java.util.List;
+
+/**
+ * 같은 Callback URL로 묶어 한 번에 전송하는 Webhook 배치 봉투.
+ */
+public record ApprovalWebhookBatchRequest(List<Item> events) {
+
+    public record Item(
+        Long outboxId,
+        ApprovalEventType eventType,
+        String idempotencyKey,
+        ApprovalEventPayload payload
+    ) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.cmms11.approval;
+
+import java.util.List;
+
+/**
+ * Webhook 배치 수신 결과. 이벤트별 처리 결과를 돌려주어 실패한 이벤트만 재시도할 수 있게 한다.
+ */
+public record ApprovalWebhookBatchResponse(List<Result> results) {
+
+    public static final String OK = "OK";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID = "INVALID";
+    public static final String ERROR = "ERROR";
+
+    public record Result(Long outboxId, String status, String message) {
+
+        public static Result ok(Long outboxId) {
+            return new Result(outboxId, OK, null);
+        }
+
+        public static Result duplicate(Long outboxId) {
+            return new Result(outboxId, DUPLICATE, null);
+        }
+
+        public static Result invalid(Long outboxId, String message) {
+            return new Result(outboxId, INVALID, message);
+        }
+
+        public static Result error(Long outboxId, String message) {
+            return new Result(outboxId, ERROR, message);
+        }
+
+        public boolean delivered() {
+            return OK.equals(status) || DUPLICATE.equals(status);
+        }
+    }
+}
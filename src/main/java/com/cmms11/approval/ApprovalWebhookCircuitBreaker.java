@@ -0,0 +1,189 @@
+package com.cmms11.approval;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Callback 호스트 단위 서킷 브레이커.
+ *
+ * 연속 실패가 임계치에 도달하면 OPEN 상태로 전환해 일정 시간 동안 해당 호스트로의 발송을 보류하고,
+ * 대기 시간이 지나면 HALF_OPEN 상태에서 제한된 수의 시험 발송만 허용한다.
+ * 상태는 노드 메모리에만 유지한다.
+ */
+@Component
+public class ApprovalWebhookCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalWebhookCircuitBreaker.class);
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final ApprovalWebhookProperties.CircuitBreaker properties;
+    private final Clock clock;
+    private final Map<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ApprovalWebhookCircuitBreaker(ApprovalWebhookProperties properties) {
+        this(properties.getCircuitBreaker(), Clock.systemDefaultZone());
+    }
+
+    ApprovalWebhookCircuitBreaker(ApprovalWebhookProperties.CircuitBreaker properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 지정 호스트로 발송을 시도해도 되는지 판단한다. HALF_OPEN 상태에서는 허용된 시험 발송 수를 차감한다.
+     */
+    public boolean tryAcquire(String host) {
+        if (!properties.isEnabled() || host == null) {
+            return true;
+        }
+        HostCircuit circuit = circuits.get(host);
+        if (circuit == null) {
+            return true;
+        }
+        synchronized (circuit) {
+            long now = clock.millis();
+            if (circuit.state == State.OPEN) {
+                if (now < circuit.openUntil) {
+                    return false;
+                }
+                circuit.state = State.HALF_OPEN;
+                circuit.probesInFlight = 0;
+                log.info("Webhook 서킷 HALF_OPEN 전환: host={}", host);
+            }
+            if (circuit.state == State.HALF_OPEN) {
+                if (circuit.probesInFlight >= Math.max(1, properties.getHalfOpenMaxProbes())) {
+                    return false;
+                }
+                circuit.probesInFlight++;
+            }
+            return true;
+        }
+    }
+
+    public void recordSuccess(String host) {
+        if (!properties.isEnabled() || host == null) {
+            return;
+        }
+        HostCircuit circuit = circuits.get(host);
+        if (circuit == null) {
+            return;
+        }
+        synchronized (circuit) {
+            if (circuit.state != State.CLOSED) {
+                log.info("Webhook 서킷 CLOSED 복구: host={}", host);
+            }
+            circuits.remove(host);
+        }
+    }
+
+    public void recordFailure(String host) {
+        if (!properties.isEnabled() || host == null) {
+            return;
+        }
+        HostCircuit circuit = circuits.computeIfAbsent(host, key -> new HostCircuit());
+        synchronized (circuit) {
+            long now = clock.millis();
+            circuit.consecutiveFailures++;
+            if (circuit.state == State.HALF_OPEN
+                || circuit.consecutiveFailures >= Math.max(1, properties.getFailureThreshold())) {
+                circuit.state = State.OPEN;
+                circuit.openUntil = now + properties.getOpenMillis();
+                circuit.probesInFlight = 0;
+                log.warn(
+                    "Webhook 서킷 OPEN: host={}, consecutiveFailures={}, openMillis={}",
+                    host,
+                    circuit.consecutiveFailures,
+                    properties.getOpenMillis()
+                );
+            }
+        }
+    }
+
+    /**
+     * 성공/실패를 기록하지 못하고 끝난 시도(예: 발송 전후의 예기치 않은 예외)가 차지한 HALF_OPEN 시험 발송 슬롯을 반납한다.
+     * 이미 결과가 기록되어 CLOSED/OPEN 으로 전환된 경우에는 아무것도 하지 않는다.
+     */
+    public void releaseProbe(String host) {
+        if (!properties.isEnabled() || host == null) {
+            return;
+        }
+        HostCircuit circuit = circuits.get(host);
+        if (circuit == null) {
+            return;
+        }
+        synchronized (circuit) {
+            if (circuit.state == State.HALF_OPEN && circuit.probesInFlight > 0) {
+                circuit.probesInFlight--;
+            }
+        }
+    }
+
+    /**
+     * OPEN 상태인 호스트의 다음 시도 가능 시각. OPEN이 아니면 null.
+     */
+    public LocalDateTime openUntil(String host) {
+        HostCircuit circuit = host != null ? circuits.get(host) : null;
+        if (circuit == null) {
+            return null;
+        }
+        synchronized (circuit) {
+            if (circuit.state != State.OPEN) {
+                return null;
+            }
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(circuit.openUntil), ZoneId.systemDefault());
+        }
+    }
+
+    State state(String host) {
+        HostCircuit circuit = circuits.get(host);
+        if (circuit == null) {
+            return State.CLOSED;
+        }
+        synchronized (circuit) {
+            return circuit.state;
+        }
+    }
+
+    /**
+     * Callback URL에서 서킷 키로 사용할 호스트(host:port)를 추출한다.
+     */
+    public static String hostOf(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            URI uri = URI.create(url.trim());
+            if (uri.getHost() == null) {
+                return null;
+            }
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            return uri.getPort() > 0 ? host + ":" + uri.getPort() : host;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static final class HostCircuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openUntil;
+        private int probesInFlight;
+    }
+}
@@ -0,0 +1,42 @@
+package com.cmms11.approval;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Webhook 발송 시도의 시간대/호스트별 집계. 원본 로그가 보존 기간 경과로 삭제된 뒤에도 대시보드 용도로 유지한다.
+ */
+@Entity
+@Table(name = "approval_webhook_hourly_stat")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ApprovalWebhookHourlyStat {
+
+    @EmbeddedId
+    private ApprovalWebhookHourlyStatId id;
+
+    @Column(name = "attempt_count", nullable = false)
+    private long attemptCount;
+
+    @Column(name = "success_count", nullable = false)
+    private long successCount;
+
+    @Column(name = "client_error_count", nullable = false)
+    private long clientErrorCount;
+
+    @Column(name = "server_error_count", nullable = false)
+    private long serverErrorCount;
+
+    @Column(name = "network_error_count", nullable = false)
+    private long networkErrorCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
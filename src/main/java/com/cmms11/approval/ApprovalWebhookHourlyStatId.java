@@ -0,0 +1,30 @@
+package com.cmms11.approval;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Webhook 시간대별 집계 복합 키 (company_id + bucket_hour + host).
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ApprovalWebhookHourlyStatId implements Serializable {
+
+    @Column(name = "company_id", length = 5, nullable = false)
+    private String companyId;
+
+    @Column(name = "bucket_hour", nullable = false)
+    private LocalDateTime bucketHour;
+
+    @Column(name = "host", length = 255, nullable = false)
+    private String host;
+}
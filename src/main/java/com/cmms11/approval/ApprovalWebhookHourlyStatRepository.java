@@ -0,0 +1,63 @@
+package com.cmms11.approval;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Webhook 시간대별 집계 레포지토리.
+ */
+public interface ApprovalWebhookHourlyStatRepository
+    extends JpaRepository<ApprovalWebhookHourlyStat, ApprovalWebhookHourlyStatId> {
+
+    /**
+     * 집계 행을 원자적으로 누적한다. 여러 노드가 같은 시간대를 동시에 갱신해도 유실되지 않도록 MariaDB upsert를 사용한다.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        value = "INSERT INTO approval_webhook_hourly_stat "
+            + "(company_id, bucket_hour, host, attempt_count, success_count, client_error_count, "
+            + "server_error_count, network_error_count, updated_at) "
+            + "VALUES (:companyId, :bucketHour, :host, :attempts, :successes, :clientErrors, "
+            + ":serverErrors, :networkErrors, :updatedAt) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "attempt_count = attempt_count + VALUES(attempt_count), "
+            + "success_count = success_count + VALUES(success_count), "
+            + "client_error_count = client_error_count + VALUES(client_error_count), "
+            + "server_error_count = server_error_count + VALUES(server_error_count), "
+            + "network_error_count = network_error_count + VALUES(network_error_count), "
+            + "updated_at = VALUES(updated_at)",
+        nativeQuery = true
+    )
+    int accumulate(
+        @Param("companyId") String companyId,
+        @Param("bucketHour") LocalDateTime bucketHour,
+        @Param("host") String host,
+        @Param("attempts") long attempts,
+        @Param("successes") long successes,
+        @Param("clientErrors") long clientErrors,
+        @Param("serverErrors") long serverErrors,
+        @Param("networkErrors") long networkErrors,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    @Query(
+        "select s from ApprovalWebhookHourlyStat s "
+            + "where s.id.companyId = :companyId and s.id.bucketHour >= :from "
+            + "order by s.id.bucketHour desc, s.id.host asc"
+    )
+    List<ApprovalWebhookHourlyStat> findSince(
+        @Param("companyId") String companyId,
+        @Param("from") LocalDateTime from
+    );
+
+    @Transactional
+    @Modifying
+    @Query("delete from ApprovalWebhookHourlyStat s where s.id.bucketHour < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
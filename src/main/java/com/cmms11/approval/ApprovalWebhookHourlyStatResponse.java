@@ -0,0 +1,28 @@
+package com.cmms11.approval;
+
+import java.time.LocalDateTime;
+
+/**
+ * Webhook 시간대/호스트별 발송 집계 응답.
+ */
+public record ApprovalWebhookHourlyStatResponse(
+    LocalDateTime bucketHour,
+    String host,
+    long attemptCount,
+    long successCount,
+    long clientErrorCount,
+    long serverErrorCount,
+    long networkErrorCount
+) {
+    public static ApprovalWebhookHourlyStatResponse from(ApprovalWebhookHourlyStat stat) {
+        return new ApprovalWebhookHourlyStatResponse(
+            stat.getId().getBucketHour(),
+            stat.getId().getHost(),
+            stat.getAttemptCount(),
+            stat.getSuccessCount(),
+            stat.getClientErrorCount(),
+            stat.getServerErrorCount(),
+            stat.getNetworkErrorCount()
+        );
+    }
+}
@@ -1,6 +1,8 @@
 package com.cmms11.approval;
 
+import com.cmms11.common.codec.CompressedTextConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -42,9 +44,16 @@ public class ApprovalWebhookLog {
     private Integer httpStatus;
 
     @Lob
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "response_body")
     private String responseBody;
 
+    /**
+     * 배치 전송의 이벤트별 결과(OK/DUPLICATE/INVALID/ERROR). 개별 전송은 null.
+     */
+    @Column(name = "item_status", length = 10)
+    private String itemStatus;
+
     @Column(name = "error_message", length = 500)
     private String errorMessage;
 
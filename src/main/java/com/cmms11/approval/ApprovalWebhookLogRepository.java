@@ -1,7 +1,13 @@
 package com.cmms11.approval;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Webhook 발송 로그 레포지토리.
@@ -9,4 +15,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface ApprovalWebhookLogRepository extends JpaRepository<ApprovalWebhookLog, Long> {
 
     List<ApprovalWebhookLog> findTop20ByApprovalIdOrderByCreatedAtDesc(String approvalId);
+
+    @Query("select l.id from ApprovalWebhookLog l where l.createdAt < :cutoff order by l.id asc")
+    List<Long> findIdsOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ApprovalWebhookLog l where l.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
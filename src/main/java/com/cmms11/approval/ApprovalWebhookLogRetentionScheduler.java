@@ -0,0 +1,78 @@
+package com.cmms11.approval;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 보존 기간이 지난 Webhook 발송 로그와 시간대별 집계를 정리한다.
+ *
+ * 대량 DELETE로 인한 장시간 잠금을 피하기 위해 로그는 ID 기준 작은 청크 단위로, 청크마다 별도 트랜잭션으로 삭제한다.
+ */
+@Component
+public class ApprovalWebhookLogRetentionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalWebhookLogRetentionScheduler.class);
+
+    private final ApprovalWebhookLogRepository webhookLogRepository;
+    private final ApprovalWebhookHourlyStatRepository hourlyStatRepository;
+    private final ApprovalWebhookProperties.Log properties;
+
+    public ApprovalWebhookLogRetentionScheduler(
+        ApprovalWebhookLogRepository webhookLogRepository,
+        ApprovalWebhookHourlyStatRepository hourlyStatRepository,
+        ApprovalWebhookProperties properties
+    ) {
+        this.webhookLogRepository = webhookLogRepository;
+        this.hourlyStatRepository = hourlyStatRepository;
+        this.properties = properties.getLog();
+    }
+
+    @Scheduled(cron = "${app.webhook.log.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long deletedLogs = purgeLogs(now.minusDays(Math.max(1, properties.getRetentionDays())));
+        int deletedStats = hourlyStatRepository.deleteOlderThan(now.minusDays(Math.max(1, properties.getStatRetentionDays())));
+        if (deletedLogs > 0 || deletedStats > 0) {
+            log.info("Webhook 로그 정리 완료: logs={}, hourlyStats={}", deletedLogs, deletedStats);
+        }
+    }
+
+    long purgeLogs(LocalDateTime cutoff) {
+        int chunkSize = Math.max(1, properties.getPurgeChunkSize());
+        long total = 0;
+        while (true) {
+            List<Long> ids = webhookLogRepository.findIdsOlderThan(cutoff, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            total += webhookLogRepository.deleteByIdIn(ids);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        long pauseMillis = properties.getPurgePauseMillis();
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
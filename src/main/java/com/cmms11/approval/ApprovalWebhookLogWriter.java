@@ -0,0 +1,217 @@
+package com.cmms11.approval;
+
+import com.cmms11.common.codec.CompressedText;
+import com.cmms11.common.codec.CompressedTextConverter;
+import com.cmms11.config.ApprovalWebhookProperties;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Webhook 발송 로그를 메모리 큐에 모았다가 주기적으로 일괄 저장한다.
+ *
+ * 발송 스레드는 로그 INSERT를 기다리지 않으며, 응답 본문은 저장 전에 잘라낸다(압축은 엔티티 컨버터가 담당).
+ * 저장 시 시간대/호스트별 집계(approval_webhook_hourly_stat)도 함께 누적한다.
+ * 로그와 집계는 배치마다 한 트랜잭션으로 저장하며, 저장에 실패한 배치는 큐에 되돌려 다음 주기에 다시 저장한다.
+ * 로그는 IDENTITY 키라 JPA saveAll 로는 INSERT 배치가 되지 않으므로 JDBC 배치 INSERT 한 번으로 전송한다.
+ */
+@Component
+public class ApprovalWebhookLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalWebhookLogWriter.class);
+    private static final int ERROR_MESSAGE_MAX = 500;
+    private static final String UNKNOWN_HOST = "unknown";
+
+    private static final String INSERT_LOG =
+        "INSERT INTO approval_webhook_log (outbox_id, company_id, approval_id, webhook_url, http_status, "
+            + "response_body, item_status, error_message, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApprovalWebhookHourlyStatRepository hourlyStatRepository;
+    private final ApprovalWebhookProperties.Log properties;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ApprovalWebhookLog> queue;
+
+    public ApprovalWebhookLogWriter(
+        JdbcTemplate jdbcTemplate,
+        ApprovalWebhookHourlyStatRepository hourlyStatRepository,
+        ApprovalWebhookProperties properties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hourlyStatRepository = hourlyStatRepository;
+        this.properties = properties.getLog();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, this.properties.getQueueCapacity()));
+    }
+
+    /**
+     * 로그를 큐에 적재한다. 큐가 가득 차면 유실 대신 즉시 저장한다.
+     */
+    public void append(ApprovalWebhookLog entry) {
+        entry.setResponseBody(CompressedText.truncate(entry.getResponseBody(), properties.getMaxResponseBodyChars()));
+        if (entry.getErrorMessage() != null && entry.getErrorMessage().length() > ERROR_MESSAGE_MAX) {
+            entry.setErrorMessage(entry.getErrorMessage().substring(0, ERROR_MESSAGE_MAX));
+        }
+        if (!queue.offer(entry)) {
+            log.warn("Webhook 로그 큐 포화-즉시 저장: outboxId={}", entry.getOutboxId());
+            if (!tryWrite(List.of(entry))) {
+                log.error("Webhook 로그 유실: outboxId={}, status={}", entry.getOutboxId(), entry.getHttpStatus());
+            }
+        }
+    }
+
+    /**
+     * 큐를 배치 단위로 비운다. 저장에 실패하면 꺼낸 배치를 큐에 되돌리고 이번 주기를 끝낸다.
+     */
+    @Scheduled(fixedDelayString = "${app.webhook.log.flush-delay-millis:1000}")
+    public void flush() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<ApprovalWebhookLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!tryWrite(batch)) {
+                requeue(batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        List<ApprovalWebhookLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty() && !tryWrite(remaining)) {
+            remaining.forEach(entry -> log.error(
+                "Webhook 로그 유실: outboxId={}, status={}", entry.getOutboxId(), entry.getHttpStatus()));
+        }
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    private boolean tryWrite(List<ApprovalWebhookLog> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeBatch(batch));
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Webhook 로그 {}건 저장 실패: {}", batch.size(), ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 저장에 실패한 배치를 큐에 되돌린다. 그 사이 큐가 다시 찬 경우 들어가지 못한 로그는 남기고 버린다.
+     */
+    private void requeue(List<ApprovalWebhookLog> batch) {
+        for (ApprovalWebhookLog entry : batch) {
+            if (!queue.offer(entry)) {
+                log.error("Webhook 로그 유실: outboxId={}, status={}", entry.getOutboxId(), entry.getHttpStatus());
+            }
+        }
+    }
+
+    private void writeBatch(List<ApprovalWebhookLog> batch) {
+        insertLogs(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<ApprovalWebhookHourlyStatId, long[]> counters = new HashMap<>();
+        for (ApprovalWebhookLog entry : batch) {
+            String host = ApprovalWebhookCircuitBreaker.hostOf(entry.getWebhookUrl());
+            ApprovalWebhookHourlyStatId key = new ApprovalWebhookHourlyStatId(
+                entry.getCompanyId(),
+                entry.getCreatedAt().truncatedTo(ChronoUnit.HOURS),
+                host != null ? host : UNKNOWN_HOST
+            );
+            long[] counter = counters.computeIfAbsent(key, k -> new long[5]);
+            counter[0]++;
+            counter[outcomeIndex(entry)]++;
+        }
+
+        counters.forEach((key, counter) -> hourlyStatRepository.accumulate(
+            key.getCompanyId(),
+            key.getBucketHour(),
+            key.getHost(),
+            counter[0],
+            counter[1],
+            counter[2],
+            counter[3],
+            counter[4],
+            now
+        ));
+        log.debug("Webhook 로그 {}건 저장, 집계 {}건 갱신", batch.size(), counters.size());
+    }
+
+    private void insertLogs(List<ApprovalWebhookLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_LOG, batch, batch.size(), (ps, entry) -> {
+            if (entry.getOutboxId() != null) {
+                ps.setLong(1, entry.getOutboxId());
+            } else {
+                ps.setNull(1, Types.BIGINT);
+            }
+            ps.setString(2, entry.getCompanyId());
+            ps.setString(3, entry.getApprovalId());
+            ps.setString(4, entry.getWebhookUrl());
+            if (entry.getHttpStatus() != null) {
+                ps.setInt(5, entry.getHttpStatus());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            // JPA 컨버터를 거치지 않으므로 엔티티 저장과 같은 형식으로 직접 압축한다.
+            ps.setString(6, CompressedText.compress(entry.getResponseBody(), CompressedTextConverter.THRESHOLD_CHARS));
+            ps.setString(7, entry.getItemStatus());
+            ps.setString(8, entry.getErrorMessage());
+            setTimestamp(ps, 9, entry.getCreatedAt());
+        });
+    }
+
+    private void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    /**
+     * 1: 성공, 2: 클라이언트 오류, 3: 서버 오류, 4: 네트워크 오류(응답 없음).
+     * 배치 전송은 요청이 200 이어도 이벤트별 결과(item_status)로 분류한다.
+     */
+    private int outcomeIndex(ApprovalWebhookLog entry) {
+        Integer httpStatus = entry.getHttpStatus();
+        if (httpStatus == null) {
+            return 4;
+        }
+        if (httpStatus >= 200 && httpStatus < 300) {
+            if (ApprovalWebhookBatchResponse.INVALID.equals(entry.getItemStatus())) {
+                return 2;
+            }
+            if (ApprovalWebhookBatchResponse.ERROR.equals(entry.getItemStatus())) {
+                return 3;
+            }
+            return 1;
+        }
+        if (httpStatus >= 400 && httpStatus < 500) {
+            return 2;
+        }
+        return 3;
+    }
+}
@@ -1,16 +1,22 @@
 package com.cmms11.approval;
 
 import com.cmms11.config.ApprovalWebhookProperties;
-import jakarta.annotation.PostConstruct;
-import java.nio.charset.StandardCharsets;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -18,7 +24,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -32,40 +38,59 @@ public class ApprovalWebhookScheduler {
     private static final String SIGNATURE_HEADER = "X-Approval-Signature";
     private static final String EVENT_HEADER = "X-Approval-Event";
     private static final String IDEMPOTENCY_HEADER = "X-Approval-Idempotency-Key";
+    private static final String BATCH_EVENT = "BATCH";
+    private static final String BATCH_PATH = "/batch";
 
     private final ApprovalOutboxRepository outboxRepository;
-    private final ApprovalWebhookLogRepository webhookLogRepository;
+    private final ApprovalWebhookLogWriter webhookLogWriter;
     private final ApprovalWebhookProperties properties;
+    private final ApprovalWebhookCircuitBreaker circuitBreaker;
+    private final ApprovalWebhookSigner signer;
+    private final ApprovalOutboxMetrics metrics;
+    private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
+    private final Set<String> batchUnsupportedUrls = ConcurrentHashMap.newKeySet();
 
-    private SecretKeySpec secretKeySpec;
-
+    @Autowired
     public ApprovalWebhookScheduler(
         ApprovalOutboxRepository outboxRepository,
-        ApprovalWebhookLogRepository webhookLogRepository,
-        ApprovalWebhookProperties properties
+        ApprovalWebhookLogWriter webhookLogWriter,
+        ApprovalWebhookProperties properties,
+        ApprovalWebhookCircuitBreaker circuitBreaker,
+        ApprovalWebhookSigner signer,
+        ApprovalOutboxMetrics metrics,
+        ObjectMapper objectMapper
     ) {
-        this.outboxRepository = outboxRepository;
-        this.webhookLogRepository = webhookLogRepository;
-        this.properties = properties;
-        this.restTemplate = new RestTemplate();
+        this(outboxRepository, webhookLogWriter, properties, circuitBreaker, signer, metrics, objectMapper,
+            new RestTemplate());
     }
 
-    @PostConstruct
-    void init() {
-        try {
-            secretKeySpec = new SecretKeySpec(
-                properties.getSecurity().getSecretKey().getBytes(StandardCharsets.UTF_8),
-                "HmacSHA256"
-            );
-        } catch (Exception e) {
-            throw new IllegalStateException("Webhook 시그니처 초기화에 실패했습니다.", e);
-        }
+    ApprovalWebhookScheduler(
+        ApprovalOutboxRepository outboxRepository,
+        ApprovalWebhookLogWriter webhookLogWriter,
+        ApprovalWebhookProperties properties,
+        ApprovalWebhookCircuitBreaker circuitBreaker,
+        ApprovalWebhookSigner signer,
+        ApprovalOutboxMetrics metrics,
+        ObjectMapper objectMapper,
+        RestTemplate restTemplate
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.webhookLogWriter = webhookLogWriter;
+        this.properties = properties;
+        this.circuitBreaker = circuitBreaker;
+        this.signer = signer;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.restTemplate = restTemplate;
     }
 
+    /**
+     * 발송 중에는 트랜잭션을 열지 않는다. 조회한 이벤트는 준영속 상태이며 결과는 {@link #saveIfPending} 으로 건별 반영한다.
+     */
     @Scheduled(fixedDelayString = "${app.webhook.scheduler.delay-millis:5000}")
-    @Transactional
     public void dispatchPendingEvents() {
+        long startNanos = System.nanoTime();
         LocalDateTime now = LocalDateTime.now();
         List<ApprovalOutbox> events = outboxRepository
             .findTop50ByStatusAndNextAttemptAtBeforeOrderByCreatedAtAsc(ApprovalOutboxStatus.PENDING, now);
@@ -74,14 +99,58 @@ public class ApprovalWebhookScheduler {
             return;
         }
 
+        try {
+            dispatch(events, now);
+        } finally {
+            metrics.recordDispatch(startNanos, events.size());
+        }
+    }
+
+    private void dispatch(List<ApprovalOutbox> events, LocalDateTime now) {
         log.debug("Webhook 전송 대상 {}건 처리 시작", events.size());
-        for (ApprovalOutbox event : events) {
-            processEvent(event, now);
+        if (!properties.getBatch().isEnabled()) {
+            for (ApprovalOutbox event : events) {
+                processEvent(event, now);
+            }
+            return;
         }
+
+        Map<String, List<ApprovalOutbox>> eventsByUrl = events.stream()
+            .collect(Collectors.groupingBy(
+                event -> resolveCallbackUrl(event.getCallbackUrl()),
+                LinkedHashMap::new,
+                Collectors.toList()
+            ));
+        int maxEvents = Math.max(1, properties.getBatch().getMaxEvents());
+        eventsByUrl.forEach((targetUrl, urlEvents) -> {
+            if (urlEvents.size() == 1 || batchUnsupportedUrls.contains(targetUrl)) {
+                urlEvents.forEach(event -> processEvent(event, now));
+                return;
+            }
+            for (int from = 0; from < urlEvents.size(); from += maxEvents) {
+                List<ApprovalOutbox> chunk = urlEvents.subList(from, Math.min(from + maxEvents, urlEvents.size()));
+                processBatch(targetUrl, chunk, now);
+            }
+        });
     }
 
     private void processEvent(ApprovalOutbox event, LocalDateTime now) {
         String targetUrl = resolveCallbackUrl(event.getCallbackUrl());
+        String host = ApprovalWebhookCircuitBreaker.hostOf(targetUrl);
+        if (!circuitBreaker.tryAcquire(host)) {
+            deferForOpenCircuit(event, host, now);
+            return;
+        }
+        try {
+            sendEvent(event, targetUrl, host, now);
+        } catch (RuntimeException ex) {
+            // 결과를 기록하지 못한 채 빠져나가면 HALF_OPEN 시험 발송 슬롯이 영구히 점유되므로 반납한다.
+            circuitBreaker.releaseProbe(host);
+            throw ex;
+        }
+    }
+
+    private void sendEvent(ApprovalOutbox event, String targetUrl, String host, LocalDateTime now) {
         HttpHeaders headers = buildHeaders(event.getPayload(), event);
         HttpEntity<String> entity = new HttpEntity<>(event.getPayload(), headers);
 
@@ -96,24 +165,201 @@ public class ApprovalWebhookScheduler {
             saveLog(event, targetUrl, statusCode, response.getBody(), null, now);
 
             if (success) {
+                circuitBreaker.recordSuccess(host);
+                metrics.recordRequest(host, ApprovalOutboxMetrics.OUTCOME_SUCCESS);
                 markAsSent(event, now);
-            } else if (response.getStatusCode().is4xxClientError()) {
+            } else {
+                circuitBreaker.recordFailure(host);
+                metrics.recordRequest(host, ApprovalOutboxMetrics.OUTCOME_SERVER_ERROR);
+                markForRetry(event, now, "Unexpected status: " + statusCode, maxAttempts, backoffMillis);
+            }
+        } catch (HttpStatusCodeException ex) {
+            // RestTemplate 기본 오류 처리기는 4xx/5xx 응답을 예외로 던진다.
+            int statusCode = ex.getStatusCode().value();
+            saveLog(event, targetUrl, statusCode, ex.getResponseBodyAsString(), ex.getMessage(), now);
+            metrics.recordRequest(host, outcomeOf(ex));
+            if (ex.getStatusCode().is4xxClientError()) {
+                // 수신 측은 응답 가능한 상태이므로 서킷 관점에서는 성공으로 본다.
+                circuitBreaker.recordSuccess(host);
                 markAsFailed(event, now, "Client error: " + statusCode, maxAttempts, backoffMillis);
             } else {
+                circuitBreaker.recordFailure(host);
                 markForRetry(event, now, "Server error: " + statusCode, maxAttempts, backoffMillis);
             }
         } catch (RestClientException ex) {
+            circuitBreaker.recordFailure(host);
+            metrics.recordRequest(host, outcomeOf(ex));
             saveLog(event, targetUrl, null, null, ex.getMessage(), now);
             markForRetry(event, now, ex.getMessage(), maxAttempts, backoffMillis);
         }
     }
 
+    /**
+     * 같은 Callback URL의 이벤트를 하나의 서명된 요청으로 전송하고, 수신 측의 이벤트별 결과에 따라 개별 처리한다.
+     * 수신 측이 배치 엔드포인트를 지원하지 않으면(404/405) 해당 URL은 이후 개별 전송으로 전환한다.
+     */
+    private void processBatch(String targetUrl, List<ApprovalOutbox> chunk, LocalDateTime now) {
+        int maxAttempts = properties.getRetry().getMaxAttempts();
+        long backoffMillis = properties.getRetry().getBackoffMillis();
+        String batchUrl = targetUrl.endsWith("/") ? targetUrl + BATCH_PATH.substring(1) : targetUrl + BATCH_PATH;
+
+        // 해석할 수 없는 페이로드는 재시도해도 같으므로 해당 이벤트만 실패 처리하고 나머지는 그대로 보낸다.
+        List<ApprovalOutbox> events = new ArrayList<>(chunk.size());
+        List<ApprovalWebhookBatchRequest.Item> items = new ArrayList<>(chunk.size());
+        for (ApprovalOutbox event : chunk) {
+            try {
+                items.add(toBatchItem(event));
+                events.add(event);
+            } catch (JsonProcessingException ex) {
+                String message = "Invalid payload: " + ex.getOriginalMessage();
+                saveLog(event, batchUrl, null, null, message, now);
+                markAsFailed(event, now, message, maxAttempts, backoffMillis);
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        String host = ApprovalWebhookCircuitBreaker.hostOf(targetUrl);
+        if (!circuitBreaker.tryAcquire(host)) {
+            events.forEach(event -> deferForOpenCircuit(event, host, now));
+            return;
+        }
+        try {
+            sendBatch(targetUrl, batchUrl, host, events, items, now);
+        } catch (RuntimeException ex) {
+            circuitBreaker.releaseProbe(host);
+            throw ex;
+        }
+    }
+
+    private void sendBatch(
+        String targetUrl,
+        String batchUrl,
+        String host,
+        List<ApprovalOutbox> events,
+        List<ApprovalWebhookBatchRequest.Item> items,
+        LocalDateTime now
+    ) {
+        int maxAttempts = properties.getRetry().getMaxAttempts();
+        long backoffMillis = properties.getRetry().getBackoffMillis();
+        String body = toJson(new ApprovalWebhookBatchRequest(items));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add(EVENT_HEADER, BATCH_EVENT);
+        headers.add(SIGNATURE_HEADER, signer.sign(body));
+
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.exchange(batchUrl, HttpMethod.POST, new HttpEntity<>(body, headers), String.class);
+        } catch (HttpStatusCodeException ex) {
+            int statusCode = ex.getStatusCode().value();
+            if (statusCode == 404 || statusCode == 405) {
+                circuitBreaker.recordSuccess(host);
+                batchUnsupportedUrls.add(targetUrl);
+                log.info("Webhook 배치 미지원 수신처-개별 전송 전환: url={}", targetUrl);
+                events.forEach(event -> processEvent(event, now));
+                return;
+            }
+            metrics.recordRequest(host, outcomeOf(ex));
+            // 개별 전송과 같은 기준: 4xx 는 재시도 없이 실패, 5xx 는 재시도.
+            boolean clientError = ex.getStatusCode().is4xxClientError();
+            if (clientError) {
+                circuitBreaker.recordSuccess(host);
+            } else {
+                circuitBreaker.recordFailure(host);
+            }
+            for (ApprovalOutbox event : events) {
+                saveLog(event, batchUrl, statusCode, ex.getResponseBodyAsString(), ex.getMessage(), now);
+                if (clientError) {
+                    markAsFailed(event, now, "Client error: " + statusCode, maxAttempts, backoffMillis);
+                } else {
+                    markForRetry(event, now, "Server error: " + statusCode, maxAttempts, backoffMillis);
+                }
+            }
+            return;
+        } catch (RestClientException ex) {
+            circuitBreaker.recordFailure(host);
+            metrics.recordRequest(host, ApprovalOutboxMetrics.OUTCOME_IO_ERROR);
+            for (ApprovalOutbox event : events) {
+                saveLog(event, batchUrl, null, null, ex.getMessage(), now);
+                markForRetry(event, now, ex.getMessage(), maxAttempts, backoffMillis);
+            }
+            return;
+        }
+
+        circuitBreaker.recordSuccess(host);
+        metrics.recordRequest(host, ApprovalOutboxMetrics.OUTCOME_SUCCESS);
+        int statusCode = response.getStatusCode().value();
+        Map<Long, ApprovalWebhookBatchResponse.Result> results = parseBatchResults(response.getBody());
+        for (ApprovalOutbox event : events) {
+            ApprovalWebhookBatchResponse.Result result = results.get(event.getId());
+            if (result == null) {
+                saveLog(event, batchUrl, statusCode, null, ApprovalWebhookBatchResponse.ERROR, "Batch result missing", now);
+                markForRetry(event, now, "Batch result missing", maxAttempts, backoffMillis);
+                continue;
+            }
+            saveLog(event, batchUrl, statusCode, null, result.status(), result.message(), now);
+            if (result.delivered()) {
+                markAsSent(event, now);
+            } else if (ApprovalWebhookBatchResponse.INVALID.equals(result.status())) {
+                markAsFailed(event, now, "Batch item invalid: " + result.message(), maxAttempts, backoffMillis);
+            } else {
+                markForRetry(event, now, "Batch item error: " + result.message(), maxAttempts, backoffMillis);
+            }
+        }
+    }
+
+    private ApprovalWebhookBatchRequest.Item toBatchItem(ApprovalOutbox event) throws JsonProcessingException {
+        ApprovalEventPayload payload = objectMapper.readValue(event.getPayload(), ApprovalEventPayload.class);
+        return new ApprovalWebhookBatchRequest.Item(
+            event.getId(),
+            event.getEventType(),
+            event.getIdempotencyKey(),
+            payload
+        );
+    }
+
+    private Map<Long, ApprovalWebhookBatchResponse.Result> parseBatchResults(String body) {
+        if (body == null || body.isBlank()) {
+            return Map.of();
+        }
+        try {
+            ApprovalWebhookBatchResponse response = objectMapper.readValue(body, ApprovalWebhookBatchResponse.class);
+            if (response.results() == null) {
+                return Map.of();
+            }
+            return response.results().stream()
+                .filter(result -> result.outboxId() != null)
+                .collect(Collectors.toMap(
+                    ApprovalWebhookBatchResponse.Result::outboxId,
+                    Function.identity(),
+                    (first, second) -> second
+                ));
+        } catch (JsonProcessingException e) {
+            log.warn("Webhook 배치 응답 해석 실패: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Webhook 배치 직렬화에 실패했습니다.", e);
+        }
+    }
+
     private void markAsSent(ApprovalOutbox event, LocalDateTime now) {
         event.setStatus(ApprovalOutboxStatus.SENT);
         event.setUpdatedAt(now);
         event.setLastAttemptAt(now);
         event.setLastErrorMessage(null);
-        outboxRepository.save(event);
+        if (!saveIfPending(event)) {
+            return;
+        }
+        metrics.recordSent(event, now);
         log.debug("Webhook 전송 성공: outboxId={}", event.getId());
     }
 
@@ -129,7 +375,10 @@ public class ApprovalWebhookScheduler {
         event.setLastAttemptAt(now);
         event.setUpdatedAt(now);
         event.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMillis)));
-        outboxRepository.save(event);
+        if (!saveIfPending(event)) {
+            return;
+        }
+        metrics.recordFailed(event.getRetryCount() + 1);
         log.warn("Webhook 전송 실패-재시도 중단: outboxId={}, error={}", event.getId(), errorMessage);
     }
 
@@ -148,15 +397,83 @@ public class ApprovalWebhookScheduler {
 
         if (nextRetry >= maxAttempts) {
             event.setStatus(ApprovalOutboxStatus.FAILED);
-            log.error("Webhook 전송 실패-재시도 한계 초과: outboxId={}, error={}", event.getId(), errorMessage);
+            if (saveIfPending(event)) {
+                metrics.recordFailed(nextRetry);
+                log.error("Webhook 전송 실패-재시도 한계 초과: outboxId={}, error={}", event.getId(), errorMessage);
+            }
         } else {
             event.setStatus(ApprovalOutboxStatus.PENDING);
-            long delay = backoffMillis * Math.max(1, nextRetry);
+            long delay = computeBackoff(nextRetry);
             event.setNextAttemptAt(now.plus(Duration.ofMillis(delay)));
-            log.warn("Webhook 전송 오류-재시도 예약: outboxId={}, retryCount={}, error={}", event.getId(), nextRetry, errorMessage);
+            if (saveIfPending(event)) {
+                log.warn("Webhook 전송 오류-재시도 예약: outboxId={}, retryCount={}, error={}", event.getId(), nextRetry, errorMessage);
+            }
+        }
+    }
+
+    private String outcomeOf(RestClientException ex) {
+        if (ex instanceof HttpStatusCodeException statusException) {
+            return statusException.getStatusCode().is4xxClientError()
+                ? ApprovalOutboxMetrics.OUTCOME_CLIENT_ERROR
+                : ApprovalOutboxMetrics.OUTCOME_SERVER_ERROR;
+        }
+        return ApprovalOutboxMetrics.OUTCOME_IO_ERROR;
+    }
+
+    /**
+     * 서킷이 열린 호스트의 이벤트는 발송/로그 없이 서킷 재개 시각 이후로 미룬다. 재시도 횟수는 증가시키지 않는다.
+     */
+    private void deferForOpenCircuit(ApprovalOutbox event, String host, LocalDateTime now) {
+        LocalDateTime openUntil = circuitBreaker.openUntil(host);
+        LocalDateTime resumeAt = openUntil != null && openUntil.isAfter(now) ? openUntil : now;
+        long jitter = jitterMillis(properties.getCircuitBreaker().getOpenMillis());
+        event.setNextAttemptAt(resumeAt.plus(Duration.ofMillis(jitter)));
+        event.setUpdatedAt(now);
+        saveIfPending(event);
+        log.debug("Webhook 서킷 OPEN-발송 보류: outboxId={}, host={}, nextAttemptAt={}", event.getId(), host, event.getNextAttemptAt());
+    }
+
+    /**
+     * 조회 이후 상태가 바뀌지 않은(PENDING) 경우에만 이벤트를 저장한다.
+     * 발송 중 같은 결재의 새 이벤트로 SUPERSEDED 된 행은 그대로 두고 false 를 반환한다.
+     */
+    private boolean saveIfPending(ApprovalOutbox event) {
+        int updated = outboxRepository.updateIfPending(
+            event.getId(),
+            event.getStatus(),
+            event.getRetryCount(),
+            event.getLastErrorMessage(),
+            event.getLastAttemptAt(),
+            event.getNextAttemptAt(),
+            event.getUpdatedAt()
+        );
+        if (updated == 0) {
+            log.debug("Webhook 발송 결과 미반영-이미 상태 전환됨: outboxId={}", event.getId());
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * 지수 백오프(base * multiplier^(n-1), 최대값 제한)에 지터를 적용한 지연 시간.
+     */
+    long computeBackoff(int retryCount) {
+        ApprovalWebhookProperties.Retry retry = properties.getRetry();
+        long base = Math.max(0L, retry.getBackoffMillis());
+        long max = Math.max(base, retry.getMaxBackoffMillis());
+        double exponential = base * Math.pow(Math.max(1.0, retry.getMultiplier()), Math.max(0, retryCount - 1));
+        long capped = (long) Math.min(max, exponential);
+        double jitterRatio = Math.min(1.0, Math.max(0.0, retry.getJitterRatio()));
+        if (capped <= 0 || jitterRatio == 0.0) {
+            return capped;
+        }
+        long jitterRange = (long) (capped * jitterRatio);
+        return capped - ThreadLocalRandom.current().nextLong(jitterRange + 1);
+    }
 
-        outboxRepository.save(event);
+    private long jitterMillis(long windowMillis) {
+        long range = Math.max(0L, (long) (windowMillis * properties.getRetry().getJitterRatio()));
+        return range == 0 ? 0 : ThreadLocalRandom.current().nextLong(range + 1);
     }
 
     private void saveLog(
@@ -166,6 +483,18 @@ public class ApprovalWebhookScheduler {
         String responseBody,
         String errorMessage,
         LocalDateTime now
+    ) {
+        saveLog(event, targetUrl, statusCode, responseBody, null, errorMessage, now);
+    }
+
+    private void saveLog(
+        ApprovalOutbox event,
+        String targetUrl,
+        Integer statusCode,
+        String responseBody,
+        String itemStatus,
+        String errorMessage,
+        LocalDateTime now
     ) {
         ApprovalWebhookLog logEntry = new ApprovalWebhookLog();
         logEntry.setOutboxId(event.getId());
@@ -174,9 +503,10 @@ public class ApprovalWebhookScheduler {
         logEntry.setWebhookUrl(targetUrl);
         logEntry.setHttpStatus(statusCode);
         logEntry.setResponseBody(responseBody);
+        logEntry.setItemStatus(itemStatus);
         logEntry.setErrorMessage(errorMessage);
         logEntry.setCreatedAt(now);
-        webhookLogRepository.save(logEntry);
+        webhookLogWriter.append(logEntry);
     }
 
     private HttpHeaders buildHeaders(String payload, ApprovalOutbox event) {
@@ -186,22 +516,10 @@ public class ApprovalWebhookScheduler {
         if (event.getIdempotencyKey() != null) {
             headers.add(IDEMPOTENCY_HEADER, event.getIdempotencyKey());
         }
-        headers.add(SIGNATURE_HEADER, sign(payload));
+        headers.add(SIGNATURE_HEADER, signer.sign(payload));
         return headers;
     }
 
-    private String sign(String payload) {
-        try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(secretKeySpec);
-            byte[] data = payload.getBytes(StandardCharsets.UTF_8);
-            byte[] signature = mac.doFinal(data);
-            return Base64.getEncoder().encodeToString(signature);
-        } catch (Exception e) {
-            throw new IllegalStateException("Webhook 시그니처 생성에 실패했습니다.", e);
-        }
-    }
-
     private String resolveCallbackUrl(String callbackUrl) {
         if (callbackUrl == null || callbackUrl.isBlank()) {
             throw new IllegalStateException("Callback URL이 비어 있습니다.");
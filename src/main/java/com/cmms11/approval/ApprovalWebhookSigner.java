@@ -0,0 +1,88 @@
+package com.cmms11.approval;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.stereotype.Component;
+
+/**
+ * Webhook HMAC-SHA256 서명 생성/검증.
+ *
+ * Mac 인스턴스는 스레드마다 한 번만 생성해 재사용하고, 검증은 상수 시간 비교로 수행한다.
+ * 첫 번째 키(secret-key)로 서명하며, 키 교체 기간에는 additional-secret-keys 도 검증에 허용한다.
+ */
+@Component
+public class ApprovalWebhookSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final List<SecretKeySpec> keys;
+    private final ThreadLocal<List<Mac>> macs;
+
+    public ApprovalWebhookSigner(ApprovalWebhookProperties properties) {
+        Set<String> secrets = new LinkedHashSet<>();
+        secrets.add(properties.getSecurity().getSecretKey());
+        if (properties.getSecurity().getAdditionalSecretKeys() != null) {
+            properties.getSecurity().getAdditionalSecretKeys().stream()
+                .filter(secret -> secret != null && !secret.isBlank())
+                .forEach(secrets::add);
+        }
+        List<SecretKeySpec> specs = new ArrayList<>();
+        for (String secret : secrets) {
+            specs.add(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        }
+        this.keys = List.copyOf(specs);
+        this.macs = ThreadLocal.withInitial(this::createMacs);
+        createMacs();
+    }
+
+    public String sign(String payload) {
+        return sign(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String sign(byte[] body) {
+        return Base64.getEncoder().encodeToString(macs.get().get(0).doFinal(body));
+    }
+
+    /**
+     * 허용된 키 중 하나로 만든 서명과 일치하는지 상수 시간으로 비교한다.
+     */
+    public boolean verify(String signatureHeader, byte[] body) {
+        if (signatureHeader == null || signatureHeader.isBlank()) {
+            return false;
+        }
+        byte[] provided;
+        try {
+            provided = Base64.getDecoder().decode(signatureHeader.trim());
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        boolean matched = false;
+        for (Mac mac : macs.get()) {
+            matched |= MessageDigest.isEqual(mac.doFinal(body), provided);
+        }
+        return matched;
+    }
+
+    private List<Mac> createMacs() {
+        List<Mac> created = new ArrayList<>(keys.size());
+        try {
+            for (SecretKeySpec key : keys) {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                created.add(mac);
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Webhook 시그니처 초기화에 실패했습니다.", e);
+        }
+        return created;
+    }
+}
@@ -1,7 +1,12 @@
 package com.cmms11.approval;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Webhook 멱등 기록 레포지토리.
@@ -9,4 +14,28 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface WebhookIdempotencyRepository extends JpaRepository<WebhookIdempotency, WebhookIdempotencyId> {
 
     Optional<WebhookIdempotency> findByIdCompanyIdAndIdIdempotencyKey(String companyId, String idempotencyKey);
+
+    /**
+     * 기본 키를 이용한 선점(INSERT IGNORE). 1이면 선점 성공, 0이면 이미 처리된 키.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        value = "INSERT IGNORE INTO webhook_idempotency (company_id, idempotency_key, processed_at) "
+            + "VALUES (:companyId, :idempotencyKey, :processedAt)",
+        nativeQuery = true
+    )
+    int insertIfAbsent(
+        @Param("companyId") String companyId,
+        @Param("idempotencyKey") String idempotencyKey,
+        @Param("processedAt") LocalDateTime processedAt
+    );
+
+    @Transactional
+    @Modifying
+    @Query(
+        value = "DELETE FROM webhook_idempotency WHERE processed_at < :cutoff LIMIT :chunkSize",
+        nativeQuery = true
+    )
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("chunkSize") int chunkSize);
 }
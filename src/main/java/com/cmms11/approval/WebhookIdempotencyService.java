@@ -0,0 +1,104 @@
+package com.cmms11.approval;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Webhook 수신 멱등 처리.
+ *
+ * 최근 처리한 키는 메모리 캐시(크기 제한 + TTL)로 먼저 걸러내고, DB에는 기본 키 INSERT IGNORE로 선점하여
+ * 조회 후 저장 사이의 경합 없이 한 번만 처리되도록 한다. 보존 기간이 지난 기록은 청크 단위로 정리한다.
+ * 메모리 캐시에는 선점 트랜잭션이 커밋된 뒤에만 기록하므로, 롤백된 선점이 재시도를 중복으로 걸러내지 않는다.
+ */
+@Service
+public class WebhookIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookIdempotencyService.class);
+
+    private final WebhookIdempotencyRepository repository;
+    private final ApprovalWebhookProperties.Idempotency properties;
+    private final Map<WebhookIdempotencyId, Long> recentlySeen;
+
+    public WebhookIdempotencyService(WebhookIdempotencyRepository repository, ApprovalWebhookProperties properties) {
+        this.repository = repository;
+        this.properties = properties.getIdempotency();
+        int maxEntries = Math.max(1, this.properties.getCacheSize());
+        this.recentlySeen = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<WebhookIdempotencyId, Long> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 메모리 캐시 기준으로 최근 처리된 키인지 확인한다. DB는 조회하지 않는다.
+     */
+    public boolean isRecentlySeen(WebhookIdempotencyId id) {
+        long now = System.currentTimeMillis();
+        synchronized (recentlySeen) {
+            Long expiresAt = recentlySeen.get(id);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (expiresAt < now) {
+                recentlySeen.remove(id);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 키를 선점한다. 이미 다른 요청(또는 다른 노드)이 처리한 키이면 false.
+     * 호출 측 트랜잭션이 롤백되면 선점도 취소되며 메모리 캐시에도 남지 않는다.
+     */
+    public boolean claim(WebhookIdempotencyId id) {
+        boolean claimed = repository.insertIfAbsent(id.getCompanyId(), id.getIdempotencyKey(), LocalDateTime.now()) > 0;
+        afterCommit(() -> remember(id));
+        return claimed;
+    }
+
+    @Scheduled(cron = "${app.webhook.idempotency.purge-cron:0 15 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(Math.max(1, properties.getRetentionDays()));
+        int chunkSize = Math.max(1, properties.getPurgeChunkSize());
+        long total = 0;
+        int deleted;
+        do {
+            deleted = repository.deleteOlderThan(cutoff, chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        if (total > 0) {
+            log.info("Webhook 멱등 기록 정리 완료: deleted={}", total);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void remember(WebhookIdempotencyId id) {
+        long expiresAt = System.currentTimeMillis() + properties.getCacheTtlMillis();
+        synchronized (recentlySeen) {
+            recentlySeen.put(id, expiresAt);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.cmms11.approval.client;
+
+/**
+ * 결재 결과를 업무 모듈 상태에 반영하는 핸들러. ref_entity 별로 하나씩 등록한다.
+ */
+public interface ApprovalStatusHandler {
+
+    /**
+     * 처리 대상 ref_entity 코드 (예: WORK, INSP, WPER).
+     */
+    String refEntity();
+
+    void applyApprovalStatus(String refId, String stage, ApprovalStatusTransition transition);
+}
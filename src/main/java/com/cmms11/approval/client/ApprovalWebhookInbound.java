@@ -0,0 +1,65 @@
+package com.cmms11.approval.client;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 서명 검증을 마친 수신 Webhook 이벤트. 비동기 수신 모드에서 상태 전이 반영 전까지 보관하는 내구성 큐.
+ */
+@Entity
+@Table(name = "approval_webhook_inbound")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ApprovalWebhookInbound {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ref_entity", length = 64, nullable = false)
+    private String refEntity;
+
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "event_header", length = 20)
+    private String eventHeader;
+
+    @Column(name = "idempotency_header", length = 100)
+    private String idempotencyHeader;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private ApprovalWebhookInboundStatus status = ApprovalWebhookInboundStatus.PENDING;
+
+    @Column(name = "retry_count", nullable = false)
+    private int retryCount = 0;
+
+    @Column(name = "last_error_message", length = 500)
+    private String lastErrorMessage;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
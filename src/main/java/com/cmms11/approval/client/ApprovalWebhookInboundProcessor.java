@@ -0,0 +1,127 @@
+package com.cmms11.approval.client;
+
+import com.cmms11.approval.ApprovalEventPayload;
+import com.cmms11.approval.ApprovalWebhookBatchResponse;
+import com.cmms11.config.ApprovalWebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비동기 수신 모드에서 큐에 쌓인 Webhook 이벤트를 모듈 상태에 반영한다.
+ *
+ * 이벤트마다 독립적으로 처리하여 한 건의 실패가 나머지 처리에 영향을 주지 않게 하고,
+ * 실패한 이벤트는 max-attempts 까지 backoff-millis 간격으로 재시도한다.
+ */
+@Component
+public class ApprovalWebhookInboundProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalWebhookInboundProcessor.class);
+    private static final int ERROR_MESSAGE_MAX = 500;
+
+    private final ApprovalWebhookInboundRepository inboundRepository;
+    private final ApprovalWebhookReceiver receiver;
+    private final ApprovalWebhookProperties.Inbound properties;
+    private final ObjectMapper objectMapper;
+
+    public ApprovalWebhookInboundProcessor(
+        ApprovalWebhookInboundRepository inboundRepository,
+        ApprovalWebhookReceiver receiver,
+        ApprovalWebhookProperties properties,
+        ObjectMapper objectMapper
+    ) {
+        this.inboundRepository = inboundRepository;
+        this.receiver = receiver;
+        this.properties = properties.getInbound();
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhook.inbound.delay-millis:1000}")
+    public void processPending() {
+        if (!properties.isAsync()) {
+            return;
+        }
+        List<ApprovalWebhookInbound> pending = inboundRepository
+            .findTop50ByStatusAndNextAttemptAtBeforeOrderByIdAsc(ApprovalWebhookInboundStatus.PENDING, LocalDateTime.now());
+        for (ApprovalWebhookInbound inbound : pending) {
+            processOne(inbound);
+        }
+    }
+
+    /**
+     * 처리가 끝난 수신 이벤트를 보존 기간이 지나면 청크 단위로 삭제한다. FAILED 는 원인 확인을 위해 더 오래 둔다.
+     */
+    @Scheduled(cron = "${app.webhook.inbound.purge-cron:0 45 3 * * *}")
+    public void purgeFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        long done = purge(ApprovalWebhookInboundStatus.DONE, now.minusDays(Math.max(1, properties.getRetentionDays())));
+        long failed = purge(
+            ApprovalWebhookInboundStatus.FAILED, now.minusDays(Math.max(1, properties.getFailedRetentionDays())));
+        if (done > 0 || failed > 0) {
+            log.info("수신 Webhook 큐 정리 완료: done={}, failed={}", done, failed);
+        }
+    }
+
+    private long purge(ApprovalWebhookInboundStatus status, LocalDateTime cutoff) {
+        int chunkSize = Math.max(1, properties.getPurgeChunkSize());
+        long total = 0;
+        int deleted;
+        do {
+            deleted = inboundRepository.deleteFinishedBefore(status.name(), cutoff, chunkSize);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        return total;
+    }
+
+    void processOne(ApprovalWebhookInbound inbound) {
+        try {
+            ApprovalEventPayload payload = objectMapper.readValue(inbound.getPayload(), ApprovalEventPayload.class);
+            ApprovalWebhookBatchResponse.Result result = receiver.process(
+                inbound.getRefEntity(),
+                inbound.getOutboxId(),
+                payload,
+                inbound.getEventHeader(),
+                inbound.getIdempotencyHeader()
+            );
+            if (ApprovalWebhookBatchResponse.INVALID.equals(result.status())) {
+                markFailed(inbound, result.message());
+            } else {
+                inbound.setStatus(ApprovalWebhookInboundStatus.DONE);
+                inbound.setLastErrorMessage(null);
+            }
+        } catch (Exception ex) {
+            log.warn("수신 Webhook 처리 실패: id={}, refEntity={}, error={}", inbound.getId(), inbound.getRefEntity(), ex.getMessage());
+            scheduleRetry(inbound, ex.getMessage());
+        }
+        inbound.setUpdatedAt(LocalDateTime.now());
+        inboundRepository.save(inbound);
+    }
+
+    private void scheduleRetry(ApprovalWebhookInbound inbound, String errorMessage) {
+        int attempts = inbound.getRetryCount() + 1;
+        inbound.setRetryCount(attempts);
+        if (attempts >= properties.getMaxAttempts()) {
+            markFailed(inbound, errorMessage);
+            return;
+        }
+        inbound.setLastErrorMessage(truncate(errorMessage));
+        inbound.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(properties.getBackoffMillis() * attempts)));
+    }
+
+    private void markFailed(ApprovalWebhookInbound inbound, String errorMessage) {
+        inbound.setStatus(ApprovalWebhookInboundStatus.FAILED);
+        inbound.setLastErrorMessage(truncate(errorMessage));
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= ERROR_MESSAGE_MAX) {
+            return message;
+        }
+        return message.substring(0, ERROR_MESSAGE_MAX);
+    }
+}
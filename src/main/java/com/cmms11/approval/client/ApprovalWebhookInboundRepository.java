@@ -0,0 +1,36 @@
+package com.cmms11.approval.client;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 수신 Webhook 큐 레포지토리.
+ */
+public interface ApprovalWebhookInboundRepository extends JpaRepository<ApprovalWebhookInbound, Long> {
+
+    List<ApprovalWebhookInbound> findTop50ByStatusAndNextAttemptAtBeforeOrderByIdAsc(
+        ApprovalWebhookInboundStatus status,
+        LocalDateTime threshold
+    );
+
+    /**
+     * 처리가 끝난(DONE/FAILED) 이벤트를 ID 순으로 chunkSize 건까지 삭제한다. 청크마다 별도 트랜잭션.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        value = "DELETE FROM approval_webhook_inbound WHERE status = :status AND updated_at < :cutoff "
+            + "ORDER BY id LIMIT :chunkSize",
+        nativeQuery = true
+    )
+    int deleteFinishedBefore(
+        @Param("status") String status,
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("chunkSize") int chunkSize
+    );
+}
@@ -0,0 +1,10 @@
+package com.cmms11.approval.client;
+
+/**
+ * 수신 Webhook 큐 처리 상태.
+ */
+public enum ApprovalWebhookInboundStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,253 @@
+package com.cmms11.approval.client;
+
+import com.cmms11.approval.ApprovalEventPayload;
+import com.cmms11.approval.ApprovalEventType;
+import com.cmms11.approval.ApprovalWebhookBatchRequest;
+import com.cmms11.approval.ApprovalWebhookBatchResponse;
+import com.cmms11.approval.ApprovalWebhookSigner;
+import com.cmms11.approval.WebhookIdempotencyId;
+import com.cmms11.approval.WebhookIdempotencyService;
+import com.cmms11.config.ApprovalWebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 업무 모듈 공통 Webhook 수신 파이프라인.
+ *
+ * 서명 검증 → 페이로드 해석 → 멱등 선점 → {@link ApprovalStatusHandler} 호출 순서로 처리한다.
+ * 멱등 선점과 상태 반영은 이벤트마다 독립 트랜잭션으로 묶으므로, 배치의 한 이벤트가 실패해도 다른 이벤트는 커밋되고
+ * 실패한 이벤트의 선점은 함께 롤백되어 발신 측 재시도 때 다시 처리된다.
+ * 비동기 모드(app.webhook.inbound.async)에서는 서명 검증 후 수신 큐에 저장하고 바로 202를 반환하며,
+ * 나머지 단계는 {@link ApprovalWebhookInboundProcessor}가 수행한다.
+ */
+@Component
+public class ApprovalWebhookReceiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalWebhookReceiver.class);
+
+    private final Map<String, ApprovalStatusHandler> handlers;
+    private final ApprovalWebhookSigner signer;
+    private final WebhookIdempotencyService idempotencyService;
+    private final ApprovalWebhookInboundRepository inboundRepository;
+    private final ApprovalWebhookProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate eventTransaction;
+
+    public ApprovalWebhookReceiver(
+        List<ApprovalStatusHandler> handlers,
+        ApprovalWebhookSigner signer,
+        WebhookIdempotencyService idempotencyService,
+        ApprovalWebhookInboundRepository inboundRepository,
+        ApprovalWebhookProperties properties,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.handlers = handlers.stream()
+            .collect(Collectors.toMap(ApprovalStatusHandler::refEntity, Function.identity()));
+        this.signer = signer;
+        this.idempotencyService = idempotencyService;
+        this.inboundRepository = inboundRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.eventTransaction = new TransactionTemplate(transactionManager);
+        this.eventTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public ResponseEntity<Void> receive(
+        String refEntity,
+        String signatureHeader,
+        String eventHeader,
+        String idempotencyHeader,
+        byte[] body
+    ) throws IOException {
+        if (signatureHeader == null || signatureHeader.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (!signer.verify(signatureHeader, body)) {
+            log.warn("{} webhook signature verification failed", refEntity);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (properties.getInbound().isAsync()) {
+            inboundRepository.save(toInbound(
+                refEntity,
+                null,
+                new String(body, StandardCharsets.UTF_8),
+                eventHeader,
+                idempotencyHeader
+            ));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
+
+        ApprovalEventPayload payload = objectMapper.readValue(body, ApprovalEventPayload.class);
+        ApprovalWebhookBatchResponse.Result result = process(refEntity, null, payload, eventHeader, idempotencyHeader);
+        if (ApprovalWebhookBatchResponse.INVALID.equals(result.status())) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 배치 봉투 수신. 동기 모드에서는 이벤트마다 독립 트랜잭션으로 처리하고 이벤트별 결과를 반환한다.
+     */
+    public ResponseEntity<ApprovalWebhookBatchResponse> receiveBatch(
+        String refEntity,
+        String signatureHeader,
+        byte[] body
+    ) throws IOException {
+        if (signatureHeader == null || signatureHeader.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (!signer.verify(signatureHeader, body)) {
+            log.warn("{} webhook batch signature verification failed", refEntity);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        ApprovalWebhookBatchRequest batch = objectMapper.readValue(body, ApprovalWebhookBatchRequest.class);
+        List<ApprovalWebhookBatchResponse.Result> results = new ArrayList<>();
+        if (batch.events() == null) {
+            return ResponseEntity.ok(new ApprovalWebhookBatchResponse(results));
+        }
+
+        if (properties.getInbound().isAsync()) {
+            List<ApprovalWebhookInbound> inbounds = new ArrayList<>();
+            for (ApprovalWebhookBatchRequest.Item item : batch.events()) {
+                if (item.payload() == null) {
+                    results.add(ApprovalWebhookBatchResponse.Result.invalid(item.outboxId(), "payload missing"));
+                    continue;
+                }
+                inbounds.add(toInbound(
+                    refEntity,
+                    item.outboxId(),
+                    objectMapper.writeValueAsString(item.payload()),
+                    item.eventType() != null ? item.eventType().name() : null,
+                    item.idempotencyKey()
+                ));
+                results.add(ApprovalWebhookBatchResponse.Result.ok(item.outboxId()));
+            }
+            inboundRepository.saveAll(inbounds);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApprovalWebhookBatchResponse(results));
+        }
+
+        for (ApprovalWebhookBatchRequest.Item item : batch.events()) {
+            if (item.payload() == null) {
+                results.add(ApprovalWebhookBatchResponse.Result.invalid(item.outboxId(), "payload missing"));
+                continue;
+            }
+            String eventHeader = item.eventType() != null ? item.eventType().name() : null;
+            try {
+                results.add(process(refEntity, item.outboxId(), item.payload(), eventHeader, item.idempotencyKey()));
+            } catch (RuntimeException ex) {
+                log.warn("{} webhook batch item failed: outboxId={}, error={}", refEntity, item.outboxId(), ex.getMessage());
+                results.add(ApprovalWebhookBatchResponse.Result.error(item.outboxId(), ex.getMessage()));
+            }
+        }
+        return ResponseEntity.ok(new ApprovalWebhookBatchResponse(results));
+    }
+
+    /**
+     * 단일 이벤트를 멱등하게 모듈 상태에 반영한다. 선점과 상태 반영은 새 트랜잭션에서 수행하며,
+     * 상태 반영 중 예외는 선점과 함께 롤백한 뒤 그대로 전파한다.
+     */
+    public ApprovalWebhookBatchResponse.Result process(
+        String refEntity,
+        Long outboxId,
+        ApprovalEventPayload payload,
+        String eventHeader,
+        String idempotencyHeader
+    ) {
+        ApprovalEventType eventType = payload.eventType();
+        if (eventType == null && eventHeader != null) {
+            eventType = parseEventType(eventHeader);
+        }
+        if (eventType == null) {
+            log.warn("{} webhook event type missing", refEntity);
+            return ApprovalWebhookBatchResponse.Result.invalid(outboxId, "event type missing");
+        }
+
+        String idempotencyKey = payload.idempotencyKey() != null ? payload.idempotencyKey() : idempotencyHeader;
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            log.warn("{} webhook idempotency key missing", refEntity);
+            return ApprovalWebhookBatchResponse.Result.invalid(outboxId, "idempotency key missing");
+        }
+
+        // 중간(SUBMITTED) 스냅샷은 모듈 상태를 바꾸지 않으므로 멱등 키를 선점하지 않는다.
+        // 결재 멱등키는 결재 단위이므로 선점하면 이후 종료 이벤트가 중복으로 취급된다.
+        if (!eventType.isTerminal()) {
+            return ApprovalWebhookBatchResponse.Result.ok(outboxId);
+        }
+
+        ApprovalStatusHandler handler = handlers.get(refEntity);
+        if (handler == null) {
+            return ApprovalWebhookBatchResponse.Result.invalid(outboxId, "unsupported ref entity: " + refEntity);
+        }
+
+        WebhookIdempotencyId id = new WebhookIdempotencyId(payload.companyId(), idempotencyKey);
+        if (idempotencyService.isRecentlySeen(id)) {
+            return ApprovalWebhookBatchResponse.Result.duplicate(outboxId);
+        }
+
+        ApprovalStatusTransition transition = toTransition(eventType);
+        return eventTransaction.execute(status -> {
+            if (!idempotencyService.claim(id)) {
+                return ApprovalWebhookBatchResponse.Result.duplicate(outboxId);
+            }
+            handler.applyApprovalStatus(payload.refId(), payload.refStage(), transition);
+            return ApprovalWebhookBatchResponse.Result.ok(outboxId);
+        });
+    }
+
+    private ApprovalEventType parseEventType(String eventHeader) {
+        try {
+            return ApprovalEventType.valueOf(eventHeader);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private ApprovalStatusTransition toTransition(ApprovalEventType eventType) {
+        return switch (eventType) {
+            case APPROVED -> ApprovalStatusTransition.APPROVED;
+            case REJECTED -> ApprovalStatusTransition.REJECTED;
+            case CANCELLED -> ApprovalStatusTransition.CANCELLED;
+            default -> throw new IllegalArgumentException("전이 대상이 아닌 이벤트입니다: " + eventType);
+        };
+    }
+
+    private ApprovalWebhookInbound toInbound(
+        String refEntity,
+        Long outboxId,
+        String payload,
+        String eventHeader,
+        String idempotencyHeader
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+        ApprovalWebhookInbound inbound = new ApprovalWebhookInbound();
+        inbound.setRefEntity(refEntity);
+        inbound.setOutboxId(outboxId);
+        inbound.setPayload(payload);
+        inbound.setEventHeader(eventHeader);
+        inbound.setIdempotencyHeader(idempotencyHeader);
+        inbound.setStatus(ApprovalWebhookInboundStatus.PENDING);
+        inbound.setRetryCount(0);
+        inbound.setNextAttemptAt(now);
+        inbound.setCreatedAt(now);
+        inbound.setUpdatedAt(now);
+        return inbound;
+    }
+}
@@ -0,0 +1,92 @@
+package com.cmms11.common.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 텍스트 컬럼용 Deflate 압축 유틸.
+ *
+ * 압축된 값은 {@link #DEFLATE_MARKER} 접두어 + Base64(Deflate) 형태로 저장한다.
+ * 접두어가 없는 값은 평문으로 간주하므로 기존 데이터와 그대로 호환된다.
+ * 평문이 접두어로 시작하면 길이와 관계없이 압축해 저장하여 읽을 때 압축 데이터로 오인하지 않게 한다.
+ */
+public final class CompressedText {
+
+    public static final String DEFLATE_MARKER = "~dfl1:";
+
+    private CompressedText() {
+    }
+
+    /**
+     * thresholdChars 이상이고 압축 결과가 원문보다 짧을 때만 압축한다. 접두어로 시작하는 값은 항상 압축한다.
+     */
+    public static String compress(String value, int thresholdChars) {
+        if (value == null) {
+            return null;
+        }
+        boolean markerLike = isCompressed(value);
+        if (!markerLike && value.length() < Math.max(1, thresholdChars)) {
+            return value;
+        }
+        byte[] input = value.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                out.write(buffer, 0, written);
+            }
+            String encoded = DEFLATE_MARKER + Base64.getEncoder().encodeToString(out.toByteArray());
+            return markerLike || encoded.length() < value.length() ? encoded : value;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(String value) {
+        if (!isCompressed(value)) {
+            return value;
+        }
+        byte[] input = Base64.getDecoder().decode(value.substring(DEFLATE_MARKER.length()));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축 데이터가 손상되었습니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축 데이터 해제에 실패했습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    public static boolean isCompressed(String value) {
+        return value != null && value.startsWith(DEFLATE_MARKER);
+    }
+
+    /**
+     * maxChars를 넘는 텍스트를 잘라내고 잘린 길이를 표시한다.
+     */
+    public static String truncate(String value, int maxChars) {
+        if (value == null || maxChars <= 0 || value.length() <= maxChars) {
+            return value;
+        }
+        String suffix = "...(truncated " + (value.length() - maxChars) + " chars)";
+        return value.substring(0, maxChars) + suffix;
+    }
+}
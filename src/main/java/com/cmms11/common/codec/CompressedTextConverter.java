@@ -0,0 +1,28 @@
+package com.cmms11.common.codec;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 큰 텍스트 컬럼을 투명하게 압축/해제하는 JPA 컨버터.
+ * 접두어가 없는 기존 평문 데이터도 그대로 읽을 수 있다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    /**
+     * 이 길이 미만의 값은 압축 이득보다 Base64 오버헤드가 커서 평문으로 둔다.
+     * JPA를 거치지 않고 같은 컬럼에 쓰는 경로(JDBC 배치 INSERT 등)도 이 값으로 압축한다.
+     */
+    public static final int THRESHOLD_CHARS = 512;
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return CompressedText.compress(attribute, THRESHOLD_CHARS);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return CompressedText.decompress(dbData);
+    }
+}
@@ -1,6 +1,8 @@
 package com.cmms11.common.seq;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,6 +47,29 @@ public class AutoNumberService {
         return moduleCode + yymmdd + String.format("%03d", seq);
     }
 
+    /**
+     * Transactional ID를 count개 연속으로 한 번에 생성한다. 시퀀스 행 잠금/갱신은 한 번만 수행한다.
+     * 독립 트랜잭션으로 실행되어 sequence lock 즉시 해제
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<String> generateTxIds(String companyId, String moduleCode, LocalDate date, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        LocalDate dateKey = date == null ? LocalDate.now() : date;
+        String yymmdd = String.format("%1$ty%1$tm%1$td", dateKey);
+        int first = getNextSequence(companyId, moduleCode, yymmdd, count);
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(moduleCode + yymmdd + String.format("%03d", first + i));
+        }
+        return ids;
+    }
+
+    private int getNextSequence(String companyId, String moduleCode, String dateKey) {
+        return getNextSequence(companyId, moduleCode, dateKey, 1);
+    }
+
     /**
      * 다음 시퀀스 번호 조회 및 증가
      * pessimistic lock(SELECT FOR UPDATE)을 사용하여 동시성 제어
@@ -52,9 +77,10 @@ public class AutoNumberService {
      * @param companyId 회사 ID
      * @param moduleCode 모듈 코드 (F, M 등)
      * @param dateKey 날짜 키 (YYMMDD 또는 "000000")
-     * @return 현재 시퀀스 번호 (DB는 +1 증가된 값으로 업데이트됨)
+     * @param count 확보할 번호 개수
+     * @return 확보한 구간의 첫 번호 (DB는 +count 증가된 값으로 업데이트됨)
      */
-    private int getNextSequence(String companyId, String moduleCode, String dateKey) {
+    private int getNextSequence(String companyId, String moduleCode, String dateKey, int count) {
         Sequence seq = repository.findForUpdate(companyId, moduleCode, dateKey)
             .orElseGet(() -> {
                 Sequence s = new Sequence();
@@ -63,7 +89,7 @@ public class AutoNumberService {
                 return repository.save(s);
             });
         int next = (seq.getNextSeq() == null ? 1 : seq.getNextSeq());
-        seq.setNextSeq(next + 1);
+        seq.setNextSeq(next + count);
         repository.save(seq);
         return next;
     }
@@ -1,10 +1,30 @@
 package com.cmms11.config;
 
+import com.github.sardine.Sardine;
+import com.github.sardine.impl.SardineImpl;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
 
 /**
  * 애플리케이션 설정 클래스
@@ -25,6 +45,15 @@ public class AppConfig {
         private String location = "storage/uploads";
         private long maxSize = 10485760L; // 10MB 기본값
         private String allowedExtensions = "jpg,jpeg,png,pdf,doc,docx,xls,xlsx,hwp,hwpx,zip,txt";
+        private long chunkSize = 8L * 1024 * 1024; // 이어받기 업로드 청크 크기 (S3 최소 파트 5MB 이상)
+        private long chunkedMaxSize = 2L * 1024 * 1024 * 1024; // 이어받기 업로드 최대 파일 크기 2GB
+        private int uploadSessionTtlHours = 24; // 완료되지 않은 업로드 세션 보존 시간
+        private int purgeRetentionDays = 90; // 삭제 표시 후 물리 삭제까지 유예 기간
+        private int purgeBatchSize = 500; // 정리 작업 한 트랜잭션에서 처리할 행 수
+        private int purgeConcurrency = 0; // 정리 작업 동시 삭제 수 (0 이면 저장소별 기본값)
+        private int previewThreads = 2; // 이미지 축소본 생성 스레드 수
+        private int previewQueueSize = 200; // 축소본 생성 대기열 크기 (가득 차면 요청 시 다시 생성)
+        private Map<String, ImagePolicy> imagePolicy = new HashMap<>(); // refEntity 별 업로드 이미지 축소 정책
 
         // Getters and Setters
         public String getLocation() {
@@ -51,6 +80,78 @@ public class AppConfig {
             this.allowedExtensions = allowedExtensions;
         }
 
+        public long getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(long chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public long getChunkedMaxSize() {
+            return chunkedMaxSize;
+        }
+
+        public void setChunkedMaxSize(long chunkedMaxSize) {
+            this.chunkedMaxSize = chunkedMaxSize;
+        }
+
+        public int getUploadSessionTtlHours() {
+            return uploadSessionTtlHours;
+        }
+
+        public void setUploadSessionTtlHours(int uploadSessionTtlHours) {
+            this.uploadSessionTtlHours = uploadSessionTtlHours;
+        }
+
+        public int getPurgeRetentionDays() {
+            return purgeRetentionDays;
+        }
+
+        public void setPurgeRetentionDays(int purgeRetentionDays) {
+            this.purgeRetentionDays = purgeRetentionDays;
+        }
+
+        public int getPurgeBatchSize() {
+            return purgeBatchSize;
+        }
+
+        public void setPurgeBatchSize(int purgeBatchSize) {
+            this.purgeBatchSize = purgeBatchSize;
+        }
+
+        public int getPurgeConcurrency() {
+            return purgeConcurrency;
+        }
+
+        public void setPurgeConcurrency(int purgeConcurrency) {
+            this.purgeConcurrency = purgeConcurrency;
+        }
+
+        public int getPreviewThreads() {
+            return previewThreads;
+        }
+
+        public void setPreviewThreads(int previewThreads) {
+            this.previewThreads = previewThreads;
+        }
+
+        public int getPreviewQueueSize() {
+            return previewQueueSize;
+        }
+
+        public void setPreviewQueueSize(int previewQueueSize) {
+            this.previewQueueSize = previewQueueSize;
+        }
+
+        public Map<String, ImagePolicy> getImagePolicy() {
+            return imagePolicy;
+        }
+
+        public void setImagePolicy(Map<String, ImagePolicy> imagePolicy) {
+            this.imagePolicy = imagePolicy;
+        }
+
         /**
          * 허용된 확장자 목록을 배열로 반환
          */
@@ -67,6 +168,48 @@ public class AppConfig {
         }
     }
 
+    /**
+     * 업로드 이미지(JPEG/PNG) 축소 정책. app.file-storage.image-policy.{refEntity}.* 로 지정한다.
+     */
+    public static class ImagePolicy {
+        private int maxEdge = 2048; // 긴 변이 이보다 크면 축소
+        private float quality = 0.82f; // JPEG 재압축 품질
+        private boolean keepOriginal = false; // 원본을 별도 보관할지 여부
+        private long maxSourceSize = 52428800L; // 축소 대상 원본의 최대 크기 50MB (max-size 는 축소 결과에 적용)
+
+        public int getMaxEdge() {
+            return maxEdge;
+        }
+
+        public void setMaxEdge(int maxEdge) {
+            this.maxEdge = maxEdge;
+        }
+
+        public float getQuality() {
+            return quality;
+        }
+
+        public void setQuality(float quality) {
+            this.quality = quality;
+        }
+
+        public boolean isKeepOriginal() {
+            return keepOriginal;
+        }
+
+        public void setKeepOriginal(boolean keepOriginal) {
+            this.keepOriginal = keepOriginal;
+        }
+
+        public long getMaxSourceSize() {
+            return maxSourceSize;
+        }
+
+        public void setMaxSourceSize(long maxSourceSize) {
+            this.maxSourceSize = maxSourceSize;
+        }
+    }
+
     /**
      * AWS S3 설정 Properties 클래스
      */
@@ -77,6 +220,15 @@ public class AppConfig {
         private boolean preserveOriginalFilename = true;
         private long maxSize = 10485760L;
         private String allowedExtensions = "jpg,jpeg,png,pdf,doc,docx,xls,xlsx,hwp,hwpx,zip,txt";
+        private String region = "ap-northeast-2";
+        private String endpoint; // MinIO 등 S3 호환 저장소 사용 시 지정
+        private boolean pathStyleAccess = false;
+        private String accessKey; // 비어 있으면 기본 자격 증명 체인(환경변수, 인스턴스 프로파일 등)
+        private String secretKey;
+        private int maxConnections = 50;
+        private long partSize = 8L * 1024 * 1024; // 멀티파트 파트 크기 (최소 5MB)
+        private int uploadConcurrency = 4; // 노드당 동시 파트 업로드 스레드 수
+        private int maxBufferedParts = 8; // 노드 전체 파트 버퍼 수 (메모리 상한 = partSize × maxBufferedParts)
 
         // Getters and Setters
         public String getBucketName() {
@@ -123,15 +275,215 @@ public class AppConfig {
             return allowedExtensions.split(",");
         }
 
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public void setEndpoint(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public boolean isPathStyleAccess() {
+            return pathStyleAccess;
+        }
+
+        public void setPathStyleAccess(boolean pathStyleAccess) {
+            this.pathStyleAccess = pathStyleAccess;
+        }
+
+        public String getAccessKey() {
+            return accessKey;
+        }
+
+        public void setAccessKey(String accessKey) {
+            this.accessKey = accessKey;
+        }
+
+        public String getSecretKey() {
+            return secretKey;
+        }
+
+        public void setSecretKey(String secretKey) {
+            this.secretKey = secretKey;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public long getPartSize() {
+            return partSize;
+        }
+
+        public void setPartSize(long partSize) {
+            this.partSize = partSize;
+        }
+
+        public int getUploadConcurrency() {
+            return uploadConcurrency;
+        }
+
+        public void setUploadConcurrency(int uploadConcurrency) {
+            this.uploadConcurrency = uploadConcurrency;
+        }
+
+        public int getMaxBufferedParts() {
+            return maxBufferedParts;
+        }
+
+        public void setMaxBufferedParts(int maxBufferedParts) {
+            this.maxBufferedParts = maxBufferedParts;
+        }
+
         public String getMaxSizeFormatted() {
             double sizeInMB = maxSize / (1024.0 * 1024.0);
             return String.format("%.1fMB", sizeInMB);
         }
     }
 
+    /**
+     * WebDAV 저장소 설정 Properties 클래스
+     */
+    @ConfigurationProperties(prefix = "storage.webdav")
+    public static class WebDavConfig {
+        private String url;
+        private String username;
+        private String password;
+        private int maxConnections = 20;
+        private int connectTimeoutMillis = 5000;
+        private int socketTimeoutMillis = 60000;
+        private int collectionCacheSize = 10000; // 생성 확인된 컬렉션(디렉터리) 캐시 크기
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+        }
+
+        public int getSocketTimeoutMillis() {
+            return socketTimeoutMillis;
+        }
+
+        public void setSocketTimeoutMillis(int socketTimeoutMillis) {
+            this.socketTimeoutMillis = socketTimeoutMillis;
+        }
+
+        public int getCollectionCacheSize() {
+            return collectionCacheSize;
+        }
+
+        public void setCollectionCacheSize(int collectionCacheSize) {
+            this.collectionCacheSize = collectionCacheSize;
+        }
+    }
+
     @Bean
     @ConfigurationProperties(prefix = "aws.s3")
     public S3Config s3Config() {
         return new S3Config();
     }
+
+    /**
+     * 애플리케이션 전체에서 공유하는 S3 클라이언트 (storage.type=s3).
+     * 커넥션 풀을 가진 Apache HTTP 클라이언트를 한 번만 생성해 재사용한다.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+    public S3Client s3Client(S3Config config) {
+        var builder = S3Client.builder()
+            .region(Region.of(config.getRegion()))
+            .credentialsProvider(s3Credentials(config))
+            .forcePathStyle(config.isPathStyleAccess())
+            .httpClientBuilder(ApacheHttpClient.builder()
+                .maxConnections(Math.max(1, config.getMaxConnections()))
+                .connectionTimeout(Duration.ofSeconds(5))
+                .socketTimeout(Duration.ofSeconds(60)));
+        if (StringUtils.hasText(config.getEndpoint())) {
+            builder.endpointOverride(URI.create(config.getEndpoint()));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "storage.webdav")
+    public WebDavConfig webDavConfig() {
+        return new WebDavConfig();
+    }
+
+    /**
+     * 애플리케이션 전체에서 공유하는 WebDAV 클라이언트 (storage.type=webdav).
+     * 풀링 커넥션 매니저로 NAS 연결을 재사용하며, 스트리밍 PUT 본문은 재전송할 수 없으므로 선인증(preemptive)을 사용한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "storage.type", havingValue = "webdav")
+    public Sardine sardine(WebDavConfig config) throws MalformedURLException {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(Math.max(1, config.getMaxConnections()));
+        connectionManager.setDefaultMaxPerRoute(Math.max(1, config.getMaxConnections()));
+        HttpClientBuilder builder = HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(config.getConnectTimeoutMillis())
+                .setConnectionRequestTimeout(config.getConnectTimeoutMillis())
+                .setSocketTimeout(config.getSocketTimeoutMillis())
+                .build());
+        Sardine sardine = new SardineImpl(builder, config.getUsername(), config.getPassword());
+        if (StringUtils.hasText(config.getUsername())) {
+            sardine.enablePreemptiveAuthentication(new URL(config.getUrl()));
+        }
+        return sardine;
+    }
+
+    private AwsCredentialsProvider s3Credentials(S3Config config) {
+        if (StringUtils.hasText(config.getAccessKey()) && StringUtils.hasText(config.getSecretKey())) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(config.getAccessKey(), config.getSecretKey()));
+        }
+        return DefaultCredentialsProvider.create();
+    }
 }
@@ -1,5 +1,7 @@
 package com.cmms11.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -12,6 +14,13 @@ public class ApprovalWebhookProperties {
     private final Security security = new Security();
     private final Retry retry = new Retry();
     private final Scheduler scheduler = new Scheduler();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Log log = new Log();
+    private final Coalescing coalescing = new Coalescing();
+    private final Batch batch = new Batch();
+    private final Idempotency idempotency = new Idempotency();
+    private final Inbound inbound = new Inbound();
+    private final Replay replay = new Replay();
 
     public String getCallbackBase() {
         return callbackBase;
@@ -33,9 +42,41 @@ public class ApprovalWebhookProperties {
         return scheduler;
     }
 
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Log getLog() {
+        return log;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public Inbound getInbound() {
+        return inbound;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
     public static class Security {
         private String secretKey = "cmms11_dev_secret_key";
+        private List<String> additionalSecretKeys = new ArrayList<>();
 
+        /**
+         * 발송 서명에 사용하는 현재 키. 수신 검증에도 사용된다.
+         */
         public String getSecretKey() {
             return secretKey;
         }
@@ -43,11 +84,25 @@ public class ApprovalWebhookProperties {
         public void setSecretKey(String secretKey) {
             this.secretKey = secretKey;
         }
+
+        /**
+         * 키 교체 기간 동안 수신 검증에만 추가로 허용하는 키 목록.
+         */
+        public List<String> getAdditionalSecretKeys() {
+            return additionalSecretKeys;
+        }
+
+        public void setAdditionalSecretKeys(List<String> additionalSecretKeys) {
+            this.additionalSecretKeys = additionalSecretKeys;
+        }
     }
 
     public static class Retry {
         private int maxAttempts = 5;
         private long backoffMillis = 5000;
+        private double multiplier = 2.0;
+        private long maxBackoffMillis = 600000;
+        private double jitterRatio = 0.5;
 
         public int getMaxAttempts() {
             return maxAttempts;
@@ -64,6 +119,33 @@ public class ApprovalWebhookProperties {
         public void setBackoffMillis(long backoffMillis) {
             this.backoffMillis = backoffMillis;
         }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public long getMaxBackoffMillis() {
+            return maxBackoffMillis;
+        }
+
+        public void setMaxBackoffMillis(long maxBackoffMillis) {
+            this.maxBackoffMillis = maxBackoffMillis;
+        }
+
+        /**
+         * 0~1 사이 값. 계산된 지연 시간 중 무작위로 줄일 수 있는 비율.
+         */
+        public double getJitterRatio() {
+            return jitterRatio;
+        }
+
+        public void setJitterRatio(double jitterRatio) {
+            this.jitterRatio = jitterRatio;
+        }
     }
 
     public static class Scheduler {
@@ -77,4 +159,289 @@ public class ApprovalWebhookProperties {
             this.delayMillis = delayMillis;
         }
     }
+
+    /**
+     * Callback 호스트 단위 서킷 브레이커 설정.
+     */
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        private int failureThreshold = 5;
+        private long openMillis = 60000;
+        private int halfOpenMaxProbes = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getOpenMillis() {
+            return openMillis;
+        }
+
+        public void setOpenMillis(long openMillis) {
+            this.openMillis = openMillis;
+        }
+
+        public int getHalfOpenMaxProbes() {
+            return halfOpenMaxProbes;
+        }
+
+        public void setHalfOpenMaxProbes(int halfOpenMaxProbes) {
+            this.halfOpenMaxProbes = halfOpenMaxProbes;
+        }
+    }
+
+    /**
+     * Webhook 발송 로그 적재/보존 설정.
+     */
+    public static class Log {
+        private int maxResponseBodyChars = 2000;
+        private int queueCapacity = 5000;
+        private int batchSize = 200;
+        private int retentionDays = 30;
+        private int purgeChunkSize = 1000;
+        private long purgePauseMillis = 100;
+        private int statRetentionDays = 400;
+
+        public int getMaxResponseBodyChars() {
+            return maxResponseBodyChars;
+        }
+
+        public void setMaxResponseBodyChars(int maxResponseBodyChars) {
+            this.maxResponseBodyChars = maxResponseBodyChars;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+
+        public int getPurgeChunkSize() {
+            return purgeChunkSize;
+        }
+
+        public void setPurgeChunkSize(int purgeChunkSize) {
+            this.purgeChunkSize = purgeChunkSize;
+        }
+
+        public long getPurgePauseMillis() {
+            return purgePauseMillis;
+        }
+
+        public void setPurgePauseMillis(long purgePauseMillis) {
+            this.purgePauseMillis = purgePauseMillis;
+        }
+
+        public int getStatRetentionDays() {
+            return statRetentionDays;
+        }
+
+        public void setStatRetentionDays(int statRetentionDays) {
+            this.statRetentionDays = statRetentionDays;
+        }
+    }
+
+    /**
+     * Outbox 이벤트 코얼레싱 설정. 활성화 시 같은 결재의 미발송 중간 이벤트는 최신 스냅샷으로 대체된다.
+     */
+    public static class Coalescing {
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Callback URL 단위 배치 전송 설정. 활성화 시 같은 URL의 이벤트를 {callbackUrl}/batch 로 묶어 전송한다.
+     */
+    public static class Batch {
+        private boolean enabled = false;
+        private int maxEvents = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEvents() {
+            return maxEvents;
+        }
+
+        public void setMaxEvents(int maxEvents) {
+            this.maxEvents = maxEvents;
+        }
+    }
+
+    /**
+     * Webhook 수신 멱등 처리 설정. retentionDays는 발신 측 재시도 기간보다 길어야 한다.
+     */
+    public static class Idempotency {
+        private int cacheSize = 10000;
+        private long cacheTtlMillis = 3600000;
+        private int retentionDays = 7;
+        private int purgeChunkSize = 1000;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public long getCacheTtlMillis() {
+            return cacheTtlMillis;
+        }
+
+        public void setCacheTtlMillis(long cacheTtlMillis) {
+            this.cacheTtlMillis = cacheTtlMillis;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+
+        public int getPurgeChunkSize() {
+            return purgeChunkSize;
+        }
+
+        public void setPurgeChunkSize(int purgeChunkSize) {
+            this.purgeChunkSize = purgeChunkSize;
+        }
+    }
+
+    /**
+     * Webhook 수신 처리 설정. async 활성화 시 서명 검증 후 수신 큐에 저장하고 즉시 응답하며, 상태 전이는 별도 스케줄러가 반영한다.
+     */
+    public static class Inbound {
+        private boolean async = false;
+        private int maxAttempts = 5;
+        private long backoffMillis = 5000;
+        private int retentionDays = 7;
+        private int failedRetentionDays = 30;
+        private int purgeChunkSize = 1000;
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getBackoffMillis() {
+            return backoffMillis;
+        }
+
+        public void setBackoffMillis(long backoffMillis) {
+            this.backoffMillis = backoffMillis;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+
+        public int getFailedRetentionDays() {
+            return failedRetentionDays;
+        }
+
+        public void setFailedRetentionDays(int failedRetentionDays) {
+            this.failedRetentionDays = failedRetentionDays;
+        }
+
+        public int getPurgeChunkSize() {
+            return purgeChunkSize;
+        }
+
+        public void setPurgeChunkSize(int purgeChunkSize) {
+            this.purgeChunkSize = purgeChunkSize;
+        }
+    }
+
+    /**
+     * FAILED 이벤트 일괄 재발송 설정. 재발송 이벤트의 next_attempt_at 을 초당 rate-per-second 건 간격으로 배치한다.
+     */
+    public static class Replay {
+        private int ratePerSecond = 5;
+        private int maxRatePerSecond = 50;
+        private int chunkSize = 100;
+
+        public int getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(int ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public int getMaxRatePerSecond() {
+            return maxRatePerSecond;
+        }
+
+        public void setMaxRatePerSecond(int maxRatePerSecond) {
+            this.maxRatePerSecond = maxRatePerSecond;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
 }
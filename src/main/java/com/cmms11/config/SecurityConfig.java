@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -47,6 +48,9 @@ public class SecurityConfig {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -75,8 +79,14 @@ public class SecurityConfig {
                     "/images/**",
                     "/favicon.ico",
                     "/api/health",
+                    "/actuator/health",
                     "/api/auth/logout"
                 ).permitAll()
+                // 지표는 내부망 관리 포트로 들어온 요청만 인증 없이 허용하고, 그 외(메인 포트)는 관리자만 조회한다.
+                .requestMatchers(request -> managementPort > 0
+                    && request.getLocalPort() == managementPort
+                    && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .formLogin(login -> login
@@ -0,0 +1,99 @@
+package com.cmms11.file;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * 파일 그룹을 ZIP 으로 스트리밍한다. 임시 파일 없이 저장소에서 읽는 대로 압축해 응답에 쓰므로
+ * 메모리 사용량은 그룹 크기와 관계없이 복사 버퍼와 Deflater 상태로 고정된다.
+ *
+ * 이미 압축된 형식(사진, 영상, OOXML 문서 등)은 압축 수준 0 으로 기록한다. ZIP 의 STORED 방식은 항목 앞에
+ * CRC 와 크기가 있어야 해서 한 번 더 읽어야 하므로, 스트리밍이 가능한 무압축 deflate 블록(64KB 당 5바이트 추가)을 쓴다.
+ */
+final class FileArchiveWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(FileArchiveWriter.class);
+
+    static final String MISSING_LIST_NAME = "_누락된_파일.txt";
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+        "jpg", "jpeg", "png", "gif", "webp", "heic",
+        "mp4", "mov", "avi", "mp3",
+        "zip", "7z", "gz", "rar",
+        "docx", "xlsx", "pptx", "hwpx"
+    );
+
+    private FileArchiveWriter() {
+    }
+
+    /**
+     * 저장소에 없는 파일은 건너뛰고 마지막에 목록 항목으로 남긴다(응답이 이미 시작되어 오류 상태를 보낼 수 없음).
+     */
+    static void write(List<FileDownload> files, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Set<String> usedNames = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+        for (FileDownload file : files) {
+            InputStream in;
+            try {
+                in = file.resource().getInputStream();
+            } catch (FileNotFoundException e) {
+                log.warn("압축 다운로드 중 파일 누락: {}", file.originalName());
+                missing.add(file.originalName());
+                continue;
+            }
+            try (in) {
+                ZipEntry entry = new ZipEntry(uniqueName(file.originalName(), usedNames));
+                if (file.lastModified() >= 0) {
+                    entry.setTime(file.lastModified());
+                }
+                zip.setLevel(isCompressed(file.originalName()) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(entry);
+                in.transferTo(zip);
+                zip.closeEntry();
+            }
+        }
+        if (!missing.isEmpty()) {
+            zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+            zip.putNextEntry(new ZipEntry(uniqueName(MISSING_LIST_NAME, usedNames)));
+            zip.write(String.join("\r\n", missing).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    /**
+     * 같은 이름이 있으면 "이름 (2).확장자" 처럼 번호를 붙인다. 대소문자만 다른 이름도 같은 것으로 본다(Windows 압축 해제).
+     */
+    static String uniqueName(String originalName, Set<String> usedNames) {
+        String name = StringUtils.hasText(originalName) ? originalName.replace('\\', '_').replace('/', '_') : "file";
+        String candidate = name;
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int n = 2; !usedNames.add(candidate.toLowerCase(Locale.ROOT)); n++) {
+            candidate = base + " (" + n + ")" + extension;
+        }
+        return candidate;
+    }
+
+    private static boolean isCompressed(String originalName) {
+        String extension = StringUtils.getFilenameExtension(originalName);
+        return extension != null && COMPRESSED_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+    }
+}
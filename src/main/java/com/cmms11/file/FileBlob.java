@@ -0,0 +1,39 @@
+package com.cmms11.file;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 내용 주소(SHA-256) 기반 물리 파일. 같은 내용의 file_item 은 하나의 blob 을 참조하며 ref_count 로 참조 수를 관리한다.
+ */
+@Entity
+@Table(name = "file_blob")
+@Getter
+@Setter
+@NoArgsConstructor
+public class FileBlob {
+
+    @EmbeddedId
+    private FileBlobId id;
+
+    @Column(name = "storage_path", length = 255, nullable = false)
+    private String storagePath;
+
+    @Column(name = "size")
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,67 @@
+package com.cmms11.file;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface FileBlobRepository extends JpaRepository<FileBlob, FileBlobId> {
+
+    /**
+     * 참조 추가(upsert). 1이면 새 blob 행 생성, 2이면 기존 blob 의 ref_count 증가.
+     * 행 잠금은 트랜잭션 종료까지 유지되므로 같은 내용의 동시 업로드/정리 작업은 순서대로 처리된다.
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO file_blob (company_id, checksum_sha256, storage_path, size, ref_count, created_at, updated_at) "
+            + "VALUES (:companyId, :checksum, :storagePath, :size, 1, :now, :now) "
+            + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = :now",
+        nativeQuery = true
+    )
+    int addReference(
+        @Param("companyId") String companyId,
+        @Param("checksum") String checksum,
+        @Param("storagePath") String storagePath,
+        @Param("size") long size,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 참조 해제. ref_count 가 0 이 된 blob 은 정리 작업이 유예 기간 후 물리 파일과 함께 삭제한다.
+     */
+    @Modifying
+    @Query(
+        "UPDATE FileBlob b SET b.refCount = b.refCount - 1, b.updatedAt = :now "
+            + "WHERE b.id.companyId = :companyId AND b.id.checksumSha256 = :checksum AND b.refCount > 0"
+    )
+    int releaseReference(
+        @Param("companyId") String companyId,
+        @Param("checksum") String checksum,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 현재 참조 수. {@link #addReference} 가 2 를 반환한 직후 1 이면 참조 0 이던(정리 대기) 행을 되살린 것이다.
+     */
+    @Query("SELECT b.refCount FROM FileBlob b WHERE b.id.companyId = :companyId AND b.id.checksumSha256 = :checksum")
+    Integer findRefCount(@Param("companyId") String companyId, @Param("checksum") String checksum);
+
+    /**
+     * 참조가 없는 blob 을 잠가 조회한다(키셋 페이지). 잠금은 물리 파일 삭제와 행 삭제가 끝날 때까지 유지되어
+     * 같은 내용의 새 업로드(addReference)는 정리가 커밋된 뒤 새 blob 으로 등록된다.
+     */
+    @Query(
+        value = "SELECT * FROM file_blob WHERE ref_count = 0 AND updated_at < :cutoff "
+            + "AND (company_id > :companyId OR (company_id = :companyId AND checksum_sha256 > :checksum)) "
+            + "ORDER BY company_id, checksum_sha256 LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    List<FileBlob> lockUnreferenced(
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("companyId") String companyId,
+        @Param("checksum") String checksum,
+        @Param("limit") int limit
+    );
+}
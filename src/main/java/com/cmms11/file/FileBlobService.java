@@ -0,0 +1,144 @@
+package com.cmms11.file;
+
+import com.cmms11.file.storage.StorageService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 내용 주소(SHA-256) 기반 파일 저장과 참조 수 관리.
+ *
+ * 업로드 스트림은 저장소에 기록하면서 동시에 해시를 계산한다(두 번 읽지 않음). 해시가 정해지면
+ * 새 내용은 blobs/{sha256} 경로로 옮기고, 이미 있는 내용이면 방금 기록한 파일을 지우고 참조 수만 늘린다.
+ * blob 파일은 커밋 전에 게시하므로 커밋된 행은 항상 파일을 가진다. 롤백되면 행 없는 blob 파일이 남을 수 있으나
+ * 같은 내용이 다시 올라오면 덮어써질 뿐 해가 없다.
+ */
+@Service
+public class FileBlobService {
+
+    private static final Logger log = LoggerFactory.getLogger(FileBlobService.class);
+
+    private final FileBlobRepository blobRepository;
+    private final StorageService storageService;
+
+    public FileBlobService(FileBlobRepository blobRepository, StorageService storageService) {
+        this.blobRepository = blobRepository;
+        this.storageService = storageService;
+    }
+
+    /**
+     * 호출 트랜잭션 안에서 실행한다. blob 행 잠금이 커밋까지 유지되어 같은 내용의 동시 업로드와 정리 작업이 겹치지 않는다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoredBlob store(
+        String companyId,
+        String fileGroupId,
+        String storedName,
+        InputStream inputStream,
+        String contentType,
+        long size
+    ) throws IOException {
+        MessageDigest digest = sha256();
+        String stagingPath;
+        try (DigestInputStream digestStream = new DigestInputStream(inputStream, digest)) {
+            stagingPath = storageService.store(companyId, fileGroupId, storedName, digestStream, contentType);
+        }
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        try {
+            return register(companyId, checksum, stagingPath, size, true);
+        } catch (IOException | RuntimeException ex) {
+            discard(stagingPath);
+            throw ex;
+        }
+    }
+
+    /**
+     * 이미 저장소에 기록된 파일(stagingPath)을 내용 주소 blob 으로 등록한다.
+     * 임시 파일은 호출 측 소유(이어받기 업로드 세션)이므로 복사해 게시하고, 커밋된 뒤에만 지운다.
+     * 롤백되면 임시 파일이 남아 다시 등록할 수 있다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoredBlob register(String companyId, String checksum, String stagingPath, long size) throws IOException {
+        return register(companyId, checksum, stagingPath, size, false);
+    }
+
+    private StoredBlob register(String companyId, String checksum, String stagingPath, long size, boolean ownsStaging)
+        throws IOException {
+        String blobPath = storageService.blobPath(companyId, checksum);
+        boolean created = blobRepository.addReference(companyId, checksum, blobPath, size, LocalDateTime.now()) == 1
+            || revived(companyId, checksum);
+        // 이전 게시가 실패했거나 파일이 사라진 blob 은 이번 업로드로 다시 게시한다.
+        boolean publish = created || !storageService.exists(blobPath);
+        if (ownsStaging) {
+            if (publish) {
+                storageService.move(stagingPath, blobPath);
+            } else {
+                discard(stagingPath);
+            }
+        } else {
+            if (publish) {
+                storageService.copy(stagingPath, blobPath);
+            }
+            discardAfterCommit(stagingPath);
+        }
+        return new StoredBlob(checksum, blobPath, !created);
+    }
+
+    /**
+     * 참조 0 인 행은 정리 작업이 파일을 지웠거나 지우는 중일 수 있다(파일 삭제 후 행 삭제 커밋 실패 포함).
+     * 이런 행을 되살린 업로드는 새 blob 으로 보고 자기 파일을 게시한다.
+     */
+    private boolean revived(String companyId, String checksum) {
+        Integer refCount = blobRepository.findRefCount(companyId, checksum);
+        return refCount != null && refCount == 1;
+    }
+
+    private void discardAfterCommit(String stagingPath) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                discard(stagingPath);
+            }
+        });
+    }
+
+    private void discard(String stagingPath) {
+        try {
+            storageService.delete(stagingPath);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("업로드 임시 파일 삭제 실패: path={}, error={}", stagingPath, ex.getMessage());
+        }
+    }
+
+    /**
+     * file_item 이 물리 삭제될 때 호출한다. 참조가 0 이 된 blob 은 정리 작업이 삭제한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String companyId, String checksum) {
+        if (checksum != null) {
+            blobRepository.releaseReference(companyId, checksum, LocalDateTime.now());
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    public record StoredBlob(String checksumSha256, String storagePath, boolean duplicate) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.cmms11.file;
+
+import com.cmms11.config.AppConfig;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 소프트 삭제된 첨부파일의 물리 삭제 (매월 1일 02:00).
+ *
+ * 1단계: 삭제 표시 후 유예 기간(purge-retention-days, 기본 90일)이 지난 file_item 을 키셋 순서로 배치 삭제한다.
+ * 2단계: 1단계까지 참조가 0 이 된 blob 의 파일과 행을 삭제한다.
+ * 배치마다 트랜잭션이 나뉘어 긴 잠금이 생기지 않고, 행 잠금(SKIP LOCKED)으로 여러 노드가 동시에 실행해도 안전하다.
+ */
+@Component
+public class FileCleanupScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCleanupScheduler.class);
+
+    private final FileCleanupService cleanupService;
+    private final AppConfig.FileStorageConfig config;
+
+    public FileCleanupScheduler(FileCleanupService cleanupService, AppConfig.FileStorageConfig config) {
+        this.cleanupService = cleanupService;
+        this.config = config;
+    }
+
+    @Scheduled(cron = "${app.file-storage.purge-cron:0 0 2 1 * *}")
+    public void purge() {
+        int batchSize = Math.max(1, config.getPurgeBatchSize());
+        LocalDateTime itemCutoff = LocalDateTime.now().minusDays(Math.max(1, config.getPurgeRetentionDays()));
+        try {
+            long items = purgeItems(itemCutoff, batchSize);
+            long blobs = purgeBlobs(LocalDateTime.now(), batchSize);
+            if (items > 0 || blobs > 0) {
+                log.info("첨부파일 물리 삭제 완료: items={}, blobs={}", items, blobs);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("첨부파일 물리 삭제 실패: {}", ex.getMessage());
+        }
+    }
+
+    long purgeItems(LocalDateTime cutoff, int batchSize) {
+        long total = 0;
+        FileItemId cursor = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            FileCleanupService.PurgeBatch<FileItemId> batch = cleanupService.purgeDeletedItems(cursor, cutoff, batchSize);
+            total += batch.purged();
+            if (batch.selected() < batchSize) {
+                break;
+            }
+            cursor = batch.last();
+        }
+        return total;
+    }
+
+    long purgeBlobs(LocalDateTime cutoff, int batchSize) {
+        long total = 0;
+        FileBlobId cursor = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            FileCleanupService.PurgeBatch<FileBlobId> batch = cleanupService.purgeUnreferencedBlobs(cursor, cutoff, batchSize);
+            total += batch.purged();
+            if (batch.selected() < batchSize) {
+                break;
+            }
+            cursor = batch.last();
+        }
+        return total;
+    }
+}
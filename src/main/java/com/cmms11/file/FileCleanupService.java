@@ -0,0 +1,160 @@
+package com.cmms11.file;
+
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.StorageService;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * 삭제 표시 파일과 참조가 없는 blob 의 물리 삭제. 배치 하나가 트랜잭션 하나이며 {@link FileCleanupScheduler} 가 반복 호출한다.
+ *
+ * 대상 행은 FOR UPDATE SKIP LOCKED 로 잠가 가져오므로 여러 노드가 동시에 실행해도 서로 다른 행을 처리한다.
+ * 물리 파일은 저장소별 동시 삭제 수(deleteParallelism)만큼 병렬로 지우고, 삭제에 실패한 행은 남겨 다음 실행에서 다시 시도한다.
+ * 원본 옆의 이미지 축소본({@link FilePreviewSize})도 함께 지운다.
+ */
+@Service
+public class FileCleanupService {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCleanupService.class);
+
+    private final FileItemRepository itemRepository;
+    private final FileBlobRepository blobRepository;
+    private final FileBlobService blobService;
+    private final StorageService storageService;
+    private final ExecutorService deleter;
+
+    public FileCleanupService(
+        FileItemRepository itemRepository,
+        FileBlobRepository blobRepository,
+        FileBlobService blobService,
+        StorageService storageService,
+        AppConfig.FileStorageConfig config
+    ) {
+        this.itemRepository = itemRepository;
+        this.blobRepository = blobRepository;
+        this.blobService = blobService;
+        this.storageService = storageService;
+        int parallelism = config.getPurgeConcurrency() > 0 ? config.getPurgeConcurrency() : storageService.deleteParallelism();
+        AtomicInteger threadNo = new AtomicInteger();
+        this.deleter = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "file-purge-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deleter.shutdown();
+    }
+
+    /**
+     * cursor 다음부터 limit 건의 삭제 표시 항목을 물리 삭제한다.
+     * blob 을 참조하는 항목은 참조 수만 줄이고(파일은 {@link #purgeUnreferencedBlobs} 가 삭제), blob 도입 이전 항목은 자기 파일을 삭제한다.
+     * 업로드 시 축소된 이미지의 보관 원본도 blob 이므로 같은 방식으로 참조를 줄인다.
+     */
+    @Transactional
+    public PurgeBatch<FileItemId> purgeDeletedItems(FileItemId cursor, LocalDateTime cutoff, int limit) {
+        FileItemId after = cursor != null ? cursor : new FileItemId("", "", "");
+        List<FileItem> items = itemRepository.lockPurgeable(
+            cutoff, after.getCompanyId(), after.getFileGroupId(), after.getFileId(), limit);
+        if (items.isEmpty()) {
+            return new PurgeBatch<>(0, 0, null);
+        }
+
+        List<String> ownFiles = new ArrayList<>();
+        for (FileItem item : items) {
+            if (!StringUtils.hasText(item.getChecksumSha256()) && StringUtils.hasText(item.getStoragePath())) {
+                ownFiles.add(item.getStoragePath());
+            }
+        }
+        Set<String> failed = deleteFiles(ownFiles);
+
+        List<FileItem> purged = new ArrayList<>(items.size());
+        for (FileItem item : items) {
+            if (failed.contains(item.getStoragePath()) && !StringUtils.hasText(item.getChecksumSha256())) {
+                continue;
+            }
+            blobService.release(item.getId().getCompanyId(), item.getChecksumSha256());
+            blobService.release(item.getId().getCompanyId(), item.getOriginalChecksum());
+            purged.add(item);
+        }
+        itemRepository.deleteAllInBatch(purged);
+        return new PurgeBatch<>(items.size(), purged.size(), items.get(items.size() - 1).getId());
+    }
+
+    /**
+     * 참조 수가 0 인 blob 의 파일과 행을 삭제한다. 행 잠금을 쥔 채 파일을 지우므로 같은 내용의 업로드와 겹치지 않는다.
+     */
+    @Transactional
+    public PurgeBatch<FileBlobId> purgeUnreferencedBlobs(FileBlobId cursor, LocalDateTime cutoff, int limit) {
+        FileBlobId after = cursor != null ? cursor : new FileBlobId("", "");
+        List<FileBlob> blobs = blobRepository.lockUnreferenced(cutoff, after.getCompanyId(), after.getChecksumSha256(), limit);
+        if (blobs.isEmpty()) {
+            return new PurgeBatch<>(0, 0, null);
+        }
+
+        Set<String> failed = deleteFiles(blobs.stream().map(FileBlob::getStoragePath).toList());
+        List<FileBlob> purged = blobs.stream().filter(blob -> !failed.contains(blob.getStoragePath())).toList();
+        blobRepository.deleteAllInBatch(purged);
+        return new PurgeBatch<>(blobs.size(), purged.size(), blobs.get(blobs.size() - 1).getId());
+    }
+
+    /**
+     * 파일을 병렬로 삭제하고 실패한 경로를 반환한다.
+     */
+    private Set<String> deleteFiles(List<String> paths) {
+        Set<String> failed = new HashSet<>();
+        if (paths.isEmpty()) {
+            return failed;
+        }
+        List<Future<?>> futures = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            futures.add(deleter.submit(() -> {
+                // 이미지 축소본을 먼저 지운다(원본이 남아 있으면 실패 시 다음 실행에서 다시 시도된다).
+                for (FilePreviewSize size : FilePreviewSize.values()) {
+                    storageService.delete(size.pathOf(path));
+                }
+                storageService.delete(path);
+                return null;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            String path = paths.get(i);
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException ex) {
+                failed.add(path);
+                log.warn("파일 물리 삭제 실패: path={}, error={}", path, ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                // 완료를 확인하지 못한 파일은 행을 남겨 다음 실행에서 다시 삭제한다.
+                failed.addAll(paths.subList(i, paths.size()));
+                break;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * @param selected 잠가 조회한 행 수 (limit 보다 작으면 마지막 배치)
+     * @param purged   삭제한 행 수
+     * @param last     다음 배치의 키셋 커서
+     */
+    public record PurgeBatch<K>(int selected, int purged, K last) {
+    }
+}
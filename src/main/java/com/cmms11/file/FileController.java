@@ -1,20 +1,40 @@
 package com.cmms11.file;
 
+import com.cmms11.common.error.NotFoundException;
+import com.cmms11.file.storage.StorageResource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriUtils;
 
@@ -22,6 +42,16 @@ import org.springframework.web.util.UriUtils;
 @RequestMapping("/api/files")
 public class FileController {
 
+    // Tomcat sendfile: 응답 본문을 쓰지 않고 파일 경로를 넘기면 커넥터가 커널 sendfile 로 디스크→소켓 직접 전송한다.
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // 작은 파일은 sendfile 준비 비용이 더 크므로 일반 스트림 전송 (Tomcat DefaultServlet 기본값과 동일)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+    // 압축 다운로드 응답 버퍼: 작은 deflate 출력을 모아 소켓 쓰기 횟수를 줄인다.
+    private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+
     private final FileService fileService;
 
     public FileController(FileService fileService) {
@@ -52,12 +82,52 @@ public class FileController {
         return ResponseEntity.ok(fileService.getGroup(groupId));
     }
 
+    /**
+     * 파일 그룹 전체를 ZIP 으로 내려받는다. 저장소에서 읽는 대로 압축해 보내므로 임시 파일이 없고 응답 크기와 관계없이 메모리가 일정하다.
+     * 비동기 요청 제한 시간(StreamingResponseBody)에 걸리지 않도록 요청 스레드에서 직접 응답 스트림에 쓴다.
+     * 목록 조회 트랜잭션은 쓰기 전에 끝나고(open-in-view 비활성) 쓰는 동안에는 DB 커넥션을 잡지 않는다.
+     */
+    @GetMapping("/archive")
+    public void archive(@RequestParam("groupId") String groupId, HttpServletResponse response) throws IOException {
+        List<FileDownload> files = fileService.downloadAll(groupId);
+        String fileName = "files_" + groupId + ".zip";
+        response.setContentType("application/zip");
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + fileName + "\"; filename*=UTF-8''" + UriUtils.encode(fileName, StandardCharsets.UTF_8)
+        );
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().cachePrivate().getHeaderValue());
+        try (OutputStream out = new BufferedOutputStream(response.getOutputStream(), ARCHIVE_BUFFER_SIZE)) {
+            FileArchiveWriter.write(files, out);
+        }
+    }
+
+    /**
+     * 파일 다운로드. 강한 ETag/Last-Modified 로 조건부 GET(304)을 처리하고,
+     * Range 요청은 단일 구간이면 206, 여러 구간이면 multipart/byteranges 로 응답한다.
+     * 구간 읽기는 저장소에 위임하여(로컬 채널 위치 이동, S3/WebDAV Range GET) 필요한 바이트만 읽는다.
+     * 큰 파일도 비동기 요청 제한 시간에 걸리지 않도록 요청 스레드에서 직접 응답 스트림에 쓴다(쓰는 동안 DB 커넥션 미점유).
+     * original=true 이면 업로드 시 축소된 이미지의 보관 원본을 내려준다.
+     */
     @GetMapping("/{fileId}")
-    public ResponseEntity<Resource> download(
+    public void download(
         @PathVariable String fileId,
-        @RequestParam("groupId") String groupId
-    ) {
-        FileDownload download = fileService.download(groupId, fileId);
+        @RequestParam("groupId") String groupId,
+        @RequestParam(value = "original", defaultValue = "false") boolean original,
+        @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+        @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+        ServletWebRequest webRequest,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        FileDownload download = original ? fileService.downloadOriginal(groupId, fileId) : fileService.download(groupId, fileId);
+        // 브라우저가 저장하되 매번 재검증하도록 한다 (Spring Security 기본값 no-store 대체, 304 응답에도 적용).
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        // If-None-Match / If-Modified-Since 일치 시 304 (저장소 접근 없음). ETag, Last-Modified 응답 헤더도 여기서 설정된다.
+        if (webRequest.checkNotModified(download.eTag(), download.lastModified())) {
+            return;
+        }
+
         String contentType = download.mimeType();
         if (!StringUtils.hasText(contentType)) {
             contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
@@ -65,15 +135,99 @@ public class FileController {
         String encodedName = UriUtils.encode(download.originalName(), StandardCharsets.UTF_8);
         // 안전한 ASCII 파일명 생성 (확장자 유지)
         String safeFilename = "file_" + fileId + getFileExtension(download.originalName());
-        
+
+        StorageResource resource = download.resource();
+        long size = download.size();
+        Path localPath;
+        try {
+            localPath = resource.localPath();
+        } catch (FileNotFoundException e) {
+            throw new NotFoundException("파일을 찾을 수 없습니다: " + fileId);
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        List<HttpRange> ranges;
+        try {
+            ranges = requestedRanges(rangeHeader, ifRange, download);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            return;
+        }
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + safeFilename + "\"; filename*=UTF-8''" + encodedName
+        );
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            long start = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            long length = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            response.setContentLengthLong(length);
+            if (head || sendfile(request, localPath, start, length)) {
+                return;
+            }
+            try (InputStream in = resource.getInputStream(start, length)) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        if (ranges.size() > 1) {
+            String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType("multipart/byteranges; boundary=" + boundary);
+            if (head) {
+                return;
+            }
+            writeByteRanges(response.getOutputStream(), resource, ranges, size, contentType, boundary);
+            return;
+        }
+
+        response.setContentType(contentType);
+        if (size >= 0) {
+            response.setContentLengthLong(size);
+        }
+        if (head || sendfile(request, localPath, 0, size)) {
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    /**
+     * 이미지 축소본(size=thumb|preview, 기본 thumb). 내용이 바뀌지 않으므로 브라우저가 30일간 재검증 없이 재사용한다.
+     * 축소본이 아직 없으면 404 (생성은 백그라운드에서 진행).
+     */
+    @GetMapping("/{fileId}/preview")
+    public ResponseEntity<InputStreamResource> preview(
+        @PathVariable String fileId,
+        @RequestParam("groupId") String groupId,
+        @RequestParam(value = "size", required = false) String size,
+        ServletWebRequest webRequest
+    ) throws IOException {
+        FileDownload preview = fileService.preview(groupId, fileId, FilePreviewSize.from(size));
+        webRequest.getResponse().setHeader(
+            HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofDays(30)).cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(preview.eTag(), preview.lastModified())) {
+            return null;
+        }
+        InputStream inputStream;
+        try {
+            inputStream = preview.resource().getInputStream();
+        } catch (FileNotFoundException e) {
+            throw new NotFoundException("미리보기가 없습니다: " + fileId);
+        }
         return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .header(
-                HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename=\"" + safeFilename + "\"; filename*=UTF-8''" + encodedName
-            )
-            .contentLength(download.size())
-            .body(download.resource());
+            .contentType(MediaType.IMAGE_JPEG)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
+            .body(new InputStreamResource(inputStream));
     }
 
     @DeleteMapping("/{fileId}")
@@ -82,6 +236,80 @@ public class FileController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * 적용할 Range 목록. Range 가 없거나 If-Range 가 현재 ETag/Last-Modified 와 다르면 빈 목록(전체 전송).
+     * 충족할 수 없는 구간이거나 구간 합이 파일 크기를 넘으면 IllegalArgumentException (416).
+     */
+    private List<HttpRange> requestedRanges(String rangeHeader, String ifRange, FileDownload download) {
+        if (!StringUtils.hasText(rangeHeader) || download.size() <= 0) {
+            return List.of();
+        }
+        if (StringUtils.hasText(ifRange) && !ifRangeMatches(ifRange.trim(), download)) {
+            return List.of();
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+        long total = 0;
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(download.size());
+            long end = range.getRangeEnd(download.size());
+            if (start >= download.size() || start > end) {
+                throw new IllegalArgumentException("요청 구간이 파일 크기를 벗어납니다.");
+            }
+            total += end - start + 1;
+        }
+        if (total > download.size()) {
+            throw new IllegalArgumentException("요청 구간 합이 파일 크기를 초과합니다.");
+        }
+        return ranges;
+    }
+
+    private boolean ifRangeMatches(String ifRange, FileDownload download) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(download.eTag());
+        }
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return download.lastModified() >= 0 && date / 1000 == download.lastModified() / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 로컬 파일이고 컨테이너가 sendfile 을 지원하면 전송을 위임한다. 위임했으면 true (응답 본문을 쓰지 않는다).
+     */
+    private boolean sendfile(HttpServletRequest request, Path localPath, long start, long length) {
+        if (localPath == null || length < SENDFILE_MIN_SIZE || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME, localPath.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, start + length);
+        return true;
+    }
+
+    private void writeByteRanges(
+        OutputStream out,
+        StorageResource resource,
+        List<HttpRange> ranges,
+        long size,
+        String contentType,
+        String boundary
+    ) throws IOException {
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            String partHeader = "\r\n--" + boundary + "\r\n"
+                + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                + HttpHeaders.CONTENT_RANGE + ": bytes " + start + "-" + end + "/" + size + "\r\n\r\n";
+            out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+            try (InputStream in = resource.getInputStream(start, end - start + 1)) {
+                in.transferTo(out);
+            }
+        }
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
     /**
      * 파일명에서 확장자를 추출하는 헬퍼 메서드
      * @param filename 원본 파일명
@@ -1,6 +1,17 @@
 package com.cmms11.file;
 
-import org.springframework.core.io.Resource;
+import com.cmms11.file.storage.StorageResource;
 
-public record FileDownload(Resource resource, String originalName, String mimeType, long size) {
+/**
+ * 다운로드 대상 파일. resource 는 지연 Resource 로, 본문을 읽기 전까지 저장소에 접근하지 않는다.
+ * eTag 는 따옴표를 포함한 강한 ETag, lastModified 는 epoch millis.
+ */
+public record FileDownload(
+    StorageResource resource,
+    String originalName,
+    String mimeType,
+    long size,
+    String eTag,
+    long lastModified
+) {
 }
@@ -0,0 +1,91 @@
+package com.cmms11.file;
+
+import com.cmms11.config.AppConfig;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 업로드 이미지 축소 (refEntity 별 정책, app.file-storage.image-policy.{refEntity}.*).
+ *
+ * 긴 변이 정책의 max-edge 를 넘는 JPEG/PNG 를 저장 전에 축소하여 다시 압축한다. JPEG 는 JPEG(quality), PNG 는 무손실 PNG 로 저장하므로
+ * 확장자와 형식이 그대로이다. 헤더만 읽어 크기를 판단하고 필요한 해상도만큼만 디코딩하며, 결과가 원본보다 크거나 해석할 수 없는
+ * 이미지는 원본을 그대로 저장한다.
+ */
+@Component
+public class FileImageOptimizer {
+
+    private static final Logger log = LoggerFactory.getLogger(FileImageOptimizer.class);
+
+    private final Map<String, AppConfig.ImagePolicy> policies = new HashMap<>();
+
+    public FileImageOptimizer(AppConfig.FileStorageConfig config) {
+        // 설정 키의 대소문자와 관계없이 refEntity 로 찾는다.
+        config.getImagePolicy().forEach((refEntity, policy) -> policies.put(refEntity.toUpperCase(Locale.ROOT), policy));
+    }
+
+    /**
+     * refEntity 에 정책이 있고 JPEG/PNG 이면 정책, 아니면 null.
+     */
+    public AppConfig.ImagePolicy policyFor(String refEntity, String extension) {
+        if (!StringUtils.hasText(refEntity) || formatOf(extension) == null) {
+            return null;
+        }
+        return policies.get(refEntity.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * 축소한 이미지. 축소가 필요 없거나 이득이 없으면 null (원본을 그대로 저장).
+     *
+     * @param size 원본 크기 (결과가 이보다 작을 때만 사용)
+     */
+    public Optimized optimize(InputStream in, String extension, long size, AppConfig.ImagePolicy policy) throws IOException {
+        String format = formatOf(extension);
+        try (ImageScaler.Source source = ImageScaler.open(in)) {
+            if (source == null || source.longEdge() <= policy.getMaxEdge()) {
+                return null;
+            }
+            BufferedImage image = ImageScaler.downscale(source.read(policy.getMaxEdge()), policy.getMaxEdge(), "png".equals(format));
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(size, 1024 * 1024));
+            if ("png".equals(format)) {
+                ImageScaler.writePng(image, out);
+            } else {
+                ImageScaler.writeJpeg(image, policy.getQuality(), out);
+            }
+            if (out.size() >= size) {
+                return null;
+            }
+            return new Optimized(out.toByteArray(), "image/" + format);
+        } catch (IOException | RuntimeException ex) {
+            // 디코딩할 수 없는 이미지(CMYK JPEG 등)는 원본 그대로 저장한다.
+            log.debug("업로드 이미지 축소 생략: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static String formatOf(String extension) {
+        if (extension == null) {
+            return null;
+        }
+        return switch (extension.toLowerCase(Locale.ROOT)) {
+            case "jpg", "jpeg" -> "jpeg";
+            case "png" -> "png";
+            default -> null;
+        };
+    }
+
+    /**
+     * @param content  축소·재압축한 내용 (정책의 max-edge 로 크기가 제한되어 메모리에 둔다)
+     * @param mimeType image/jpeg 또는 image/png
+     */
+    public record Optimized(byte[] content, String mimeType) {
+    }
+}
@@ -43,6 +43,17 @@ public class FileItem {
     @Column(name = "storage_path", length = 255)
     private String storagePath;
 
+    // 업로드 시 축소된 이미지의 보관 원본 (image-policy.keep-original). 원본도 blob 으로 저장된다.
+    @Column(name = "original_checksum", length = 64)
+    private String originalChecksum;
+
+    @Column(name = "original_size")
+    private Long originalSize;
+
+    // 이미지 축소본 상태: null 미생성, Y 생성됨, N 대상 아님/생성 실패
+    @Column(name = "preview_status", length = 1)
+    private String previewStatus;
+
     @Column(length = 500)
     private String note;
 
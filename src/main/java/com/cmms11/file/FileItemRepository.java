@@ -1,8 +1,13 @@
 package com.cmms11.file;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface FileItemRepository extends JpaRepository<FileItem, FileItemId> {
 
@@ -23,4 +28,42 @@ public interface FileItemRepository extends JpaRepository<FileItem, FileItemId>
         String fileId,
         String deleteMark
     );
+
+    // 삭제 표시된 항목도 line_no 를 점유하므로 포함하여 조회
+    @Query("SELECT COALESCE(MAX(i.lineNo), 0) FROM FileItem i WHERE i.id.companyId = :companyId AND i.id.fileGroupId = :fileGroupId")
+    int findMaxLineNo(@Param("companyId") String companyId, @Param("fileGroupId") String fileGroupId);
+
+    /**
+     * 유예 기간이 지난 삭제 표시 항목을 기본 키 순서로 잠가 조회한다(키셋 페이지).
+     * SKIP LOCKED 로 다른 노드가 처리 중인 행은 건너뛰므로 여러 노드에서 동시에 실행해도 같은 행을 처리하지 않는다.
+     */
+    @Query(
+        value = "SELECT * FROM file_item WHERE delete_mark = 'Y' AND updated_at < :cutoff "
+            + "AND (company_id > :companyId OR (company_id = :companyId AND (file_group_id > :fileGroupId "
+            + "OR (file_group_id = :fileGroupId AND file_id > :fileId)))) "
+            + "ORDER BY company_id, file_group_id, file_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+        nativeQuery = true
+    )
+    List<FileItem> lockPurgeable(
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("companyId") String companyId,
+        @Param("fileGroupId") String fileGroupId,
+        @Param("fileId") String fileId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * 같은 내용(storage_path)을 참조하는 항목 전체의 축소본 상태를 갱신한다 (ix_file_item_path 사용).
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "UPDATE FileItem i SET i.previewStatus = :status "
+            + "WHERE i.id.companyId = :companyId AND i.storagePath = :storagePath"
+    )
+    int updatePreviewStatus(
+        @Param("companyId") String companyId,
+        @Param("storagePath") String storagePath,
+        @Param("status") String status
+    );
 }
@@ -5,7 +5,8 @@ public record FileItemResponse(
     Integer lineNo,
     String originalName,
     Long size,
-    String mimeType
+    String mimeType,
+    boolean preview
 ) {
 
     public static FileItemResponse from(FileItem item) {
@@ -14,7 +15,8 @@ public record FileItemResponse(
             item.getLineNo(),
             item.getOriginalName(),
             item.getSize(),
-            item.getMime()
+            item.getMime(),
+            "Y".equals(item.getPreviewStatus())
         );
     }
 }
@@ -0,0 +1,10 @@
+package com.cmms11.file;
+
+/**
+ * 이미지 첨부의 축소본 생성 요청. 같은 내용(storagePath)의 항목은 축소본을 공유한다.
+ */
+public record FilePreviewRequestedEvent(
+    String companyId,
+    String storagePath
+) {
+}
@@ -0,0 +1,146 @@
+package com.cmms11.file;
+
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.StorageService;
+import jakarta.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * 이미지 첨부의 축소본(썸네일/미리보기) 비동기 생성.
+ *
+ * 업로드가 커밋된 뒤 전용 스레드 풀에서 원본을 읽어 JPEG 축소본을 만들고 원본 옆({storagePath}.thumb.jpg 등)에 저장한다.
+ * 원본은 서브샘플링으로 필요한 해상도만 디코딩하므로({@link ImageScaler}) 고해상도 사진도 메모리를 적게 쓴다.
+ * 같은 내용은 축소본을 공유하며, 생성 결과는 file_item.preview_status 에 기록된다.
+ * 대기열이 가득 차면 요청을 버리고, 축소본이 없는 항목은 다음 미리보기 요청 때 다시 생성된다.
+ */
+@Service
+public class FilePreviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(FilePreviewService.class);
+
+    private static final Set<String> PREVIEWABLE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+    private final FileItemRepository itemRepository;
+    private final StorageService storageService;
+    private final ThreadPoolExecutor executor;
+    // 생성 중인 원본 경로. 같은 내용의 중복 요청을 한 번만 처리한다.
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public FilePreviewService(
+        FileItemRepository itemRepository,
+        StorageService storageService,
+        AppConfig.FileStorageConfig config
+    ) {
+        this.itemRepository = itemRepository;
+        this.storageService = storageService;
+        int threads = Math.max(1, config.getPreviewThreads());
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, config.getPreviewQueueSize())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "file-preview-" + threadNo.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * ImageIO 로 디코딩할 수 있는 형식인지 (확장자 기준).
+     */
+    public static boolean isPreviewable(String extension) {
+        return extension != null && PREVIEWABLE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 업로드 트랜잭션이 커밋된 뒤에만 생성한다 (롤백된 업로드의 원본은 저장소에 남지 않을 수 있음).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPreviewRequested(FilePreviewRequestedEvent event) {
+        if (!StringUtils.hasText(event.storagePath()) || !inFlight.add(event.storagePath())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(event.companyId(), event.storagePath());
+                } finally {
+                    inFlight.remove(event.storagePath());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(event.storagePath());
+            log.debug("축소본 생성 대기열이 가득 찼습니다: {}", event.storagePath());
+        }
+    }
+
+    void generate(String companyId, String storagePath) {
+        String status = "N";
+        try {
+            if (!allExist(storagePath)) {
+                createPreviews(storagePath);
+            }
+            status = "Y";
+        } catch (IOException | RuntimeException ex) {
+            log.warn("축소본 생성 실패: path={}, error={}", storagePath, ex.getMessage());
+        }
+        itemRepository.updatePreviewStatus(companyId, storagePath, status);
+    }
+
+    private boolean allExist(String storagePath) throws IOException {
+        for (FilePreviewSize size : FilePreviewSize.values()) {
+            if (!storageService.exists(size.pathOf(storagePath))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 원본은 한 번만 디코딩하고, 작은 축소본은 앞에서 만든 큰 축소본을 다시 줄여 만든다.
+     */
+    private void createPreviews(String storagePath) throws IOException {
+        BufferedImage image;
+        try (InputStream in = storageService.retrieve(storagePath);
+             ImageScaler.Source source = ImageScaler.open(in)) {
+            if (source == null) {
+                throw new IOException("지원하지 않는 이미지 형식입니다.");
+            }
+            image = source.read(FilePreviewSize.PREVIEW.maxEdge());
+        }
+        for (FilePreviewSize size : new FilePreviewSize[] {FilePreviewSize.PREVIEW, FilePreviewSize.THUMB}) {
+            image = ImageScaler.downscale(image, size.maxEdge(), false);
+            ByteArrayOutputStream jpeg = new ByteArrayOutputStream(32 * 1024);
+            ImageScaler.writeJpeg(image, size.quality(), jpeg);
+            storageService.write(size.pathOf(storagePath), new ByteArrayInputStream(jpeg.toByteArray()), "image/jpeg");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.cmms11.file;
+
+import java.util.Locale;
+
+/**
+ * 이미지 첨부의 축소본 종류. 원본 저장 경로 옆에 {storagePath}.{suffix}.jpg 로 저장된다.
+ */
+public enum FilePreviewSize {
+
+    /** 목록/갤러리용 (긴 변 320px) */
+    THUMB("thumb", 320, 0.80f),
+    /** 상세 화면 보기용 (긴 변 1280px) */
+    PREVIEW("preview", 1280, 0.85f);
+
+    private final String suffix;
+    private final int maxEdge;
+    private final float quality;
+
+    FilePreviewSize(String suffix, int maxEdge, float quality) {
+        this.suffix = suffix;
+        this.maxEdge = maxEdge;
+        this.quality = quality;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public int maxEdge() {
+        return maxEdge;
+    }
+
+    public float quality() {
+        return quality;
+    }
+
+    public String pathOf(String storagePath) {
+        return storagePath + "." + suffix + ".jpg";
+    }
+
+    public static FilePreviewSize from(String value) {
+        if (value == null || value.isBlank()) {
+            return THUMB;
+        }
+        for (FilePreviewSize size : values()) {
+            if (size.suffix.equals(value.toLowerCase(Locale.ROOT))) {
+                return size;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 미리보기 크기입니다: " + value);
+    }
+}
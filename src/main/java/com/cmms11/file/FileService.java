@@ -2,21 +2,24 @@ package com.cmms11.file;
 
 import com.cmms11.common.error.NotFoundException;
 import com.cmms11.common.seq.AutoNumberService;
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.StorageResource;
 import com.cmms11.file.storage.StorageService;
 import com.cmms11.security.MemberUserDetailsService;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -32,6 +35,9 @@ public class FileService {
     private final FileItemRepository itemRepository;
     private final AutoNumberService autoNumberService;
     private final StorageService storageService;
+    private final FileBlobService blobService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FileImageOptimizer imageOptimizer;
     private final long maxFileSize;
     private final Set<String> allowedExtensions;
 
@@ -40,6 +46,9 @@ public class FileService {
         FileItemRepository itemRepository,
         AutoNumberService autoNumberService,
         StorageService storageService,
+        FileBlobService blobService,
+        ApplicationEventPublisher eventPublisher,
+        FileImageOptimizer imageOptimizer,
         @Value("${app.file-storage.max-size:10485760}") long maxFileSize,
         @Value("${app.file-storage.allowed-extensions:jpg,jpeg,png,pdf,txt}") String allowedExtensions
     ) {
@@ -47,6 +56,9 @@ public class FileService {
         this.itemRepository = itemRepository;
         this.autoNumberService = autoNumberService;
         this.storageService = storageService;
+        this.blobService = blobService;
+        this.eventPublisher = eventPublisher;
+        this.imageOptimizer = imageOptimizer;
         this.maxFileSize = maxFileSize;
         this.allowedExtensions = Arrays.stream(allowedExtensions.split(","))
             .map(String::trim)
@@ -83,47 +95,145 @@ public class FileService {
             String originalName = cleanFileName(file.getOriginalFilename());
             String extension = extractExtension(originalName);
             validateExtension(extension, originalName);
-            validateSize(file.getSize(), originalName);
+            AppConfig.ImagePolicy imagePolicy = imageOptimizer.policyFor(group.getRefEntity(), extension);
 
             // ✅ UUID 기반 fileId 생성 (sequence LOCK 제거!)
             String fileId = generateShortFileId();
             String storedName = buildStoredName(fileId, extension);
+            String groupId = group.getId().getFileGroupId();
             
-            // 파일 저장 (StorageService 사용)
-            String storagePath;
-            try (InputStream inputStream = file.getInputStream()) {
-                storagePath = storageService.store(
-                    companyId, 
-                    group.getId().getFileGroupId(), 
-                    storedName,
-                    inputStream, 
-                    file.getContentType()
-                );
+            // 저장하면서 SHA-256 계산, 같은 내용이 이미 있으면 기존 blob 을 참조한다.
+            FileBlobService.StoredBlob blob;
+            KeptOriginal original = null;
+            String mimeType = file.getContentType();
+            long size = file.getSize();
+            try {
+                FileImageOptimizer.Optimized optimized = null;
+                if (imagePolicy != null) {
+                    // 축소 대상 이미지는 원본이 아닌 축소 결과에 max-size 를 적용한다.
+                    validateSize(size, originalName, imagePolicy.getMaxSourceSize());
+                    try (InputStream inputStream = file.getInputStream()) {
+                        optimized = imageOptimizer.optimize(inputStream, extension, size, imagePolicy);
+                    }
+                }
+                if (optimized == null) {
+                    validateSize(size, originalName);
+                    try (InputStream inputStream = file.getInputStream()) {
+                        blob = blobService.store(companyId, groupId, storedName, inputStream, mimeType, size);
+                    }
+                } else {
+                    validateSize(optimized.content().length, originalName);
+                    if (imagePolicy.isKeepOriginal()) {
+                        try (InputStream inputStream = file.getInputStream()) {
+                            FileBlobService.StoredBlob originalBlob = blobService.store(
+                                companyId, groupId, buildStoredName(fileId + "_orig", extension), inputStream, mimeType, size);
+                            original = new KeptOriginal(originalBlob, size);
+                        }
+                    }
+                    mimeType = optimized.mimeType();
+                    size = optimized.content().length;
+                    blob = blobService.store(
+                        companyId, groupId, storedName, new ByteArrayInputStream(optimized.content()), mimeType, size);
+                }
             } catch (IOException e) {
                 throw new IllegalStateException("파일을 저장할 수 없습니다.", e);
             }
 
-            FileItem item = new FileItem();
-            item.setId(new FileItemId(companyId, group.getId().getFileGroupId(), fileId));
-            item.setLineNo(++currentLineNo);
-            item.setOriginalName(originalName);
-            item.setStoredName(storedName);
-            item.setExt(extension);
-            item.setMime(file.getContentType());
-            item.setSize(file.getSize());
-            item.setChecksumSha256(null);  // checksum 제거
-            item.setStoragePath(storagePath);
-            item.setDeleteMark("N");
-            item.setCreatedAt(now);
-            item.setCreatedBy(memberId);
-            item.setUpdatedAt(now);
-            item.setUpdatedBy(memberId);
-            itemRepository.save(item);
+            addItem(group, ++currentLineNo, fileId, originalName, extension, mimeType, size, blob, original, memberId, now);
         }
 
         return toResponse(group, activeItems(companyId, group.getId().getFileGroupId()));
     }
 
+    /**
+     * 이어받기 업로드로 저장소에 등록된 blob 을 파일 그룹의 새 항목으로 추가한다.
+     */
+    public FileGroupResponse attach(
+        String requestedGroupId,
+        String refEntity,
+        String refId,
+        String originalName,
+        String mimeType,
+        long size,
+        FileBlobService.StoredBlob blob
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        String memberId = MemberUserDetailsService.getCurrentMemberId();
+
+        FileGroup group = resolveGroup(requestedGroupId, refEntity, refId, companyId, memberId, now);
+        group.setUpdatedAt(now);
+        group.setUpdatedBy(memberId);
+        group = groupRepository.save(group);
+
+        String groupId = group.getId().getFileGroupId();
+        int lineNo = itemRepository.findMaxLineNo(companyId, groupId) + 1;
+        String extension = extractExtension(originalName);
+        addItem(group, lineNo, generateShortFileId(), originalName, extension, mimeType, size, blob, null, memberId, now);
+
+        return toResponse(group, activeItems(companyId, groupId));
+    }
+
+    /**
+     * 업로드 가능한 파일 이름인지 확인하고 경로를 제거한 이름을 반환한다. 크기 제한은 호출 측에서 확인한다.
+     */
+    @Transactional(readOnly = true)
+    public String validatedFileName(String originalName) {
+        String cleanName = cleanFileName(originalName);
+        validateExtension(extractExtension(cleanName), cleanName);
+        return cleanName;
+    }
+
+    /**
+     * 지정한 파일 그룹이 있는지 확인한다. 이어받기 업로드는 청크를 받기 전에 확인하여 완료 단계에서 실패하지 않게 한다.
+     */
+    @Transactional(readOnly = true)
+    public void requireGroup(String groupId) {
+        if (StringUtils.hasText(groupId) && groupRepository
+            .findByIdCompanyIdAndIdFileGroupId(MemberUserDetailsService.DEFAULT_COMPANY, groupId)
+            .isEmpty()) {
+            throw new NotFoundException("파일 그룹을 찾을 수 없습니다: " + groupId);
+        }
+    }
+
+    private void addItem(
+        FileGroup group,
+        int lineNo,
+        String fileId,
+        String originalName,
+        String extension,
+        String mimeType,
+        long size,
+        FileBlobService.StoredBlob blob,
+        KeptOriginal original,
+        String memberId,
+        LocalDateTime now
+    ) {
+        FileItem item = new FileItem();
+        item.setId(new FileItemId(group.getId().getCompanyId(), group.getId().getFileGroupId(), fileId));
+        item.setLineNo(lineNo);
+        item.setOriginalName(originalName);
+        item.setStoredName(buildStoredName(fileId, extension));
+        item.setExt(extension);
+        item.setMime(mimeType);
+        item.setSize(size);
+        item.setChecksumSha256(blob.checksumSha256());
+        item.setStoragePath(blob.storagePath());
+        if (original != null) {
+            item.setOriginalChecksum(original.blob().checksumSha256());
+            item.setOriginalSize(original.size());
+        }
+        item.setDeleteMark("N");
+        item.setCreatedAt(now);
+        item.setCreatedBy(memberId);
+        item.setUpdatedAt(now);
+        item.setUpdatedBy(memberId);
+        itemRepository.save(item);
+        if (isImage(extension, mimeType)) {
+            eventPublisher.publishEvent(new FilePreviewRequestedEvent(item.getId().getCompanyId(), blob.storagePath()));
+        }
+    }
+
     @Transactional(readOnly = true)
     public FileGroupResponse getGroup(String groupId) {
         if (!StringUtils.hasText(groupId)) {
@@ -136,44 +246,59 @@ public class FileService {
         return toResponse(group, activeItems(companyId, groupId));
     }
 
+    /**
+     * DB 메타데이터만 조회한다. 저장소 접근은 응답 본문을 쓸 때 {@link StorageResource} 가 수행한다.
+     */
     @Transactional(readOnly = true)
     public FileDownload download(String groupId, String fileId) {
-        FileItem item = requireActiveFile(groupId, fileId);
-        String storagePath = item.getStoragePath();
-        
-        try {
-            // 파일 존재 확인
-            if (!storageService.exists(storagePath)) {
-                // Fallback: 구 경로 시도
-                if (storageService.existsLegacy(groupId, item.getStoredName())) {
-                    InputStream inputStream = storageService.retrieveLegacy(groupId, item.getStoredName());
-                    return createFileDownload(inputStream, item);
-                }
-                throw new NotFoundException("파일을 찾을 수 없습니다: " + fileId);
-            }
-            
-            // InputStream 가져오기
-            InputStream inputStream = storageService.retrieve(storagePath);
-            return createFileDownload(inputStream, item);
-            
-        } catch (Exception e) {
-            throw new IllegalStateException("파일 다운로드 실패: " + fileId, e);
+        return toDownload(requireActiveFile(groupId, fileId));
+    }
+
+    /**
+     * 그룹의 활성 파일 전체(순번 순). 압축 다운로드용이며 저장소 접근은 하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public List<FileDownload> downloadAll(String groupId) {
+        if (!StringUtils.hasText(groupId)) {
+            throw new IllegalArgumentException("fileGroupId 는 필수입니다.");
         }
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        groupRepository
+            .findByIdCompanyIdAndIdFileGroupId(companyId, groupId)
+            .orElseThrow(() -> new NotFoundException("파일 그룹을 찾을 수 없습니다: " + groupId));
+        return itemRepository
+            .findByIdCompanyIdAndIdFileGroupIdAndDeleteMark(companyId, groupId, "N")
+            .stream()
+            .sorted(Comparator.comparing(FileItem::getLineNo))
+            .map(this::toDownload)
+            .toList();
     }
-    
-    private FileDownload createFileDownload(InputStream inputStream, FileItem item) {
-        Resource resource = new InputStreamResource(inputStream) {
-            @Override
-            public String getFilename() {
-                return item.getOriginalName();
+
+    /**
+     * 이미지 축소본. 아직 만들어지지 않았으면 생성을 요청하고 404 를 반환한다(클라이언트는 원본이나 아이콘으로 대체).
+     * 404 로 끝나도 생성 요청(커밋 후 이벤트)이 전달되도록 NotFoundException 은 롤백 대상에서 제외한다.
+     */
+    @Transactional(readOnly = true, noRollbackFor = NotFoundException.class)
+    public FileDownload preview(String groupId, String fileId, FilePreviewSize size) {
+        FileItem item = requireActiveFile(groupId, fileId);
+        if (!"Y".equals(item.getPreviewStatus()) || !StringUtils.hasText(item.getStoragePath())) {
+            if (item.getPreviewStatus() == null
+                && StringUtils.hasText(item.getStoragePath())
+                && isImage(item.getExt(), item.getMime())) {
+                // 기능 도입 이전 업로드나 대기열이 넘쳐 버려진 요청을 조회 시점에 채운다.
+                eventPublisher.publishEvent(new FilePreviewRequestedEvent(item.getId().getCompanyId(), item.getStoragePath()));
             }
-        };
-        
+            throw new NotFoundException("미리보기가 없습니다: " + fileId);
+        }
+        StorageResource resource = new StorageResource(storageService, size.pathOf(item.getStoragePath()), groupId, null, -1L);
+        String version = StringUtils.hasText(item.getChecksumSha256()) ? item.getChecksumSha256() : item.getId().getFileId();
         return new FileDownload(
             resource,
             item.getOriginalName(),
-            item.getMime(),
-            item.getSize()
+            "image/jpeg",
+            -1L,
+            "\"" + version + "-" + size.suffix() + "\"",
+            lastModifiedOf(item)
         );
     }
 
@@ -197,8 +322,7 @@ public class FileService {
         group.setUpdatedBy(memberId);
         groupRepository.save(group);
         
-        // ⚠️ 물리 파일은 90일 후 별도 배치 작업으로 삭제
-        // TODO: 스케줄러 작업 추가 필요 (예: FileCleanupScheduler)
+        // ⚠️ 물리 파일은 유예 기간(기본 90일) 후 FileCleanupScheduler 가 삭제
     }
 
     private FileGroup resolveGroup(
@@ -262,6 +386,79 @@ public class FileService {
             .orElseThrow(() -> new NotFoundException("파일을 찾을 수 없습니다: " + fileId));
     }
 
+    /**
+     * 업로드 시 축소된 이미지의 보관 원본 (image-policy.keep-original). 보관하지 않았으면 404.
+     */
+    @Transactional(readOnly = true)
+    public FileDownload downloadOriginal(String groupId, String fileId) {
+        FileItem item = requireActiveFile(groupId, fileId);
+        if (!StringUtils.hasText(item.getOriginalChecksum())) {
+            throw new NotFoundException("보관된 원본이 없습니다: " + fileId);
+        }
+        long size = item.getOriginalSize() != null ? item.getOriginalSize() : -1L;
+        String companyId = item.getId().getCompanyId();
+        StorageResource resource = new StorageResource(
+            storageService,
+            storageService.blobPath(companyId, item.getOriginalChecksum()),
+            groupId,
+            null,
+            size
+        );
+        return new FileDownload(
+            resource,
+            item.getOriginalName(),
+            item.getMime(),
+            size,
+            "\"" + item.getOriginalChecksum() + "\"",
+            lastModifiedOf(item)
+        );
+    }
+
+    private FileDownload toDownload(FileItem item) {
+        long size = item.getSize() != null ? item.getSize() : -1L;
+        StorageResource resource = new StorageResource(
+            storageService,
+            item.getStoragePath(),
+            item.getId().getFileGroupId(),
+            item.getStoredName(),
+            size
+        );
+        return new FileDownload(
+            resource,
+            item.getOriginalName(),
+            item.getMime(),
+            size,
+            eTagOf(item),
+            lastModifiedOf(item)
+        );
+    }
+
+    /**
+     * 저장된 파일은 덮어쓰지 않으므로(fileId 마다 새 파일) 체크섬이 없으면 fileId 로도 강한 ETag 가 된다.
+     */
+    private String eTagOf(FileItem item) {
+        String value = StringUtils.hasText(item.getChecksumSha256())
+            ? item.getChecksumSha256()
+            : item.getId().getFileId() + "-" + item.getSize();
+        return "\"" + value + "\"";
+    }
+
+    private long lastModifiedOf(FileItem item) {
+        LocalDateTime createdAt = item.getCreatedAt();
+        return createdAt != null ? createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1L;
+    }
+
+    /**
+     * 축소 전 원본의 blob 과 크기.
+     */
+    private record KeptOriginal(FileBlobService.StoredBlob blob, long size) {
+    }
+
+    private boolean isImage(String extension, String mimeType) {
+        return FilePreviewService.isPreviewable(extension)
+            || (!StringUtils.hasText(extension) && mimeType != null && mimeType.startsWith("image/"));
+    }
+
     private String cleanFileName(String originalName) {
         if (!StringUtils.hasText(originalName)) {
             throw new IllegalArgumentException("파일 이름이 비어 있습니다.");
@@ -293,10 +490,14 @@ public class FileService {
     }
 
     private void validateSize(long size, String originalName) {
+        validateSize(size, originalName, maxFileSize);
+    }
+
+    private void validateSize(long size, String originalName, long limit) {
         if (size <= 0) {
             throw new IllegalArgumentException("빈 파일은 업로드할 수 없습니다: " + originalName);
         }
-        if (maxFileSize > 0 && size > maxFileSize) {
+        if (limit > 0 && size > limit) {
             throw new IllegalArgumentException("파일 크기가 허용 범위를 초과했습니다: " + originalName);
         }
     }
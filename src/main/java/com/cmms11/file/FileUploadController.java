@@ -0,0 +1,79 @@
+package com.cmms11.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 이어받기(청크) 업로드 API.
+ *
+ * 1. POST /api/files/uploads 로 세션 생성 (파일명, 크기) → uploadId, chunkSize
+ * 2. PUT /api/files/uploads/{uploadId}?offset=N 으로 본문에 청크 바이트 전송 (Content-Length 필수)
+ *    offset 이 서버 수신 위치와 다르면 409 와 현재 상태를 돌려주므로, 끊긴 뒤에는 GET 또는 409 응답의 receivedSize 부터 다시 보낸다.
+ * 3. POST /api/files/uploads/{uploadId}/complete 로 확정 → 일반 업로드와 같은 파일 그룹 응답
+ */
+@RestController
+@RequestMapping("/api/files/uploads")
+public class FileUploadController {
+
+    private final FileUploadService uploadService;
+
+    public FileUploadController(FileUploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+
+    @PostMapping
+    public ResponseEntity<FileUploadSessionResponse> create(@Valid @RequestBody FileUploadCreateRequest request) {
+        FileUploadSessionResponse response = uploadService.create(request);
+        return ResponseEntity.created(URI.create("/api/files/uploads/" + response.uploadId())).body(response);
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<FileUploadSessionResponse> status(@PathVariable String uploadId) {
+        return ResponseEntity.ok(uploadService.status(uploadId));
+    }
+
+    /**
+     * 요청 본문을 멀티파트 파싱이나 임시 파일 없이 그대로 저장소로 전달한다.
+     */
+    @PutMapping("/{uploadId}")
+    public ResponseEntity<FileUploadSessionResponse> appendChunk(
+        @PathVariable String uploadId,
+        @RequestParam("offset") long offset,
+        HttpServletRequest request
+    ) throws IOException {
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(uploadService.appendChunk(uploadId, offset, body, request.getContentLengthLong()));
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<FileGroupResponse> complete(@PathVariable String uploadId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadService.complete(uploadId));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable String uploadId) {
+        uploadService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(UploadOffsetConflictException.class)
+    public ResponseEntity<FileUploadSessionResponse> handleOffsetConflict(UploadOffsetConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getStatus());
+    }
+}
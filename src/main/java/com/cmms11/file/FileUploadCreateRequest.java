@@ -0,0 +1,19 @@
+package com.cmms11.file;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 이어받기 업로드 세션 생성 요청 DTO. groupId 가 없으면 완료 시 새 파일 그룹을 만든다.
+ */
+public record FileUploadCreateRequest(
+    @Size(max = 10) String groupId,
+    @Size(max = 64) String refEntity,
+    @Size(max = 10) String refId,
+    @NotBlank @Size(max = 255) String fileName,
+    @NotNull @Positive Long size,
+    @Size(max = 100) String mimeType
+) {
+}
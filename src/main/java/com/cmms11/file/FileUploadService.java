@@ -0,0 +1,399 @@
+package com.cmms11.file;
+
+import com.cmms11.common.error.NotFoundException;
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.ChunkedUpload;
+import com.cmms11.file.storage.StorageService;
+import com.cmms11.security.MemberUserDetailsService;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * 이어받기(청크) 업로드.
+ *
+ * 세션을 만든 뒤 클라이언트가 offset 과 함께 청크를 PUT 하면 요청 본문을 그대로 저장소에 기록한다(멀티파트 임시 파일 없음).
+ * 수신 위치(received_size)는 DB 에 있으므로 연결이 끊기거나 다른 노드로 요청이 가도 이어서 받을 수 있고,
+ * 완료 시 SHA-256 으로 blob 에 등록한 뒤 일반 업로드와 같은 file_item 을 만든다.
+ */
+@Service
+@Transactional
+public class FileUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(FileUploadService.class);
+
+    private static final int DIGEST_CACHE_SIZE = 1000;
+    private static final int PURGE_CHUNK_SIZE = 100;
+    // S3 멀티파트 최소 파트 크기. 마지막을 제외한 청크가 한 파트가 되므로 이보다 작을 수 없다.
+    private static final long MIN_CHUNK_SIZE = 5L * 1024 * 1024;
+
+    private final FileUploadSessionRepository sessionRepository;
+    private final FileService fileService;
+    private final FileBlobService blobService;
+    private final StorageService storageService;
+    private final long chunkSize;
+    private final long maxSize;
+    private final int ttlHours;
+    // 이 노드가 받은 청크까지의 SHA-256 진행 상태. 없거나 위치가 다르면(재시작, 다른 노드 수신) 완료 시 저장소에서 다시 읽는다.
+    private final Map<String, ChunkDigest> digests = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ChunkDigest> eldest) {
+            return size() > DIGEST_CACHE_SIZE;
+        }
+    };
+
+    public FileUploadService(
+        FileUploadSessionRepository sessionRepository,
+        FileService fileService,
+        FileBlobService blobService,
+        StorageService storageService,
+        AppConfig.FileStorageConfig config
+    ) {
+        this.sessionRepository = sessionRepository;
+        this.fileService = fileService;
+        this.blobService = blobService;
+        this.storageService = storageService;
+        this.chunkSize = Math.max(MIN_CHUNK_SIZE, config.getChunkSize());
+        this.maxSize = config.getChunkedMaxSize();
+        this.ttlHours = Math.max(1, config.getUploadSessionTtlHours());
+    }
+
+    public FileUploadSessionResponse create(FileUploadCreateRequest request) {
+        String originalName = fileService.validatedFileName(request.fileName());
+        long size = request.size() != null ? request.size() : 0L;
+        if (size <= 0) {
+            throw new IllegalArgumentException("빈 파일은 업로드할 수 없습니다: " + originalName);
+        }
+        if (maxSize > 0 && size > maxSize) {
+            throw new IllegalArgumentException("파일 크기가 허용 범위를 초과했습니다: " + originalName);
+        }
+        fileService.requireGroup(request.groupId());
+
+        String companyId = MemberUserDetailsService.DEFAULT_COMPANY;
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        ChunkedUpload upload;
+        try {
+            upload = storageService.beginChunked(companyId, uploadId, request.mimeType());
+        } catch (IOException e) {
+            throw new IllegalStateException("업로드를 시작할 수 없습니다.", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        FileUploadSession session = new FileUploadSession();
+        session.setId(new FileUploadSessionId(companyId, uploadId));
+        session.setFileGroupId(StringUtils.hasText(request.groupId()) ? request.groupId() : null);
+        session.setRefEntity(request.refEntity());
+        session.setRefId(request.refId());
+        session.setOriginalName(originalName);
+        session.setMime(request.mimeType());
+        session.setTotalSize(size);
+        session.setChunkSize(chunkSize);
+        session.setReceivedSize(0L);
+        session.setStagingPath(upload.stagingPath());
+        session.setStorageUploadId(upload.storageUploadId());
+        session.setCreatedAt(now);
+        session.setCreatedBy(MemberUserDetailsService.getCurrentMemberId());
+        session.setUpdatedAt(now);
+        session.setExpiresAt(now.plusHours(ttlHours));
+        return FileUploadSessionResponse.from(sessionRepository.save(session));
+    }
+
+    @Transactional(readOnly = true)
+    public FileUploadSessionResponse status(String uploadId) {
+        return FileUploadSessionResponse.from(requireOwnSession(uploadId));
+    }
+
+    /**
+     * 청크를 기록하고 수신 위치를 옮긴다. 전송 시간 동안 DB 트랜잭션과 행 잠금을 잡지 않는다.
+     * 요청 단위 영속성 컨텍스트(open-in-view)는 비활성이므로 조회가 끝나면 커넥션도 반환된다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public FileUploadSessionResponse appendChunk(String uploadId, long offset, InputStream inputStream, long length) {
+        FileUploadSession session = requireOwnSession(uploadId);
+        long total = session.getTotalSize();
+        long received = session.getReceivedSize();
+        if (offset != received) {
+            throw new UploadOffsetConflictException(offset, FileUploadSessionResponse.from(session));
+        }
+        if (length <= 0) {
+            throw new IllegalArgumentException("청크 길이(Content-Length)가 필요합니다.");
+        }
+        long end = offset + length;
+        if (end > total) {
+            throw new IllegalArgumentException("청크가 파일 크기를 넘습니다: " + end + "/" + total);
+        }
+        if (end < total && length != session.getChunkSize()) {
+            throw new IllegalArgumentException("마지막 청크가 아니면 청크 크기는 " + session.getChunkSize() + " 바이트여야 합니다.");
+        }
+
+        MessageDigest digest = resumeDigest(uploadId, offset);
+        InputStream source = new ExactLengthInputStream(inputStream, length);
+        if (digest != null) {
+            source = new DigestInputStream(source, digest);
+        }
+        int partNumber = (int) (offset / session.getChunkSize()) + 1;
+        try {
+            storageService.writeChunk(session.toChunkedUpload(), partNumber, offset, source, length);
+        } catch (IOException e) {
+            throw new IllegalStateException("청크를 저장할 수 없습니다: " + e.getMessage(), e);
+        }
+
+        String companyId = session.getId().getCompanyId();
+        if (sessionRepository.advance(companyId, uploadId, offset, end, LocalDateTime.now()) == 0) {
+            FileUploadSession current = sessionRepository.findById(session.getId())
+                .orElseThrow(() -> new NotFoundException("업로드 세션을 찾을 수 없습니다: " + uploadId));
+            throw new UploadOffsetConflictException(offset, FileUploadSessionResponse.from(current));
+        }
+        if (digest != null) {
+            rememberDigest(uploadId, end, digest);
+        }
+        session.setReceivedSize(end);
+        return FileUploadSessionResponse.from(session);
+    }
+
+    /**
+     * 모든 청크를 받은 세션을 하나의 파일로 확정하고 file_item 을 만든다.
+     * blob 경로 이동은 커밋 후에 일어나므로, 실패해 롤백되면 세션과 임시 파일이 그대로 남아 다시 완료할 수 있다.
+     */
+    public FileGroupResponse complete(String uploadId) {
+        FileUploadSession session = lockOwnSession(uploadId);
+        long total = session.getTotalSize();
+        if (session.getReceivedSize() != total) {
+            throw new IllegalStateException("업로드가 끝나지 않았습니다: " + session.getReceivedSize() + "/" + total);
+        }
+
+        String companyId = session.getId().getCompanyId();
+        FileBlobService.StoredBlob blob;
+        try {
+            storageService.completeChunked(session.toChunkedUpload(), session.partCount());
+            String checksum = completedChecksum(uploadId, total);
+            if (checksum == null) {
+                checksum = checksumOf(session.getStagingPath());
+            }
+            blob = blobService.register(companyId, checksum, session.getStagingPath(), total);
+        } catch (IOException e) {
+            throw new IllegalStateException("업로드를 완료할 수 없습니다.", e);
+        }
+
+        FileGroupResponse response = fileService.attach(
+            session.getFileGroupId(),
+            session.getRefEntity(),
+            session.getRefId(),
+            session.getOriginalName(),
+            session.getMime(),
+            total,
+            blob
+        );
+        sessionRepository.delete(session);
+        forgetDigest(uploadId);
+        return response;
+    }
+
+    public void abort(String uploadId) {
+        FileUploadSession session = lockOwnSession(uploadId);
+        try {
+            storageService.abortChunked(session.toChunkedUpload());
+        } catch (IOException e) {
+            throw new IllegalStateException("업로드를 취소할 수 없습니다.", e);
+        }
+        sessionRepository.delete(session);
+        forgetDigest(uploadId);
+    }
+
+    /**
+     * 만료된 세션의 저장소 청크와 세션 행을 정리한다. 만료 세션이 남지 않을 때까지 청크 단위로 반복하며,
+     * 저장소 정리에 실패한 세션은 건너뛰고 다음 실행에서 다시 시도한다.
+     */
+    @Scheduled(cron = "${app.file-storage.upload-session-purge-cron:0 20 * * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        int failed = 0;
+        PageRequest chunk = PageRequest.of(0, PURGE_CHUNK_SIZE);
+        List<FileUploadSession> expired = sessionRepository.findExpired(now, chunk);
+        while (!expired.isEmpty()) {
+            for (FileUploadSession session : expired) {
+                try {
+                    storageService.abortChunked(session.toChunkedUpload());
+                    sessionRepository.delete(session);
+                    forgetDigest(session.getId().getUploadId());
+                    purged++;
+                } catch (IOException | RuntimeException e) {
+                    failed++;
+                    log.warn("만료 업로드 세션 정리 실패: uploadId={}, error={}", session.getId().getUploadId(), e.getMessage());
+                }
+            }
+            if (expired.size() < PURGE_CHUNK_SIZE) {
+                break;
+            }
+            FileUploadSession last = expired.get(expired.size() - 1);
+            expired = sessionRepository.findExpiredAfter(now, last.getExpiresAt(), last.getId().getUploadId(), chunk);
+        }
+        if (purged > 0 || failed > 0) {
+            log.info("만료 업로드 세션 정리 완료: purged={}, failed={}", purged, failed);
+        }
+    }
+
+    private FileUploadSession requireOwnSession(String uploadId) {
+        FileUploadSession session = sessionRepository
+            .findById(new FileUploadSessionId(MemberUserDetailsService.DEFAULT_COMPANY, uploadId))
+            .orElseThrow(() -> new NotFoundException("업로드 세션을 찾을 수 없습니다: " + uploadId));
+        return checkOwner(session, uploadId);
+    }
+
+    private FileUploadSession lockOwnSession(String uploadId) {
+        FileUploadSession session = sessionRepository
+            .findForUpdate(MemberUserDetailsService.DEFAULT_COMPANY, uploadId)
+            .orElseThrow(() -> new NotFoundException("업로드 세션을 찾을 수 없습니다: " + uploadId));
+        return checkOwner(session, uploadId);
+    }
+
+    /**
+     * 세션은 만든 사용자만 이어 쓸 수 있다. 다른 사용자에게는 존재 여부도 알리지 않는다.
+     */
+    private FileUploadSession checkOwner(FileUploadSession session, String uploadId) {
+        if (!Objects.equals(session.getCreatedBy(), MemberUserDetailsService.getCurrentMemberId())
+            || session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new NotFoundException("업로드 세션을 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    /**
+     * 청크를 처음부터 이 노드가 받아 왔다면 해시 상태의 복사본을 반환한다. 청크 기록이 실패해도 캐시된 상태는 오염되지 않는다.
+     */
+    private MessageDigest resumeDigest(String uploadId, long offset) {
+        if (offset == 0) {
+            return FileBlobService.sha256();
+        }
+        synchronized (digests) {
+            ChunkDigest cached = digests.get(uploadId);
+            if (cached == null || cached.offset() != offset) {
+                return null;
+            }
+            try {
+                return (MessageDigest) cached.digest().clone();
+            } catch (CloneNotSupportedException e) {
+                return null;
+            }
+        }
+    }
+
+    private void rememberDigest(String uploadId, long offset, MessageDigest digest) {
+        synchronized (digests) {
+            digests.put(uploadId, new ChunkDigest(offset, digest));
+        }
+    }
+
+    private void forgetDigest(String uploadId) {
+        synchronized (digests) {
+            digests.remove(uploadId);
+        }
+    }
+
+    private String completedChecksum(String uploadId, long total) {
+        synchronized (digests) {
+            ChunkDigest cached = digests.get(uploadId);
+            if (cached == null || cached.offset() != total) {
+                return null;
+            }
+            try {
+                return HexFormat.of().formatHex(((MessageDigest) cached.digest().clone()).digest());
+            } catch (CloneNotSupportedException e) {
+                return null;
+            }
+        }
+    }
+
+    private String checksumOf(String storagePath) throws IOException {
+        MessageDigest digest = FileBlobService.sha256();
+        try (InputStream in = new DigestInputStream(storageService.retrieve(storagePath), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record ChunkDigest(long offset, MessageDigest digest) {
+    }
+
+    /**
+     * 선언한 길이(Content-Length)만큼만 읽고, 그 전에 끝나면 EOFException 으로 청크 실패를 알린다.
+     */
+    private static final class ExactLengthInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        ExactLengthInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b < 0) {
+                throw new EOFException("청크가 끝까지 수신되지 않았습니다.");
+            }
+            remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n < 0) {
+                throw new EOFException("청크가 끝까지 수신되지 않았습니다.");
+            }
+            remaining -= n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // 요청 본문 스트림은 컨테이너가 닫는다.
+        }
+    }
+}
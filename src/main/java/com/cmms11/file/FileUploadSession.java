@@ -0,0 +1,79 @@
+package com.cmms11.file;
+
+import com.cmms11.file.storage.ChunkedUpload;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 이어받기(청크) 업로드 세션. received_size 까지의 바이트가 저장소에 기록되어 있으며,
+ * 연결이 끊기면 클라이언트는 세션을 조회해 received_size 부터 다시 보낸다.
+ */
+@Entity
+@Table(name = "file_upload_session")
+@Getter
+@Setter
+@NoArgsConstructor
+public class FileUploadSession {
+
+    @EmbeddedId
+    private FileUploadSessionId id;
+
+    @Column(name = "file_group_id", length = 10)
+    private String fileGroupId;
+
+    @Column(name = "ref_entity", length = 64)
+    private String refEntity;
+
+    @Column(name = "ref_id", length = 10)
+    private String refId;
+
+    @Column(name = "original_name", length = 255)
+    private String originalName;
+
+    @Column(name = "mime", length = 100)
+    private String mime;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Long chunkSize;
+
+    @Column(name = "received_size", nullable = false)
+    private Long receivedSize;
+
+    @Column(name = "staging_path", length = 255, nullable = false)
+    private String stagingPath;
+
+    @Column(name = "storage_upload_id", length = 255)
+    private String storageUploadId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by", length = 10)
+    private String createdBy;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public ChunkedUpload toChunkedUpload() {
+        return new ChunkedUpload(stagingPath, storageUploadId);
+    }
+
+    /**
+     * 전체 청크 수. 마지막 청크만 chunk_size 보다 작을 수 있다.
+     */
+    public int partCount() {
+        return (int) ((totalSize + chunkSize - 1) / chunkSize);
+    }
+}
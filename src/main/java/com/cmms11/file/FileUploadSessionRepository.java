@@ -0,0 +1,52 @@
+package com.cmms11.file;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface FileUploadSessionRepository extends JpaRepository<FileUploadSession, FileUploadSessionId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from FileUploadSession s where s.id.companyId = :companyId and s.id.uploadId = :uploadId")
+    Optional<FileUploadSession> findForUpdate(@Param("companyId") String companyId, @Param("uploadId") String uploadId);
+
+    /**
+     * 청크 기록 후 수신 위치를 옮긴다. 청크 전송 동안 행 잠금을 잡지 않도록 offset 비교로 갱신하며,
+     * 0 이면 다른 요청이 먼저 위치를 옮긴 것이다.
+     */
+    @Transactional
+    @Modifying
+    @Query(
+        "UPDATE FileUploadSession s SET s.receivedSize = :receivedSize, s.updatedAt = :now "
+            + "WHERE s.id.companyId = :companyId AND s.id.uploadId = :uploadId AND s.receivedSize = :offset"
+    )
+    int advance(
+        @Param("companyId") String companyId,
+        @Param("uploadId") String uploadId,
+        @Param("offset") long offset,
+        @Param("receivedSize") long receivedSize,
+        @Param("now") LocalDateTime now
+    );
+
+    @Query("select s from FileUploadSession s where s.expiresAt < :now order by s.expiresAt, s.id.uploadId")
+    List<FileUploadSession> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 만료 세션 키셋 조회: 정리에 실패해 남은 세션을 건너뛰고 다음 청크를 읽는다.
+    @Query("select s from FileUploadSession s where s.expiresAt < :now "
+        + "and (s.expiresAt > :afterExpiresAt or (s.expiresAt = :afterExpiresAt and s.id.uploadId > :afterUploadId)) "
+        + "order by s.expiresAt, s.id.uploadId")
+    List<FileUploadSession> findExpiredAfter(
+        @Param("now") LocalDateTime now,
+        @Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+        @Param("afterUploadId") String afterUploadId,
+        Pageable pageable
+    );
+}
@@ -0,0 +1,27 @@
+package com.cmms11.file;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이어받기 업로드 상태. 클라이언트는 receivedSize 위치부터 chunkSize 단위로 이어서 보낸다.
+ */
+public record FileUploadSessionResponse(
+    String uploadId,
+    String fileName,
+    long totalSize,
+    long receivedSize,
+    long chunkSize,
+    LocalDateTime expiresAt
+) {
+
+    public static FileUploadSessionResponse from(FileUploadSession session) {
+        return new FileUploadSessionResponse(
+            session.getId().getUploadId(),
+            session.getOriginalName(),
+            session.getTotalSize(),
+            session.getReceivedSize(),
+            session.getChunkSize(),
+            session.getExpiresAt()
+        );
+    }
+}
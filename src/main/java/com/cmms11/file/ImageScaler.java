@@ -0,0 +1,272 @@
+package com.cmms11.file;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import org.w3c.dom.Node;
+
+/**
+ * 이미지 축소 공통 처리 (업로드 시 축소, 썸네일/미리보기 생성).
+ *
+ * 헤더만 읽어 크기를 확인한 뒤, 필요한 해상도만큼만 서브샘플링하여 디코딩한다.
+ * 다시 인코딩하면 EXIF 가 빠지므로 휴대폰 사진의 회전 정보(Orientation)는 픽셀에 반영한다.
+ */
+final class ImageScaler {
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    static {
+        ImageIO.setUseCache(false);
+    }
+
+    private ImageScaler() {
+    }
+
+    /**
+     * ImageIO 가 읽을 수 있는 이미지면 헤더만 읽은 상태의 Source, 아니면 null. 반환된 Source 는 호출 측에서 닫는다.
+     */
+    static Source open(InputStream in) throws IOException {
+        ImageInputStream imageInput = ImageIO.createImageInputStream(in);
+        if (imageInput == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+        if (!readers.hasNext()) {
+            imageInput.close();
+            return null;
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(imageInput, true, false);
+        return new Source(reader, imageInput);
+    }
+
+    /**
+     * 긴 변이 maxEdge 이하가 되도록 절반씩 단계적으로 줄인다(한 번에 크게 줄일 때의 계단 현상 방지).
+     * keepAlpha 가 false 이거나 원본에 투명도가 없으면 흰 배경의 RGB 이미지가 된다(JPEG 저장용).
+     */
+    static BufferedImage downscale(BufferedImage source, int maxEdge, boolean keepAlpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        boolean alpha = keepAlpha && source.getColorModel().hasAlpha();
+        if (scale == 1.0 && source.getType() == (alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB)) {
+            return source;
+        }
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            if (current.getWidth() / 2 < targetWidth || current.getHeight() / 2 < targetHeight) {
+                width = targetWidth;
+                height = targetHeight;
+            }
+            BufferedImage next = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    static void writeJpeg(BufferedImage image, float quality, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (MemoryCacheImageOutputStream imageOutput = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * PNG 는 무손실이므로 deflate 최고 압축만 지정한다.
+     */
+    static void writePng(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        try (MemoryCacheImageOutputStream imageOutput = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.0f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * EXIF Orientation(1~8)에 맞게 픽셀을 회전/반전한다.
+     */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // 목적 좌표 = 변환 × 원본 좌표 (m00, m10, m01, m11, m02, m12)
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean swap = orientation >= 5;
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(
+            swap ? h : w, swap ? w : h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * JPEG 메타데이터의 APP1(Exif) 세그먼트에서 IFD0 의 Orientation 값을 읽는다. 없거나 읽을 수 없으면 1.
+     */
+    static int exifOrientation(IIOMetadata metadata) {
+        if (metadata == null || !JPEG_METADATA_FORMAT.equals(metadata.getNativeMetadataFormatName())) {
+            return 1;
+        }
+        Node root = metadata.getAsTree(JPEG_METADATA_FORMAT);
+        for (Node group = root.getFirstChild(); group != null; group = group.getNextSibling()) {
+            if (!"markerSequence".equals(group.getNodeName())) {
+                continue;
+            }
+            for (Node marker = group.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+                if (marker instanceof IIOMetadataNode node
+                    && "unknown".equals(node.getNodeName())
+                    && String.valueOf(APP1_MARKER).equals(node.getAttribute("MarkerTag"))
+                    && node.getUserObject() instanceof byte[] data) {
+                    int orientation = orientationOf(data);
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static int orientationOf(byte[] app1) {
+        // "Exif\0\0" + TIFF 헤더(바이트 순서 2, 매직 2, IFD0 오프셋 4)
+        if (app1.length < 14 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return -1;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return -1;
+        }
+        try {
+            int ifd = tiff.getInt(4);
+            int entries = Short.toUnsignedInt(tiff.getShort(ifd));
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                    return Short.toUnsignedInt(tiff.getShort(entry + 8));
+                }
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * 헤더만 읽은 이미지. {@link #read} 로 한 번 디코딩할 수 있다.
+     */
+    static final class Source implements Closeable {
+
+        private final ImageReader reader;
+        private final ImageInputStream imageInput;
+
+        private Source(ImageReader reader, ImageInputStream imageInput) {
+            this.reader = reader;
+            this.imageInput = imageInput;
+        }
+
+        /** 저장된 방향 기준 긴 변 (회전해도 같다) */
+        int longEdge() throws IOException {
+            return Math.max(reader.getWidth(0), reader.getHeight(0));
+        }
+
+        /**
+         * 긴 변이 targetEdge 의 2배 이상 남도록 서브샘플링하여 디코딩하고 EXIF 방향을 반영한다.
+         * 12MP 사진을 썸네일용으로 읽을 때 원본 해상도의 래스터를 만들지 않는다.
+         */
+        BufferedImage read(int targetEdge) throws IOException {
+            int subsampling = Math.max(1, longEdge() / (targetEdge * 2));
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            BufferedImage image = reader.read(0, param);
+            return orient(image, orientation());
+        }
+
+        /**
+         * 메타데이터를 해석할 수 없는 파일(표준과 다른 마커 순서 등)도 디코딩은 되므로 방향 없음으로 본다.
+         */
+        private int orientation() {
+            try {
+                return exifOrientation(reader.getImageMetadata(0));
+            } catch (IOException | RuntimeException ex) {
+                return 1;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                reader.dispose();
+            } finally {
+                imageInput.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.cmms11.file;
+
+/**
+ * 청크 offset 이 세션의 수신 위치와 다를 때 발생한다. 응답(409)에 현재 상태를 담아 클라이언트가 이어 보낼 위치를 알려준다.
+ */
+public class UploadOffsetConflictException extends RuntimeException {
+
+    private final transient FileUploadSessionResponse status;
+
+    public UploadOffsetConflictException(long offset, FileUploadSessionResponse status) {
+        super("청크 위치가 일치하지 않습니다: offset=" + offset + ", received=" + status.receivedSize());
+        this.status = status;
+    }
+
+    public FileUploadSessionResponse getStatus() {
+        return status;
+    }
+}
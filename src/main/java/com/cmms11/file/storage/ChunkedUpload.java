@@ -0,0 +1,10 @@
+package com.cmms11.file.storage;
+
+/**
+ * 이어받기(청크) 업로드의 저장소 측 상태.
+ *
+ * @param stagingPath     완료 후 하나의 파일로 읽을 수 있는 저장 경로
+ * @param storageUploadId 저장소가 발급한 업로드 식별자(S3 멀티파트 업로드 ID). 없으면 null
+ */
+public record ChunkedUpload(String stagingPath, String storageUploadId) {
+}
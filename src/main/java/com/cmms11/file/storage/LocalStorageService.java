@@ -0,0 +1,230 @@
+package com.cmms11.file.storage;
+
+import com.cmms11.config.AppConfig;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * 로컬 디스크 저장소 (storage.type=local, 기본값).
+ *
+ * app.file-storage.location 아래 {companyId}/{xx}/{yy}/{fileGroupId}/{storedName} 구조로 저장한다.
+ * xx/yy 는 fileGroupId 해시로 만든 2단계 샤드(각 256개)로, 그룹이 늘어나도 한 디렉터리의 항목 수를 작게 유지한다.
+ * 업로드는 같은 파일시스템의 임시 파일에 먼저 기록한 뒤 원자적 이동으로 공개하여 쓰다 만 파일이 조회되지 않게 한다.
+ * 다운로드는 localPath 로 실제 파일 경로를 넘겨 컨테이너가 sendfile 로 전송할 수 있게 한다.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalStorageService implements StorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStorageService.class);
+
+    private static final String TEMP_DIR = ".tmp";
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalStorageService(AppConfig.FileStorageConfig config) throws IOException {
+        this.root = Paths.get(config.getLocation()).toAbsolutePath().normalize();
+        this.tempDir = root.resolve(TEMP_DIR);
+        Files.createDirectories(tempDir);
+        log.info("로컬 파일 저장소 경로: {}", root);
+    }
+
+    @Override
+    public String store(String companyId, String fileGroupId, String storedName, InputStream inputStream, String contentType)
+        throws IOException {
+        String storagePath = StoragePaths.shardedPath(companyId, fileGroupId, storedName);
+        write(storagePath, inputStream, contentType);
+        return storagePath;
+    }
+
+    @Override
+    public void write(String storagePath, InputStream inputStream, String contentType) throws IOException {
+        Path target = resolve(storagePath);
+        Files.createDirectories(target.getParent());
+
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".part");
+        try {
+            Files.copy(inputStream, temp);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream retrieve(String storagePath) throws IOException {
+        return Files.newInputStream(resolve(storagePath));
+    }
+
+    /**
+     * 파일 채널 위치를 옮겨 앞부분을 읽지 않고 구간만 읽는다.
+     */
+    @Override
+    public InputStream retrieveRange(String storagePath, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(storagePath), StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        return new RangeInputStream(Channels.newInputStream(channel), length);
+    }
+
+    @Override
+    public boolean exists(String storagePath) {
+        if (!StringUtils.hasText(storagePath)) {
+            return false;
+        }
+        return Files.isRegularFile(resolve(storagePath));
+    }
+
+    @Override
+    public boolean existsLegacy(String fileGroupId, String storedName) throws IOException {
+        return legacyPath(fileGroupId, storedName) != null;
+    }
+
+    @Override
+    public InputStream retrieveLegacy(String fileGroupId, String storedName) throws IOException {
+        return Files.newInputStream(requireLegacyPath(fileGroupId, storedName));
+    }
+
+    @Override
+    public void move(String fromPath, String toPath) throws IOException {
+        Path target = resolve(toPath);
+        Files.createDirectories(target.getParent());
+        moveIntoPlace(resolve(fromPath), target);
+    }
+
+    @Override
+    public void copy(String fromPath, String toPath) throws IOException {
+        Path target = resolve(toPath);
+        Files.createDirectories(target.getParent());
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".part");
+        try {
+            Files.copy(resolve(fromPath), temp);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void delete(String storagePath) throws IOException {
+        Files.deleteIfExists(resolve(storagePath));
+    }
+
+    /**
+     * 스테이징 파일 하나에 청크를 위치 지정 쓰기로 이어 붙인다. 완료 시 별도 병합이 필요 없다.
+     */
+    @Override
+    public ChunkedUpload beginChunked(String companyId, String uploadId, String contentType) throws IOException {
+        String stagingPath = StoragePaths.uploadPath(companyId, uploadId);
+        Path target = resolve(stagingPath);
+        Files.createDirectories(target.getParent());
+        if (!Files.exists(target)) {
+            Files.createFile(target);
+        }
+        return new ChunkedUpload(stagingPath, null);
+    }
+
+    @Override
+    public void writeChunk(ChunkedUpload upload, int partNumber, long offset, InputStream inputStream, long length)
+        throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(upload.stagingPath()), StandardOpenOption.WRITE)) {
+            // 이전 시도에서 일부만 기록되고 끊긴 꼬리를 버린다.
+            channel.truncate(offset);
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+            long written = 0;
+            while (written < length) {
+                long transferred = channel.transferFrom(source, offset + written, length - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            if (written < length) {
+                throw new EOFException("청크가 끝까지 수신되지 않았습니다: " + written + "/" + length);
+            }
+        }
+    }
+
+    @Override
+    public void completeChunked(ChunkedUpload upload, int partCount) throws IOException {
+        if (!Files.isRegularFile(resolve(upload.stagingPath()))) {
+            throw new FileNotFoundException("업로드 파일이 존재하지 않습니다: " + upload.stagingPath());
+        }
+    }
+
+    @Override
+    public void abortChunked(ChunkedUpload upload) throws IOException {
+        Files.deleteIfExists(resolve(upload.stagingPath()));
+    }
+
+    @Override
+    public Path localPath(String storagePath) {
+        return resolve(storagePath);
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 샤드 도입 이전 경로: {fileGroupId}/{storedName} 또는 {companyId}/{fileGroupId}/{storedName}.
+     */
+    private Path legacyPath(String fileGroupId, String storedName) throws IOException {
+        Path direct = resolve(StoragePaths.segment(fileGroupId) + "/" + StoragePaths.segment(storedName));
+        if (Files.isRegularFile(direct)) {
+            return direct;
+        }
+        try (DirectoryStream<Path> companies = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path company : companies) {
+                Path candidate = company.resolve(fileGroupId).resolve(storedName);
+                if (Files.isRegularFile(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Path requireLegacyPath(String fileGroupId, String storedName) throws IOException {
+        Path path = legacyPath(fileGroupId, storedName);
+        if (path == null) {
+            throw new IOException("파일이 존재하지 않습니다: " + fileGroupId + "/" + storedName);
+        }
+        return path;
+    }
+
+    private Path resolve(String storagePath) {
+        Path path = root.resolve(storagePath).normalize();
+        if (!path.startsWith(root) || path.startsWith(tempDir)) {
+            throw new IllegalArgumentException("허용되지 않은 저장 경로입니다: " + storagePath);
+        }
+        return path;
+    }
+}
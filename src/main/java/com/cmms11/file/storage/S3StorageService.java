@@ -0,0 +1,450 @@
+package com.cmms11.file.storage;
+
+import com.cmms11.config.AppConfig;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * AWS S3(및 MinIO 등 S3 호환) 저장소 (storage.type=s3).
+ *
+ * 객체 키는 {companyId}/{fileGroupId}/{storedName} 이며 storagePath 로 그대로 저장한다.
+ * 업로드는 파트 크기만큼 읽어 한 파트 이하면 단일 PUT, 넘으면 멀티파트 업로드로 파트를 병렬 전송한다.
+ * 파트 버퍼는 노드 전체에서 maxBufferedParts 개로 제한되어 동시 업로드가 많아도 메모리 사용량이 고정된다.
+ * 다운로드 구간 요청은 Range GET 으로 필요한 바이트만 받는다.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3StorageService implements StorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(S3StorageService.class);
+
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final S3Client s3;
+    private final String bucket;
+    private final int partSize;
+    private final Semaphore bufferPermits;
+    private final ConcurrentLinkedQueue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final ExecutorService partUploader;
+    private final int deleteParallelism;
+
+    public S3StorageService(S3Client s3, AppConfig.S3Config config) {
+        if (!StringUtils.hasText(config.getBucketName())) {
+            throw new IllegalStateException("aws.s3.bucket-name 이 설정되지 않았습니다.");
+        }
+        this.s3 = s3;
+        this.bucket = config.getBucketName();
+        this.partSize = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(MIN_PART_SIZE, config.getPartSize()));
+        this.bufferPermits = new Semaphore(Math.max(2, config.getMaxBufferedParts()));
+        // 정리 작업이 업로드/다운로드용 커넥션을 모두 점유하지 않도록 풀의 절반(최대 16)만 사용한다.
+        this.deleteParallelism = Math.max(1, Math.min(16, config.getMaxConnections() / 2));
+        AtomicInteger threadNo = new AtomicInteger();
+        this.partUploader = Executors.newFixedThreadPool(Math.max(1, config.getUploadConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "s3-part-upload-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partUploader.shutdown();
+    }
+
+    @Override
+    public String store(String companyId, String fileGroupId, String storedName, InputStream inputStream, String contentType)
+        throws IOException {
+        String key = String.join("/", StoragePaths.segment(companyId), StoragePaths.segment(fileGroupId), StoragePaths.segment(storedName));
+        write(key, inputStream, contentType);
+        return key;
+    }
+
+    @Override
+    public void write(String key, InputStream inputStream, String contentType) throws IOException {
+        byte[] first = acquireBuffer();
+        int firstLength;
+        try {
+            firstLength = inputStream.readNBytes(first, 0, partSize);
+        } catch (IOException ex) {
+            releaseBuffer(first);
+            throw ex;
+        }
+        if (firstLength == partSize) {
+            storeMultipart(key, first, inputStream, contentType);
+            return;
+        }
+
+        try {
+            s3.putObject(
+                PutObjectRequest.builder().bucket(bucket).key(key).contentType(contentType).build(),
+                RequestBody.fromInputStream(new ByteArrayInputStream(first, 0, firstLength), firstLength)
+            );
+        } catch (SdkException ex) {
+            throw new IOException("S3 업로드 실패: " + key, ex);
+        } finally {
+            releaseBuffer(first);
+        }
+    }
+
+    @Override
+    public InputStream retrieve(String storagePath) throws IOException {
+        try {
+            return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(storagePath).build());
+        } catch (SdkException ex) {
+            throw new IOException("S3 다운로드 실패: " + storagePath, ex);
+        }
+    }
+
+    @Override
+    public InputStream retrieveRange(String storagePath, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            return s3.getObject(GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(storagePath)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .build());
+        } catch (SdkException ex) {
+            throw new IOException("S3 구간 다운로드 실패: " + storagePath, ex);
+        }
+    }
+
+    @Override
+    public boolean exists(String storagePath) throws IOException {
+        if (!StringUtils.hasText(storagePath)) {
+            return false;
+        }
+        try {
+            s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(storagePath).build());
+            return true;
+        } catch (NoSuchKeyException ex) {
+            return false;
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("S3 객체 조회 실패: " + storagePath, ex);
+        } catch (SdkException ex) {
+            throw new IOException("S3 객체 조회 실패: " + storagePath, ex);
+        }
+    }
+
+    @Override
+    public boolean existsLegacy(String fileGroupId, String storedName) throws IOException {
+        return exists(legacyKey(fileGroupId, storedName));
+    }
+
+    @Override
+    public InputStream retrieveLegacy(String fileGroupId, String storedName) throws IOException {
+        return retrieve(legacyKey(fileGroupId, storedName));
+    }
+
+    /**
+     * 서버 측 복사 후 원본 삭제 (S3 는 이동 연산이 없다). 데이터는 애플리케이션을 거치지 않는다.
+     */
+    @Override
+    public void move(String fromPath, String toPath) throws IOException {
+        try {
+            s3.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(bucket)
+                .sourceKey(fromPath)
+                .destinationBucket(bucket)
+                .destinationKey(toPath)
+                .build());
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(fromPath).build());
+        } catch (SdkException ex) {
+            throw new IOException("S3 객체 이동 실패: " + fromPath + " -> " + toPath, ex);
+        }
+    }
+
+    @Override
+    public void copy(String fromPath, String toPath) throws IOException {
+        try {
+            s3.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(bucket)
+                .sourceKey(fromPath)
+                .destinationBucket(bucket)
+                .destinationKey(toPath)
+                .build());
+        } catch (SdkException ex) {
+            throw new IOException("S3 객체 복사 실패: " + fromPath + " -> " + toPath, ex);
+        }
+    }
+
+    @Override
+    public void delete(String storagePath) throws IOException {
+        try {
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(storagePath).build());
+        } catch (SdkException ex) {
+            throw new IOException("S3 객체 삭제 실패: " + storagePath, ex);
+        }
+    }
+
+    /**
+     * 이어받기 업로드는 S3 멀티파트 업로드에 그대로 대응한다. 청크 하나가 파트 하나이며 요청 본문을 버퍼 없이 바로 전송한다.
+     * 마지막을 제외한 청크는 MIN_PART_SIZE 이상이어야 한다.
+     */
+    @Override
+    public ChunkedUpload beginChunked(String companyId, String uploadId, String contentType) throws IOException {
+        String key = StoragePaths.uploadPath(companyId, uploadId);
+        try {
+            String multipartUploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+            return new ChunkedUpload(key, multipartUploadId);
+        } catch (SdkException ex) {
+            throw new IOException("S3 멀티파트 업로드 시작 실패: " + key, ex);
+        }
+    }
+
+    @Override
+    public void writeChunk(ChunkedUpload upload, int partNumber, long offset, InputStream inputStream, long length)
+        throws IOException {
+        try {
+            s3.uploadPart(
+                UploadPartRequest.builder()
+                    .bucket(bucket)
+                    .key(upload.stagingPath())
+                    .uploadId(upload.storageUploadId())
+                    .partNumber(partNumber)
+                    .contentLength(length)
+                    .build(),
+                RequestBody.fromInputStream(inputStream, length)
+            );
+        } catch (SdkException ex) {
+            throw new IOException("S3 파트 업로드 실패: " + upload.stagingPath() + " #" + partNumber, ex);
+        }
+    }
+
+    /**
+     * 파트 ETag 는 저장하지 않고 ListParts 로 다시 받는다. 다른 노드가 받은 청크도 함께 확정된다.
+     */
+    @Override
+    public void completeChunked(ChunkedUpload upload, int partCount) throws IOException {
+        String key = upload.stagingPath();
+        try {
+            List<CompletedPart> parts = new ArrayList<>(partCount);
+            for (Part part : s3.listPartsPaginator(ListPartsRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(upload.storageUploadId())
+                .build()).parts()) {
+                parts.add(CompletedPart.builder().partNumber(part.partNumber()).eTag(part.eTag()).build());
+            }
+            if (parts.size() != partCount) {
+                throw new IOException("S3 파트 수가 일치하지 않습니다: " + key + " (" + parts.size() + "/" + partCount + ")");
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(upload.storageUploadId())
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build());
+        } catch (NoSuchUploadException ex) {
+            // 이전 완료 요청이 S3 확정 후 DB 반영 전에 실패한 경우: 객체가 있으면 이미 확정된 것이다.
+            if (!exists(key)) {
+                throw new IOException("S3 멀티파트 업로드를 찾을 수 없습니다: " + key, ex);
+            }
+        } catch (SdkException ex) {
+            throw new IOException("S3 멀티파트 업로드 완료 실패: " + key, ex);
+        }
+    }
+
+    @Override
+    public void abortChunked(ChunkedUpload upload) throws IOException {
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(upload.stagingPath())
+                .uploadId(upload.storageUploadId())
+                .build());
+        } catch (NoSuchUploadException ex) {
+            delete(upload.stagingPath());
+        } catch (SdkException ex) {
+            throw new IOException("S3 멀티파트 업로드 중단 실패: " + upload.stagingPath(), ex);
+        }
+    }
+
+    @Override
+    public int deleteParallelism() {
+        return deleteParallelism;
+    }
+
+    /**
+     * 첫 파트는 이미 읽혀 있다. 이후 파트를 읽는 동안 앞 파트를 병렬로 전송하고, 실패하면 업로드를 중단(abort)한다.
+     */
+    private void storeMultipart(String key, byte[] firstPart, InputStream inputStream, String contentType)
+        throws IOException {
+        String uploadId;
+        try {
+            uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+        } catch (SdkException ex) {
+            releaseBuffer(firstPart);
+            throw new IOException("S3 멀티파트 업로드 시작 실패: " + key, ex);
+        }
+
+        // 버퍼는 submitPart 에 넘긴 시점부터 파트 업로드 작업이 반환한다. 읽기 스레드는 대기 중 버퍼를 쥐고 있지 않는다.
+        List<Future<CompletedPart>> parts = new ArrayList<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+        try {
+            parts.add(submitPart(key, uploadId, 1, firstPart, partSize, aborted));
+
+            int partNumber = 1;
+            while (true) {
+                byte[] buffer = acquireBuffer();
+                int length;
+                try {
+                    length = inputStream.readNBytes(buffer, 0, partSize);
+                } catch (IOException ex) {
+                    releaseBuffer(buffer);
+                    throw ex;
+                }
+                if (length == 0) {
+                    releaseBuffer(buffer);
+                    break;
+                }
+                parts.add(submitPart(key, uploadId, ++partNumber, buffer, length, aborted));
+                if (length < partSize) {
+                    break;
+                }
+            }
+
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                completed.add(part.get());
+            }
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                .build());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId, aborted);
+            throw new InterruptedIOException("S3 멀티파트 업로드 중단: " + key);
+        } catch (ExecutionException ex) {
+            abort(key, uploadId, aborted);
+            throw new IOException("S3 파트 업로드 실패: " + key, ex.getCause());
+        } catch (IOException | RuntimeException ex) {
+            abort(key, uploadId, aborted);
+            throw ex instanceof IOException io ? io : new IOException("S3 멀티파트 업로드 실패: " + key, ex);
+        }
+    }
+
+    private Future<CompletedPart> submitPart(
+        String key,
+        String uploadId,
+        int partNumber,
+        byte[] buffer,
+        int length,
+        AtomicBoolean aborted
+    ) {
+        try {
+            return partUploader.submit(() -> {
+                try {
+                    if (aborted.get()) {
+                        throw new CancellationException("aborted");
+                    }
+                    String eTag = s3.uploadPart(
+                        UploadPartRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .contentLength((long) length)
+                            .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length)
+                    ).eTag();
+                    return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+                } finally {
+                    releaseBuffer(buffer);
+                }
+            });
+        } catch (RuntimeException ex) {
+            releaseBuffer(buffer);
+            throw ex;
+        }
+    }
+
+    /**
+     * 대기 중인 파트는 실행 시 전송 없이 버퍼만 반환하도록 표시한다. Future.cancel 은 버퍼가 반환되지 않으므로 사용하지 않는다.
+     */
+    private void abort(String key, String uploadId, AtomicBoolean aborted) {
+        aborted.set(true);
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(uploadId).build());
+        } catch (SdkException ex) {
+            // 중단하지 못한 업로드는 버킷 수명 주기 규칙(AbortIncompleteMultipartUpload)으로 정리된다.
+            log.warn("S3 멀티파트 업로드 중단 실패: key={}, uploadId={}, error={}", key, uploadId, ex.getMessage());
+        }
+    }
+
+    private byte[] acquireBuffer() throws InterruptedIOException {
+        try {
+            bufferPermits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 파트 버퍼 대기 중 중단되었습니다.");
+        }
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        freeBuffers.offer(buffer);
+        bufferPermits.release();
+    }
+
+    private String legacyKey(String fileGroupId, String storedName) {
+        return StoragePaths.segment(fileGroupId) + "/" + StoragePaths.segment(storedName);
+    }
+}
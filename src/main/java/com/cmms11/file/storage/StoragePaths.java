@@ -0,0 +1,54 @@
+package com.cmms11.file.storage;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * 저장소 구현체 공통 경로 규칙.
+ */
+final class StoragePaths {
+
+    private StoragePaths() {
+    }
+
+    /**
+     * fileGroupId 해시 기반 2단계 샤드 디렉터리(xx/yy). String.hashCode 는 JVM 간 동일하므로 경로가 안정적이다.
+     */
+    static String shardOf(String fileGroupId) {
+        int hash = segment(fileGroupId).hashCode();
+        return String.format("%02x/%02x", (hash >>> 8) & 0xff, hash & 0xff);
+    }
+
+    /**
+     * {companyId}/{xx}/{yy}/{fileGroupId}/{storedName}
+     */
+    static String shardedPath(String companyId, String fileGroupId, String storedName) {
+        return String.join("/", segment(companyId), shardOf(fileGroupId), segment(fileGroupId), segment(storedName));
+    }
+
+    /**
+     * {companyId}/blobs/{aa}/{bb}/{sha256}. 해시 앞 4자리로 샤딩한다.
+     */
+    static String blobPath(String companyId, String sha256) {
+        if (sha256 == null || !sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("SHA-256 값이 올바르지 않습니다: " + sha256);
+        }
+        return String.join("/", segment(companyId), "blobs", sha256.substring(0, 2), sha256.substring(2, 4), sha256);
+    }
+
+    /**
+     * 이어받기 업로드 스테이징 경로: {companyId}/uploads/{uploadId}.
+     */
+    static String uploadPath(String companyId, String uploadId) {
+        return String.join("/", segment(companyId), "uploads", segment(uploadId));
+    }
+
+    /**
+     * 경로 구성요소 하나를 검증한다. 구분자나 '.' 으로 시작하는 값(.., 숨김 경로)은 거부한다.
+     */
+    static String segment(String value) {
+        if (!StringUtils.hasText(value) || value.contains("/") || value.contains("\\") || value.startsWith(".")) {
+            throw new IllegalArgumentException("허용되지 않은 경로 구성요소입니다: " + value);
+        }
+        return value;
+    }
+}
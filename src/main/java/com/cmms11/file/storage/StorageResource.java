@@ -0,0 +1,103 @@
+package com.cmms11.file.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.util.StringUtils;
+
+/**
+ * 저장소의 파일 하나를 가리키는 지연 Resource.
+ *
+ * 생성 시에는 저장소에 접근하지 않으며, 처음 내용을 읽을 때 현재 경로 → 구 경로 순으로 위치를 확인한다.
+ * storedName 이 없으면(썸네일 등 파생 파일) 구 경로는 확인하지 않는다.
+ * 따라서 조건부 GET(304)처럼 본문이 필요 없는 응답은 저장소 요청 없이 끝난다.
+ */
+public class StorageResource extends AbstractResource {
+
+    private final StorageService storage;
+    private final String storagePath;
+    private final String fileGroupId;
+    private final String storedName;
+    private final long size;
+
+    private volatile Boolean legacy;
+
+    public StorageResource(StorageService storage, String storagePath, String fileGroupId, String storedName, long size) {
+        this.storage = storage;
+        this.storagePath = storagePath;
+        this.fileGroupId = fileGroupId;
+        this.storedName = storedName;
+        this.size = size;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return isLegacy() ? storage.retrieveLegacy(fileGroupId, storedName) : storage.retrieve(storagePath);
+    }
+
+    /**
+     * offset 부터 length 바이트. 현재 경로의 파일은 저장소의 구간 읽기(Range GET, 채널 위치 이동)를 사용한다.
+     */
+    public InputStream getInputStream(long offset, long length) throws IOException {
+        if (!isLegacy()) {
+            return storage.retrieveRange(storagePath, offset, length);
+        }
+        InputStream inputStream = storage.retrieveLegacy(fileGroupId, storedName);
+        try {
+            inputStream.skipNBytes(offset);
+        } catch (IOException ex) {
+            inputStream.close();
+            throw ex;
+        }
+        return new RangeInputStream(inputStream, length);
+    }
+
+    /**
+     * 로컬 파일시스템 경로 (sendfile 전송용). 로컬 저장소가 아니거나 구 경로 파일이면 null.
+     */
+    public Path localPath() throws IOException {
+        return isLegacy() ? null : storage.localPath(storagePath);
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public boolean exists() {
+        try {
+            isLegacy();
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getFilename() {
+        return storedName;
+    }
+
+    @Override
+    public String getDescription() {
+        return "StorageResource [" + (StringUtils.hasText(storagePath) ? storagePath : fileGroupId + "/" + storedName) + "]";
+    }
+
+    private boolean isLegacy() throws IOException {
+        Boolean resolved = legacy;
+        if (resolved == null) {
+            if (StringUtils.hasText(storagePath) && storage.exists(storagePath)) {
+                resolved = Boolean.FALSE;
+            } else if (StringUtils.hasText(storedName) && storage.existsLegacy(fileGroupId, storedName)) {
+                resolved = Boolean.TRUE;
+            } else {
+                throw new FileNotFoundException("저장소에 파일이 없습니다: " + getDescription());
+            }
+            legacy = resolved;
+        }
+        return resolved;
+    }
+}
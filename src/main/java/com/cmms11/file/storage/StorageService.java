@@ -0,0 +1,107 @@
+package com.cmms11.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 첨부파일 물리 저장소 추상화.
+ *
+ * 구현체는 storage.type(local, s3, webdav)에 따라 하나만 등록된다.
+ * store 가 반환한 storagePath 를 file_item.storage_path 에 저장하고, 조회/다운로드 시 그대로 전달한다.
+ */
+public interface StorageService {
+
+    /**
+     * 파일을 저장하고 저장소 내 경로를 반환한다.
+     */
+    String store(String companyId, String fileGroupId, String storedName, InputStream inputStream, String contentType)
+        throws IOException;
+
+    /**
+     * 지정한 경로에 파일을 기록한다(있으면 덮어씀). 원본에서 파생된 파일(썸네일 등)처럼 경로가 정해진 경우에 사용한다.
+     */
+    void write(String storagePath, InputStream inputStream, String contentType) throws IOException;
+
+    InputStream retrieve(String storagePath) throws IOException;
+
+    /**
+     * offset 부터 length 바이트만 읽는다. 기본 구현은 앞부분을 읽어 건너뛰며, 원격 저장소는 Range 요청으로 재정의한다.
+     */
+    default InputStream retrieveRange(String storagePath, long offset, long length) throws IOException {
+        InputStream inputStream = retrieve(storagePath);
+        try {
+            inputStream.skipNBytes(offset);
+        } catch (IOException ex) {
+            inputStream.close();
+            throw ex;
+        }
+        return new RangeInputStream(inputStream, length);
+    }
+
+    boolean exists(String storagePath) throws IOException;
+
+    /**
+     * 저장 경로 규칙 변경 이전({fileGroupId}/{storedName})에 저장된 파일 존재 여부.
+     */
+    boolean existsLegacy(String fileGroupId, String storedName) throws IOException;
+
+    InputStream retrieveLegacy(String fileGroupId, String storedName) throws IOException;
+
+    /**
+     * 저장소 안에서 파일을 옮긴다. 대상이 있으면 덮어쓴다(내용 주소 경로는 같은 내용이므로 안전).
+     */
+    void move(String fromPath, String toPath) throws IOException;
+
+    /**
+     * 저장소 안에서 파일을 복사한다. 대상이 있으면 덮어쓴다. 원본은 그대로 남는다.
+     */
+    void copy(String fromPath, String toPath) throws IOException;
+
+    /**
+     * 파일을 삭제한다. 없으면 무시한다.
+     */
+    void delete(String storagePath) throws IOException;
+
+    /**
+     * 이어받기 업로드를 시작한다. 청크는 {@link #writeChunk} 로 저장소에 바로 기록된다.
+     */
+    ChunkedUpload beginChunked(String companyId, String uploadId, String contentType) throws IOException;
+
+    /**
+     * partNumber(1부터) 번째 청크를 offset 위치에 length 바이트 기록한다. 같은 청크를 다시 보내면 덮어쓴다.
+     */
+    void writeChunk(ChunkedUpload upload, int partNumber, long offset, InputStream inputStream, long length)
+        throws IOException;
+
+    /**
+     * partCount 개의 청크를 하나의 파일로 확정한다. 이후 stagingPath 는 일반 파일처럼 읽고 옮길 수 있다.
+     */
+    void completeChunked(ChunkedUpload upload, int partCount) throws IOException;
+
+    /**
+     * 이어받기 업로드를 취소하고 기록된 청크를 삭제한다.
+     */
+    void abortChunked(ChunkedUpload upload) throws IOException;
+
+    /**
+     * 내용 주소 경로: {companyId}/blobs/{aa}/{bb}/{sha256}.
+     */
+    default String blobPath(String companyId, String sha256) {
+        return StoragePaths.blobPath(companyId, sha256);
+    }
+
+    /**
+     * 정리 작업이 이 저장소에 동시에 보낼 삭제 요청 수. 원격 저장소는 커넥션 풀 크기에 맞춰 재정의한다.
+     */
+    default int deleteParallelism() {
+        return 4;
+    }
+
+    /**
+     * 로컬 디스크처럼 파일시스템 경로로 직접 접근할 수 있는 저장소는 경로를 반환한다(sendfile 전송용). 그 외는 null.
+     */
+    default Path localPath(String storagePath) {
+        return null;
+    }
+}
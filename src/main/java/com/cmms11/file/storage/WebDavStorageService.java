@@ -0,0 +1,276 @@
+package com.cmms11.file.storage;
+
+import com.cmms11.config.AppConfig;
+import com.github.sardine.Sardine;
+import com.github.sardine.impl.SardineException;
+import com.github.sardine.impl.io.ContentLengthInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * WebDAV 저장소 (storage.type=webdav). WebDAV 만 지원하는 NAS 사이트용.
+ *
+ * 경로 규칙은 로컬 저장소와 같은 {companyId}/{xx}/{yy}/{fileGroupId}/{storedName} 이다.
+ * 업로드/다운로드는 스트림을 그대로 PUT/GET 하며, 상위 컬렉션(디렉터리)은 처음 필요할 때만 MKCOL 하고
+ * 생성 확인된 컬렉션을 메모리(LRU)에 기억하여 업로드마다 MKCOL 을 반복하지 않는다.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "webdav")
+public class WebDavStorageService implements StorageService {
+
+    private final Sardine sardine;
+    private final String baseUrl;
+    private final Map<String, Boolean> knownCollections;
+    private final int deleteParallelism;
+
+    public WebDavStorageService(Sardine sardine, AppConfig.WebDavConfig config) {
+        if (!StringUtils.hasText(config.getUrl())) {
+            throw new IllegalStateException("storage.webdav.url 이 설정되지 않았습니다.");
+        }
+        this.sardine = sardine;
+        this.baseUrl = config.getUrl().endsWith("/") ? config.getUrl() : config.getUrl() + "/";
+        // 정리 작업은 NAS 부하를 고려해 커넥션 풀의 절반까지만 동시에 삭제한다.
+        this.deleteParallelism = Math.max(1, config.getMaxConnections() / 2);
+        int maxEntries = Math.max(1, config.getCollectionCacheSize());
+        this.knownCollections = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public String store(String companyId, String fileGroupId, String storedName, InputStream inputStream, String contentType)
+        throws IOException {
+        String storagePath = StoragePaths.shardedPath(companyId, fileGroupId, storedName);
+        write(storagePath, inputStream, contentType);
+        return storagePath;
+    }
+
+    @Override
+    public void write(String storagePath, InputStream inputStream, String contentType) throws IOException {
+        ensureCollections(storagePath.substring(0, storagePath.lastIndexOf('/')));
+        try {
+            sardine.put(url(storagePath), inputStream, contentType, true);
+        } catch (SardineException ex) {
+            if (ex.getStatusCode() == 409) {
+                // 컬렉션이 외부에서 삭제된 경우: 캐시를 비워 다음 업로드에서 다시 생성하게 한다.
+                forgetCollections(storagePath);
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public InputStream retrieve(String storagePath) throws IOException {
+        return sardine.get(url(storagePath));
+    }
+
+    @Override
+    public InputStream retrieveRange(String storagePath, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        String range = "bytes=" + offset + "-" + (offset + length - 1);
+        InputStream inputStream = sardine.get(url(storagePath), Map.of(HttpHeaders.RANGE, range));
+        // Range 를 무시하고 전체(200)를 돌려주는 서버는 앞부분을 건너뛴다.
+        if (offset > 0 && inputStream instanceof ContentLengthInputStream body
+            && body.getLength() != null && body.getLength() > length) {
+            try {
+                inputStream.skipNBytes(offset);
+            } catch (IOException ex) {
+                inputStream.close();
+                throw ex;
+            }
+        }
+        return new RangeInputStream(inputStream, length);
+    }
+
+    @Override
+    public boolean exists(String storagePath) throws IOException {
+        if (!StringUtils.hasText(storagePath)) {
+            return false;
+        }
+        return sardine.exists(url(storagePath));
+    }
+
+    @Override
+    public boolean existsLegacy(String fileGroupId, String storedName) throws IOException {
+        return sardine.exists(url(legacyPath(fileGroupId, storedName)));
+    }
+
+    @Override
+    public InputStream retrieveLegacy(String fileGroupId, String storedName) throws IOException {
+        return sardine.get(url(legacyPath(fileGroupId, storedName)));
+    }
+
+    @Override
+    public void move(String fromPath, String toPath) throws IOException {
+        ensureCollections(toPath.substring(0, toPath.lastIndexOf('/')));
+        sardine.move(url(fromPath), url(toPath), true);
+    }
+
+    @Override
+    public void copy(String fromPath, String toPath) throws IOException {
+        ensureCollections(toPath.substring(0, toPath.lastIndexOf('/')));
+        sardine.copy(url(fromPath), url(toPath), true);
+    }
+
+    @Override
+    public void delete(String storagePath) throws IOException {
+        try {
+            sardine.delete(url(storagePath));
+        } catch (SardineException ex) {
+            if (ex.getStatusCode() != 404) {
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public int deleteParallelism() {
+        return deleteParallelism;
+    }
+
+    /**
+     * WebDAV 에는 이어 쓰기(부분 PUT)가 표준이 아니므로 청크를 {stagingPath}.parts/ 컬렉션에 파트별 파일로 올리고,
+     * 완료 시 파트를 순서대로 GET 하여 하나의 PUT 으로 이어 붙인다.
+     */
+    @Override
+    public ChunkedUpload beginChunked(String companyId, String uploadId, String contentType) throws IOException {
+        ChunkedUpload upload = new ChunkedUpload(StoragePaths.uploadPath(companyId, uploadId), null);
+        ensureCollections(partsCollection(upload));
+        return upload;
+    }
+
+    @Override
+    public void writeChunk(ChunkedUpload upload, int partNumber, long offset, InputStream inputStream, long length)
+        throws IOException {
+        String partPath = partPath(upload, partNumber);
+        try {
+            sardine.put(url(partPath), inputStream, "application/octet-stream", true);
+        } catch (SardineException ex) {
+            if (ex.getStatusCode() == 409) {
+                forgetCollections(partsCollection(upload));
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void completeChunked(ChunkedUpload upload, int partCount) throws IOException {
+        String partsCollection = partsCollection(upload);
+        if (!sardine.exists(url(partsCollection + "/")) && sardine.exists(url(upload.stagingPath()))) {
+            // 이전 완료 요청이 병합 후 DB 반영 전에 실패한 경우
+            return;
+        }
+        ensureCollections(upload.stagingPath().substring(0, upload.stagingPath().lastIndexOf('/')));
+        Enumeration<InputStream> parts = new Enumeration<>() {
+            private int next = 1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next <= partCount;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return sardine.get(url(partPath(upload, next++)));
+                } catch (IOException ex) {
+                    next = partCount + 1;
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        };
+        try (InputStream merged = new SequenceInputStream(parts)) {
+            sardine.put(url(upload.stagingPath()), merged, "application/octet-stream", true);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        deleteCollection(partsCollection);
+    }
+
+    @Override
+    public void abortChunked(ChunkedUpload upload) throws IOException {
+        deleteCollection(partsCollection(upload));
+        delete(upload.stagingPath());
+    }
+
+    private String partsCollection(ChunkedUpload upload) {
+        return upload.stagingPath() + ".parts";
+    }
+
+    private String partPath(ChunkedUpload upload, int partNumber) {
+        return partsCollection(upload) + "/" + String.format("%05d", partNumber);
+    }
+
+    private void deleteCollection(String collection) throws IOException {
+        forgetCollections(collection);
+        delete(collection + "/");
+    }
+
+    /**
+     * 상위부터 차례로 컬렉션을 확인/생성한다. 이미 있으면 서버는 405 를 반환한다.
+     */
+    private void ensureCollections(String directory) throws IOException {
+        if (isKnown(directory)) {
+            return;
+        }
+        StringBuilder path = new StringBuilder();
+        for (String segment : directory.split("/")) {
+            path.append(segment).append('/');
+            String collection = path.toString();
+            if (isKnown(collection)) {
+                continue;
+            }
+            try {
+                sardine.createDirectory(url(collection));
+            } catch (SardineException ex) {
+                if (ex.getStatusCode() != 405 && !sardine.exists(url(collection))) {
+                    throw ex;
+                }
+            }
+            remember(collection);
+        }
+        remember(directory);
+    }
+
+    private boolean isKnown(String collection) {
+        synchronized (knownCollections) {
+            return knownCollections.containsKey(collection);
+        }
+    }
+
+    private void remember(String collection) {
+        synchronized (knownCollections) {
+            knownCollections.put(collection, Boolean.TRUE);
+        }
+    }
+
+    private void forgetCollections(String storagePath) {
+        synchronized (knownCollections) {
+            knownCollections.keySet().removeIf(storagePath::startsWith);
+        }
+    }
+
+    private String legacyPath(String fileGroupId, String storedName) {
+        return StoragePaths.segment(fileGroupId) + "/" + StoragePaths.segment(storedName);
+    }
+
+    private String url(String path) {
+        return baseUrl + UriUtils.encodePath(path, StandardCharsets.UTF_8);
+    }
+}
@@ -5,6 +5,7 @@ import com.cmms11.approval.ApprovalResponse;
 import com.cmms11.approval.ApprovalStepRequest;
 import com.cmms11.approval.client.ApprovalClient;
 import com.cmms11.approval.client.ApprovalLineStepRequest;
+import com.cmms11.approval.client.ApprovalStatusHandler;
 import com.cmms11.approval.client.ApprovalStatusTransition;
 import com.cmms11.approval.client.ApprovalSubmissionRequest;
 import com.cmms11.config.ApprovalWebhookProperties;
@@ -20,7 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
  * Inspection 결재 상신 로직을 담당.
  */
 @Service
-public class InspectionApprovalService {
+public class InspectionApprovalService implements ApprovalStatusHandler {
 
     private static final String REF_ENTITY = "INSP";
     private static final String PLAN_STAGE = "PLN";
@@ -188,6 +189,12 @@ public class InspectionApprovalService {
         sb.append("<td style='border:1px solid #ddd; padding:8px;'>").append(value != null ? value : "-").append("</td></tr>");
     }
 
+    @Override
+    public String refEntity() {
+        return REF_ENTITY;
+    }
+
+    @Override
     @Transactional
     public void applyApprovalStatus(
         String inspectionId,
@@ -1,15 +1,29 @@
 package com.cmms11.web.api;
 
+import com.cmms11.approval.ApprovalBulkDecisionRequest;
+import com.cmms11.approval.ApprovalBulkDecisionResponse;
+import com.cmms11.approval.ApprovalBulkDecisionService;
 import com.cmms11.approval.ApprovalDecisionRequest;
+import com.cmms11.approval.ApprovalEventType;
 import com.cmms11.approval.ApprovalInboxResponse;
+import com.cmms11.approval.ApprovalInboxStreamService;
 import com.cmms11.approval.ApprovalMonitoringService;
 import com.cmms11.approval.ApprovalOutboxEventResponse;
+import com.cmms11.approval.ApprovalOutboxFailedFilter;
+import com.cmms11.approval.ApprovalOutboxFailedPage;
+import com.cmms11.approval.ApprovalOutboxReplayJobResponse;
+import com.cmms11.approval.ApprovalOutboxReplayRequest;
+import com.cmms11.approval.ApprovalOutboxReplayService;
 import com.cmms11.approval.ApprovalOutboxStatusResponse;
 import com.cmms11.approval.ApprovalRequest;
 import com.cmms11.approval.ApprovalResponse;
 import com.cmms11.approval.ApprovalService;
 import com.cmms11.approval.ApprovalStepResponse;
+import com.cmms11.approval.ApprovalWebhookHourlyStatResponse;
+import com.cmms11.security.MemberUserDetailsService;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,16 +32,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * 이름: ApprovalApiController
@@ -41,18 +59,35 @@ public class ApprovalApiController {
 
     private final ApprovalService service;
     private final ApprovalMonitoringService monitoringService;
+    private final ApprovalInboxStreamService inboxStreamService;
+    private final ApprovalBulkDecisionService bulkDecisionService;
+    private final ApprovalOutboxReplayService replayService;
 
-    public ApprovalApiController(ApprovalService service, ApprovalMonitoringService monitoringService) {
+    public ApprovalApiController(
+        ApprovalService service,
+        ApprovalMonitoringService monitoringService,
+        ApprovalInboxStreamService inboxStreamService,
+        ApprovalBulkDecisionService bulkDecisionService,
+        ApprovalOutboxReplayService replayService
+    ) {
         this.service = service;
         this.monitoringService = monitoringService;
+        this.inboxStreamService = inboxStreamService;
+        this.bulkDecisionService = bulkDecisionService;
+        this.replayService = replayService;
     }
 
+    /**
+     * include=progress 이면 각 결재의 진행 현황(현재 단계/결재자, 진행 건수)을 함께 반환한다.
+     */
     @GetMapping
     public ResponseEntity<Page<ApprovalResponse>> list(
         @RequestParam(required = false) String status,
+        @RequestParam(required = false) String include,
         Pageable pageable
     ) {
-        Page<ApprovalResponse> page = service.listByStatus(status, pageable);
+        boolean includeProgress = include != null && Arrays.asList(include.split(",")).contains("progress");
+        Page<ApprovalResponse> page = service.listByStatus(status, pageable, includeProgress);
         return ResponseEntity.ok(page);
     }
 
@@ -93,6 +128,16 @@ public class ApprovalApiController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 일괄 승인/반려. 문서별 처리 결과를 반환하며 일부 문서가 실패해도 나머지는 처리된다.
+     */
+    @PostMapping("/bulk-decision")
+    public ResponseEntity<ApprovalBulkDecisionResponse> bulkDecision(
+        @Valid @RequestBody ApprovalBulkDecisionRequest request
+    ) {
+        return ResponseEntity.ok(bulkDecisionService.decide(request));
+    }
+
     /**
      * 결재 반려
      */
@@ -150,6 +195,20 @@ public class ApprovalApiController {
         }
     }
 
+    /**
+     * Inbox 변경/배지 건수 SSE 스트림. 재연결 시 브라우저가 보내는 Last-Event-ID 이후 이벤트를 재전송한다.
+     */
+    @GetMapping(value = "/inbox/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInbox(
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return inboxStreamService.subscribe(
+            MemberUserDetailsService.DEFAULT_COMPANY,
+            MemberUserDetailsService.getCurrentMemberId(),
+            lastEventId
+        );
+    }
+
     @GetMapping("/inbox")
     public ResponseEntity<Page<ApprovalInboxResponse>> getInboxList(
         @RequestParam(required = false) String type,
@@ -212,10 +271,59 @@ public class ApprovalApiController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * FAILED 이벤트 키셋 페이지 조회. host/eventType/from/to(실패 시각) 필터는 선택.
+     */
+    @GetMapping("/monitoring/failed/page")
+    public ResponseEntity<ApprovalOutboxFailedPage> getFailedEventPage(
+        @RequestParam(required = false) String host,
+        @RequestParam(required = false) ApprovalEventType eventType,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int size
+    ) {
+        ApprovalOutboxFailedFilter filter = new ApprovalOutboxFailedFilter(host, eventType, from, to);
+        return ResponseEntity.ok(monitoringService.findFailedEvents(filter, cursor, size));
+    }
+
+    @GetMapping("/monitoring/webhook-stats")
+    public ResponseEntity<List<ApprovalWebhookHourlyStatResponse>> getWebhookStats(
+        @RequestParam(defaultValue = "24") int hours
+    ) {
+        List<ApprovalWebhookHourlyStatResponse> stats = monitoringService.getWebhookHourlyStats(hours);
+        return ResponseEntity.ok(stats);
+    }
+
     @PostMapping("/monitoring/outbox/{eventId}/retry")
     public ResponseEntity<Void> retryOutbox(@PathVariable Long eventId) {
         monitoringService.retry(eventId);
         return ResponseEntity.accepted().build();
     }
+
+    /**
+     * FAILED 이벤트 일괄 재발송 작업 시작. 진행 현황은 반환된 jobId 로 조회한다.
+     */
+    @PostMapping("/monitoring/outbox/replay")
+    public ResponseEntity<ApprovalOutboxReplayJobResponse> startReplay(
+        @Valid @RequestBody ApprovalOutboxReplayRequest request
+    ) {
+        return ResponseEntity.accepted().body(replayService.start(request));
+    }
+
+    @GetMapping("/monitoring/outbox/replay")
+    public ResponseEntity<List<ApprovalOutboxReplayJobResponse>> listReplays() {
+        return ResponseEntity.ok(replayService.list());
+    }
+
+    @GetMapping("/monitoring/outbox/replay/{jobId}")
+    public ResponseEntity<ApprovalOutboxReplayJobResponse> getReplay(@PathVariable String jobId) {
+        return ResponseEntity.ok(replayService.get(jobId));
+    }
+
+    @PostMapping("/monitoring/outbox/replay/{jobId}/cancel")
+    public ResponseEntity<ApprovalOutboxReplayJobResponse> cancelReplay(@PathVariable String jobId) {
+        return ResponseEntity.ok(replayService.cancel(jobId));
+    }
 }
 
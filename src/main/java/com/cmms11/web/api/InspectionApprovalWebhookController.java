@@ -1,24 +1,9 @@
 package com.cmms11.web.api;
 
-import com.cmms11.approval.ApprovalEventPayload;
-import com.cmms11.approval.ApprovalEventType;
-import com.cmms11.approval.client.ApprovalStatusTransition;
-import com.cmms11.config.ApprovalWebhookProperties;
+import com.cmms11.approval.ApprovalWebhookBatchResponse;
+import com.cmms11.approval.client.ApprovalWebhookReceiver;
 import com.cmms11.inspection.InspectionApprovalService;
-import com.cmms11.approval.WebhookIdempotency;
-import com.cmms11.approval.WebhookIdempotencyId;
-import com.cmms11.approval.WebhookIdempotencyRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.util.Base64;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -33,23 +18,15 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/inspections/approvals")
 public class InspectionApprovalWebhookController {
 
-    private static final Logger log = LoggerFactory.getLogger(InspectionApprovalWebhookController.class);
-
     private final InspectionApprovalService approvalService;
-    private final WebhookIdempotencyRepository idempotencyRepository;
-    private final ApprovalWebhookProperties webhookProperties;
-    private final ObjectMapper objectMapper;
+    private final ApprovalWebhookReceiver webhookReceiver;
 
     public InspectionApprovalWebhookController(
         InspectionApprovalService approvalService,
-        WebhookIdempotencyRepository idempotencyRepository,
-        ApprovalWebhookProperties webhookProperties,
-        ObjectMapper objectMapper
+        ApprovalWebhookReceiver webhookReceiver
     ) {
         this.approvalService = approvalService;
-        this.idempotencyRepository = idempotencyRepository;
-        this.webhookProperties = webhookProperties;
-        this.objectMapper = objectMapper;
+        this.webhookReceiver = webhookReceiver;
     }
 
     @PostMapping("/webhook")
@@ -57,83 +34,19 @@ public class InspectionApprovalWebhookController {
         @RequestHeader(value = "X-Approval-Signature", required = false) String signatureHeader,
         @RequestHeader(value = "X-Approval-Event", required = false) String eventHeader,
         @RequestHeader(value = "X-Approval-Idempotency-Key", required = false) String idempotencyHeader,
-        @RequestBody byte[] body,
-        HttpServletRequest request
+        @RequestBody byte[] body
     ) throws IOException {
-
-        if (signatureHeader == null || signatureHeader.isBlank()) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
-
-        try {
-            verifySignature(signatureHeader, body);
-        } catch (IllegalStateException ex) {
-            log.warn("Webhook signature verification failed: {}", ex.getMessage());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        ApprovalEventPayload payload = objectMapper.readValue(body, ApprovalEventPayload.class);
-        ApprovalEventType eventType = payload.eventType();
-        if (eventType == null && eventHeader != null) {
-            eventType = ApprovalEventType.valueOf(eventHeader);
-        }
-
-        if (eventType == null) {
-            log.warn("Webhook event type missing");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
-
-        String idempotencyKey = payload.idempotencyKey() != null ? payload.idempotencyKey() : idempotencyHeader;
-        if (idempotencyKey == null || idempotencyKey.isBlank()) {
-            log.warn("Webhook idempotency key missing");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
-
-        WebhookIdempotencyId id = new WebhookIdempotencyId(payload.companyId(), idempotencyKey);
-        if (idempotencyRepository.findById(id).isPresent()) {
-            return ResponseEntity.ok().build();
-        }
-
-        applyStatus(payload, eventType);
-
-        WebhookIdempotency entity = new WebhookIdempotency();
-        entity.setId(id);
-        entity.setProcessedAt(LocalDateTime.now());
-        idempotencyRepository.save(entity);
-
-        return ResponseEntity.ok().build();
-    }
-
-    private void verifySignature(String signatureHeader, byte[] body) {
-        try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec keySpec = new SecretKeySpec(
-                webhookProperties.getSecurity().getSecretKey().getBytes(StandardCharsets.UTF_8),
-                "HmacSHA256"
-            );
-            mac.init(keySpec);
-
-            byte[] expected = mac.doFinal(body);
-            String expectedSignature = Base64.getEncoder().encodeToString(expected);
-            if (!expectedSignature.equals(signatureHeader)) {
-                throw new IllegalStateException("Invalid webhook signature");
-            }
-        } catch (Exception e) {
-            throw new IllegalStateException("Webhook signature verification failed", e);
-        }
+        return webhookReceiver.receive(approvalService.refEntity(), signatureHeader, eventHeader, idempotencyHeader, body);
     }
 
-    private void applyStatus(ApprovalEventPayload payload, ApprovalEventType eventType) {
-        ApprovalStatusTransition transition;
-        switch (eventType) {
-            case APPROVED -> transition = ApprovalStatusTransition.APPROVED;
-            case REJECTED -> transition = ApprovalStatusTransition.REJECTED;
-            case CANCELLED -> transition = ApprovalStatusTransition.CANCELLED;
-            default -> transition = null;
-        }
-
-        if (transition != null) {
-            approvalService.applyApprovalStatus(payload.refId(), payload.refStage(), transition);
-        }
+    /**
+     * 배치 봉투 수신. 이벤트마다 독립적으로 처리하고 이벤트별 결과를 반환한다.
+     */
+    @PostMapping("/webhook/batch")
+    public ResponseEntity<ApprovalWebhookBatchResponse> handleBatchWebhook(
+        @RequestHeader(value = "X-Approval-Signature", required = false) String signatureHeader,
+        @RequestBody byte[] body
+    ) throws IOException {
+        return webhookReceiver.receiveBatch(approvalService.refEntity(), signatureHeader, body);
     }
 }
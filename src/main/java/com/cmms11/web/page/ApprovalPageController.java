@@ -1,5 +1,6 @@
 package com.cmms11.web.page;
 
+import com.cmms11.approval.ApprovalBoxPage;
 import com.cmms11.approval.ApprovalResponse;
 import com.cmms11.approval.ApprovalService;
 import com.cmms11.code.CodeService;
@@ -84,31 +85,33 @@ public class ApprovalPageController {
     @GetMapping("/approval/inbox")
     public String inbox(
         @RequestParam(required = false, defaultValue = "pending") String type,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false, defaultValue = "20") int size,
         @RequestParam(required = false, defaultValue = "false") boolean _fragment,
-        Pageable pageable,
         Model model
     ) {
         String memberId = com.cmms11.security.MemberUserDetailsService.getCurrentMemberId();
-        Page<ApprovalResponse> page;
+        ApprovalBoxPage page;
         
         switch (type) {
             case "approved":
-                page = service.findApprovedApprovals(memberId, pageable);
+                page = service.findApprovedApprovals(memberId, cursor, size);
                 break;
             case "rejected":
-                page = service.findRejectedApprovals(memberId, pageable);
+                page = service.findRejectedApprovals(memberId, cursor, size);
                 break;
             case "sent":
-                page = service.findSentApprovals(memberId, pageable);
+                page = service.findSentApprovals(memberId, cursor, size);
                 break;
             case "pending":
             default:
-                page = service.findPendingApprovals(memberId, pageable);
+                page = service.findPendingApprovals(memberId, cursor, size);
                 break;
         }
         
         model.addAttribute("page", page);
         model.addAttribute("type", type);
+        model.addAttribute("cursor", cursor);
         
         return _fragment ? "approval/inbox :: content" : "approval/inbox";
     }
@@ -134,7 +137,8 @@ public class ApprovalPageController {
             null,
             null,
             null,
-            java.util.List.of()
+            java.util.List.of(),
+            null
         );
     }
 }
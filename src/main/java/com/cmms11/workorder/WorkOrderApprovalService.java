@@ -5,6 +5,7 @@ import com.cmms11.approval.ApprovalResponse;
 import com.cmms11.approval.ApprovalStepRequest;
 import com.cmms11.approval.client.ApprovalClient;
 import com.cmms11.approval.client.ApprovalLineStepRequest;
+import com.cmms11.approval.client.ApprovalStatusHandler;
 import com.cmms11.approval.client.ApprovalStatusTransition;
 import com.cmms11.approval.client.ApprovalSubmissionRequest;
 import com.cmms11.config.ApprovalWebhookProperties;
@@ -17,7 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class WorkOrderApprovalService {
+public class WorkOrderApprovalService implements ApprovalStatusHandler {
 
     private static final String REF_ENTITY = "WORK";
     private static final String PLAN_STAGE = "PLN";
@@ -146,6 +147,12 @@ public class WorkOrderApprovalService {
         return new ApprovalStepRequest(step.stepNo(), step.memberId(), step.decision());
     }
 
+    @Override
+    public String refEntity() {
+        return REF_ENTITY;
+    }
+
+    @Override
     @Transactional
     public void applyApprovalStatus(String workOrderId, String stage, ApprovalStatusTransition transition) {
         WorkOrder order = repository
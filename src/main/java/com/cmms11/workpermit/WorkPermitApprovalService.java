@@ -5,6 +5,7 @@ import com.cmms11.approval.ApprovalResponse;
 import com.cmms11.approval.ApprovalStepRequest;
 import com.cmms11.approval.client.ApprovalClient;
 import com.cmms11.approval.client.ApprovalLineStepRequest;
+import com.cmms11.approval.client.ApprovalStatusHandler;
 import com.cmms11.approval.client.ApprovalStatusTransition;
 import com.cmms11.approval.client.ApprovalSubmissionRequest;
 import com.cmms11.config.ApprovalWebhookProperties;
@@ -17,7 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class WorkPermitApprovalService {
+public class WorkPermitApprovalService implements ApprovalStatusHandler {
 
     private static final String REF_ENTITY = "WPER";
     private static final String PLAN_STAGE = "PLN";
@@ -132,6 +133,12 @@ public class WorkPermitApprovalService {
         return "작업허가 결재: " + name;
     }
 
+    @Override
+    public String refEntity() {
+        return REF_ENTITY;
+    }
+
+    @Override
     @Transactional
     public void applyApprovalStatus(String permitId, String stage, ApprovalStatusTransition transition) {
         WorkPermit permit = repository
@@ -29,6 +29,7 @@
       this.initPagination(root);
       this.initSearch(root);
       this.initResetForm(root);
+      this.initInboxStream(root);
     },
     
     // 상세 페이지 초기화 (root 기반)
@@ -62,6 +63,62 @@
       this.initSaveButtons(root);
     },
     
+    // 결재 Inbox SSE 구독 (배지 건수 갱신, 새 결재 알림)
+    initInboxStream: function(root) {
+      this.closeInboxStream();
+      const badge = root.querySelector('[data-inbox-badge]');
+      if (!badge || typeof window.EventSource !== 'function') return;
+
+      const renderCounts = (counts) => {
+        if (!counts) return;
+        root.querySelectorAll('[data-inbox-count]').forEach((el) => {
+          el.textContent = counts[el.dataset.inboxCount] ?? 0;
+        });
+        badge.hidden = false;
+      };
+      const readCounts = (event) => {
+        try {
+          return JSON.parse(event.data);
+        } catch (e) {
+          return null;
+        }
+      };
+
+      // 브라우저가 끊긴 연결을 자동으로 다시 열고 Last-Event-ID 를 보낸다.
+      const source = new EventSource('/api/approvals/inbox/stream');
+      this.inboxStream = source;
+
+      source.addEventListener('counts', (event) => renderCounts(readCounts(event)));
+      source.addEventListener('resync', (event) => renderCounts(readCounts(event)));
+      source.addEventListener('inbox', (event) => {
+        const message = readCounts(event);
+        if (!message) return;
+        renderCounts(message.counts);
+        if (message.change === 'CREATED' && window.cmms?.notification) {
+          const title = message.inbox?.title || message.inbox?.approvalId || '';
+          window.cmms.notification.info(`새 결재 문서가 도착했습니다. ${title}`);
+        }
+      });
+
+      // SPA 이동으로 목록이 화면에서 빠지면 연결을 닫는다.
+      const observer = new MutationObserver(() => {
+        if (!root.isConnected) this.closeInboxStream();
+      });
+      observer.observe(document.body, { childList: true, subtree: true });
+      this.inboxStreamObserver = observer;
+    },
+
+    closeInboxStream: function() {
+      if (this.inboxStream) {
+        this.inboxStream.close();
+        this.inboxStream = null;
+      }
+      if (this.inboxStreamObserver) {
+        this.inboxStreamObserver.disconnect();
+        this.inboxStreamObserver = null;
+      }
+    },
+
     // 페이지네이션 초기화 (공통 유틸 사용, root 기반)
     initPagination: function(root) {
       console.log('Approval pagination initialized - app.js 공통 로직에서 처리됨');
@@ -91,7 +91,8 @@ export function initFileList() {
         return;
       }
       
-      const fileItems = files.map(file => this.createFileItem(file)).join('');
+      const fileGroupId = container.getAttribute('data-file-group-id');
+      const fileItems = files.map(file => this.createFileItem(file, fileGroupId)).join('');
       fileListElement.innerHTML = fileItems;
       
       // 파일 항목 이벤트 바인딩
@@ -101,15 +102,21 @@ export function initFileList() {
     /**
      * 파일 항목 생성
      * @param {Object} file - 파일 정보
+     * @param {string} fileGroupId - 파일 그룹 ID (썸네일 URL 용)
      * @returns {string} 파일 항목 HTML
      */
-    createFileItem: function(file) {
+    createFileItem: function(file, fileGroupId) {
       const fileSize = this.formatFileSize(file.size);
       // FileItemResponse에는 fileId 필드 사용
       const fileId = file.fileId || file.id;
+      // 이미지 축소본이 생성된 항목만 썸네일 표시 (원본 대신 수 KB 의 JPEG)
+      const thumb = file.preview && fileGroupId
+        ? `<img class="file-thumb" src="/api/files/${fileId}/preview?groupId=${fileGroupId}&size=thumb" alt="" loading="lazy">`
+        : '';
       
       return `
         <div class="attachment-item" data-file-id="${fileId}">
+          ${thumb}
           <div class="file-name">
             ${file.originalName}
             ${file.description ? `<div style="margin-top: 4px; font-size: 12px; color: var(--muted);">${file.description}</div>` : ''}
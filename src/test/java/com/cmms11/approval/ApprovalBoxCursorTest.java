@@ -0,0 +1,37 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class ApprovalBoxCursorTest {
+
+    @Test
+    void encodeDecodeRoundTripsSortKeyAndApprovalId() {
+        ApprovalBoxCursor cursor = new ApprovalBoxCursor(LocalDateTime.of(2025, 1, 7, 9, 30, 15, 123_000_000), "A250107001");
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(ApprovalBoxCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void blankCursorIsFirstPageSentinel() {
+        assertThat(ApprovalBoxCursor.decode(null)).isSameAs(ApprovalBoxCursor.FIRST);
+        assertThat(ApprovalBoxCursor.decode(" ")).isSameAs(ApprovalBoxCursor.FIRST);
+        assertThat(ApprovalBoxCursor.FIRST.sortKey()).isEqualTo(LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+        assertThat(ApprovalBoxCursor.FIRST.approvalId()).isEmpty();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> ApprovalBoxCursor.decode("not*base64"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ApprovalBoxCursor.decode(new ApprovalBoxCursor(LocalDateTime.MIN, "A1").encode()
+            .substring(2)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
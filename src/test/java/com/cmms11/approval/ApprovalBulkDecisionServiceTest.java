@@ -0,0 +1,52 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+class ApprovalBulkDecisionServiceTest {
+
+    private final ApprovalService approvalService = mock(ApprovalService.class);
+    private final ApprovalBulkDecisionService bulkService = new ApprovalBulkDecisionService(approvalService, 2);
+
+    @Test
+    void failedChunkOnlyMarksItsOwnDocumentsAsError() {
+        when(approvalService.decideChunk(anyString(), anyString(), eq(List.of("A1", "A2")), any(), eq(ApprovalEventType.APPROVED)))
+            .thenReturn(List.of(
+                ApprovalBulkDecisionResponse.Result.ok("A1", "APPRV"),
+                ApprovalBulkDecisionResponse.Result.failed("A2", "DRAFT", "결재 대기 중인 문서만 처리할 수 있습니다.")
+            ));
+        when(approvalService.decideChunk(anyString(), anyString(), eq(List.of("A3", "A4")), any(), eq(ApprovalEventType.APPROVED)))
+            .thenThrow(new CannotAcquireLockException("lock wait timeout"));
+        when(approvalService.decideChunk(anyString(), anyString(), eq(List.of("A5")), any(), eq(ApprovalEventType.APPROVED)))
+            .thenReturn(List.of(ApprovalBulkDecisionResponse.Result.ok("A5", "PROC")));
+
+        // 공백/중복 ID 는 한 번만 처리한다.
+        ApprovalBulkDecisionResponse response = bulkService.decide(
+            new ApprovalBulkDecisionRequest("APPROVE", Arrays.asList("A1", " A2 ", "A1", "", "A3", "A4", "A5"), "일괄 승인"));
+
+        assertThat(response.total()).isEqualTo(5);
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results())
+            .extracting(ApprovalBulkDecisionResponse.Result::approvalId, ApprovalBulkDecisionResponse.Result::status)
+            .containsExactly(
+                tuple("A1", ApprovalBulkDecisionResponse.OK),
+                tuple("A2", ApprovalBulkDecisionResponse.FAILED),
+                tuple("A3", ApprovalBulkDecisionResponse.ERROR),
+                tuple("A4", ApprovalBulkDecisionResponse.ERROR),
+                tuple("A5", ApprovalBulkDecisionResponse.OK)
+            );
+        verify(approvalService).decideChunk(anyString(), anyString(), eq(List.of("A5")), eq("일괄 승인"), any());
+    }
+}
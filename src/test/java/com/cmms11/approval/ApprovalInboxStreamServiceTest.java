@@ -0,0 +1,58 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApprovalInboxStreamServiceTest {
+
+    private ApprovalInboxCounterRepository counterRepository;
+    private ApprovalInboxStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        counterRepository = mock(ApprovalInboxCounterRepository.class);
+        when(counterRepository.findById(any())).thenReturn(Optional.empty());
+        streamService = new ApprovalInboxStreamService(counterRepository, 60_000L, 5, 50, 300_000L, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    void memberWithoutConnectionOrReplayIsSkippedWithoutQuery() {
+        streamService.onInboxChanged(new ApprovalInboxChangedEvent("CHROK", "user01", "CREATED", null));
+
+        verify(counterRepository, never()).findById(any());
+    }
+
+    @Test
+    void subscribeAndPushQueryCountsOnlyOnStreamThread() {
+        List<String> queryThreads = new CopyOnWriteArrayList<>();
+        when(counterRepository.findById(any())).thenAnswer(invocation -> {
+            queryThreads.add(Thread.currentThread().getName());
+            return Optional.empty();
+        });
+
+        streamService.subscribe("CHROK", "user01", null);
+        streamService.onInboxChanged(new ApprovalInboxChangedEvent("CHROK", "user01", "CREATED", null));
+        streamService.heartbeat();
+
+        verify(counterRepository, timeout(1000).times(2)).findById(new ApprovalInboxCounterId("CHROK", "user01"));
+        assertThat(queryThreads).containsOnly("approval-inbox-stream");
+        assertThat(streamService.connectionCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.cmms11.common.codec.CompressedText;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+class ApprovalLineJdbcWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 7, 10, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private ApprovalLineJdbcWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        writer = new ApprovalLineJdbcWriter(jdbcTemplate);
+    }
+
+    @Test
+    void stepsAreSentAsOneBatch() throws Exception {
+        ApprovalStep decided = step(1, "APPRV", NOW);
+        ApprovalStep pending = step(2, null, null);
+
+        writer.insertSteps(List.of(decided, pending));
+
+        ParameterizedPreparedStatementSetter<ApprovalStep> setter = captureBatch("INSERT INTO approval_step", 2);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.setValues(ps, decided);
+        verify(ps).setString(2, "A250107001");
+        verify(ps).setInt(3, 1);
+        verify(ps).setTimestamp(7, Timestamp.valueOf(NOW));
+
+        PreparedStatement pendingPs = mock(PreparedStatement.class);
+        setter.setValues(pendingPs, pending);
+        verify(pendingPs).setNull(7, Types.TIMESTAMP);
+    }
+
+    @Test
+    void outboxPayloadIsCompressedLikeEntityConverter() throws Exception {
+        ApprovalOutbox outbox = new ApprovalOutbox();
+        outbox.setCompanyId("CHROK");
+        outbox.setApprovalId("A250107001");
+        outbox.setCallbackUrl("/api/workorders/approvals/webhook");
+        outbox.setEventType(ApprovalEventType.APPROVED);
+        outbox.setStatus(ApprovalOutboxStatus.PENDING);
+        outbox.setPayload("{\"steps\":[" + "{\"stepNo\":1,\"memberId\":\"M0001\"},".repeat(40) + "{}]}");
+        outbox.setCreatedAt(NOW);
+
+        writer.insertOutboxes(List.of(outbox));
+
+        ParameterizedPreparedStatementSetter<ApprovalOutbox> setter = captureBatch("INSERT INTO approval_outbox", 1);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.setValues(ps, outbox);
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(ps).setString(eq(7), payload.capture());
+        assertThat(CompressedText.isCompressed(payload.getValue())).isTrue();
+        assertThat(CompressedText.decompress(payload.getValue())).isEqualTo(outbox.getPayload());
+    }
+
+    @Test
+    void emptyListsSkipTheDatabase() {
+        writer.insertSteps(List.of());
+        writer.insertInboxes(List.of());
+        writer.insertOutboxes(List.of());
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), any(Integer.class),
+            any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ParameterizedPreparedStatementSetter<T> captureBatch(String sqlPrefix, int size) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<T>> setter =
+            ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), anyList(), eq(size), setter.capture());
+        assertThat(sql.getValue()).startsWith(sqlPrefix);
+        return setter.getValue();
+    }
+
+    private static ApprovalStep step(int stepNo, String result, LocalDateTime decidedAt) {
+        ApprovalStep step = new ApprovalStep();
+        step.setId(new ApprovalStepId("CHROK", "A250107001", stepNo));
+        step.setMemberId("M000" + stepNo);
+        step.setDecision("APPRL");
+        step.setResult(result);
+        step.setDecidedAt(decidedAt);
+        return step;
+    }
+}
@@ -1,10 +1,15 @@
 package com.cmms11.approval;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.cmms11.config.ApprovalWebhookProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +24,12 @@ class ApprovalMonitoringServiceTest {
     @BeforeEach
     void setUp() {
         outboxRepository = mock(ApprovalOutboxRepository.class);
-        monitoringService = new ApprovalMonitoringService(outboxRepository);
+        monitoringService = new ApprovalMonitoringService(
+            outboxRepository,
+            mock(ApprovalWebhookHourlyStatRepository.class),
+            new ApprovalOutboxMetrics(new SimpleMeterRegistry(), outboxRepository),
+            new ApprovalWebhookProperties()
+        );
     }
 
     @Test
@@ -82,6 +92,55 @@ class ApprovalMonitoringServiceTest {
         assertThat(event.getLastErrorMessage()).isNull();
         assertThat(event.getLastAttemptAt()).isNull();
         assertThat(event.getNextAttemptAt()).isNotNull();
+        assertThat(event.getRetryCount()).isZero();
         verify(outboxRepository).save(event);
     }
+
+    @Test
+    void hostFilterIsLowerCasedAndLikeWildcardsAreEscaped() {
+        ApprovalOutboxFailedFilter filter = new ApprovalOutboxFailedFilter("ERP_01.example.com", null, null, null);
+
+        monitoringService.requeueFailed(filter, ApprovalOutboxCursor.FIRST, 10, LocalDateTime.now(), 0);
+
+        verify(outboxRepository).findFailedPage(
+            any(), any(), any(), eq("%://erp!_01.example.com"), eq("%://erp!_01.example.com/%"),
+            eq("%://erp!_01.example.com?%"), eq(false), any(), anyLong(), any()
+        );
+    }
+
+    @Test
+    void requeueFailedStaggersNextAttemptAndResetsRetries() {
+        LocalDateTime failedAt = LocalDateTime.now().minusMinutes(30);
+        ApprovalOutbox first = failedEvent(2L, failedAt.plusSeconds(1));
+        ApprovalOutbox second = failedEvent(1L, failedAt);
+        ApprovalOutboxFailedFilter filter = new ApprovalOutboxFailedFilter("erp.example.com", null, null, null);
+
+        when(outboxRepository.findFailedPage(
+            any(), any(), any(), eq("%://erp.example.com"), eq("%://erp.example.com/%"), eq("%://erp.example.com?%"),
+            eq(false), any(), anyLong(), any()
+        )).thenReturn(List.of(first, second));
+
+        LocalDateTime slot = LocalDateTime.now().plusSeconds(5);
+        ApprovalMonitoringService.RequeueChunk chunk =
+            monitoringService.requeueFailed(filter, ApprovalOutboxCursor.FIRST, 2, slot, 200);
+
+        assertThat(chunk.requeued()).isEqualTo(2);
+        assertThat(chunk.hasMore()).isTrue();
+        assertThat(chunk.next()).isEqualTo(new ApprovalOutboxCursor(failedAt, 1L));
+        assertThat(chunk.nextSlot()).isEqualTo(slot.plusNanos(400_000_000L));
+        assertThat(first.getStatus()).isEqualTo(ApprovalOutboxStatus.PENDING);
+        assertThat(first.getRetryCount()).isZero();
+        assertThat(first.getNextAttemptAt()).isEqualTo(slot);
+        assertThat(second.getNextAttemptAt()).isEqualTo(slot.plusNanos(200_000_000L));
+    }
+
+    private ApprovalOutbox failedEvent(Long id, LocalDateTime updatedAt) {
+        ApprovalOutbox event = new ApprovalOutbox();
+        event.setId(id);
+        event.setStatus(ApprovalOutboxStatus.FAILED);
+        event.setRetryCount(5);
+        event.setCallbackUrl("https://erp.example.com/api/webhooks/approvals");
+        event.setUpdatedAt(updatedAt);
+        return event;
+    }
 }
@@ -0,0 +1,72 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApprovalOutboxMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ApprovalOutboxRepository outboxRepository;
+    private ApprovalOutboxMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        outboxRepository = mock(ApprovalOutboxRepository.class);
+        metrics = new ApprovalOutboxMetrics(registry, outboxRepository);
+    }
+
+    @Test
+    void queueDepthFollowsStatusTransitions() {
+        metrics.recordEnqueued(ApprovalEventType.SUBMITTED, 3);
+        metrics.recordSuperseded(1);
+        metrics.recordFailed(5);
+        metrics.recordRequeued(ApprovalOutboxStatus.FAILED);
+
+        assertThat(metrics.depthOf(ApprovalOutboxStatus.PENDING)).isEqualTo(2);
+        assertThat(metrics.depthOf(ApprovalOutboxStatus.FAILED)).isZero();
+        assertThat(registry.get("approval.outbox.queue.depth").tag("status", "PENDING").gauge().value())
+            .isEqualTo(2.0);
+        assertThat(registry.get("approval.outbox.enqueued").tag("event_type", "SUBMITTED").counter().count())
+            .isEqualTo(3.0);
+    }
+
+    @Test
+    void reconcileResetsDepthFromRepository() {
+        metrics.recordEnqueued(ApprovalEventType.APPROVED, 10);
+        when(outboxRepository.countByStatus(ApprovalOutboxStatus.PENDING)).thenReturn(4L);
+        when(outboxRepository.countByStatus(ApprovalOutboxStatus.FAILED)).thenReturn(1L);
+
+        metrics.reconcileDepth();
+
+        assertThat(metrics.depthOf(ApprovalOutboxStatus.PENDING)).isEqualTo(4);
+        assertThat(metrics.depthOf(ApprovalOutboxStatus.FAILED)).isEqualTo(1);
+    }
+
+    @Test
+    void sentEventRecordsLatencyAndAttempts() {
+        LocalDateTime sentAt = LocalDateTime.now();
+        ApprovalOutbox event = new ApprovalOutbox();
+        event.setCreatedAt(sentAt.minusSeconds(30));
+        event.setRetryCount(2);
+
+        metrics.recordSent(event, sentAt);
+        metrics.recordRequest("erp.example.com", ApprovalOutboxMetrics.OUTCOME_SUCCESS);
+
+        assertThat(registry.get("approval.outbox.delivery.latency").timer().totalTime(TimeUnit.SECONDS))
+            .isEqualTo(30.0);
+        assertThat(registry.get("approval.outbox.delivery.attempts").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(registry.get("approval.webhook.requests")
+            .tag("host", "erp.example.com")
+            .tag("outcome", "success")
+            .counter()
+            .count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,244 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.common.seq.AutoNumberService;
+import com.cmms11.config.ApprovalWebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+class ApprovalServiceTest {
+
+    private ApprovalRepository repository;
+    private ApprovalStepRepository stepRepository;
+    private ApprovalLineJdbcWriter lineWriter;
+    private ApprovalInboxRepository inboxRepository;
+    private ApprovalOutboxRepository outboxRepository;
+    private ApprovalWebhookProperties properties;
+    private ApprovalService approvalService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ApprovalRepository.class);
+        stepRepository = mock(ApprovalStepRepository.class);
+        lineWriter = mock(ApprovalLineJdbcWriter.class);
+        inboxRepository = mock(ApprovalInboxRepository.class);
+        outboxRepository = mock(ApprovalOutboxRepository.class);
+        properties = new ApprovalWebhookProperties();
+        properties.getCoalescing().setEnabled(false);
+        approvalService = new ApprovalService(
+            repository,
+            stepRepository,
+            inboxRepository,
+            mock(ApprovalInboxCounterRepository.class),
+            lineWriter,
+            outboxRepository,
+            mock(ApprovalOutboxMetrics.class),
+            mock(AutoNumberService.class),
+            new ObjectMapper().findAndRegisterModules(),
+            properties,
+            mock(ApplicationEventPublisher.class)
+        );
+    }
+
+    @Test
+    void decideChunkReturnsResultPerDocumentAndEnqueuesOnlyDecidedOnes() {
+        when(repository.findByIdCompanyIdAndIdApprovalIdIn(eq("CHROK"), any())).thenReturn(List.of(
+            approval("A1", "SUBMT"),
+            approval("A2", "SUBMT"),
+            approval("A3", "DRAFT")
+        ));
+        when(stepRepository.findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(eq("CHROK"), any()))
+            .thenReturn(List.of(
+                step("A1", 1, "user01"),
+                step("A2", 1, "user02"),
+                step("A2", 2, "user01"),
+                step("A3", 1, "user01")
+            ));
+
+        List<ApprovalBulkDecisionResponse.Result> results = approvalService.decideChunk(
+            "CHROK", "user01", List.of("A1", "A2", "A3", "A9"), "확인", ApprovalEventType.APPROVED);
+
+        assertThat(results)
+            .extracting(
+                ApprovalBulkDecisionResponse.Result::approvalId,
+                ApprovalBulkDecisionResponse.Result::status,
+                ApprovalBulkDecisionResponse.Result::approvalStatus)
+            .containsExactly(
+                tuple("A1", ApprovalBulkDecisionResponse.OK, "APPRV"),
+                tuple("A2", ApprovalBulkDecisionResponse.FAILED, "SUBMT"),
+                tuple("A3", ApprovalBulkDecisionResponse.FAILED, "DRAFT"),
+                tuple("A9", ApprovalBulkDecisionResponse.FAILED, null)
+            );
+        assertThat(results.get(1).message()).isEqualTo("이전 결재자가 먼저 결재해야 합니다.");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ApprovalOutbox>> outboxes = ArgumentCaptor.forClass(List.class);
+        verify(lineWriter).insertOutboxes(outboxes.capture());
+        assertThat(outboxes.getValue())
+            .extracting(ApprovalOutbox::getApprovalId, ApprovalOutbox::getEventType)
+            .containsExactly(tuple("A1", ApprovalEventType.APPROVED));
+    }
+
+    @Test
+    void decideChunkUpdatesEveryInboxRowOfDecidedStepOnly() {
+        when(repository.findByIdCompanyIdAndIdApprovalIdIn(eq("CHROK"), any())).thenReturn(List.of(approval("A1", "SUBMT")));
+        when(stepRepository.findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(eq("CHROK"), any()))
+            .thenReturn(List.of(step("A1", 1, "user01"), step("A1", 2, "user01")));
+        ApprovalInbox stepOne = inbox("I1", 1);
+        ApprovalInbox duplicate = inbox("I2", 1);
+        ApprovalInbox approvalLevel = inbox("I3", null);
+        ApprovalInbox stepTwo = inbox("I4", 2);
+        when(inboxRepository.findByIdCompanyIdAndMemberIdAndApprovalIdIn(eq("CHROK"), eq("user01"), any()))
+            .thenReturn(List.of(stepOne, duplicate, approvalLevel, stepTwo));
+
+        approvalService.decideChunk("CHROK", "user01", List.of("A1"), null, ApprovalEventType.APPROVED);
+
+        assertThat(List.of(stepOne, duplicate, approvalLevel))
+            .extracting(ApprovalInbox::getInboxType, ApprovalInbox::getIsRead)
+            .containsOnly(tuple("APPRV", "Y"));
+        // 같은 사용자의 다음 단계 행은 차례가 올 때까지 미결로 남는다.
+        assertThat(stepTwo.getInboxType()).isEqualTo("SUBMT");
+        assertThat(stepTwo.getIsRead()).isEqualTo("N");
+    }
+
+    @Test
+    void coalescingSupersedesOnlyPendingIntermediateEvents() {
+        properties.getCoalescing().setEnabled(true);
+        when(repository.findByIdCompanyIdAndIdApprovalIdIn(eq("CHROK"), any())).thenReturn(List.of(
+            approval("A1", "SUBMT"),
+            approval("A2", "SUBMT")
+        ));
+        when(stepRepository.findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(eq("CHROK"), any()))
+            .thenReturn(List.of(
+                step("A1", 1, "user01"),
+                step("A2", 1, "user01"),
+                step("A2", 2, "user02")
+            ));
+
+        approvalService.decideChunk("CHROK", "user01", List.of("A1", "A2"), null, ApprovalEventType.APPROVED);
+
+        // 종료 이벤트(APPROVED/REJECTED/CANCELLED)는 대체 대상 유형에 포함되지 않는다.
+        verify(outboxRepository).supersedePendingIn(
+            eq("CHROK"), eq(List.of("A1", "A2")), eq(List.of(ApprovalEventType.SUBMITTED)), any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ApprovalOutbox>> outboxes = ArgumentCaptor.forClass(List.class);
+        verify(lineWriter).insertOutboxes(outboxes.capture());
+        assertThat(outboxes.getValue())
+            .extracting(ApprovalOutbox::getApprovalId, ApprovalOutbox::getEventType)
+            .containsExactly(tuple("A1", ApprovalEventType.APPROVED), tuple("A2", ApprovalEventType.SUBMITTED));
+    }
+
+    @Test
+    void terminalEventTypesAreNeverCoalesced() {
+        assertThat(ApprovalEventType.values())
+            .filteredOn(type -> !type.isTerminal())
+            .containsExactly(ApprovalEventType.SUBMITTED);
+    }
+
+    @Test
+    void sentBoxPagesThroughEqualTimestampsWithoutGapsOrRepeats() {
+        LocalDateTime t0 = LocalDateTime.of(2025, 1, 7, 9, 0);
+        LocalDateTime t1 = t0.plusMinutes(1);
+        List<ApprovalBoxRow> rows = List.of(
+            new ApprovalBoxRow(approval("A1", "SUBMT"), t0),
+            new ApprovalBoxRow(approval("A2", "SUBMT"), t1),
+            new ApprovalBoxRow(approval("A3", "SUBMT"), t1),
+            new ApprovalBoxRow(approval("A4", "SUBMT"), t1),
+            new ApprovalBoxRow(approval("A5", "SUBMT"), t1.plusMinutes(1))
+        );
+        // findSentBox 의 키셋 조건/정렬을 그대로 적용하는 저장소
+        when(repository.findSentBox(eq("CHROK"), eq("user01"), any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime cursorAt = invocation.getArgument(2);
+            String cursorId = invocation.getArgument(3);
+            Pageable limit = invocation.getArgument(4);
+            return rows.stream()
+                .filter(row -> row.sortKey().isBefore(cursorAt)
+                    || row.sortKey().isEqual(cursorAt) && row.approval().getApprovalId().compareTo(cursorId) < 0)
+                .sorted(Comparator.comparing(ApprovalBoxRow::sortKey)
+                    .thenComparing(row -> row.approval().getApprovalId())
+                    .reversed())
+                .limit(limit.getPageSize())
+                .toList();
+        });
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        ApprovalBoxPage page;
+        do {
+            page = approvalService.findSentApprovals("user01", cursor, 2);
+            page.content().forEach(approval -> seen.add(approval.approvalId()));
+            cursor = page.nextCursor();
+        } while (page.hasNext());
+
+        assertThat(seen).containsExactly("A5", "A4", "A3", "A2", "A1");
+        verify(repository).findSentBox(eq("CHROK"), eq("user01"), eq(ApprovalBoxCursor.FIRST.sortKey()), eq(""), any());
+        verify(repository).findSentBox(eq("CHROK"), eq("user01"), eq(t1), eq("A4"), any());
+    }
+
+    @Test
+    void listWithProgressLoadsStepsOnceAndCountsSequentialSteps() {
+        Approval inProgress = approval("A1", "PROC");
+        Approval completed = approval("A2", "APPRV");
+        Page<Approval> approvals = new PageImpl<>(List.of(inProgress, completed), PageRequest.of(0, 20), 2);
+        when(repository.findByIdCompanyId(eq("CHROK"), any())).thenReturn(approvals);
+        ApprovalStep first = step("A1", 1, "user01");
+        first.setDecidedAt(LocalDateTime.now());
+        ApprovalStep info = step("A1", 2, "user09");
+        info.setDecision("INFO");
+        ApprovalStep completedStep = step("A2", 1, "user01");
+        completedStep.setDecidedAt(LocalDateTime.now());
+        when(stepRepository.findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(eq("CHROK"), any()))
+            .thenReturn(List.of(first, info, step("A1", 3, "user02"), step("A1", 4, "user03"), completedStep));
+
+        List<ApprovalResponse> content = approvalService.listByStatus(null, PageRequest.of(0, 20), true).getContent();
+
+        verify(stepRepository).findByIdCompanyIdAndIdApprovalIdInOrderByIdApprovalIdAscIdStepNoAsc(eq("CHROK"), any());
+        assertThat(content.get(0).progress()).isEqualTo(new ApprovalProgressResponse(3, 1, 3, "user02"));
+        assertThat(content.get(1).progress()).isEqualTo(new ApprovalProgressResponse(1, 1, null, null));
+    }
+
+    private static Approval approval(String approvalId, String status) {
+        Approval approval = new Approval();
+        approval.setId(new ApprovalId("CHROK", approvalId));
+        approval.setStatus(status);
+        return approval;
+    }
+
+    private static ApprovalInbox inbox(String inboxId, Integer stepNo) {
+        ApprovalInbox inbox = new ApprovalInbox();
+        inbox.setId(new ApprovalInboxId("CHROK", inboxId));
+        inbox.setMemberId("user01");
+        inbox.setApprovalId("A1");
+        inbox.setStepNo(stepNo);
+        inbox.setInboxType("SUBMT");
+        inbox.setIsRead("N");
+        return inbox;
+    }
+
+    private static ApprovalStep step(String approvalId, int stepNo, String memberId) {
+        ApprovalStep step = new ApprovalStep();
+        step.setId(new ApprovalStepId("CHROK", approvalId, stepNo));
+        step.setMemberId(memberId);
+        step.setDecision("APPRL");
+        return step;
+    }
+}
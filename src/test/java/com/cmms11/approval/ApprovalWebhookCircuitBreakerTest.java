@@ -0,0 +1,122 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ApprovalWebhookCircuitBreakerTest {
+
+    private static final String HOST = "receiver.local:8080";
+
+    private MutableClock clock;
+    private ApprovalWebhookCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        ApprovalWebhookProperties.CircuitBreaker properties = new ApprovalWebhookProperties.CircuitBreaker();
+        properties.setFailureThreshold(3);
+        properties.setOpenMillis(10_000);
+        properties.setHalfOpenMaxProbes(1);
+        clock = new MutableClock();
+        circuitBreaker = new ApprovalWebhookCircuitBreaker(properties, clock);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndBlocksUntilOpenWindowElapses() {
+        circuitBreaker.recordFailure(HOST);
+        circuitBreaker.recordFailure(HOST);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isTrue();
+
+        circuitBreaker.recordFailure(HOST);
+
+        assertThat(circuitBreaker.state(HOST)).isEqualTo(ApprovalWebhookCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isFalse();
+        assertThat(circuitBreaker.openUntil(HOST)).isNotNull();
+    }
+
+    @Test
+    void halfOpenAllowsLimitedProbesAndClosesOnSuccess() {
+        openCircuit();
+        clock.advance(10_000);
+
+        assertThat(circuitBreaker.tryAcquire(HOST)).isTrue();
+        assertThat(circuitBreaker.state(HOST)).isEqualTo(ApprovalWebhookCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isFalse();
+
+        circuitBreaker.recordSuccess(HOST);
+
+        assertThat(circuitBreaker.state(HOST)).isEqualTo(ApprovalWebhookCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isTrue();
+    }
+
+    @Test
+    void failedProbeReopensCircuit() {
+        openCircuit();
+        clock.advance(10_000);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isTrue();
+
+        circuitBreaker.recordFailure(HOST);
+
+        assertThat(circuitBreaker.state(HOST)).isEqualTo(ApprovalWebhookCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isFalse();
+    }
+
+    @Test
+    void releasedProbeCanBeAcquiredAgain() {
+        openCircuit();
+        clock.advance(10_000);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isTrue();
+        assertThat(circuitBreaker.tryAcquire(HOST)).isFalse();
+
+        circuitBreaker.releaseProbe(HOST);
+
+        assertThat(circuitBreaker.state(HOST)).isEqualTo(ApprovalWebhookCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire(HOST)).isTrue();
+    }
+
+    @Test
+    void hostOfUsesHostAndExplicitPort() {
+        assertThat(ApprovalWebhookCircuitBreaker.hostOf("http://Receiver.local:8080/api/hook")).isEqualTo(HOST);
+        assertThat(ApprovalWebhookCircuitBreaker.hostOf("https://example.com/hook")).isEqualTo("example.com");
+        assertThat(ApprovalWebhookCircuitBreaker.hostOf("/api/hook")).isNull();
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure(HOST);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis = 1_000_000L;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+
+class ApprovalWebhookLogRetentionSchedulerTest {
+
+    private ApprovalWebhookLogRepository logRepository;
+    private ApprovalWebhookHourlyStatRepository statRepository;
+    private ApprovalWebhookLogRetentionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        logRepository = mock(ApprovalWebhookLogRepository.class);
+        statRepository = mock(ApprovalWebhookHourlyStatRepository.class);
+        ApprovalWebhookProperties properties = new ApprovalWebhookProperties();
+        properties.getLog().setPurgeChunkSize(2);
+        properties.getLog().setPurgePauseMillis(0);
+        properties.getLog().setRetentionDays(30);
+        properties.getLog().setStatRetentionDays(400);
+        scheduler = new ApprovalWebhookLogRetentionScheduler(logRepository, statRepository, properties);
+    }
+
+    @Test
+    void purgeDeletesLogsInChunksUntilShortChunk() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(logRepository.findIdsOlderThan(cutoff, PageRequest.of(0, 2)))
+            .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(logRepository.deleteByIdIn(any())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        long deleted = scheduler.purgeLogs(cutoff);
+
+        assertThat(deleted).isEqualTo(5);
+        verify(logRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(logRepository).deleteByIdIn(List.of(3L, 4L));
+        verify(logRepository).deleteByIdIn(List.of(5L));
+    }
+
+    @Test
+    void purgeExpiredAppliesSeparateRetentionToLogsAndHourlyStats() {
+        when(logRepository.findIdsOlderThan(any(), eq(PageRequest.of(0, 2)))).thenReturn(List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        scheduler.purgeExpired();
+
+        ArgumentCaptor<LocalDateTime> logCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> statCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(logRepository).findIdsOlderThan(logCutoff.capture(), eq(PageRequest.of(0, 2)));
+        verify(statRepository).deleteOlderThan(statCutoff.capture());
+        assertThat(logCutoff.getValue()).isBetween(before.minusDays(30), LocalDateTime.now().minusDays(30));
+        assertThat(statCutoff.getValue()).isBetween(before.minusDays(400), LocalDateTime.now().minusDays(400));
+    }
+}
@@ -0,0 +1,115 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ApprovalWebhookLogWriterTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2025, 1, 7, 10, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private ApprovalWebhookHourlyStatRepository statRepository;
+    private ApprovalWebhookLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        statRepository = mock(ApprovalWebhookHourlyStatRepository.class);
+        writer = new ApprovalWebhookLogWriter(
+            jdbcTemplate,
+            statRepository,
+            new ApprovalWebhookProperties(),
+            mock(PlatformTransactionManager.class)
+        );
+    }
+
+    @Test
+    void flushAccumulatesHourlyStatsPerHostAndOutcome() {
+        writer.append(entry("https://erp.example.com/hook", 200, "OK", 5));
+        writer.append(entry("https://erp.example.com/hook", 404, null, 10));
+        writer.append(batchEntry(ApprovalWebhookBatchResponse.INVALID, 20));
+        writer.append(batchEntry(ApprovalWebhookBatchResponse.OK, 25));
+        writer.append(entry("https://erp.example.com/hook", 503, null, 30));
+        writer.append(entry("https://erp.example.com/hook", null, null, 40));
+        writer.append(entry("http://mes.example.com:8080/hook", 200, "OK", 59));
+
+        writer.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), eq(7), any(ParameterizedPreparedStatementSetter.class));
+        verify(statRepository).accumulate(
+            eq("CHROK"), eq(HOUR), eq("erp.example.com"), eq(6L), eq(2L), eq(2L), eq(1L), eq(1L), any());
+        verify(statRepository).accumulate(
+            eq("CHROK"), eq(HOUR), eq("mes.example.com:8080"), eq(1L), eq(1L), eq(0L), eq(0L), eq(0L), any());
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    void failedFlushRequeuesBatchForNextRun() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Long> savedOutboxIds = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                if (calls.incrementAndGet() == 1) {
+                    throw new DataAccessResourceFailureException("connection reset");
+                }
+                List<ApprovalWebhookLog> batch = invocation.getArgument(1);
+                batch.forEach(entry -> savedOutboxIds.add(entry.getOutboxId()));
+                return new int[][] {new int[batch.size()]};
+            });
+        writer.append(entry("https://erp.example.com/hook", 200, "OK", 1));
+        writer.append(entry("https://erp.example.com/hook", 500, null, 2));
+
+        writer.flush();
+
+        assertThat(writer.pendingCount()).isEqualTo(2);
+        verify(statRepository, never()).accumulate(
+            anyString(), any(), anyString(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+
+        writer.flush();
+
+        assertThat(writer.pendingCount()).isZero();
+        assertThat(savedOutboxIds).containsExactly(1L, 2L);
+        verify(jdbcTemplate, times(2))
+            .batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static ApprovalWebhookLog batchEntry(String itemStatus, int minute) {
+        ApprovalWebhookLog entry = entry("https://erp.example.com/hook/batch", 200, null, minute);
+        entry.setItemStatus(itemStatus);
+        return entry;
+    }
+
+    private static ApprovalWebhookLog entry(String url, Integer status, String body, int minute) {
+        ApprovalWebhookLog entry = new ApprovalWebhookLog();
+        entry.setOutboxId((long) minute);
+        entry.setCompanyId("CHROK");
+        entry.setApprovalId("A250107001");
+        entry.setWebhookUrl(url);
+        entry.setHttpStatus(status);
+        entry.setResponseBody(body);
+        entry.setCreatedAt(HOUR.plusMinutes(minute));
+        return entry;
+    }
+}
@@ -0,0 +1,170 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class ApprovalWebhookSchedulerTest {
+
+    private static final String CALLBACK = "http://receiver.local/webhook";
+
+    private ApprovalOutboxRepository outboxRepository;
+    private ApprovalWebhookLogWriter logWriter;
+    private ApprovalWebhookCircuitBreaker circuitBreaker;
+    private SimpleMeterRegistry registry;
+    private MockRestServiceServer server;
+    private ApprovalWebhookScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(ApprovalOutboxRepository.class);
+        when(outboxRepository.updateIfPending(any(), any(), anyInt(), any(), any(), any(), any())).thenReturn(1);
+        ApprovalWebhookProperties properties = new ApprovalWebhookProperties();
+        properties.getBatch().setEnabled(true);
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        properties.getCircuitBreaker().setOpenMillis(0);
+        logWriter = mock(ApprovalWebhookLogWriter.class);
+        circuitBreaker = new ApprovalWebhookCircuitBreaker(properties);
+        registry = new SimpleMeterRegistry();
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        scheduler = new ApprovalWebhookScheduler(
+            outboxRepository,
+            logWriter,
+            properties,
+            circuitBreaker,
+            new ApprovalWebhookSigner(properties),
+            new ApprovalOutboxMetrics(registry, outboxRepository),
+            new ObjectMapper(),
+            restTemplate
+        );
+    }
+
+    @Test
+    void batchClientErrorFailsEventsWithoutRetry() {
+        givenPending(event(1L, "{}"), event(2L, "{}"));
+        server.expect(requestTo(CALLBACK + "/batch")).andRespond(withStatus(HttpStatus.UNAUTHORIZED));
+
+        scheduler.dispatchPendingEvents();
+
+        server.verify();
+        verify(outboxRepository).updateIfPending(eq(1L), eq(ApprovalOutboxStatus.FAILED), eq(0), any(), any(), any(), any());
+        verify(outboxRepository).updateIfPending(eq(2L), eq(ApprovalOutboxStatus.FAILED), eq(0), any(), any(), any(), any());
+    }
+
+    @Test
+    void unreadablePayloadFailsOnlyThatEventAndSendsTheRest() {
+        givenPending(event(1L, "{}"), event(2L, "not-json"), event(3L, "{}"));
+        server.expect(requestTo(CALLBACK + "/batch")).andRespond(withSuccess(
+            "{\"results\":[{\"outboxId\":1,\"status\":\"OK\"},{\"outboxId\":3,\"status\":\"OK\"}]}",
+            MediaType.APPLICATION_JSON));
+
+        scheduler.dispatchPendingEvents();
+
+        server.verify();
+        verify(outboxRepository).updateIfPending(eq(1L), eq(ApprovalOutboxStatus.SENT), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository).updateIfPending(eq(2L), eq(ApprovalOutboxStatus.FAILED), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository).updateIfPending(eq(3L), eq(ApprovalOutboxStatus.SENT), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void batchItemResultsAreAppliedPerEvent() {
+        givenPending(event(1L, "{}"), event(2L, "{}"), event(3L, "{}"), event(4L, "{}"));
+        server.expect(requestTo(CALLBACK + "/batch")).andRespond(withSuccess(
+            "{\"results\":[{\"outboxId\":1,\"status\":\"OK\"},{\"outboxId\":2,\"status\":\"DUPLICATE\"},"
+                + "{\"outboxId\":3,\"status\":\"INVALID\",\"message\":\"bad\"}]}",
+            MediaType.APPLICATION_JSON));
+
+        scheduler.dispatchPendingEvents();
+
+        verify(outboxRepository).updateIfPending(eq(1L), eq(ApprovalOutboxStatus.SENT), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository).updateIfPending(eq(2L), eq(ApprovalOutboxStatus.SENT), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository).updateIfPending(eq(3L), eq(ApprovalOutboxStatus.FAILED), eq(0), any(), any(), any(), any());
+        // 결과가 빠진 이벤트는 재시도 예약
+        verify(outboxRepository).updateIfPending(eq(4L), eq(ApprovalOutboxStatus.PENDING), eq(1), any(), any(), any(), any());
+    }
+
+    @Test
+    void batchNotSupportedFallsBackToSingleRequests() {
+        givenPending(event(1L, "{}"), event(2L, "{}"));
+        server.expect(requestTo(CALLBACK + "/batch")).andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(ExpectedCount.times(2), requestTo(CALLBACK)).andRespond(withSuccess());
+
+        scheduler.dispatchPendingEvents();
+
+        server.verify();
+        verify(outboxRepository).updateIfPending(eq(1L), eq(ApprovalOutboxStatus.SENT), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository).updateIfPending(eq(2L), eq(ApprovalOutboxStatus.SENT), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository, never())
+            .updateIfPending(any(), eq(ApprovalOutboxStatus.FAILED), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void eventSupersededWhileSendingIsNotResurrected() {
+        givenPending(event(1L, "{}"));
+        // 발송 중 새 이벤트가 등록되어 SUPERSEDED 로 바뀐 행: 조건부 갱신이 0건이다.
+        when(outboxRepository.updateIfPending(eq(1L), any(), anyInt(), any(), any(), any(), any())).thenReturn(0);
+        server.expect(requestTo(CALLBACK)).andRespond(withSuccess());
+
+        scheduler.dispatchPendingEvents();
+
+        server.verify();
+        verify(outboxRepository).updateIfPending(eq(1L), eq(ApprovalOutboxStatus.SENT), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository, never()).save(any());
+        assertThat(registry.get("approval.outbox.delivery.attempts").summary().count()).isZero();
+    }
+
+    @Test
+    void unexpectedErrorAfterAcquiringHalfOpenProbeReleasesIt() {
+        circuitBreaker.recordFailure("receiver.local");
+        givenPending(event(1L, "{}"));
+        server.expect(requestTo(CALLBACK)).andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+        doThrow(new IllegalStateException("log queue closed")).when(logWriter).append(any());
+
+        assertThatThrownBy(scheduler::dispatchPendingEvents).isInstanceOf(IllegalStateException.class);
+
+        // 결과 기록 전에 실패한 시험 발송의 슬롯이 반납되어 다음 주기에 다시 시도할 수 있다.
+        assertThat(circuitBreaker.state("receiver.local")).isEqualTo(ApprovalWebhookCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire("receiver.local")).isTrue();
+    }
+
+    private void givenPending(ApprovalOutbox... events) {
+        when(outboxRepository.findTop50ByStatusAndNextAttemptAtBeforeOrderByCreatedAtAsc(
+            eq(ApprovalOutboxStatus.PENDING), any())).thenReturn(List.of(events));
+    }
+
+    private static ApprovalOutbox event(Long id, String payload) {
+        ApprovalOutbox event = new ApprovalOutbox();
+        event.setId(id);
+        event.setCompanyId("CHROK");
+        event.setApprovalId("A" + id);
+        event.setCallbackUrl(CALLBACK);
+        event.setEventType(ApprovalEventType.SUBMITTED);
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
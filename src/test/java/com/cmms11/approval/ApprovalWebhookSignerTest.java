@@ -0,0 +1,45 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ApprovalWebhookSignerTest {
+
+    private static final byte[] BODY = "{\"approvalId\":\"A000000001\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void verifiesSignatureProducedWithPrimaryKey() {
+        ApprovalWebhookSigner signer = signer("current", List.of());
+
+        assertThat(signer.verify(signer.sign(BODY), BODY)).isTrue();
+        assertThat(signer.verify(signer.sign(BODY), "{}".getBytes(StandardCharsets.UTF_8))).isFalse();
+    }
+
+    @Test
+    void acceptsAdditionalKeysDuringRotation() {
+        ApprovalWebhookSigner previous = signer("previous", List.of());
+        ApprovalWebhookSigner rotated = signer("current", List.of("previous"));
+
+        assertThat(rotated.verify(previous.sign(BODY), BODY)).isTrue();
+        assertThat(previous.verify(rotated.sign(BODY), BODY)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedSignatureHeader() {
+        ApprovalWebhookSigner signer = signer("current", List.of());
+
+        assertThat(signer.verify("not-base64!", BODY)).isFalse();
+        assertThat(signer.verify(" ", BODY)).isFalse();
+    }
+
+    private ApprovalWebhookSigner signer(String secretKey, List<String> additionalKeys) {
+        ApprovalWebhookProperties properties = new ApprovalWebhookProperties();
+        properties.getSecurity().setSecretKey(secretKey);
+        properties.getSecurity().setAdditionalSecretKeys(additionalKeys);
+        return new ApprovalWebhookSigner(properties);
+    }
+}
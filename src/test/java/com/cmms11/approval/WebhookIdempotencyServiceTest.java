@@ -0,0 +1,125 @@
+package com.cmms11.approval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class WebhookIdempotencyServiceTest {
+
+    private static final WebhookIdempotencyId KEY = new WebhookIdempotencyId("CHROK", "WORK-W250107001-PLN");
+
+    private WebhookIdempotencyRepository repository;
+    private ApprovalWebhookProperties properties;
+    private WebhookIdempotencyService service;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(WebhookIdempotencyRepository.class);
+        properties = new ApprovalWebhookProperties();
+        service = new WebhookIdempotencyService(repository, properties);
+        transaction = new TransactionTemplate(new SynchronizingTransactionManager());
+    }
+
+    @Test
+    void claimSucceedsOnceAndCachesKeyAfterCommit() {
+        when(repository.insertIfAbsent(eq("CHROK"), eq(KEY.getIdempotencyKey()), any())).thenReturn(1, 0);
+
+        Boolean first = transaction.execute(status -> {
+            boolean claimed = service.claim(KEY);
+            // 커밋 전에는 다른 요청의 빠른 경로가 이 키를 걸러내지 않는다.
+            assertThat(service.isRecentlySeen(KEY)).isFalse();
+            return claimed;
+        });
+
+        assertThat(first).isTrue();
+        assertThat(service.isRecentlySeen(KEY)).isTrue();
+        Boolean second = transaction.execute(status -> service.claim(KEY));
+        assertThat(second).isFalse();
+    }
+
+    @Test
+    void rolledBackClaimIsNotCached() {
+        when(repository.insertIfAbsent(eq("CHROK"), eq(KEY.getIdempotencyKey()), any())).thenReturn(1);
+
+        transaction.executeWithoutResult(status -> {
+            service.claim(KEY);
+            status.setRollbackOnly();
+        });
+
+        assertThat(service.isRecentlySeen(KEY)).isFalse();
+    }
+
+    @Test
+    void cachedKeyExpiresAfterTtl() {
+        properties.getIdempotency().setCacheTtlMillis(-1);
+        service = new WebhookIdempotencyService(repository, properties);
+        when(repository.insertIfAbsent(any(), any(), any())).thenReturn(1);
+
+        service.claim(KEY);
+
+        assertThat(service.isRecentlySeen(KEY)).isFalse();
+    }
+
+    @Test
+    void cacheKeepsOnlyMostRecentKeys() {
+        properties.getIdempotency().setCacheSize(2);
+        service = new WebhookIdempotencyService(repository, properties);
+        when(repository.insertIfAbsent(any(), any(), any())).thenReturn(1);
+        WebhookIdempotencyId second = new WebhookIdempotencyId("CHROK", "K2");
+        WebhookIdempotencyId third = new WebhookIdempotencyId("CHROK", "K3");
+
+        service.claim(KEY);
+        service.claim(second);
+        service.claim(third);
+
+        assertThat(service.isRecentlySeen(KEY)).isFalse();
+        assertThat(service.isRecentlySeen(second)).isTrue();
+        assertThat(service.isRecentlySeen(third)).isTrue();
+    }
+
+    @Test
+    void purgeDeletesInChunksUntilShortChunk() {
+        properties.getIdempotency().setPurgeChunkSize(100);
+        when(repository.deleteOlderThan(any(), eq(100))).thenReturn(100, 100, 7);
+
+        service.purgeExpired();
+
+        verify(repository, times(3)).deleteOlderThan(any(), eq(100));
+    }
+
+    /**
+     * 커밋/롤백 시 트랜잭션 동기화 콜백만 실행하는 트랜잭션 관리자.
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cmms11.approval.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.config.ApprovalWebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class ApprovalWebhookInboundProcessorTest {
+
+    @Test
+    void purgeDeletesFinishedRowsChunkByChunk() {
+        ApprovalWebhookInboundRepository repository = mock(ApprovalWebhookInboundRepository.class);
+        ApprovalWebhookProperties properties = new ApprovalWebhookProperties();
+        properties.getInbound().setPurgeChunkSize(2);
+        when(repository.deleteFinishedBefore(eq("DONE"), any(), eq(2))).thenReturn(2, 2, 1);
+        when(repository.deleteFinishedBefore(eq("FAILED"), any(), eq(2))).thenReturn(0);
+        ApprovalWebhookInboundProcessor processor = new ApprovalWebhookInboundProcessor(
+            repository, mock(ApprovalWebhookReceiver.class), properties, new ObjectMapper());
+
+        processor.purgeFinished();
+
+        verify(repository, times(3)).deleteFinishedBefore(eq("DONE"), any(), eq(2));
+        verify(repository, times(1)).deleteFinishedBefore(eq("FAILED"), any(), eq(2));
+    }
+}
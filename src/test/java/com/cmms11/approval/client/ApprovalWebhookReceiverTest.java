@@ -0,0 +1,133 @@
+package com.cmms11.approval.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.approval.ApprovalEventPayload;
+import com.cmms11.approval.ApprovalEventType;
+import com.cmms11.approval.ApprovalWebhookBatchRequest;
+import com.cmms11.approval.ApprovalWebhookBatchResponse;
+import com.cmms11.approval.ApprovalWebhookSigner;
+import com.cmms11.approval.WebhookIdempotencyId;
+import com.cmms11.approval.WebhookIdempotencyRepository;
+import com.cmms11.approval.WebhookIdempotencyService;
+import com.cmms11.config.ApprovalWebhookProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+class ApprovalWebhookReceiverTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Set<String> failingRefIds = new HashSet<>();
+    private final List<String> applied = new ArrayList<>();
+
+    private ApprovalWebhookSigner signer;
+    private WebhookIdempotencyService idempotencyService;
+    private ApprovalWebhookReceiver receiver;
+
+    @BeforeEach
+    void setUp() {
+        ApprovalWebhookProperties properties = new ApprovalWebhookProperties();
+        properties.getSecurity().setSecretKey("secret");
+        signer = new ApprovalWebhookSigner(properties);
+
+        // DB 선점은 롤백되므로 재시도 때 다시 선점할 수 있다.
+        WebhookIdempotencyRepository repository = mock(WebhookIdempotencyRepository.class);
+        when(repository.insertIfAbsent(anyString(), anyString(), any())).thenReturn(1);
+        idempotencyService = new WebhookIdempotencyService(repository, properties);
+
+        ApprovalStatusHandler handler = new ApprovalStatusHandler() {
+            @Override
+            public String refEntity() {
+                return "WORK";
+            }
+
+            @Override
+            public void applyApprovalStatus(String refId, String stage, ApprovalStatusTransition transition) {
+                if (failingRefIds.contains(refId)) {
+                    throw new IllegalStateException("작업지시를 찾을 수 없습니다: " + refId);
+                }
+                applied.add(refId);
+            }
+        };
+        receiver = new ApprovalWebhookReceiver(
+            List.of(handler),
+            signer,
+            idempotencyService,
+            mock(ApprovalWebhookInboundRepository.class),
+            properties,
+            objectMapper,
+            new SynchronizingTransactionManager()
+        );
+    }
+
+    @Test
+    void failedBatchItemDoesNotAffectOthersAndIsRetriedLater() throws Exception {
+        failingRefIds.add("W1");
+
+        ResponseEntity<ApprovalWebhookBatchResponse> first = receiveBatch(item(1L, "W1", "K1"), item(2L, "W2", "K2"));
+
+        assertThat(first.getBody().results())
+            .extracting(ApprovalWebhookBatchResponse.Result::status)
+            .containsExactly(ApprovalWebhookBatchResponse.ERROR, ApprovalWebhookBatchResponse.OK);
+        assertThat(idempotencyService.isRecentlySeen(new WebhookIdempotencyId("CHROK", "K1"))).isFalse();
+        assertThat(idempotencyService.isRecentlySeen(new WebhookIdempotencyId("CHROK", "K2"))).isTrue();
+
+        failingRefIds.clear();
+        ResponseEntity<ApprovalWebhookBatchResponse> retry = receiveBatch(item(1L, "W1", "K1"), item(2L, "W2", "K2"));
+
+        assertThat(retry.getBody().results())
+            .extracting(ApprovalWebhookBatchResponse.Result::status)
+            .containsExactly(ApprovalWebhookBatchResponse.OK, ApprovalWebhookBatchResponse.DUPLICATE);
+        assertThat(applied).containsExactly("W2", "W1");
+    }
+
+    private ResponseEntity<ApprovalWebhookBatchResponse> receiveBatch(ApprovalWebhookBatchRequest.Item... items)
+        throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(new ApprovalWebhookBatchRequest(List.of(items)));
+        return receiver.receiveBatch("WORK", signer.sign(body), body);
+    }
+
+    private static ApprovalWebhookBatchRequest.Item item(Long outboxId, String refId, String idempotencyKey) {
+        ApprovalEventPayload payload = new ApprovalEventPayload(
+            "CHROK", "A" + outboxId, "WORK", refId, "PLN", "APPRV", ApprovalEventType.APPROVED,
+            null, "admin", null, null, idempotencyKey, List.of()
+        );
+        return new ApprovalWebhookBatchRequest.Item(outboxId, ApprovalEventType.APPROVED, idempotencyKey, payload);
+    }
+
+    /**
+     * 커밋/롤백 시 트랜잭션 동기화 콜백만 실행하는 트랜잭션 관리자.
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
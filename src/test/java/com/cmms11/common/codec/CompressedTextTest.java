@@ -0,0 +1,55 @@
+package com.cmms11.common.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class CompressedTextTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void largeValueIsStoredCompressedAndReadBack() {
+        String content = "<table>" + "<tr><td>PUMP-0001</td><td>베어링 점검 및 윤활유 교체</td></tr>".repeat(40) + "</table>";
+
+        String stored = converter.convertToDatabaseColumn(content);
+
+        assertThat(stored).startsWith(CompressedText.DEFLATE_MARKER);
+        assertThat(stored.length()).isLessThan(content.length() / 4);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(content);
+    }
+
+    @Test
+    void smallAndLegacyPlainValuesAreUnchanged() {
+        String small = "{\"status\":\"APPRV\"}";
+        String legacy = "<p>" + "기존 평문 본문".repeat(100) + "</p>";
+
+        assertThat(converter.convertToDatabaseColumn(small)).isEqualTo(small);
+        assertThat(converter.convertToEntityAttribute(legacy)).isEqualTo(legacy);
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void compressedValueMatchesMariaDbCompressFormat() {
+        // MariaDB: CONCAT('~dfl1:', TO_BASE64(SUBSTRING(COMPRESS('...'), 5))) 와 같은 zlib 스트림이어야 한다.
+        String value = "approval-payload-".repeat(64);
+        String stored = CompressedText.compress(value, 1);
+
+        byte[] zlib = Base64.getDecoder().decode(stored.substring(CompressedText.DEFLATE_MARKER.length()));
+        assertThat(zlib[0]).isEqualTo((byte) 0x78);
+        assertThat(CompressedText.decompress(stored)).isEqualTo(value);
+    }
+
+    @Test
+    void plainValueStartingWithMarkerRoundTrips() {
+        String shortValue = CompressedText.DEFLATE_MARKER + "not base64";
+        String longValue = CompressedText.DEFLATE_MARKER + "x".repeat(1000);
+
+        for (String value : new String[] {shortValue, longValue, CompressedText.DEFLATE_MARKER}) {
+            String stored = converter.convertToDatabaseColumn(value);
+            assertThat(stored).isNotEqualTo(value);
+            assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(value);
+        }
+    }
+}
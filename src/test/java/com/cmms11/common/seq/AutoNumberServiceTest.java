@@ -0,0 +1,59 @@
+package com.cmms11.common.seq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AutoNumberServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 7);
+
+    private SequenceRepository repository;
+    private AutoNumberService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SequenceRepository.class);
+        service = new AutoNumberService(repository);
+    }
+
+    @Test
+    void generateTxIdsReservesConsecutiveBlockWithOneLock() {
+        Sequence sequence = new Sequence();
+        sequence.setId(new SequenceId("CHROK", "I", "250107"));
+        sequence.setNextSeq(41);
+        when(repository.findForUpdate("CHROK", "I", "250107")).thenReturn(Optional.of(sequence));
+
+        List<String> ids = service.generateTxIds("CHROK", "I", DATE, 3);
+
+        assertThat(ids).containsExactly("I250107041", "I250107042", "I250107043");
+        assertThat(sequence.getNextSeq()).isEqualTo(44);
+        verify(repository, times(1)).findForUpdate("CHROK", "I", "250107");
+    }
+
+    @Test
+    void generateTxIdsStartsNewDayAtOne() {
+        when(repository.findForUpdate("CHROK", "I", "250107")).thenReturn(Optional.empty());
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<String> ids = service.generateTxIds("CHROK", "I", DATE, 2);
+
+        assertThat(ids).containsExactly("I250107001", "I250107002");
+    }
+
+    @Test
+    void zeroCountTouchesNothing() {
+        assertThat(service.generateTxIds("CHROK", "I", DATE, 0)).isEmpty();
+        verify(repository, never()).findForUpdate(any(), any(), any());
+    }
+}
@@ -0,0 +1,166 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.LocalStorageService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class FileBlobServiceTest {
+
+    private static final byte[] CONTENT = "펌프 정비 매뉴얼 v3".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage;
+    private FileBlobRepository blobRepository;
+    private FileBlobService blobService;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AppConfig.FileStorageConfig config = new AppConfig.FileStorageConfig();
+        config.setLocation(root.toString());
+        storage = new LocalStorageService(config);
+        blobRepository = mock(FileBlobRepository.class);
+        blobService = new FileBlobService(blobRepository, storage);
+        transaction = new TransactionTemplate(new SynchronizingTransactionManager());
+    }
+
+    @Test
+    void newContentIsMovedToContentAddressedPath() throws IOException {
+        String checksum = HexFormat.of().formatHex(FileBlobService.sha256().digest(CONTENT));
+        when(blobRepository.addReference(eq("CHROK"), eq(checksum), any(), anyLong(), any())).thenReturn(1);
+
+        FileBlobService.StoredBlob blob = store("F250107001", "A1.pdf");
+
+        assertThat(blob.checksumSha256()).isEqualTo(checksum);
+        assertThat(blob.duplicate()).isFalse();
+        assertThat(blob.storagePath()).isEqualTo(storage.blobPath("CHROK", checksum));
+        assertThat(Files.readAllBytes(storage.localPath(blob.storagePath()))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void duplicateContentOnlyAddsReference() throws IOException {
+        when(blobRepository.addReference(eq("CHROK"), any(), any(), anyLong(), any())).thenReturn(1, 2);
+
+        FileBlobService.StoredBlob first = store("F250107001", "A1.pdf");
+        FileBlobService.StoredBlob second = store("F250108001", "B1.pdf");
+
+        assertThat(second.duplicate()).isTrue();
+        assertThat(second.storagePath()).isEqualTo(first.storagePath());
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void duplicateWithMissingBlobFileRepublishesFromUpload() throws IOException {
+        // 이전 게시가 실패해 행만 남은 blob: 중복 업로드가 자기 파일로 다시 게시한다.
+        when(blobRepository.addReference(eq("CHROK"), any(), any(), anyLong(), any())).thenReturn(2);
+
+        FileBlobService.StoredBlob blob = store("F250107001", "A1.pdf");
+
+        assertThat(blob.duplicate()).isTrue();
+        assertThat(Files.readAllBytes(storage.localPath(blob.storagePath()))).isEqualTo(CONTENT);
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void revivingUnreferencedBlobPublishesUploadEvenIfStaleFileExists() throws IOException {
+        // 정리 작업이 파일을 지운 뒤 행 삭제가 커밋되지 않아 ref_count=0 으로 남은 blob 을 다시 참조한다.
+        String checksum = HexFormat.of().formatHex(FileBlobService.sha256().digest(CONTENT));
+        when(blobRepository.addReference(eq("CHROK"), eq(checksum), any(), anyLong(), any())).thenReturn(2);
+        when(blobRepository.findRefCount("CHROK", checksum)).thenReturn(1);
+        storage.write(storage.blobPath("CHROK", checksum), new ByteArrayInputStream(new byte[] {1}), null);
+
+        FileBlobService.StoredBlob blob = store("F250107001", "A1.pdf");
+
+        assertThat(blob.duplicate()).isFalse();
+        assertThat(Files.readAllBytes(storage.localPath(blob.storagePath()))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void registerKeepsStagingUntilCommit() throws IOException {
+        String staging = storage.store(
+            "CHROK", "F250107001", "U1.part", new ByteArrayInputStream(CONTENT), "application/octet-stream");
+        String checksum = HexFormat.of().formatHex(FileBlobService.sha256().digest(CONTENT));
+        when(blobRepository.addReference(eq("CHROK"), eq(checksum), any(), anyLong(), any())).thenReturn(1);
+
+        transaction.executeWithoutResult(status -> {
+            register(checksum, staging);
+            status.setRollbackOnly();
+        });
+        // 롤백: 임시 파일이 남아 다시 완료할 수 있다.
+        assertThat(Files.exists(storage.localPath(staging))).isTrue();
+
+        transaction.executeWithoutResult(status -> register(checksum, staging));
+
+        assertThat(Files.exists(storage.localPath(staging))).isFalse();
+        assertThat(Files.readAllBytes(storage.localPath(storage.blobPath("CHROK", checksum)))).isEqualTo(CONTENT);
+    }
+
+    private void register(String checksum, String staging) {
+        try {
+            blobService.register("CHROK", checksum, staging, CONTENT.length);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private FileBlobService.StoredBlob store(String fileGroupId, String storedName) {
+        return transaction.execute(status -> storeQuietly(fileGroupId, storedName));
+    }
+
+    private FileBlobService.StoredBlob storeQuietly(String fileGroupId, String storedName) {
+        try {
+            return blobService.store(
+                "CHROK", fileGroupId, storedName, new ByteArrayInputStream(CONTENT), "application/pdf", CONTENT.length);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * 커밋/롤백 시 트랜잭션 동기화 콜백만 실행하는 트랜잭션 관리자.
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
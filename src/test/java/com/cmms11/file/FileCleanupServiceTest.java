@@ -0,0 +1,97 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.StorageService;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class FileCleanupServiceTest {
+
+    private FileItemRepository itemRepository;
+    private FileBlobRepository blobRepository;
+    private FileBlobService blobService;
+    private StorageService storage;
+    private FileCleanupService cleanupService;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(FileItemRepository.class);
+        blobRepository = mock(FileBlobRepository.class);
+        blobService = mock(FileBlobService.class);
+        storage = mock(StorageService.class);
+        when(storage.deleteParallelism()).thenReturn(2);
+        cleanupService = new FileCleanupService(
+            itemRepository, blobRepository, blobService, storage, new AppConfig.FileStorageConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanupService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releasesBlobReferencesAndKeepsRowsWhoseFileCouldNotBeDeleted() throws IOException {
+        FileItem shared = item("A000000001", "ab".repeat(32), "CHROK/blobs/ab/ab/" + "ab".repeat(32));
+        FileItem legacy = item("A000000002", null, "CHROK/00/01/F250107001/A000000002.pdf");
+        FileItem locked = item("A000000003", null, "CHROK/00/01/F250107001/A000000003.pdf");
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+        when(itemRepository.lockPurgeable(eq(cutoff), eq(""), eq(""), eq(""), anyInt()))
+            .thenReturn(List.of(shared, legacy, locked));
+        doThrow(new IOException("sharing violation")).when(storage).delete(locked.getStoragePath());
+
+        FileCleanupService.PurgeBatch<FileItemId> batch = cleanupService.purgeDeletedItems(null, cutoff, 3);
+
+        verify(storage, never()).delete(shared.getStoragePath());
+        verify(storage).delete(legacy.getStoragePath());
+        verify(blobService).release("CHROK", shared.getChecksumSha256());
+        ArgumentCaptor<List<FileItem>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(itemRepository).deleteAllInBatch(deleted.capture());
+        assertThat(deleted.getValue()).containsExactly(shared, legacy);
+        assertThat(batch.selected()).isEqualTo(3);
+        assertThat(batch.purged()).isEqualTo(2);
+        assertThat(batch.last()).isEqualTo(locked.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deletesUnreferencedBlobFilesBeforeRows() throws IOException {
+        FileBlob blob = new FileBlob();
+        blob.setId(new FileBlobId("CHROK", "cd".repeat(32)));
+        blob.setStoragePath("CHROK/blobs/cd/cd/" + "cd".repeat(32));
+        blob.setRefCount(0);
+        when(blobRepository.lockUnreferenced(any(), eq(""), eq(""), anyInt())).thenReturn(List.of(blob));
+
+        FileCleanupService.PurgeBatch<FileBlobId> batch = cleanupService.purgeUnreferencedBlobs(null, LocalDateTime.now(), 10);
+
+        verify(storage).delete(blob.getStoragePath());
+        ArgumentCaptor<List<FileBlob>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(blobRepository).deleteAllInBatch(deleted.capture());
+        assertThat(deleted.getValue()).containsExactly(blob);
+        assertThat(batch.selected()).isEqualTo(1);
+    }
+
+    private FileItem item(String fileId, String checksum, String storagePath) {
+        FileItem item = new FileItem();
+        item.setId(new FileItemId("CHROK", "F250107001", fileId));
+        item.setChecksumSha256(checksum);
+        item.setStoragePath(storagePath);
+        item.setDeleteMark("Y");
+        return item;
+    }
+}
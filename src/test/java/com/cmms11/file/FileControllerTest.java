@@ -0,0 +1,126 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.LocalStorageService;
+import com.cmms11.file.storage.StorageResource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class FileControllerTest {
+
+    private static final String ETAG = "\"F1-26\"";
+
+    @TempDir
+    Path root;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AppConfig.FileStorageConfig config = new AppConfig.FileStorageConfig();
+        config.setLocation(root.toString());
+        LocalStorageService storage = new LocalStorageService(config);
+        byte[] content = "abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+        String path = storage.store("CHROK", "F250107001", "F1.txt", new ByteArrayInputStream(content), "text/plain");
+
+        FileService fileService = mock(FileService.class);
+        FileDownload download = new FileDownload(
+            new StorageResource(storage, path, "F250107001", "F1.txt", content.length),
+            "도면.txt",
+            "text/plain",
+            content.length,
+            ETAG,
+            1_700_000_000_000L
+        );
+        when(fileService.download("F250107001", "F1")).thenReturn(download);
+        FileDownload missing = new FileDownload(
+            new StorageResource(storage, "CHROK/00/00/F250107001/F3.jpg", "F250107001", "F3.jpg", 10),
+            "현장.jpg",
+            "image/jpeg",
+            10,
+            "\"F3-10\"",
+            1_700_000_000_000L
+        );
+        when(fileService.downloadAll("F250107001")).thenReturn(List.of(download, download, missing));
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileController(fileService)).build();
+    }
+
+    @Test
+    void matchingETagReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/files/F1").param("groupId", "F250107001").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void singleRangeIsServedFromStorage() throws Exception {
+        mockMvc.perform(get("/api/files/F1").param("groupId", "F250107001").header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/26"))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().string("cdef"));
+    }
+
+    @Test
+    void multipleRangesAreWrittenAsByteranges() throws Exception {
+        String body = mockMvc.perform(get("/api/files/F1").param("groupId", "F250107001").header(HttpHeaders.RANGE, "bytes=0-1,24-"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("multipart/byteranges; boundary=")))
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+            .contains("Content-Range: bytes 0-1/26\r\n\r\nab\r\n")
+            .contains("Content-Range: bytes 24-25/26\r\n\r\nyz\r\n");
+    }
+
+    @Test
+    void staleIfRangeOrUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/api/files/F1").param("groupId", "F250107001")
+                .header(HttpHeaders.RANGE, "bytes=2-5")
+                .header(HttpHeaders.IF_RANGE, "\"other\""))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/files/F1").param("groupId", "F250107001").header(HttpHeaders.RANGE, "bytes=100-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */26"));
+    }
+
+    @Test
+    void archiveStreamsGroupAsZipWithUniqueNames() throws Exception {
+        byte[] zip = mockMvc.perform(get("/api/files/archive").param("groupId", "F250107001"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertThat(entries).containsOnlyKeys("도면.txt", "도면 (2).txt", FileArchiveWriter.MISSING_LIST_NAME);
+        assertThat(entries.get("도면 (2).txt")).isEqualTo("abcdefghijklmnopqrstuvwxyz");
+        assertThat(entries.get(FileArchiveWriter.MISSING_LIST_NAME)).isEqualTo("현장.jpg");
+    }
+}
@@ -0,0 +1,92 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cmms11.config.AppConfig;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FileImageOptimizerTest {
+
+    private AppConfig.ImagePolicy policy;
+    private FileImageOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig.FileStorageConfig config = new AppConfig.FileStorageConfig();
+        policy = new AppConfig.ImagePolicy();
+        policy.setMaxEdge(1024);
+        config.getImagePolicy().put("insp", policy);
+        optimizer = new FileImageOptimizer(config);
+    }
+
+    @Test
+    void policyAppliesToJpegAndPngOfConfiguredRefEntityOnly() {
+        assertThat(optimizer.policyFor("INSP", "JPG")).isSameAs(policy);
+        assertThat(optimizer.policyFor("insp", "png")).isSameAs(policy);
+        assertThat(optimizer.policyFor("INSP", "pdf")).isNull();
+        assertThat(optimizer.policyFor("WORK", "jpg")).isNull();
+        assertThat(optimizer.policyFor(null, "jpg")).isNull();
+    }
+
+    @Test
+    void downscalesLargeJpegToMaxEdge() throws IOException {
+        byte[] photo = encode(noisyImage(3000, 2000, BufferedImage.TYPE_INT_RGB), "jpeg");
+
+        FileImageOptimizer.Optimized optimized = optimizer.optimize(new ByteArrayInputStream(photo), "jpg", photo.length, policy);
+
+        assertThat(optimized).isNotNull();
+        assertThat(optimized.mimeType()).isEqualTo("image/jpeg");
+        assertThat(optimized.content().length).isLessThan(photo.length);
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(optimized.content()));
+        assertThat(result.getWidth()).isEqualTo(1024);
+        assertThat(result.getHeight()).isEqualTo(683);
+    }
+
+    @Test
+    void pngKeepsTransparency() throws IOException {
+        byte[] drawing = encode(noisyImage(2048, 512, BufferedImage.TYPE_INT_ARGB), "png");
+
+        FileImageOptimizer.Optimized optimized = optimizer.optimize(new ByteArrayInputStream(drawing), "png", drawing.length, policy);
+
+        assertThat(optimized).isNotNull();
+        assertThat(optimized.mimeType()).isEqualTo("image/png");
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(optimized.content()));
+        assertThat(result.getWidth()).isEqualTo(1024);
+        assertThat(result.getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    void keepsSmallOrUnreadableImagesAsIs() throws IOException {
+        byte[] small = encode(noisyImage(800, 600, BufferedImage.TYPE_INT_RGB), "jpeg");
+        byte[] broken = "not an image".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(optimizer.optimize(new ByteArrayInputStream(small), "jpg", small.length, policy)).isNull();
+        assertThat(optimizer.optimize(new ByteArrayInputStream(broken), "jpg", broken.length, policy)).isNull();
+    }
+
+    private static BufferedImage noisyImage(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        for (int x = 0; x < width; x += 16) {
+            graphics.setColor(new Color((x * 37) % 256, (x * 11) % 256, (x * 53) % 256, type == BufferedImage.TYPE_INT_ARGB ? 128 : 255));
+            graphics.fillRect(x, 0, 8, height);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
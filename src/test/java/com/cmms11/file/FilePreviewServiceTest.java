@@ -0,0 +1,82 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.LocalStorageService;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FilePreviewServiceTest {
+
+    private static final String PATH = "CHROK/blobs/ab/cd/abcd";
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage;
+    private FileItemRepository itemRepository;
+    private FilePreviewService previewService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AppConfig.FileStorageConfig config = new AppConfig.FileStorageConfig();
+        config.setLocation(root.toString());
+        storage = new LocalStorageService(config);
+        itemRepository = mock(FileItemRepository.class);
+        previewService = new FilePreviewService(itemRepository, storage, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        previewService.shutdown();
+    }
+
+    @Test
+    void writesDownscaledJpegsNextToOriginal() throws IOException {
+        BufferedImage photo = new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = photo.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, 2000, 3000);
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(photo, "png", png);
+        storage.write(PATH, new ByteArrayInputStream(png.toByteArray()), "image/png");
+
+        previewService.generate("CHROK", PATH);
+
+        BufferedImage thumb = ImageIO.read(storage.localPath(FilePreviewSize.THUMB.pathOf(PATH)).toFile());
+        BufferedImage preview = ImageIO.read(storage.localPath(FilePreviewSize.PREVIEW.pathOf(PATH)).toFile());
+        assertThat(thumb.getWidth()).isEqualTo(320);
+        assertThat(thumb.getHeight()).isEqualTo(240);
+        assertThat(preview.getWidth()).isEqualTo(1280);
+        assertThat(preview.getHeight()).isEqualTo(960);
+        // 투명 영역은 흰 배경으로 채워진다.
+        assertThat(new Color(thumb.getRGB(300, 120)).getRed()).isGreaterThan(240);
+        verify(itemRepository).updatePreviewStatus("CHROK", PATH, "Y");
+    }
+
+    @Test
+    void marksUndecodableFileAsFailed() throws IOException {
+        storage.write(PATH, new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)), "image/jpeg");
+
+        previewService.generate("CHROK", PATH);
+
+        assertThat(Files.exists(storage.localPath(FilePreviewSize.THUMB.pathOf(PATH)))).isFalse();
+        verify(itemRepository).updatePreviewStatus("CHROK", PATH, "N");
+    }
+}
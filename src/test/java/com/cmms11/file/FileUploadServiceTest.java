@@ -0,0 +1,188 @@
+package com.cmms11.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.common.error.NotFoundException;
+import com.cmms11.config.AppConfig;
+import com.cmms11.file.storage.LocalStorageService;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileUploadServiceTest {
+
+    private static final int CHUNK = 5 * 1024 * 1024;
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage;
+    private FileUploadSessionRepository sessionRepository;
+    private FileService fileService;
+    private FileBlobService blobService;
+    private FileUploadService uploadService;
+    private FileUploadSession saved;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AppConfig.FileStorageConfig config = new AppConfig.FileStorageConfig();
+        config.setLocation(root.toString());
+        config.setChunkSize(CHUNK);
+        storage = new LocalStorageService(config);
+        sessionRepository = mock(FileUploadSessionRepository.class);
+        fileService = mock(FileService.class);
+        blobService = mock(FileBlobService.class);
+        uploadService = new FileUploadService(sessionRepository, fileService, blobService, storage, config);
+
+        when(fileService.validatedFileName(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sessionRepository.save(any())).thenAnswer(invocation -> {
+            saved = invocation.getArgument(0);
+            return saved;
+        });
+        when(sessionRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(saved));
+        when(sessionRepository.findForUpdate(anyString(), anyString())).thenAnswer(invocation -> Optional.ofNullable(saved));
+        when(sessionRepository.advance(anyString(), anyString(), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long offset = invocation.getArgument(2);
+            if (saved.getReceivedSize() != offset) {
+                return 0;
+            }
+            saved.setReceivedSize(invocation.getArgument(3));
+            return 1;
+        });
+    }
+
+    @Test
+    void resumesAfterDroppedChunkAndRegistersStreamedChecksum() throws IOException {
+        byte[] content = new byte[CHUNK + 1234];
+        new Random(7).nextBytes(content);
+        String uploadId = uploadService.create(
+            new FileUploadCreateRequest(null, "WORK", "W250107001", "inspection.mp4", (long) content.length, "video/mp4")
+        ).uploadId();
+
+        // 1MB 전송 후 연결이 끊긴 첫 청크는 수신 위치를 옮기지 않는다.
+        assertThatThrownBy(() -> uploadService.appendChunk(uploadId, 0, droppingAfter(content, 1024 * 1024), CHUNK))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(uploadService.status(uploadId).receivedSize()).isZero();
+
+        uploadService.appendChunk(uploadId, 0, new ByteArrayInputStream(content, 0, CHUNK), CHUNK);
+        assertThatThrownBy(() -> uploadService.appendChunk(uploadId, 0, new ByteArrayInputStream(content, 0, CHUNK), CHUNK))
+            .isInstanceOfSatisfying(UploadOffsetConflictException.class,
+                ex -> assertThat(ex.getStatus().receivedSize()).isEqualTo(CHUNK));
+        FileUploadSessionResponse last = uploadService.appendChunk(
+            uploadId, CHUNK, new ByteArrayInputStream(content, CHUNK, 1234), 1234);
+        assertThat(last.receivedSize()).isEqualTo(content.length);
+
+        String stagingPath = saved.getStagingPath();
+        String checksum = HexFormat.of().formatHex(FileBlobService.sha256().digest(content));
+        FileBlobService.StoredBlob blob = new FileBlobService.StoredBlob(checksum, storage.blobPath("CHROK", checksum), false);
+        when(blobService.register(eq(saved.getId().getCompanyId()), eq(checksum), eq(stagingPath), eq((long) content.length)))
+            .thenReturn(blob);
+
+        uploadService.complete(uploadId);
+
+        assertThat(Files.readAllBytes(storage.localPath(stagingPath))).isEqualTo(content);
+        verify(fileService).attach(null, "WORK", "W250107001", "inspection.mp4", "video/mp4", content.length, blob);
+        verify(sessionRepository).delete(saved);
+    }
+
+    @Test
+    void unknownGroupIsRejectedBeforeStorageIsTouched() {
+        doThrow(new NotFoundException("파일 그룹을 찾을 수 없습니다: F999")).when(fileService).requireGroup("F999");
+
+        assertThatThrownBy(() -> uploadService.create(
+            new FileUploadCreateRequest("F999", "WORK", "W250107001", "inspection.mp4", 10L, "video/mp4")))
+            .isInstanceOf(NotFoundException.class);
+
+        assertThat(Files.exists(root.resolve("CHROK"))).isFalse();
+        verify(sessionRepository, never()).save(any());
+    }
+
+    @Test
+    void failedCompleteCanBeRetried() throws IOException {
+        byte[] content = new byte[1234];
+        new Random(11).nextBytes(content);
+        String uploadId = uploadService.create(
+            new FileUploadCreateRequest(null, "WORK", "W250107001", "inspection.mp4", (long) content.length, "video/mp4")
+        ).uploadId();
+        uploadService.appendChunk(uploadId, 0, new ByteArrayInputStream(content), content.length);
+
+        String checksum = HexFormat.of().formatHex(FileBlobService.sha256().digest(content));
+        FileBlobService.StoredBlob blob = new FileBlobService.StoredBlob(checksum, storage.blobPath("CHROK", checksum), false);
+        when(blobService.register(anyString(), eq(checksum), eq(saved.getStagingPath()), eq((long) content.length)))
+            .thenReturn(blob);
+        when(fileService.attach(any(), any(), any(), any(), any(), anyLong(), any()))
+            .thenThrow(new IllegalStateException("deadlock"))
+            .thenReturn(null);
+
+        // 트랜잭션이 롤백되면 세션과 임시 파일이 남아 있으므로 같은 세션으로 다시 완료한다.
+        assertThatThrownBy(() -> uploadService.complete(uploadId)).isInstanceOf(IllegalStateException.class);
+        uploadService.complete(uploadId);
+
+        assertThat(Files.readAllBytes(storage.localPath(saved.getStagingPath()))).isEqualTo(content);
+        verify(fileService, times(2)).attach(null, "WORK", "W250107001", "inspection.mp4", "video/mp4", content.length, blob);
+        verify(sessionRepository).delete(saved);
+    }
+
+    @Test
+    void purgeExpiredPagesPastFailedSessionsUntilNoneRemain() {
+        LocalDateTime expiresAt = LocalDateTime.now().minusDays(1);
+        List<FileUploadSession> first = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            first.add(expiredSession(String.format("U%03d", i), expiresAt));
+        }
+        List<FileUploadSession> second = List.of(expiredSession("U100", expiresAt), expiredSession("U101", expiresAt));
+        when(sessionRepository.findExpired(any(), any())).thenReturn(first);
+        when(sessionRepository.findExpiredAfter(any(), eq(expiresAt), eq("U099"), any())).thenReturn(second);
+        doThrow(new IllegalStateException("lock timeout")).when(sessionRepository).delete(first.get(0));
+
+        uploadService.purgeExpired();
+
+        // 첫 청크의 실패 건이 남아 있어도 다음 청크로 넘어가 나머지를 정리한다.
+        verify(sessionRepository, times(102)).delete(any(FileUploadSession.class));
+        verify(sessionRepository).findExpiredAfter(any(), eq(expiresAt), eq("U099"), any());
+    }
+
+    private FileUploadSession expiredSession(String uploadId, LocalDateTime expiresAt) {
+        FileUploadSession session = new FileUploadSession();
+        session.setId(new FileUploadSessionId("CHROK", uploadId));
+        session.setStagingPath("upload/" + uploadId + ".part");
+        session.setExpiresAt(expiresAt);
+        return session;
+    }
+
+    private InputStream droppingAfter(byte[] content, int limit) {
+        return new FilterInputStream(new ByteArrayInputStream(content, 0, limit)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n < 0) {
+                    throw new IOException("connection reset");
+                }
+                return n;
+            }
+        };
+    }
+}
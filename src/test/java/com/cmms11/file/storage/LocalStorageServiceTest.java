@@ -0,0 +1,60 @@
+package com.cmms11.file.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.cmms11.config.AppConfig;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private LocalStorageService storage() throws IOException {
+        AppConfig.FileStorageConfig config = new AppConfig.FileStorageConfig();
+        config.setLocation(root.toString());
+        return new LocalStorageService(config);
+    }
+
+    @Test
+    void storesUnderShardedPathAndReadsRanges() throws IOException {
+        LocalStorageService storage = storage();
+        byte[] content = "점검 보고서".getBytes(StandardCharsets.UTF_8);
+
+        String path = storage.store("CHROK", "F250107001", "A1B2C3D4E5.pdf", new ByteArrayInputStream(content), "application/pdf");
+
+        assertThat(path).isEqualTo("CHROK/" + StoragePaths.shardOf("F250107001") + "/F250107001/A1B2C3D4E5.pdf");
+        assertThat(storage.exists(path)).isTrue();
+        assertThat(Files.readAllBytes(storage.localPath(path))).isEqualTo(content);
+        try (InputStream in = storage.retrieveRange(path, 7, 6)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("보고");
+        }
+        try (var temp = Files.list(root.resolve(".tmp"))) {
+            assertThat(temp).isEmpty();
+        }
+    }
+
+    @Test
+    void readsLegacyLayoutAndRejectsTraversal() throws IOException {
+        LocalStorageService storage = storage();
+        Path legacy = root.resolve("CHROK/F240101001/OLD0000001.txt");
+        Files.createDirectories(legacy.getParent());
+        Files.writeString(legacy, "legacy");
+
+        assertThat(storage.existsLegacy("F240101001", "OLD0000001.txt")).isTrue();
+        try (InputStream in = storage.retrieveLegacy("F240101001", "OLD0000001.txt")) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("legacy");
+        }
+        assertThatThrownBy(() -> storage.retrieve("../outside.txt")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.store("CHROK", "..", "x.txt", InputStream.nullInputStream(), null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cmms11.file.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cmms11.config.AppConfig;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+class S3StorageServiceTest {
+
+    private static final int PART = (int) S3StorageService.MIN_PART_SIZE;
+
+    private S3Client s3;
+    private S3StorageService storage;
+    private final Map<Integer, Long> uploadedParts = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        s3 = mock(S3Client.class);
+        AppConfig.S3Config config = new AppConfig.S3Config();
+        config.setBucketName("cmms-test");
+        config.setPartSize(PART);
+        config.setUploadConcurrency(2);
+        config.setMaxBufferedParts(3);
+        storage = new S3StorageService(s3, config);
+
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u-1").build());
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            RequestBody body = invocation.getArgument(1);
+            try (var in = body.contentStreamProvider().newStream()) {
+                uploadedParts.put(request.partNumber(), (long) in.readAllBytes().length);
+            }
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+    }
+
+    @Test
+    void smallFileUsesSinglePut() throws IOException {
+        String key = storage.store("CHROK", "F250107001", "A1.pdf", new ByteArrayInputStream(new byte[1024]), "application/pdf");
+
+        assertThat(key).isEqualTo("CHROK/F250107001/A1.pdf");
+        verify(s3).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void largeFileIsUploadedInOrderedParts() throws IOException {
+        byte[] content = new byte[PART * 2 + 123];
+
+        storage.store("CHROK", "F250107001", "B2.pdf", new ByteArrayInputStream(content), "application/pdf");
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3).completeMultipartUpload(captor.capture());
+        assertThat(captor.getValue().multipartUpload().parts())
+            .extracting(CompletedPart::partNumber, CompletedPart::eTag)
+            .containsExactly(
+                tuple(1, "etag-1"),
+                tuple(2, "etag-2"),
+                tuple(3, "etag-3")
+            );
+        assertThat(uploadedParts).containsEntry(1, (long) PART).containsEntry(2, (long) PART).containsEntry(3, 123L);
+    }
+
+    @Test
+    @Timeout(10)
+    void failedPartAbortsUploadAndReleasesBuffers() throws IOException {
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+            .thenThrow(S3Exception.builder().message("boom").statusCode(500).build());
+
+        assertThatThrownBy(() -> storage.store("CHROK", "F250107001", "C3.pdf", new ByteArrayInputStream(new byte[PART * 2]), null))
+            .isInstanceOf(IOException.class);
+        verify(s3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+
+        // 버퍼가 모두 반환되었으면 이후 업로드가 대기 없이 진행된다.
+        for (int i = 0; i < 3; i++) {
+            storage.store("CHROK", "F250107001", "D" + i + ".pdf", new ByteArrayInputStream(new byte[16]), null);
+        }
+        verify(s3, times(3)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+}
@@ -0,0 +1,114 @@
+package com.cmms11.file.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cmms11.config.AppConfig;
+import com.github.sardine.Sardine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebDavStorageServiceTest {
+
+    private HttpServer server;
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final Set<String> collections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger mkcolCount = new AtomicInteger();
+    private Sardine sardine;
+    private WebDavStorageService storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/dav/", this::handle);
+        server.start();
+
+        AppConfig.WebDavConfig config = new AppConfig.WebDavConfig();
+        config.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/dav");
+        sardine = new AppConfig().sardine(config);
+        storage = new WebDavStorageService(sardine, config);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sardine.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void createsCollectionsOnceAndStreamsContent() throws IOException {
+        byte[] content = "설비 점검 사진".getBytes(StandardCharsets.UTF_8);
+
+        String first = storage.store("CHROK", "F250107001", "A1.jpg", new ByteArrayInputStream(content), "image/jpeg");
+        int mkcolAfterFirst = mkcolCount.get();
+        String second = storage.store("CHROK", "F250107001", "A2.jpg", new ByteArrayInputStream(content), "image/jpeg");
+
+        assertThat(first).isEqualTo("CHROK/" + StoragePaths.shardOf("F250107001") + "/F250107001/A1.jpg");
+        assertThat(mkcolAfterFirst).isEqualTo(4);
+        assertThat(mkcolCount.get()).isEqualTo(mkcolAfterFirst);
+        assertThat(storage.exists(second)).isTrue();
+        assertThat(storage.exists(first + ".missing")).isFalse();
+        try (InputStream in = storage.retrieve(first)) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        try (InputStream in = storage.retrieveRange(first, 7, 6)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("점검");
+        }
+    }
+
+    /**
+     * PUT/GET/HEAD/MKCOL 만 지원하는 최소 WebDAV 대역. GET 은 단일 Range 요청을 처리한다.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring("/dav/".length());
+        try (exchange) {
+            switch (exchange.getRequestMethod()) {
+                case "MKCOL" -> {
+                    mkcolCount.incrementAndGet();
+                    exchange.sendResponseHeaders(collections.add(path) ? 201 : 405, -1);
+                }
+                case "PUT" -> {
+                    String parent = path.substring(0, path.lastIndexOf('/') + 1);
+                    if (!collections.contains(parent)) {
+                        exchange.sendResponseHeaders(409, -1);
+                        return;
+                    }
+                    files.put(path, exchange.getRequestBody().readAllBytes());
+                    exchange.sendResponseHeaders(201, -1);
+                }
+                case "HEAD" -> exchange.sendResponseHeaders(files.containsKey(path) ? 200 : 404, -1);
+                case "GET" -> {
+                    byte[] body = files.get(path);
+                    if (body == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    String range = exchange.getRequestHeaders().getFirst("Range");
+                    int status = 200;
+                    if (range != null) {
+                        String[] bounds = range.substring("bytes=".length()).split("-");
+                        int start = Integer.parseInt(bounds[0]);
+                        int end = Integer.parseInt(bounds[1]);
+                        body = Arrays.copyOfRange(body, start, end + 1);
+                        status = 206;
+                    }
+                    exchange.sendResponseHeaders(status, body.length);
+                    exchange.getResponseBody().write(body);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+}